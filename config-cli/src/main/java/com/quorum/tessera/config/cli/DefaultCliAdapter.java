@@ -152,6 +152,24 @@ public class DefaultCliAdapter implements CliAdapter {
                 .argName("PATH")
                 .build());
 
+        options.addOption(
+            Option.builder("keygencount")
+                .desc("Number of key-pairs to generate, named by appending a number to the -filename if given, or to 'key'. Keys are generated in parallel.")
+                .hasArg(true)
+                .optionalArg(false)
+                .numberOfArgs(1)
+                .argName("NUMBER")
+                .build());
+
+        options.addOption(
+            Option.builder("keygenbatchpassword")
+                .desc("How private keys generated together are locked: 'each' asks for a password for each key (the default), 'shared' asks for one password for every key, and 'none' leaves every key unlocked.")
+                .hasArg(true)
+                .optionalArg(false)
+                .numberOfArgs(1)
+                .argName("each|shared|none")
+                .build());
+
         options.addOption(
             Option.builder("keygenconfig")
                 .desc("Path to private key config for generation of missing key files")
@@ -4,6 +4,7 @@ import com.quorum.tessera.config.*;
 import com.quorum.tessera.config.cli.CliException;
 import com.quorum.tessera.config.keypairs.ConfigKeyPair;
 import com.quorum.tessera.config.util.JaxbUtil;
+import com.quorum.tessera.key.generation.BatchPassword;
 import com.quorum.tessera.key.generation.KeyGenerator;
 import com.quorum.tessera.key.generation.KeyGeneratorFactory;
 import com.quorum.tessera.key.generation.KeyVaultOptions;
@@ -23,12 +24,15 @@ import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
 
 public class KeyGenerationParser implements Parser<List<ConfigKeyPair>> {
 
+    private static final String DEFAULT_KEY_PREFIX = "key";
+
     private final KeyGeneratorFactory factory = KeyGeneratorFactory.newFactory();
 
     private final Validator validator = Validation.byDefaultProvider()
@@ -46,10 +50,14 @@ public class KeyGenerationParser implements Parser<List<ConfigKeyPair>> {
         final KeyGenerator generator = factory.create(keyVaultConfig);
 
         if (commandLine.hasOption("keygen")) {
-            return this.filenames(commandLine)
-                .stream()
-                .map(name -> generator.generate(name, argonOptions, keyVaultOptions))
-                .collect(Collectors.toList());
+            final List<String> filenames = this.filenames(commandLine);
+            final BatchPassword batchPassword = this.batchPassword(commandLine);
+
+            if (filenames.size() == 1 && batchPassword == BatchPassword.EACH) {
+                return singletonList(generator.generate(filenames.get(0), argonOptions, keyVaultOptions));
+            }
+
+            return generator.generate(filenames, argonOptions, keyVaultOptions, batchPassword);
         }
 
         return new ArrayList<>();
@@ -74,8 +82,52 @@ public class KeyGenerationParser implements Parser<List<ConfigKeyPair>> {
         return secretEngineName.map(KeyVaultOptions::new);
     }
 
+    private BatchPassword batchPassword(final CommandLine commandLine) {
+
+        if (!commandLine.hasOption("keygenbatchpassword")) {
+            return BatchPassword.EACH;
+        }
+
+        final String batchPassword = commandLine.getOptionValue("keygenbatchpassword");
+        try {
+            return BatchPassword.valueOf(batchPassword.trim().toUpperCase());
+        } catch (final IllegalArgumentException | NullPointerException ex) {
+            throw new CliException("-keygenbatchpassword must be one of each, shared or none");
+        }
+    }
+
     private List<String> filenames(final CommandLine commandLine) {
 
+        final List<String> filenames = this.namedFilenames(commandLine);
+
+        if (!commandLine.hasOption("keygencount")) {
+            return filenames;
+        }
+
+        final int count;
+        try {
+            count = Integer.parseInt(commandLine.getOptionValue("keygencount").trim());
+        } catch (final NumberFormatException | NullPointerException ex) {
+            throw new CliException("-keygencount must be a number of keys to generate");
+        }
+
+        if (count < 1) {
+            throw new CliException("-keygencount must be at least 1");
+        }
+
+        if (filenames.size() > 1) {
+            throw new CliException("Only one -filename can be given with -keygencount, to be used as the prefix of every key name");
+        }
+
+        final String prefix = filenames.get(0).isEmpty() ? DEFAULT_KEY_PREFIX : filenames.get(0);
+
+        return IntStream.rangeClosed(1, count)
+            .mapToObj(i -> prefix + i)
+            .collect(Collectors.toList());
+    }
+
+    private List<String> namedFilenames(final CommandLine commandLine) {
+
         if (commandLine.hasOption("filename")) {
 
             final String keyNames = commandLine.getOptionValue("filename");
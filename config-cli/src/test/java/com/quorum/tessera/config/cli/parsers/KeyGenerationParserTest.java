@@ -4,6 +4,7 @@ import com.quorum.tessera.config.ArgonOptions;
 import com.quorum.tessera.config.cli.CliException;
 import com.quorum.tessera.config.keypairs.ConfigKeyPair;
 import com.quorum.tessera.config.keys.MockKeyGeneratorFactory;
+import com.quorum.tessera.key.generation.BatchPassword;
 import com.quorum.tessera.key.generation.KeyGenerator;
 import org.apache.commons.cli.CommandLine;
 import org.junit.Test;
@@ -13,6 +14,7 @@ import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
@@ -96,6 +98,119 @@ public class KeyGenerationParserTest {
         verify(keyGenerator).generate("", null, null);
     }
 
+    @Test
+    public void severalNamesAreGeneratedTogether() throws Exception {
+        final String first = UUID.randomUUID().toString();
+        final String second = UUID.randomUUID().toString();
+
+        when(commandLine.hasOption("keygen")).thenReturn(true);
+        when(commandLine.hasOption("filename")).thenReturn(true);
+        when(commandLine.getOptionValue("filename")).thenReturn(first + "," + second);
+
+        this.parser.parse(commandLine);
+
+        final KeyGenerator keyGenerator = MockKeyGeneratorFactory.getMockKeyGenerator();
+        verify(keyGenerator).generate(Arrays.asList(first, second), null, null, BatchPassword.EACH);
+    }
+
+    @Test
+    public void keygenCountNumbersTheGivenName() throws Exception {
+        final String prefix = UUID.randomUUID().toString();
+
+        when(commandLine.hasOption("keygen")).thenReturn(true);
+        when(commandLine.hasOption("filename")).thenReturn(true);
+        when(commandLine.getOptionValue("filename")).thenReturn(prefix);
+        when(commandLine.hasOption("keygencount")).thenReturn(true);
+        when(commandLine.getOptionValue("keygencount")).thenReturn("3");
+
+        this.parser.parse(commandLine);
+
+        final KeyGenerator keyGenerator = MockKeyGeneratorFactory.getMockKeyGenerator();
+        verify(keyGenerator).generate(Arrays.asList(prefix + "1", prefix + "2", prefix + "3"), null, null, BatchPassword.EACH);
+    }
+
+    @Test
+    public void keygenCountWithoutNameUsesDefaultPrefix() throws Exception {
+        when(commandLine.hasOption("keygen")).thenReturn(true);
+        when(commandLine.hasOption("keygencount")).thenReturn(true);
+        when(commandLine.getOptionValue("keygencount")).thenReturn("2");
+
+        this.parser.parse(commandLine);
+
+        final KeyGenerator keyGenerator = MockKeyGeneratorFactory.getMockKeyGenerator();
+        verify(keyGenerator).generate(Arrays.asList("key1", "key2"), null, null, BatchPassword.EACH);
+    }
+
+    @Test
+    public void batchPasswordIsPassedToGenerator() throws Exception {
+        when(commandLine.hasOption("keygen")).thenReturn(true);
+        when(commandLine.hasOption("keygencount")).thenReturn(true);
+        when(commandLine.getOptionValue("keygencount")).thenReturn("2");
+        when(commandLine.hasOption("keygenbatchpassword")).thenReturn(true);
+        when(commandLine.getOptionValue("keygenbatchpassword")).thenReturn("shared");
+
+        this.parser.parse(commandLine);
+
+        final KeyGenerator keyGenerator = MockKeyGeneratorFactory.getMockKeyGenerator();
+        verify(keyGenerator).generate(Arrays.asList("key1", "key2"), null, null, BatchPassword.SHARED);
+    }
+
+    @Test
+    public void singleKeyWithoutPasswordIsGeneratedAsBatch() throws Exception {
+        when(commandLine.hasOption("keygen")).thenReturn(true);
+        when(commandLine.hasOption("keygenbatchpassword")).thenReturn(true);
+        when(commandLine.getOptionValue("keygenbatchpassword")).thenReturn("NONE");
+
+        this.parser.parse(commandLine);
+
+        final KeyGenerator keyGenerator = MockKeyGeneratorFactory.getMockKeyGenerator();
+        verify(keyGenerator).generate(Arrays.asList(""), null, null, BatchPassword.NONE);
+    }
+
+    @Test
+    public void unknownBatchPasswordIsRejected() {
+        when(commandLine.hasOption("keygen")).thenReturn(true);
+        when(commandLine.hasOption("keygenbatchpassword")).thenReturn(true);
+        when(commandLine.getOptionValue("keygenbatchpassword")).thenReturn("sometimes");
+
+        final Throwable throwable = catchThrowable(() -> this.parser.parse(commandLine));
+
+        assertThat(throwable)
+            .isInstanceOf(CliException.class)
+            .hasMessage("-keygenbatchpassword must be one of each, shared or none");
+    }
+
+    @Test
+    public void keygenCountMustBePositiveNumber() {
+        when(commandLine.hasOption("keygen")).thenReturn(true);
+        when(commandLine.hasOption("keygencount")).thenReturn(true);
+
+        when(commandLine.getOptionValue("keygencount")).thenReturn("many");
+        assertThat(catchThrowable(() -> this.parser.parse(commandLine)))
+            .isInstanceOf(CliException.class)
+            .hasMessage("-keygencount must be a number of keys to generate");
+
+        when(commandLine.getOptionValue("keygencount")).thenReturn("0");
+        assertThat(catchThrowable(() -> this.parser.parse(commandLine)))
+            .isInstanceOf(CliException.class)
+            .hasMessage("-keygencount must be at least 1");
+    }
+
+    @Test
+    public void keygenCountWithSeveralNamesIsRejected() {
+        when(commandLine.hasOption("keygen")).thenReturn(true);
+        when(commandLine.hasOption("filename")).thenReturn(true);
+        when(commandLine.getOptionValue("filename")).thenReturn("a,b");
+        when(commandLine.hasOption("keygencount")).thenReturn(true);
+        when(commandLine.getOptionValue("keygencount")).thenReturn("2");
+
+        final Throwable throwable = catchThrowable(() -> this.parser.parse(commandLine));
+
+        assertThat(throwable)
+            .isInstanceOf(CliException.class)
+            .hasMessageStartingWith("Only one -filename can be given with -keygencount");
+    }
+
     @Test
     public void keygenNotGivenReturnsEmptyList() throws Exception {
 
@@ -0,0 +1,123 @@
+package com.quorum.tessera.config;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * Configuration for how many requests to the Q2T and P2P APIs are handled at
+ * once before further requests are turned away
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class AdmissionConfig extends ConfigItem {
+
+    /**
+     * Whether requests are limited at all, off unless turned on
+     */
+    @XmlElement
+    private Boolean enabled;
+
+    /**
+     * The most requests from the local node that are handled at once
+     */
+    @Min(1)
+    @XmlElement
+    private Integer q2tMaxConcurrency;
+
+    /**
+     * The most requests from peers that are handled at once
+     */
+    @Min(1)
+    @XmlElement
+    private Integer p2pMaxConcurrency;
+
+    /**
+     * The fewest requests to each API that are always let through at once,
+     * however slow they are
+     */
+    @Min(1)
+    @XmlElement
+    private Integer minConcurrency;
+
+    /**
+     * How many times slower than usual a request has to be before it is
+     * taken as a sign of overload, and fewer requests are let through
+     */
+    @DecimalMin("1.0")
+    @XmlElement
+    private Double latencyTolerance;
+
+    public AdmissionConfig(final Boolean enabled,
+                           final Integer q2tMaxConcurrency,
+                           final Integer p2pMaxConcurrency,
+                           final Integer minConcurrency,
+                           final Double latencyTolerance) {
+        this.enabled = enabled;
+        this.q2tMaxConcurrency = q2tMaxConcurrency;
+        this.p2pMaxConcurrency = p2pMaxConcurrency;
+        this.minConcurrency = minConcurrency;
+        this.latencyTolerance = latencyTolerance;
+    }
+
+    public AdmissionConfig() {
+        this(null, null, null, null, null);
+    }
+
+    public Boolean getEnabled() {
+        if (enabled == null) {
+            return false;
+        }
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Integer getQ2tMaxConcurrency() {
+        if (q2tMaxConcurrency == null) {
+            return 100;
+        }
+        return q2tMaxConcurrency;
+    }
+
+    public void setQ2tMaxConcurrency(Integer q2tMaxConcurrency) {
+        this.q2tMaxConcurrency = q2tMaxConcurrency;
+    }
+
+    public Integer getP2pMaxConcurrency() {
+        if (p2pMaxConcurrency == null) {
+            return 200;
+        }
+        return p2pMaxConcurrency;
+    }
+
+    public void setP2pMaxConcurrency(Integer p2pMaxConcurrency) {
+        this.p2pMaxConcurrency = p2pMaxConcurrency;
+    }
+
+    public Integer getMinConcurrency() {
+        if (minConcurrency == null) {
+            return 4;
+        }
+        return minConcurrency;
+    }
+
+    public void setMinConcurrency(Integer minConcurrency) {
+        this.minConcurrency = minConcurrency;
+    }
+
+    public Double getLatencyTolerance() {
+        if (latencyTolerance == null) {
+            return 2.0;
+        }
+        return latencyTolerance;
+    }
+
+    public void setLatencyTolerance(Double latencyTolerance) {
+        this.latencyTolerance = latencyTolerance;
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.quorum.tessera.config;
+
+import com.quorum.tessera.config.adapters.PathAdapter;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.nio.file.Path;
+
+/**
+ * Configuration for the file store that holds the cipher text of large
+ * transactions outside of the database
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class BlobStoreConfig extends ConfigItem {
+
+    private static final int DEFAULT_THRESHOLD = 1024 * 1024;
+
+    @NotNull
+    @XmlElement(required = true, type = String.class)
+    @XmlJavaTypeAdapter(PathAdapter.class)
+    private Path path;
+
+    /**
+     * The size in bytes of cipher text above which it is stored in a file
+     * rather than the database
+     */
+    @Min(0)
+    @XmlElement
+    private Integer threshold;
+
+    public BlobStoreConfig(final Path path, final Integer threshold) {
+        this.path = path;
+        this.threshold = threshold;
+    }
+
+    public BlobStoreConfig() {
+        this(null, null);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void setPath(Path path) {
+        this.path = path;
+    }
+
+    public Integer getThreshold() {
+        if (threshold == null) {
+            return DEFAULT_THRESHOLD;
+        }
+        return threshold;
+    }
+
+    public void setThreshold(Integer threshold) {
+        this.threshold = threshold;
+    }
+
+}
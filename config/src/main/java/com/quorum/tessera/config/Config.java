@@ -16,11 +16,11 @@ import java.util.List;
 @XmlRootElement
 @XmlAccessorType(XmlAccessType.FIELD)
 @ValidEitherServerConfigsOrServer
+@ValidEitherJdbcOrKeyValueStore
 public class Config extends ConfigItem {
 
-    @NotNull
     @Valid
-    @XmlElement(name = "jdbc", required = true)
+    @XmlElement(name = "jdbc")
     private JdbcConfig jdbcConfig;
 
     @Valid
@@ -58,6 +58,30 @@ public class Config extends ConfigItem {
     @XmlElement
     private DeprecatedServerConfig server;
 
+    @Valid
+    @XmlElement(name = "keyValueStore")
+    private KeyValueStoreConfig keyValueStoreConfig;
+
+    @Valid
+    @XmlElement(name = "retention")
+    private RetentionConfig retentionConfig;
+
+    @Valid
+    @XmlElement(name = "blobStore")
+    private BlobStoreConfig blobStoreConfig;
+
+    @Valid
+    @XmlElement(name = "sync")
+    private SyncConfig syncConfig;
+
+    @Valid
+    @XmlElement(name = "peerHealth")
+    private PeerHealthConfig peerHealthConfig;
+
+    @Valid
+    @XmlElement(name = "admission")
+    private AdmissionConfig admissionConfig;
+
     @Deprecated
     public Config(final JdbcConfig jdbcConfig,
         final List<ServerConfig> serverConfigs,
@@ -153,6 +177,54 @@ public class Config extends ConfigItem {
         this.server = server;
     }
 
+    public KeyValueStoreConfig getKeyValueStoreConfig() {
+        return keyValueStoreConfig;
+    }
+
+    public void setKeyValueStoreConfig(KeyValueStoreConfig keyValueStoreConfig) {
+        this.keyValueStoreConfig = keyValueStoreConfig;
+    }
+
+    public RetentionConfig getRetentionConfig() {
+        return retentionConfig;
+    }
+
+    public void setRetentionConfig(RetentionConfig retentionConfig) {
+        this.retentionConfig = retentionConfig;
+    }
+
+    public BlobStoreConfig getBlobStoreConfig() {
+        return blobStoreConfig;
+    }
+
+    public void setBlobStoreConfig(BlobStoreConfig blobStoreConfig) {
+        this.blobStoreConfig = blobStoreConfig;
+    }
+
+    public SyncConfig getSyncConfig() {
+        return syncConfig;
+    }
+
+    public void setSyncConfig(SyncConfig syncConfig) {
+        this.syncConfig = syncConfig;
+    }
+
+    public PeerHealthConfig getPeerHealthConfig() {
+        return peerHealthConfig;
+    }
+
+    public void setPeerHealthConfig(PeerHealthConfig peerHealthConfig) {
+        this.peerHealthConfig = peerHealthConfig;
+    }
+
+    public AdmissionConfig getAdmissionConfig() {
+        return admissionConfig;
+    }
+
+    public void setAdmissionConfig(AdmissionConfig admissionConfig) {
+        this.admissionConfig = admissionConfig;
+    }
+
     public void setJdbcConfig(JdbcConfig jdbcConfig) {
         this.jdbcConfig = jdbcConfig;
     }
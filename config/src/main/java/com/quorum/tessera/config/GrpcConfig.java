@@ -0,0 +1,144 @@
+package com.quorum.tessera.config;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * Connection settings for servers and clients using gRPC, applied to both
+ * sides so that they agree on keep-alive pings and message limits
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class GrpcConfig extends ConfigItem {
+
+    /**
+     * How often a ping is sent on a connection to check the other side is
+     * still there. Servers accept pings this often.
+     */
+    @Min(1)
+    @XmlElement
+    private Long keepAliveTimeInSecs;
+
+    /**
+     * How long to wait for a ping to be answered before closing the connection
+     */
+    @Min(1)
+    @XmlElement
+    private Long keepAliveTimeoutInSecs;
+
+    /**
+     * How long a connection to a peer may go unused before it is closed,
+     * to be reopened on the next call
+     */
+    @Min(1)
+    @XmlElement
+    private Long idleTimeoutInSecs;
+
+    /**
+     * The HTTP/2 flow control window of each call, in bytes
+     */
+    @Min(1)
+    @XmlElement
+    private Integer flowControlWindow;
+
+    /**
+     * The largest message that may be received, in bytes
+     */
+    @Min(1)
+    @XmlElement
+    private Integer maxMessageSize;
+
+    /**
+     * How long to wait for a peer to acknowledge a pushed payload before
+     * treating the push as failed
+     */
+    @Min(1)
+    @XmlElement
+    private Long pushTimeoutInSecs;
+
+    public GrpcConfig(final Long keepAliveTimeInSecs,
+                      final Long keepAliveTimeoutInSecs,
+                      final Long idleTimeoutInSecs,
+                      final Integer flowControlWindow,
+                      final Integer maxMessageSize,
+                      final Long pushTimeoutInSecs) {
+        this.keepAliveTimeInSecs = keepAliveTimeInSecs;
+        this.keepAliveTimeoutInSecs = keepAliveTimeoutInSecs;
+        this.idleTimeoutInSecs = idleTimeoutInSecs;
+        this.flowControlWindow = flowControlWindow;
+        this.maxMessageSize = maxMessageSize;
+        this.pushTimeoutInSecs = pushTimeoutInSecs;
+    }
+
+    public GrpcConfig() {
+        this(null, null, null, null, null, null);
+    }
+
+    public Long getKeepAliveTimeInSecs() {
+        if (keepAliveTimeInSecs == null) {
+            return 60L;
+        }
+        return keepAliveTimeInSecs;
+    }
+
+    public void setKeepAliveTimeInSecs(Long keepAliveTimeInSecs) {
+        this.keepAliveTimeInSecs = keepAliveTimeInSecs;
+    }
+
+    public Long getKeepAliveTimeoutInSecs() {
+        if (keepAliveTimeoutInSecs == null) {
+            return 20L;
+        }
+        return keepAliveTimeoutInSecs;
+    }
+
+    public void setKeepAliveTimeoutInSecs(Long keepAliveTimeoutInSecs) {
+        this.keepAliveTimeoutInSecs = keepAliveTimeoutInSecs;
+    }
+
+    public Long getIdleTimeoutInSecs() {
+        if (idleTimeoutInSecs == null) {
+            return 300L;
+        }
+        return idleTimeoutInSecs;
+    }
+
+    public void setIdleTimeoutInSecs(Long idleTimeoutInSecs) {
+        this.idleTimeoutInSecs = idleTimeoutInSecs;
+    }
+
+    public Integer getFlowControlWindow() {
+        if (flowControlWindow == null) {
+            return 1024 * 1024;
+        }
+        return flowControlWindow;
+    }
+
+    public void setFlowControlWindow(Integer flowControlWindow) {
+        this.flowControlWindow = flowControlWindow;
+    }
+
+    public Integer getMaxMessageSize() {
+        if (maxMessageSize == null) {
+            return 4 * 1024 * 1024;
+        }
+        return maxMessageSize;
+    }
+
+    public void setMaxMessageSize(Integer maxMessageSize) {
+        this.maxMessageSize = maxMessageSize;
+    }
+
+    public Long getPushTimeoutInSecs() {
+        if (pushTimeoutInSecs == null) {
+            return 30L;
+        }
+        return pushTimeoutInSecs;
+    }
+
+    public void setPushTimeoutInSecs(Long pushTimeoutInSecs) {
+        this.pushTimeoutInSecs = pushTimeoutInSecs;
+    }
+
+}
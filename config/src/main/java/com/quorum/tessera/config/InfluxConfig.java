@@ -1,5 +1,6 @@
 package com.quorum.tessera.config;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
@@ -24,19 +25,69 @@ public class InfluxConfig extends ConfigItem {
     @XmlElement(required = true)
     private String dbName;
 
-    public InfluxConfig(String hostName, Integer port, Long pushIntervalInSecs, String dbName) {
+    /**
+     * Whether metrics are written over HTTP, gzipped, or as UDP datagrams
+     */
+    @XmlElement
+    private InfluxProtocol protocol;
+
+    /**
+     * The most lines held while waiting to be sent, after which the oldest
+     * lines are dropped
+     */
+    @Min(1)
+    @XmlElement
+    private Integer bufferSize;
+
+    /**
+     * The most lines sent in one write
+     */
+    @Min(1)
+    @XmlElement
+    private Integer batchSize;
+
+    /**
+     * How long lines are held to fill a batch before being sent anyway
+     */
+    @Min(1)
+    @XmlElement
+    private Long flushIntervalInMillis;
+
+    /**
+     * How many times a failed write is retried before its lines are dropped
+     */
+    @Min(0)
+    @XmlElement
+    private Integer maxRetries;
+
+    public InfluxConfig(String hostName,
+                        Integer port,
+                        Long pushIntervalInSecs,
+                        String dbName,
+                        InfluxProtocol protocol,
+                        Integer bufferSize,
+                        Integer batchSize,
+                        Long flushIntervalInMillis,
+                        Integer maxRetries) {
         this.hostName = hostName;
         this.port = port;
         this.dbName = dbName;
         this.pushIntervalInSecs = pushIntervalInSecs;
+        this.protocol = protocol;
+        this.bufferSize = bufferSize;
+        this.batchSize = batchSize;
+        this.flushIntervalInMillis = flushIntervalInMillis;
+        this.maxRetries = maxRetries;
+    }
+
+    public InfluxConfig(String hostName, Integer port, Long pushIntervalInSecs, String dbName) {
+        this(hostName, port, pushIntervalInSecs, dbName, null, null, null, null, null);
     }
 
     public InfluxConfig() {
         this(null,null,null,null);
     }
 
-
-
     public String getHostName() {
         return hostName;
     }
@@ -68,6 +119,61 @@ public class InfluxConfig extends ConfigItem {
     public void setDbName(String dbName) {
         this.dbName = dbName;
     }
+
+    public InfluxProtocol getProtocol() {
+        if (protocol == null) {
+            return InfluxProtocol.HTTP;
+        }
+        return protocol;
+    }
+
+    public void setProtocol(InfluxProtocol protocol) {
+        this.protocol = protocol;
+    }
+
+    public Integer getBufferSize() {
+        if (bufferSize == null) {
+            return 10000;
+        }
+        return bufferSize;
+    }
+
+    public void setBufferSize(Integer bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public Integer getBatchSize() {
+        if (batchSize == null) {
+            return 1000;
+        }
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Long getFlushIntervalInMillis() {
+        if (flushIntervalInMillis == null) {
+            return 1000L;
+        }
+        return flushIntervalInMillis;
+    }
+
+    public void setFlushIntervalInMillis(Long flushIntervalInMillis) {
+        this.flushIntervalInMillis = flushIntervalInMillis;
+    }
+
+    public Integer getMaxRetries() {
+        if (maxRetries == null) {
+            return 3;
+        }
+        return maxRetries;
+    }
+
+    public void setMaxRetries(Integer maxRetries) {
+        this.maxRetries = maxRetries;
+    }
     
     
 }
@@ -0,0 +1,6 @@
+package com.quorum.tessera.config;
+
+public enum InfluxProtocol {
+    HTTP,
+    UDP
+}
@@ -1,5 +1,6 @@
 package com.quorum.tessera.config;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
@@ -24,6 +25,22 @@ public class JdbcConfig extends ConfigItem {
     @XmlElement(defaultValue = "false")
     private boolean autoCreateTables;
 
+    /**
+     * The maximum number of received transactions to write in a single batch,
+     * a value of 1 writes each transaction as soon as it is received
+     */
+    @Min(1)
+    @XmlElement
+    private Integer writeBatchSize;
+
+    /**
+     * The maximum time in milliseconds a received transaction waits for
+     * others to join its batch before the batch is written
+     */
+    @Min(0)
+    @XmlElement
+    private Long writeBatchLatency;
+
     public JdbcConfig(String username, String password, String url) {
         this.username = username;
         this.password = password;
@@ -66,4 +83,26 @@ public class JdbcConfig extends ConfigItem {
         this.autoCreateTables = autoCreateTables;
     }
 
+    public Integer getWriteBatchSize() {
+        if (writeBatchSize == null) {
+            return 1;
+        }
+        return writeBatchSize;
+    }
+
+    public void setWriteBatchSize(Integer writeBatchSize) {
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    public Long getWriteBatchLatency() {
+        if (writeBatchLatency == null) {
+            return 5L;
+        }
+        return writeBatchLatency;
+    }
+
+    public void setWriteBatchLatency(Long writeBatchLatency) {
+        this.writeBatchLatency = writeBatchLatency;
+    }
+
 }
@@ -0,0 +1,247 @@
+package com.quorum.tessera.config;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * Thread pool and connection settings for an HTTP server. Each server has its
+ * own thread pool, so for example the P2P server can be given more threads
+ * than the Q2T server and is not starved when the local node is busy.
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class JettyConfig extends ConfigItem {
+
+    /**
+     * The fewest threads kept to serve requests, even when idle
+     */
+    @Min(1)
+    @XmlElement
+    private Integer minThreads;
+
+    /**
+     * The most threads used to serve requests at once
+     */
+    @Min(1)
+    @XmlElement
+    private Integer maxThreads;
+
+    /**
+     * How long a thread above the minimum may be idle before it is stopped
+     */
+    @Min(1)
+    @XmlElement
+    private Integer threadIdleTimeoutInMillis;
+
+    /**
+     * The most requests left waiting for a thread, beyond which connections
+     * are refused. Zero for no limit.
+     */
+    @Min(0)
+    @XmlElement
+    private Integer maxQueuedRequests;
+
+    /**
+     * How long a connection may be idle before it is closed
+     */
+    @Min(1)
+    @XmlElement
+    private Long idleTimeoutInMillis;
+
+    /**
+     * How many connections not yet accepted the operating system holds
+     * before refusing more
+     */
+    @Min(0)
+    @XmlElement
+    private Integer acceptQueueSize;
+
+    /**
+     * The number of threads accepting connections, or -1 for Jetty to choose
+     * from the number of processors
+     */
+    @Min(-1)
+    @XmlElement
+    private Integer acceptors;
+
+    /**
+     * The number of threads reading and writing connections, or -1 for Jetty
+     * to choose from the number of processors
+     */
+    @Min(-1)
+    @XmlElement
+    private Integer selectors;
+
+    /**
+     * Whether HTTP/2 is offered as well as HTTP/1.1, with ALPN on TLS
+     * connections (h2) and by upgrade or prior knowledge otherwise (h2c)
+     */
+    @XmlElement
+    private Boolean http2Enabled;
+
+    /**
+     * How many TLS sessions are kept so that clients can resume them without
+     * a full handshake. Zero for no limit.
+     */
+    @Min(0)
+    @XmlElement
+    private Integer sslSessionCacheSize;
+
+    /**
+     * How long a TLS session may be resumed for. Zero for no limit.
+     */
+    @Min(0)
+    @XmlElement
+    private Integer sslSessionTimeoutInSecs;
+
+    public JettyConfig(final Integer minThreads,
+                       final Integer maxThreads,
+                       final Integer threadIdleTimeoutInMillis,
+                       final Integer maxQueuedRequests,
+                       final Long idleTimeoutInMillis,
+                       final Integer acceptQueueSize,
+                       final Integer acceptors,
+                       final Integer selectors,
+                       final Boolean http2Enabled,
+                       final Integer sslSessionCacheSize,
+                       final Integer sslSessionTimeoutInSecs) {
+        this.minThreads = minThreads;
+        this.maxThreads = maxThreads;
+        this.threadIdleTimeoutInMillis = threadIdleTimeoutInMillis;
+        this.maxQueuedRequests = maxQueuedRequests;
+        this.idleTimeoutInMillis = idleTimeoutInMillis;
+        this.acceptQueueSize = acceptQueueSize;
+        this.acceptors = acceptors;
+        this.selectors = selectors;
+        this.http2Enabled = http2Enabled;
+        this.sslSessionCacheSize = sslSessionCacheSize;
+        this.sslSessionTimeoutInSecs = sslSessionTimeoutInSecs;
+    }
+
+    public JettyConfig() {
+        this(null, null, null, null, null, null, null, null, null, null, null);
+    }
+
+    public Integer getMinThreads() {
+        if (minThreads == null) {
+            return 8;
+        }
+        return minThreads;
+    }
+
+    public void setMinThreads(Integer minThreads) {
+        this.minThreads = minThreads;
+    }
+
+    public Integer getMaxThreads() {
+        if (maxThreads == null) {
+            return 200;
+        }
+        return maxThreads;
+    }
+
+    public void setMaxThreads(Integer maxThreads) {
+        this.maxThreads = maxThreads;
+    }
+
+    public Integer getThreadIdleTimeoutInMillis() {
+        if (threadIdleTimeoutInMillis == null) {
+            return 60000;
+        }
+        return threadIdleTimeoutInMillis;
+    }
+
+    public void setThreadIdleTimeoutInMillis(Integer threadIdleTimeoutInMillis) {
+        this.threadIdleTimeoutInMillis = threadIdleTimeoutInMillis;
+    }
+
+    public Integer getMaxQueuedRequests() {
+        if (maxQueuedRequests == null) {
+            return 0;
+        }
+        return maxQueuedRequests;
+    }
+
+    public void setMaxQueuedRequests(Integer maxQueuedRequests) {
+        this.maxQueuedRequests = maxQueuedRequests;
+    }
+
+    public Long getIdleTimeoutInMillis() {
+        if (idleTimeoutInMillis == null) {
+            return 30000L;
+        }
+        return idleTimeoutInMillis;
+    }
+
+    public void setIdleTimeoutInMillis(Long idleTimeoutInMillis) {
+        this.idleTimeoutInMillis = idleTimeoutInMillis;
+    }
+
+    public Integer getAcceptQueueSize() {
+        if (acceptQueueSize == null) {
+            return 128;
+        }
+        return acceptQueueSize;
+    }
+
+    public void setAcceptQueueSize(Integer acceptQueueSize) {
+        this.acceptQueueSize = acceptQueueSize;
+    }
+
+    public Integer getAcceptors() {
+        if (acceptors == null) {
+            return -1;
+        }
+        return acceptors;
+    }
+
+    public void setAcceptors(Integer acceptors) {
+        this.acceptors = acceptors;
+    }
+
+    public Integer getSelectors() {
+        if (selectors == null) {
+            return -1;
+        }
+        return selectors;
+    }
+
+    public void setSelectors(Integer selectors) {
+        this.selectors = selectors;
+    }
+
+    public Boolean getHttp2Enabled() {
+        if (http2Enabled == null) {
+            return false;
+        }
+        return http2Enabled;
+    }
+
+    public void setHttp2Enabled(Boolean http2Enabled) {
+        this.http2Enabled = http2Enabled;
+    }
+
+    public Integer getSslSessionCacheSize() {
+        if (sslSessionCacheSize == null) {
+            return 20480;
+        }
+        return sslSessionCacheSize;
+    }
+
+    public void setSslSessionCacheSize(Integer sslSessionCacheSize) {
+        this.sslSessionCacheSize = sslSessionCacheSize;
+    }
+
+    public Integer getSslSessionTimeoutInSecs() {
+        if (sslSessionTimeoutInSecs == null) {
+            return 86400;
+        }
+        return sslSessionTimeoutInSecs;
+    }
+
+    public void setSslSessionTimeoutInSecs(Integer sslSessionTimeoutInSecs) {
+        this.sslSessionTimeoutInSecs = sslSessionTimeoutInSecs;
+    }
+
+}
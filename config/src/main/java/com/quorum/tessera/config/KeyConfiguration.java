@@ -39,6 +39,10 @@ public class KeyConfiguration extends ConfigItem {
     @XmlElement
     private HashicorpKeyVaultConfig hashicorpKeyVaultConfig;
 
+    @Valid
+    @XmlElement
+    private KeyVaultCacheConfig keyVaultCacheConfig;
+
     public KeyConfiguration(final Path passwordFile, final List<String> passwords, final List<ConfigKeyPair> keyData, final AzureKeyVaultConfig azureKeyVaultConfig, final HashicorpKeyVaultConfig hashicorpKeyVaultConfig) {
         this.passwordFile = passwordFile;
         this.passwords = passwords;
@@ -70,6 +74,10 @@ public class KeyConfiguration extends ConfigItem {
         return hashicorpKeyVaultConfig;
     }
 
+    public KeyVaultCacheConfig getKeyVaultCacheConfig() {
+        return keyVaultCacheConfig;
+    }
+
     public void setPasswordFile(Path passwordFile) {
         this.passwordFile = passwordFile;
     }
@@ -90,4 +98,8 @@ public class KeyConfiguration extends ConfigItem {
         this.hashicorpKeyVaultConfig = hashicorpKeyVaultConfig;
     }
 
+    public void setKeyVaultCacheConfig(KeyVaultCacheConfig keyVaultCacheConfig) {
+        this.keyVaultCacheConfig = keyVaultCacheConfig;
+    }
+
 }
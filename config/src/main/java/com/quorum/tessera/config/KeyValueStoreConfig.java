@@ -0,0 +1,123 @@
+package com.quorum.tessera.config;
+
+import com.quorum.tessera.config.adapters.PathAdapter;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.nio.file.Path;
+
+/**
+ * Configuration for the embedded key-value transaction store, used in place
+ * of the JDBC backed store when the {@code enable-kv-storage} profile is active
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class KeyValueStoreConfig extends ConfigItem {
+
+    private static final int DEFAULT_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 50;
+
+    @NotNull
+    @XmlElement(required = true, type = String.class)
+    @XmlJavaTypeAdapter(PathAdapter.class)
+    private Path path;
+
+    /**
+     * The size in bytes of each memory mapped segment file
+     */
+    @Min(1024)
+    @XmlElement
+    private Integer segmentSize;
+
+    /**
+     * The percentage of dead bytes in sealed segments that triggers a compaction
+     */
+    @Min(1)
+    @Max(100)
+    @XmlElement
+    private Integer compactionThreshold;
+
+    /**
+     * The maximum number of received transactions to write in a single batch,
+     * a value of 1 writes each transaction as soon as it is received
+     */
+    @Min(1)
+    @XmlElement
+    private Integer writeBatchSize;
+
+    /**
+     * The maximum time in milliseconds a received transaction waits for
+     * others to join its batch before the batch is written
+     */
+    @Min(0)
+    @XmlElement
+    private Long writeBatchLatency;
+
+    public KeyValueStoreConfig(final Path path, final Integer segmentSize, final Integer compactionThreshold) {
+        this.path = path;
+        this.segmentSize = segmentSize;
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public KeyValueStoreConfig() {
+        this(null, null, null);
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void setPath(Path path) {
+        this.path = path;
+    }
+
+    public Integer getSegmentSize() {
+        if (segmentSize == null) {
+            return DEFAULT_SEGMENT_SIZE;
+        }
+        return segmentSize;
+    }
+
+    public void setSegmentSize(Integer segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public Integer getCompactionThreshold() {
+        if (compactionThreshold == null) {
+            return DEFAULT_COMPACTION_THRESHOLD;
+        }
+        return compactionThreshold;
+    }
+
+    public void setCompactionThreshold(Integer compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public Integer getWriteBatchSize() {
+        if (writeBatchSize == null) {
+            return 1;
+        }
+        return writeBatchSize;
+    }
+
+    public void setWriteBatchSize(Integer writeBatchSize) {
+        this.writeBatchSize = writeBatchSize;
+    }
+
+    public Long getWriteBatchLatency() {
+        if (writeBatchLatency == null) {
+            return 5L;
+        }
+        return writeBatchLatency;
+    }
+
+    public void setWriteBatchLatency(Long writeBatchLatency) {
+        this.writeBatchLatency = writeBatchLatency;
+    }
+
+}
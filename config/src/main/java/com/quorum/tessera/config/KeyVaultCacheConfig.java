@@ -0,0 +1,101 @@
+package com.quorum.tessera.config;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * Configuration for how long secrets read from a key vault are kept in memory
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class KeyVaultCacheConfig extends ConfigItem {
+
+    /**
+     * Whether secrets are cached at all
+     */
+    @XmlElement
+    private Boolean enabled;
+
+    /**
+     * How long a secret is used before it is read from the vault again
+     */
+    @Min(1)
+    @XmlElement
+    private Long ttlInMillis;
+
+    /**
+     * How long before a secret expires it is read again in the background,
+     * so that callers do not wait for the vault
+     */
+    @Min(0)
+    @XmlElement
+    private Long refreshAheadInMillis;
+
+    /**
+     * How long after a secret expires it is still used if the vault cannot
+     * be reached
+     */
+    @Min(0)
+    @XmlElement
+    private Long staleIfErrorInMillis;
+
+    public KeyVaultCacheConfig(final Boolean enabled,
+                               final Long ttlInMillis,
+                               final Long refreshAheadInMillis,
+                               final Long staleIfErrorInMillis) {
+        this.enabled = enabled;
+        this.ttlInMillis = ttlInMillis;
+        this.refreshAheadInMillis = refreshAheadInMillis;
+        this.staleIfErrorInMillis = staleIfErrorInMillis;
+    }
+
+    public KeyVaultCacheConfig() {
+        this(null, null, null, null);
+    }
+
+    public Boolean getEnabled() {
+        if (enabled == null) {
+            return true;
+        }
+        return enabled;
+    }
+
+    public void setEnabled(Boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Long getTtlInMillis() {
+        if (ttlInMillis == null) {
+            return 300000L;
+        }
+        return ttlInMillis;
+    }
+
+    public void setTtlInMillis(Long ttlInMillis) {
+        this.ttlInMillis = ttlInMillis;
+    }
+
+    public Long getRefreshAheadInMillis() {
+        if (refreshAheadInMillis == null) {
+            return 60000L;
+        }
+        return refreshAheadInMillis;
+    }
+
+    public void setRefreshAheadInMillis(Long refreshAheadInMillis) {
+        this.refreshAheadInMillis = refreshAheadInMillis;
+    }
+
+    public Long getStaleIfErrorInMillis() {
+        if (staleIfErrorInMillis == null) {
+            return 3600000L;
+        }
+        return staleIfErrorInMillis;
+    }
+
+    public void setStaleIfErrorInMillis(Long staleIfErrorInMillis) {
+        this.staleIfErrorInMillis = staleIfErrorInMillis;
+    }
+
+}
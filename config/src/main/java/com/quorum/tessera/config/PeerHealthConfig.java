@@ -0,0 +1,61 @@
+package com.quorum.tessera.config;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * Configuration for how quickly calls to failing peers are cut off
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class PeerHealthConfig extends ConfigItem {
+
+    /**
+     * The number of consecutive failed calls to a peer after which further
+     * calls fail immediately, without contacting the peer
+     */
+    @Min(1)
+    @XmlElement
+    private Integer failureThreshold;
+
+    /**
+     * How long calls to an unavailable peer fail immediately, before a single
+     * call is let through to check whether the peer has recovered
+     */
+    @Min(1)
+    @XmlElement
+    private Long openDurationInMillis;
+
+    public PeerHealthConfig(final Integer failureThreshold, final Long openDurationInMillis) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationInMillis = openDurationInMillis;
+    }
+
+    public PeerHealthConfig() {
+        this(null, null);
+    }
+
+    public Integer getFailureThreshold() {
+        if (failureThreshold == null) {
+            return 5;
+        }
+        return failureThreshold;
+    }
+
+    public void setFailureThreshold(Integer failureThreshold) {
+        this.failureThreshold = failureThreshold;
+    }
+
+    public Long getOpenDurationInMillis() {
+        if (openDurationInMillis == null) {
+            return 30000L;
+        }
+        return openDurationInMillis;
+    }
+
+    public void setOpenDurationInMillis(Long openDurationInMillis) {
+        this.openDurationInMillis = openDurationInMillis;
+    }
+
+}
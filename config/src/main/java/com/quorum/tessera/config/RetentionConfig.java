@@ -0,0 +1,75 @@
+package com.quorum.tessera.config;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+/**
+ * Configuration for purging stored transactions once they reach a given age
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class RetentionConfig extends ConfigItem {
+
+    /**
+     * How long to keep transactions for, if not set transactions are kept forever
+     */
+    @Min(1)
+    @XmlElement
+    private Long maxAgeInSecs;
+
+    /**
+     * The maximum number of transactions to delete in one database transaction
+     */
+    @Min(1)
+    @XmlElement
+    private Integer batchSize;
+
+    /**
+     * The pause between each batch, so purging doesn't starve other database work
+     */
+    @Min(0)
+    @XmlElement
+    private Long batchDelayInMillis;
+
+    public RetentionConfig(final Long maxAgeInSecs, final Integer batchSize, final Long batchDelayInMillis) {
+        this.maxAgeInSecs = maxAgeInSecs;
+        this.batchSize = batchSize;
+        this.batchDelayInMillis = batchDelayInMillis;
+    }
+
+    public RetentionConfig() {
+        this(null, null, null);
+    }
+
+    public Long getMaxAgeInSecs() {
+        return maxAgeInSecs;
+    }
+
+    public void setMaxAgeInSecs(Long maxAgeInSecs) {
+        this.maxAgeInSecs = maxAgeInSecs;
+    }
+
+    public Integer getBatchSize() {
+        if (batchSize == null) {
+            return 1000;
+        }
+        return batchSize;
+    }
+
+    public void setBatchSize(Integer batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public Long getBatchDelayInMillis() {
+        if (batchDelayInMillis == null) {
+            return 100L;
+        }
+        return batchDelayInMillis;
+    }
+
+    public void setBatchDelayInMillis(Long batchDelayInMillis) {
+        this.batchDelayInMillis = batchDelayInMillis;
+    }
+
+}
@@ -35,6 +35,14 @@ public class ServerConfig extends ConfigItem {
     @XmlElement
     private InfluxConfig influxConfig;
 
+    @Valid
+    @XmlElement
+    private GrpcConfig grpcConfig;
+
+    @Valid
+    @XmlElement
+    private JettyConfig jettyConfig;
+
     @ValidServerAddress(
             message = "Binding Address is invalid",
             isBindingAddress = true,
@@ -130,6 +138,22 @@ public class ServerConfig extends ConfigItem {
         this.influxConfig = influxConfig;
     }
 
+    public GrpcConfig getGrpcConfig() {
+        return grpcConfig;
+    }
+
+    public void setGrpcConfig(GrpcConfig grpcConfig) {
+        this.grpcConfig = grpcConfig;
+    }
+
+    public JettyConfig getJettyConfig() {
+        return jettyConfig;
+    }
+
+    public void setJettyConfig(JettyConfig jettyConfig) {
+        this.jettyConfig = jettyConfig;
+    }
+
     public void setBindingAddress(String bindingAddress) {
         this.bindingAddress = bindingAddress;
     }
@@ -0,0 +1,69 @@
+package com.quorum.tessera.config;
+
+import com.quorum.tessera.config.adapters.PathAdapter;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.adapters.XmlJavaTypeAdapter;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Configuration for resynchronising transactions with other nodes
+ */
+@XmlAccessorType(XmlAccessType.FIELD)
+public class SyncConfig extends ConfigItem {
+
+    private static final String DEFAULT_WATERMARK_FILE = "sync-watermarks.properties";
+
+    /**
+     * The file in which the time of the last successful sync with each peer
+     * is kept, so that a restarted node only requests newer transactions.
+     * Defaults to a file in the working directory, alongside the other files
+     * the node writes, such as its generated passwords file.
+     */
+    @XmlElement(type = String.class)
+    @XmlJavaTypeAdapter(PathAdapter.class)
+    private Path watermarkFile;
+
+    /**
+     * The maximum number of peers to sync with at the same time
+     */
+    @Min(1)
+    @XmlElement
+    private Integer poolSize;
+
+    public SyncConfig(final Path watermarkFile, final Integer poolSize) {
+        this.watermarkFile = watermarkFile;
+        this.poolSize = poolSize;
+    }
+
+    public SyncConfig() {
+        this(null, null);
+    }
+
+    public Path getWatermarkFile() {
+        if (watermarkFile == null) {
+            return Paths.get(DEFAULT_WATERMARK_FILE);
+        }
+        return watermarkFile;
+    }
+
+    public void setWatermarkFile(Path watermarkFile) {
+        this.watermarkFile = watermarkFile;
+    }
+
+    public Integer getPoolSize() {
+        if (poolSize == null) {
+            return 4;
+        }
+        return poolSize;
+    }
+
+    public void setPoolSize(Integer poolSize) {
+        this.poolSize = poolSize;
+    }
+
+}
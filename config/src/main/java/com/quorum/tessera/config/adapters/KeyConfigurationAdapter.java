@@ -1,8 +1,14 @@
 package com.quorum.tessera.config.adapters;
 
+import com.quorum.tessera.concurrent.ParallelTasks;
 import com.quorum.tessera.config.KeyConfiguration;
+import com.quorum.tessera.config.PrivateKeyType;
 import com.quorum.tessera.config.keypairs.ConfigKeyPair;
+import com.quorum.tessera.config.keypairs.FilesystemKeyPair;
+import com.quorum.tessera.config.keypairs.InlineKeypair;
 import com.quorum.tessera.io.SystemAdapter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.xml.bind.annotation.adapters.XmlAdapter;
 import java.io.IOException;
@@ -10,11 +16,15 @@ import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
 public class KeyConfigurationAdapter extends XmlAdapter<KeyConfiguration, KeyConfiguration> {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyConfigurationAdapter.class);
+
     @Override
     public KeyConfiguration unmarshal(final KeyConfiguration input) {
 
@@ -48,9 +58,53 @@ public class KeyConfigurationAdapter extends XmlAdapter<KeyConfiguration, KeyCon
                 }).collect(Collectors.toList());
         }
 
+        unlockKeys(keyDataWithPasswords);
+
         return new KeyConfiguration(input.getPasswordFile(), input.getPasswords(), keyDataWithPasswords, input.getAzureKeyVaultConfig(), input.getHashicorpKeyVaultConfig());
     }
 
+    /**
+     * Decrypts the locked private keys up front, in parallel, so that they are
+     * ready when the configuration is validated and the keys are loaded.
+     * Argon2 is deliberately slow, so with many locked keys unlocking them
+     * one after another makes the node slow to start.
+     *
+     * Keys that cannot be decrypted are left for validation to report.
+     */
+    private static void unlockKeys(final List<ConfigKeyPair> keyData) {
+        if (keyData == null) {
+            return;
+        }
+
+        final List<InlineKeypair> locked = keyData.stream()
+            .map(KeyConfigurationAdapter::toInlineKeypair)
+            .filter(Objects::nonNull)
+            .filter(kp -> kp.getPrivateKeyConfig() != null)
+            .filter(kp -> kp.getPrivateKeyConfig().getType() == PrivateKeyType.LOCKED)
+            .filter(kp -> kp.getPassword() != null)
+            .collect(Collectors.toList());
+
+        if (locked.isEmpty()) {
+            return;
+        }
+
+        final long start = System.nanoTime();
+
+        ParallelTasks.map(locked, Runtime.getRuntime().availableProcessors(), "key-unlock", InlineKeypair::getPrivateKey);
+
+        LOGGER.info("Unlocked {} private keys in {} ms", locked.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private static InlineKeypair toInlineKeypair(final ConfigKeyPair keyPair) {
+        if (keyPair instanceof InlineKeypair) {
+            return (InlineKeypair) keyPair;
+        }
+        if (keyPair instanceof FilesystemKeyPair) {
+            return ((FilesystemKeyPair) keyPair).getInlineKeypair();
+        }
+        return null;
+    }
+
     @Override
     public KeyConfiguration marshal(final KeyConfiguration input) {
         return input;
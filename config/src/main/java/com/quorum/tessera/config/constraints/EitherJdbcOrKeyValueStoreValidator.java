@@ -0,0 +1,24 @@
+package com.quorum.tessera.config.constraints;
+
+import com.quorum.tessera.config.Config;
+
+import javax.validation.ConstraintValidator;
+import javax.validation.ConstraintValidatorContext;
+import java.util.Objects;
+
+/**
+ * Transactions are stored either in a database or in the embedded key-value
+ * store, so only the configuration for the one in use needs to be provided
+ */
+public class EitherJdbcOrKeyValueStoreValidator implements ConstraintValidator<ValidEitherJdbcOrKeyValueStore, Config> {
+
+    @Override
+    public boolean isValid(final Config config, final ConstraintValidatorContext constraintContext) {
+        if (config == null) {
+            return true;
+        }
+
+        return Objects.nonNull(config.getJdbcConfig()) || Objects.nonNull(config.getKeyValueStoreConfig());
+    }
+
+}
@@ -2,6 +2,8 @@ package com.quorum.tessera.config.vault.data;
 
 import com.quorum.tessera.config.KeyVaultType;
 
+import java.util.Objects;
+
 public class AzureGetSecretData implements GetSecretData {
 
     private String secretName;
@@ -25,4 +27,21 @@ public class AzureGetSecretData implements GetSecretData {
     public String getSecretVersion() {
         return secretVersion;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof AzureGetSecretData)) {
+            return false;
+        }
+        final AzureGetSecretData that = (AzureGetSecretData) o;
+        return Objects.equals(secretName, that.secretName) && Objects.equals(secretVersion, that.secretVersion);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(secretName, secretVersion);
+    }
 }
@@ -2,6 +2,8 @@ package com.quorum.tessera.config.vault.data;
 
 import com.quorum.tessera.config.KeyVaultType;
 
+import java.util.Objects;
+
 public class HashicorpGetSecretData implements GetSecretData {
     private final String secretEngineName;
     private final String secretName;
@@ -35,4 +37,24 @@ public class HashicorpGetSecretData implements GetSecretData {
     public KeyVaultType getType() {
         return KeyVaultType.HASHICORP;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof HashicorpGetSecretData)) {
+            return false;
+        }
+        final HashicorpGetSecretData that = (HashicorpGetSecretData) o;
+        return secretVersion == that.secretVersion
+            && Objects.equals(secretEngineName, that.secretEngineName)
+            && Objects.equals(secretName, that.secretName)
+            && Objects.equals(valueId, that.valueId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(secretEngineName, secretName, valueId, secretVersion);
+    }
 }
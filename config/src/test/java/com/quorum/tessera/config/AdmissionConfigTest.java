@@ -0,0 +1,31 @@
+package com.quorum.tessera.config;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AdmissionConfigTest {
+
+    @Test
+    public void defaultsAppliedWhenNotSet() {
+        final AdmissionConfig config = new AdmissionConfig();
+
+        assertThat(config.getEnabled()).isFalse();
+        assertThat(config.getQ2tMaxConcurrency()).isEqualTo(100);
+        assertThat(config.getP2pMaxConcurrency()).isEqualTo(200);
+        assertThat(config.getMinConcurrency()).isEqualTo(4);
+        assertThat(config.getLatencyTolerance()).isEqualTo(2.0);
+    }
+
+    @Test
+    public void multiArgConstructor() {
+        final AdmissionConfig config = new AdmissionConfig(true, 10, 20, 2, 3.0);
+
+        assertThat(config.getEnabled()).isTrue();
+        assertThat(config.getQ2tMaxConcurrency()).isEqualTo(10);
+        assertThat(config.getP2pMaxConcurrency()).isEqualTo(20);
+        assertThat(config.getMinConcurrency()).isEqualTo(2);
+        assertThat(config.getLatencyTolerance()).isEqualTo(3.0);
+    }
+
+}
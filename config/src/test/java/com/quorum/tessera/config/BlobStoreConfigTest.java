@@ -0,0 +1,30 @@
+package com.quorum.tessera.config;
+
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BlobStoreConfigTest {
+
+    @Test
+    public void defaultsAppliedWhenNotSet() {
+        final BlobStoreConfig config = new BlobStoreConfig();
+
+        assertThat(config.getPath()).isNull();
+        assertThat(config.getThreshold()).isEqualTo(1024 * 1024);
+    }
+
+    @Test
+    public void multiArgConstructor() {
+        final Path path = Paths.get("blobs");
+
+        final BlobStoreConfig config = new BlobStoreConfig(path, 4096);
+
+        assertThat(config.getPath()).isEqualTo(path);
+        assertThat(config.getThreshold()).isEqualTo(4096);
+    }
+
+}
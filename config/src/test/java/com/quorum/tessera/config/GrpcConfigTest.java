@@ -0,0 +1,33 @@
+package com.quorum.tessera.config;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class GrpcConfigTest {
+
+    @Test
+    public void defaultsAppliedWhenNotSet() {
+        final GrpcConfig config = new GrpcConfig();
+
+        assertThat(config.getKeepAliveTimeInSecs()).isEqualTo(60L);
+        assertThat(config.getKeepAliveTimeoutInSecs()).isEqualTo(20L);
+        assertThat(config.getIdleTimeoutInSecs()).isEqualTo(300L);
+        assertThat(config.getFlowControlWindow()).isEqualTo(1048576);
+        assertThat(config.getMaxMessageSize()).isEqualTo(4194304);
+        assertThat(config.getPushTimeoutInSecs()).isEqualTo(30L);
+    }
+
+    @Test
+    public void multiArgConstructor() {
+        final GrpcConfig config = new GrpcConfig(10L, 5L, 60L, 65536, 1024, 15L);
+
+        assertThat(config.getKeepAliveTimeInSecs()).isEqualTo(10L);
+        assertThat(config.getKeepAliveTimeoutInSecs()).isEqualTo(5L);
+        assertThat(config.getIdleTimeoutInSecs()).isEqualTo(60L);
+        assertThat(config.getFlowControlWindow()).isEqualTo(65536);
+        assertThat(config.getMaxMessageSize()).isEqualTo(1024);
+        assertThat(config.getPushTimeoutInSecs()).isEqualTo(15L);
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.quorum.tessera.config;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InfluxConfigTest {
+
+    @Test
+    public void defaultsAppliedWhenNotSet() {
+        final InfluxConfig config = new InfluxConfig("http://localhost", 8086, 60L, "tessera");
+
+        assertThat(config.getProtocol()).isEqualTo(InfluxProtocol.HTTP);
+        assertThat(config.getBufferSize()).isEqualTo(10000);
+        assertThat(config.getBatchSize()).isEqualTo(1000);
+        assertThat(config.getFlushIntervalInMillis()).isEqualTo(1000L);
+        assertThat(config.getMaxRetries()).isEqualTo(3);
+    }
+
+    @Test
+    public void multiArgConstructor() {
+        final InfluxConfig config
+            = new InfluxConfig("http://localhost", 8089, 60L, "tessera", InfluxProtocol.UDP, 100, 10, 50L, 0);
+
+        assertThat(config.getProtocol()).isEqualTo(InfluxProtocol.UDP);
+        assertThat(config.getBufferSize()).isEqualTo(100);
+        assertThat(config.getBatchSize()).isEqualTo(10);
+        assertThat(config.getFlushIntervalInMillis()).isEqualTo(50L);
+        assertThat(config.getMaxRetries()).isZero();
+    }
+
+}
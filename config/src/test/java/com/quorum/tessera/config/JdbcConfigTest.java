@@ -0,0 +1,27 @@
+package com.quorum.tessera.config;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JdbcConfigTest {
+
+    @Test
+    public void writeBatchDefaultsWhenNotSet() {
+        final JdbcConfig config = new JdbcConfig();
+
+        assertThat(config.getWriteBatchSize()).isEqualTo(1);
+        assertThat(config.getWriteBatchLatency()).isEqualTo(5L);
+    }
+
+    @Test
+    public void writeBatchSettingsUsedWhenSet() {
+        final JdbcConfig config = new JdbcConfig("user", "pass", "jdbc:h2:mem:");
+        config.setWriteBatchSize(100);
+        config.setWriteBatchLatency(20L);
+
+        assertThat(config.getWriteBatchSize()).isEqualTo(100);
+        assertThat(config.getWriteBatchLatency()).isEqualTo(20L);
+    }
+
+}
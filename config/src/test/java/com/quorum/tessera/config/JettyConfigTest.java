@@ -0,0 +1,43 @@
+package com.quorum.tessera.config;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class JettyConfigTest {
+
+    @Test
+    public void defaultsAppliedWhenNotSet() {
+        final JettyConfig config = new JettyConfig();
+
+        assertThat(config.getMinThreads()).isEqualTo(8);
+        assertThat(config.getMaxThreads()).isEqualTo(200);
+        assertThat(config.getThreadIdleTimeoutInMillis()).isEqualTo(60000);
+        assertThat(config.getMaxQueuedRequests()).isZero();
+        assertThat(config.getIdleTimeoutInMillis()).isEqualTo(30000L);
+        assertThat(config.getAcceptQueueSize()).isEqualTo(128);
+        assertThat(config.getAcceptors()).isEqualTo(-1);
+        assertThat(config.getSelectors()).isEqualTo(-1);
+        assertThat(config.getHttp2Enabled()).isFalse();
+        assertThat(config.getSslSessionCacheSize()).isEqualTo(20480);
+        assertThat(config.getSslSessionTimeoutInSecs()).isEqualTo(86400);
+    }
+
+    @Test
+    public void multiArgConstructor() {
+        final JettyConfig config = new JettyConfig(2, 50, 1000, 500, 5000L, 64, 1, 2, true, 100, 600);
+
+        assertThat(config.getMinThreads()).isEqualTo(2);
+        assertThat(config.getMaxThreads()).isEqualTo(50);
+        assertThat(config.getThreadIdleTimeoutInMillis()).isEqualTo(1000);
+        assertThat(config.getMaxQueuedRequests()).isEqualTo(500);
+        assertThat(config.getIdleTimeoutInMillis()).isEqualTo(5000L);
+        assertThat(config.getAcceptQueueSize()).isEqualTo(64);
+        assertThat(config.getAcceptors()).isEqualTo(1);
+        assertThat(config.getSelectors()).isEqualTo(2);
+        assertThat(config.getHttp2Enabled()).isTrue();
+        assertThat(config.getSslSessionCacheSize()).isEqualTo(100);
+        assertThat(config.getSslSessionTimeoutInSecs()).isEqualTo(600);
+    }
+
+}
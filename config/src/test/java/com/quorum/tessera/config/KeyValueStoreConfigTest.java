@@ -0,0 +1,44 @@
+package com.quorum.tessera.config;
+
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeyValueStoreConfigTest {
+
+    @Test
+    public void defaultsAppliedWhenNotSet() {
+        final KeyValueStoreConfig config = new KeyValueStoreConfig();
+
+        assertThat(config.getPath()).isNull();
+        assertThat(config.getSegmentSize()).isEqualTo(64 * 1024 * 1024);
+        assertThat(config.getCompactionThreshold()).isEqualTo(50);
+        assertThat(config.getWriteBatchSize()).isEqualTo(1);
+        assertThat(config.getWriteBatchLatency()).isEqualTo(5L);
+    }
+
+    @Test
+    public void writeBatchSettingsUsedWhenSet() {
+        final KeyValueStoreConfig config = new KeyValueStoreConfig();
+        config.setWriteBatchSize(100);
+        config.setWriteBatchLatency(20L);
+
+        assertThat(config.getWriteBatchSize()).isEqualTo(100);
+        assertThat(config.getWriteBatchLatency()).isEqualTo(20L);
+    }
+
+    @Test
+    public void multiArgConstructor() {
+        final Path path = Paths.get("store");
+
+        final KeyValueStoreConfig config = new KeyValueStoreConfig(path, 2048, 75);
+
+        assertThat(config.getPath()).isEqualTo(path);
+        assertThat(config.getSegmentSize()).isEqualTo(2048);
+        assertThat(config.getCompactionThreshold()).isEqualTo(75);
+    }
+
+}
@@ -0,0 +1,29 @@
+package com.quorum.tessera.config;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeyVaultCacheConfigTest {
+
+    @Test
+    public void defaultsAppliedWhenNotSet() {
+        final KeyVaultCacheConfig config = new KeyVaultCacheConfig();
+
+        assertThat(config.getEnabled()).isTrue();
+        assertThat(config.getTtlInMillis()).isEqualTo(300000L);
+        assertThat(config.getRefreshAheadInMillis()).isEqualTo(60000L);
+        assertThat(config.getStaleIfErrorInMillis()).isEqualTo(3600000L);
+    }
+
+    @Test
+    public void multiArgConstructor() {
+        final KeyVaultCacheConfig config = new KeyVaultCacheConfig(false, 1000L, 100L, 5000L);
+
+        assertThat(config.getEnabled()).isFalse();
+        assertThat(config.getTtlInMillis()).isEqualTo(1000L);
+        assertThat(config.getRefreshAheadInMillis()).isEqualTo(100L);
+        assertThat(config.getStaleIfErrorInMillis()).isEqualTo(5000L);
+    }
+
+}
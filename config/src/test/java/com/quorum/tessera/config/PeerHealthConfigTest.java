@@ -0,0 +1,25 @@
+package com.quorum.tessera.config;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PeerHealthConfigTest {
+
+    @Test
+    public void defaultsAppliedWhenNotSet() {
+        final PeerHealthConfig config = new PeerHealthConfig();
+
+        assertThat(config.getFailureThreshold()).isEqualTo(5);
+        assertThat(config.getOpenDurationInMillis()).isEqualTo(30000L);
+    }
+
+    @Test
+    public void multiArgConstructor() {
+        final PeerHealthConfig config = new PeerHealthConfig(3, 1000L);
+
+        assertThat(config.getFailureThreshold()).isEqualTo(3);
+        assertThat(config.getOpenDurationInMillis()).isEqualTo(1000L);
+    }
+
+}
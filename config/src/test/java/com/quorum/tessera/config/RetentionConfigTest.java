@@ -0,0 +1,27 @@
+package com.quorum.tessera.config;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RetentionConfigTest {
+
+    @Test
+    public void defaultsAppliedWhenNotSet() {
+        final RetentionConfig config = new RetentionConfig();
+
+        assertThat(config.getMaxAgeInSecs()).isNull();
+        assertThat(config.getBatchSize()).isEqualTo(1000);
+        assertThat(config.getBatchDelayInMillis()).isEqualTo(100L);
+    }
+
+    @Test
+    public void multiArgConstructor() {
+        final RetentionConfig config = new RetentionConfig(86400L, 50, 10L);
+
+        assertThat(config.getMaxAgeInSecs()).isEqualTo(86400L);
+        assertThat(config.getBatchSize()).isEqualTo(50);
+        assertThat(config.getBatchDelayInMillis()).isEqualTo(10L);
+    }
+
+}
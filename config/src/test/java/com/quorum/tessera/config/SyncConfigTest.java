@@ -0,0 +1,30 @@
+package com.quorum.tessera.config;
+
+import org.junit.Test;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SyncConfigTest {
+
+    @Test
+    public void defaultsAppliedWhenNotSet() {
+        final SyncConfig config = new SyncConfig();
+
+        assertThat(config.getWatermarkFile()).isEqualTo(Paths.get("sync-watermarks.properties"));
+        assertThat(config.getPoolSize()).isEqualTo(4);
+    }
+
+    @Test
+    public void multiArgConstructor() {
+        final Path watermarkFile = Paths.get("watermarks.properties");
+
+        final SyncConfig config = new SyncConfig(watermarkFile, 16);
+
+        assertThat(config.getWatermarkFile()).isEqualTo(watermarkFile);
+        assertThat(config.getPoolSize()).isEqualTo(16);
+    }
+
+}
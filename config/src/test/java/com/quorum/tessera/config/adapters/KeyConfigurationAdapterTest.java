@@ -1,17 +1,25 @@
 package com.quorum.tessera.config.adapters;
 
 import com.quorum.tessera.config.KeyConfiguration;
+import com.quorum.tessera.config.KeyDataConfig;
+import com.quorum.tessera.config.PrivateKeyType;
 import com.quorum.tessera.config.keypairs.ConfigKeyPair;
 import com.quorum.tessera.config.keypairs.FilesystemKeyPair;
+import com.quorum.tessera.config.keypairs.InlineKeypair;
 import org.junit.Test;
 
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Arrays;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 public class KeyConfigurationAdapterTest {
 
@@ -77,6 +85,26 @@ public class KeyConfigurationAdapterTest {
         assertThat(returned.getPassword()).isEqualTo("passwordsAssignedToKeys");
     }
 
+    @Test
+    public void lockedKeysAreUnlockedWhenLoaded() {
+
+        final InlineKeypair first = inlineKeypair(PrivateKeyType.LOCKED, "first");
+        final InlineKeypair second = inlineKeypair(PrivateKeyType.LOCKED, "second");
+        final InlineKeypair unlocked = inlineKeypair(PrivateKeyType.UNLOCKED, "");
+        final InlineKeypair noPassword = inlineKeypair(PrivateKeyType.LOCKED, null);
+
+        final KeyConfiguration keyConfiguration = new KeyConfiguration(
+            null, Arrays.asList("first", "second", ""), Arrays.<ConfigKeyPair>asList(first, second, unlocked, noPassword), null, null
+        );
+
+        this.keyConfigurationAdapter.unmarshal(keyConfiguration);
+
+        verify(first).getPrivateKey();
+        verify(second).getPrivateKey();
+        verify(unlocked, never()).getPrivateKey();
+        verify(noPassword, never()).getPrivateKey();
+    }
+
     @Test
     public void unreadablePasswordFileGivesNoPasswords() throws IOException {
 
@@ -93,4 +121,14 @@ public class KeyConfigurationAdapterTest {
 
     }
 
+    private static InlineKeypair inlineKeypair(final PrivateKeyType type, final String password) {
+        final KeyDataConfig keyDataConfig = mock(KeyDataConfig.class);
+        when(keyDataConfig.getType()).thenReturn(type);
+
+        final InlineKeypair keypair = mock(InlineKeypair.class);
+        when(keypair.getPrivateKeyConfig()).thenReturn(keyDataConfig);
+        when(keypair.getPassword()).thenReturn(password);
+        return keypair;
+    }
+
 }
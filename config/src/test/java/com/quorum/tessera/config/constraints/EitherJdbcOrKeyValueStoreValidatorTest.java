@@ -0,0 +1,59 @@
+package com.quorum.tessera.config.constraints;
+
+import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.JdbcConfig;
+import com.quorum.tessera.config.KeyValueStoreConfig;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.validation.ConstraintValidatorContext;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+
+public class EitherJdbcOrKeyValueStoreValidatorTest {
+
+    private EitherJdbcOrKeyValueStoreValidator validator;
+
+    private ConstraintValidatorContext constraintContext;
+
+    @Before
+    public void onSetUp() {
+        validator = new EitherJdbcOrKeyValueStoreValidator();
+        constraintContext = mock(ConstraintValidatorContext.class);
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(constraintContext);
+    }
+
+    @Test
+    public void ignoreNullArg() {
+        assertThat(validator.isValid(null, constraintContext)).isTrue();
+    }
+
+    @Test
+    public void neitherStorageConfigured() {
+        assertThat(validator.isValid(new Config(), constraintContext)).isFalse();
+    }
+
+    @Test
+    public void jdbcConfigured() {
+        final Config config = new Config();
+        config.setJdbcConfig(new JdbcConfig());
+
+        assertThat(validator.isValid(config, constraintContext)).isTrue();
+    }
+
+    @Test
+    public void keyValueStoreConfiguredWithoutJdbc() {
+        final Config config = new Config();
+        config.setKeyValueStoreConfig(new KeyValueStoreConfig());
+
+        assertThat(validator.isValid(config, constraintContext)).isTrue();
+    }
+
+}
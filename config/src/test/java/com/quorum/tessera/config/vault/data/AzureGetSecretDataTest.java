@@ -14,4 +14,14 @@ public class AzureGetSecretDataTest {
         assertThat(data.getSecretVersion()).isEqualTo("version");
         assertThat(data.getType()).isEqualTo(KeyVaultType.AZURE);
     }
+
+    @Test
+    public void equalWhenSameSecret() {
+        AzureGetSecretData data = new AzureGetSecretData("name", "version");
+
+        assertThat(data).isEqualTo(new AzureGetSecretData("name", "version"))
+            .hasSameHashCodeAs(new AzureGetSecretData("name", "version"));
+        assertThat(data).isNotEqualTo(new AzureGetSecretData("name", null));
+        assertThat(data).isNotEqualTo(new AzureGetSecretData("other", "version"));
+    }
 }
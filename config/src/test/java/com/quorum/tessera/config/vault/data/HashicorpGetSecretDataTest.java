@@ -28,4 +28,14 @@ public class HashicorpGetSecretDataTest {
         assertThat(getSecretData.getType()).isEqualTo(KeyVaultType.HASHICORP);
     }
 
+    @Test
+    public void equalWhenSameSecret() {
+        final HashicorpGetSecretData same = new HashicorpGetSecretData("secret", "secretName", "keyId", 1);
+
+        assertThat(getSecretData).isEqualTo(same).hasSameHashCodeAs(same);
+        assertThat(getSecretData).isNotEqualTo(new HashicorpGetSecretData("secret", "secretName", "keyId", 2));
+        assertThat(getSecretData).isNotEqualTo(new HashicorpGetSecretData("secret", "secretName", "otherId", 1));
+        assertThat(getSecretData).isNotEqualTo(new AzureGetSecretData("secretName", null));
+    }
+
 }
@@ -0,0 +1 @@
+ALTER TABLE ENCRYPTED_TRANSACTION ADD CIPHER_TEXT_ADDRESS VARCHAR2(64);
@@ -0,0 +1,4 @@
+ALTER TABLE ENCRYPTED_TRANSACTION ALTER COLUMN HASH VARBINARY(64) NOT NULL;
+ALTER TABLE ENCRYPTED_RAW_TRANSACTION ALTER COLUMN HASH VARBINARY(64) NOT NULL;
+CREATE INDEX ENCRYPTED_TX_TIMESTAMP_IDX ON ENCRYPTED_TRANSACTION (TIMESTAMP);
+CREATE INDEX ENCRYPTED_RAW_TX_TIMESTAMP_IDX ON ENCRYPTED_RAW_TRANSACTION (TIMESTAMP);
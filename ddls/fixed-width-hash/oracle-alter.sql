@@ -0,0 +1,4 @@
+ALTER TABLE ENCRYPTED_TRANSACTION MODIFY (HASH RAW(64));
+ALTER TABLE ENCRYPTED_RAW_TRANSACTION MODIFY (HASH RAW(64));
+CREATE INDEX ENCRYPTED_TX_TIMESTAMP_IDX ON ENCRYPTED_TRANSACTION (TIMESTAMP);
+CREATE INDEX ENCRYPTED_RAW_TX_TIMESTAMP_IDX ON ENCRYPTED_RAW_TRANSACTION (TIMESTAMP);
@@ -0,0 +1,206 @@
+package com.quorum.tessera.enclave;
+
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.service.Service;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Wraps a remote {@link EnclaveClient} and keeps a copy of the enclave's
+ * keys, so asking for them doesn't need a call to the remote enclave.
+ *
+ * The keys are loaded on first use and then refreshed in the background on
+ * a fixed interval. They are also reloaded as soon as the enclave is
+ * (re)started or comes back up after being unavailable, as that is the
+ * only time the keys of an enclave can change.
+ */
+public class CachingEnclaveClient implements EnclaveClient {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingEnclaveClient.class);
+
+    static final long DEFAULT_REFRESH_INTERVAL_MILLIS = 60000L;
+
+    private final EnclaveClient delegate;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final AtomicReference<EnclaveKeys> keys = new AtomicReference<>();
+
+    private volatile Service.Status lastStatus;
+
+    public CachingEnclaveClient(final EnclaveClient delegate) {
+        this(delegate, Executors.newSingleThreadScheduledExecutor(), DEFAULT_REFRESH_INTERVAL_MILLIS);
+    }
+
+    CachingEnclaveClient(final EnclaveClient delegate,
+                         final ScheduledExecutorService scheduler,
+                         final long refreshIntervalMillis) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.scheduler = Objects.requireNonNull(scheduler);
+
+        this.scheduler.scheduleWithFixedDelay(
+            this::refreshSafely, refreshIntervalMillis, refreshIntervalMillis, TimeUnit.MILLISECONDS
+        );
+    }
+
+    @Override
+    public PublicKey defaultPublicKey() {
+        return this.keys().defaultPublicKey;
+    }
+
+    @Override
+    public Set<PublicKey> getForwardingKeys() {
+        return this.keys().forwardingKeys;
+    }
+
+    @Override
+    public Set<PublicKey> getPublicKeys() {
+        return this.keys().publicKeys;
+    }
+
+    @Override
+    public EncodedPayload encryptPayload(final byte[] message,
+                                         final PublicKey senderPublicKey,
+                                         final List<PublicKey> recipientPublicKeys) {
+        return delegate.encryptPayload(message, senderPublicKey, recipientPublicKeys);
+    }
+
+    @Override
+    public EncodedPayload encryptPayload(final RawTransaction rawTransaction, final List<PublicKey> recipientPublicKeys) {
+        return delegate.encryptPayload(rawTransaction, recipientPublicKeys);
+    }
+
+    @Override
+    public RawTransaction encryptRawPayload(final byte[] message, final PublicKey sender) {
+        return delegate.encryptRawPayload(message, sender);
+    }
+
+    @Override
+    public byte[] unencryptTransaction(final EncodedPayload payload, final PublicKey providedKey) {
+        return delegate.unencryptTransaction(payload, providedKey);
+    }
+
+    @Override
+    public byte[] createNewRecipientBox(final EncodedPayload payload, final PublicKey recipientKey) {
+        return delegate.createNewRecipientBox(payload, recipientKey);
+    }
+
+    @Override
+    public List<byte[]> unencryptTransactions(final List<EncodedPayload> payloads, final PublicKey providedKey) {
+        return delegate.unencryptTransactions(payloads, providedKey);
+    }
+
+    @Override
+    public List<byte[]> createNewRecipientBoxes(final List<EncodedPayload> payloads, final PublicKey recipientKey) {
+        return delegate.createNewRecipientBoxes(payloads, recipientKey);
+    }
+
+    @Override
+    public boolean sharesMasterKey(final EncodedPayload payload, final EncodedPayload other) {
+        return delegate.sharesMasterKey(payload, other);
+    }
+
+    @Override
+    public void start() {
+        delegate.start();
+        scheduler.execute(this::refreshSafely);
+    }
+
+    @Override
+    public void stop() {
+        scheduler.shutdown();
+        delegate.stop();
+    }
+
+    /**
+     * Reloads the keys in the background when the enclave comes back up, in
+     * case it was restarted with different keys
+     */
+    @Override
+    public Service.Status status() {
+        final Service.Status status = delegate.status();
+
+        if (status == Service.Status.STARTED && lastStatus == Service.Status.STOPPED) {
+            LOGGER.info("Enclave is available again, reloading its keys");
+            scheduler.execute(this::refreshSafely);
+        }
+        this.lastStatus = status;
+
+        return status;
+    }
+
+    private EnclaveKeys refresh() {
+        final EnclaveKeys latest = new EnclaveKeys(
+            delegate.defaultPublicKey(), delegate.getForwardingKeys(), delegate.getPublicKeys()
+        );
+
+        final EnclaveKeys previous = keys.getAndSet(latest);
+        if (previous != null && !previous.equals(latest)) {
+            LOGGER.info("Keys of the enclave have changed");
+        }
+
+        return latest;
+    }
+
+    private EnclaveKeys keys() {
+        final EnclaveKeys current = keys.get();
+        if (current != null) {
+            return current;
+        }
+        return this.refresh();
+    }
+
+    private void refreshSafely() {
+        try {
+            this.refresh();
+        } catch (final RuntimeException ex) {
+            LOGGER.warn("Unable to reload keys from the enclave: {}", ex.getMessage());
+            LOGGER.debug(null, ex);
+        }
+    }
+
+    private static final class EnclaveKeys {
+
+        private final PublicKey defaultPublicKey;
+
+        private final Set<PublicKey> forwardingKeys;
+
+        private final Set<PublicKey> publicKeys;
+
+        private EnclaveKeys(final PublicKey defaultPublicKey,
+                            final Set<PublicKey> forwardingKeys,
+                            final Set<PublicKey> publicKeys) {
+            this.defaultPublicKey = defaultPublicKey;
+            this.forwardingKeys = Collections.unmodifiableSet(new HashSet<>(forwardingKeys));
+            this.publicKeys = Collections.unmodifiableSet(new HashSet<>(publicKeys));
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            if (!(o instanceof EnclaveKeys)) {
+                return false;
+            }
+            final EnclaveKeys that = (EnclaveKeys) o;
+            return Objects.equals(defaultPublicKey, that.defaultPublicKey)
+                && forwardingKeys.equals(that.forwardingKeys)
+                && publicKeys.equals(that.publicKeys);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(defaultPublicKey, forwardingKeys, publicKeys);
+        }
+
+    }
+
+}
@@ -3,8 +3,10 @@ package com.quorum.tessera.enclave;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.service.Service;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * An {@link Enclave} provides encryption/decryption functions and keeps hold
@@ -90,6 +92,54 @@ public interface Enclave extends Service {
      */
     byte[] createNewRecipientBox(EncodedPayload payload, PublicKey recipientKey);
 
+    /**
+     * Decrypts a group of transactions using the same provided key. For a
+     * remote Enclave this is a single request rather than one per transaction.
+     *
+     * @param payloads    the encrypted payloads
+     * @param providedKey the key to use for decryption, for payloads that weren't sent by this Enclave
+     * @return the original, decrypted messages, in the same order as the payloads
+     * @see #unencryptTransaction(EncodedPayload, PublicKey)
+     */
+    default List<byte[]> unencryptTransactions(final List<EncodedPayload> payloads, final PublicKey providedKey) {
+        return payloads.stream()
+            .map(payload -> unencryptTransaction(payload, providedKey))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates a new recipient box for the same recipient on each of a group
+     * of payloads, all of which must have originated from this Enclave. For a
+     * remote Enclave this is a single request rather than one per payload.
+     *
+     * @param payloads     the payloads to add a recipient to
+     * @param recipientKey the new recipient key to add
+     * @return the new recipient boxes, in the same order as the payloads
+     * @see #createNewRecipientBox(EncodedPayload, PublicKey)
+     */
+    default List<byte[]> createNewRecipientBoxes(final List<EncodedPayload> payloads, final PublicKey recipientKey) {
+        return payloads.stream()
+            .map(payload -> createNewRecipientBox(payload, recipientKey))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Checks that two copies of a transaction that originated from this Enclave
+     * were encrypted with the same master key, by opening the first recipient
+     * box of each. Both payloads are expected to carry the same cipher text, so
+     * the cipher text itself never needs to be decrypted.
+     *
+     * Enclaves that cannot open a recipient box on its own fall back to
+     * decrypting and comparing both transactions.
+     *
+     * @param payload the payload to check
+     * @param other   another copy of the same transaction
+     * @return whether both payloads were encrypted with the same master key
+     */
+    default boolean sharesMasterKey(final EncodedPayload payload, final EncodedPayload other) {
+        return Arrays.equals(unencryptTransaction(payload, null), unencryptTransaction(other, null));
+    }
+
     @Override
     default void start() {
     }
@@ -39,7 +39,8 @@ public interface EnclaveFactory {
      * to a remote service, or to create a local instance.
      * <p>
      * If a remote instance is requested, it is constructed from a
-     * {@link EnclaveClientFactory}.
+     * {@link EnclaveClientFactory} and wrapped so the enclave's keys are
+     * cached locally.
      *
      * @param config the global configuration to use to create a remote enclave connection
      * @return the {@link Enclave}, which may be either local or remote
@@ -52,7 +53,7 @@ public interface EnclaveFactory {
             .findAny();
 
         if (enclaveServerConfig.isPresent()) {
-            return EnclaveClientFactory.create().create(config);
+            return new CachingEnclaveClient(EnclaveClientFactory.create().create(config));
         }
 
         return createServer(config);
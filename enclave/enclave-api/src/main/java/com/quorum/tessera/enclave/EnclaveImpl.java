@@ -1,22 +1,34 @@
 package com.quorum.tessera.enclave;
 
 import com.quorum.tessera.encryption.*;
+import com.quorum.tessera.metrics.Histogram;
+import com.quorum.tessera.metrics.MetricsRegistry;
 import com.quorum.tessera.nacl.NaclFacade;
 import com.quorum.tessera.nacl.Nonce;
 
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 
-import static java.util.Collections.singletonList;
-
 public class EnclaveImpl implements Enclave {
 
     private final NaclFacade nacl;
 
     private final KeyManager keyManager;
 
+    private final Histogram encryptTimer = MetricsRegistry.getDefault().histogram("tessera_enclave_encrypt_microseconds");
+
+    private final Histogram decryptTimer = MetricsRegistry.getDefault().histogram("tessera_enclave_decrypt_microseconds");
+
+    private final Histogram recipientBoxTimer
+        = MetricsRegistry.getDefault().histogram("tessera_enclave_recipient_box_microseconds");
+
     public EnclaveImpl(NaclFacade nacl, KeyManager keyManager) {
         this.nacl = Objects.requireNonNull(nacl);
         this.keyManager = Objects.requireNonNull(keyManager);
@@ -26,6 +38,8 @@ public class EnclaveImpl implements Enclave {
     public EncodedPayload encryptPayload(final byte[] message,
                                          final PublicKey senderPublicKey,
                                          final List<PublicKey> recipientPublicKeys) {
+        final long start = System.nanoTime();
+
         final MasterKey masterKey = nacl.createMasterKey();
         final Nonce nonce = nacl.randomNonce();
         final Nonce recipientNonce = nacl.randomNonce();
@@ -34,6 +48,8 @@ public class EnclaveImpl implements Enclave {
 
         final List<byte[]> encryptedMasterKeys = buildRecipientMasterKeys(senderPublicKey, recipientPublicKeys, recipientNonce, masterKey);
 
+        encryptTimer.recordSince(start);
+
         return new EncodedPayload(
             senderPublicKey, cipherText, nonce, encryptedMasterKeys, recipientNonce, recipientPublicKeys
         );
@@ -41,26 +57,67 @@ public class EnclaveImpl implements Enclave {
 
     @Override
     public byte[] createNewRecipientBox(final EncodedPayload payload, final PublicKey publicKey) {
+        return this.createNewRecipientBox(payload, publicKey, this::computeSharedKey);
+    }
+
+    /**
+     * Payloads in a group often share a sender and recipient, so each shared
+     * key is only computed once for the whole group
+     */
+    @Override
+    public List<byte[]> createNewRecipientBoxes(final List<EncodedPayload> payloads, final PublicKey publicKey) {
+        final BiFunction<PublicKey, PublicKey, SharedKey> sharedKeys = this.sharedKeyCache();
+
+        return payloads.stream()
+            .map(payload -> this.createNewRecipientBox(payload, publicKey, sharedKeys))
+            .collect(Collectors.toList());
+    }
+
+    private byte[] createNewRecipientBox(final EncodedPayload payload,
+                                         final PublicKey publicKey,
+                                         final BiFunction<PublicKey, PublicKey, SharedKey> sharedKeys) {
+
+        final long start = System.nanoTime();
 
         if (payload.getRecipientKeys().isEmpty() || payload.getRecipientBoxes().isEmpty()) {
             throw new RuntimeException("No key or recipient-box to use");
         }
 
-        final MasterKey master = this.getMasterKey(
+        final SharedKey openingKey = sharedKeys.apply(payload.getRecipientKeys().get(0), payload.getSenderKey());
+        final byte[] masterKeyBytes = nacl.openAfterPrecomputation(
+            payload.getRecipientBoxes().get(0), payload.getRecipientNonce(), openingKey
+        );
+
+        final SharedKey sealingKey = sharedKeys.apply(publicKey, payload.getSenderKey());
+
+        final byte[] recipientBox = nacl.sealAfterPrecomputation(masterKeyBytes, payload.getRecipientNonce(), sealingKey);
+
+        recipientBoxTimer.recordSince(start);
+
+        return recipientBox;
+    }
+
+    @Override
+    public boolean sharesMasterKey(final EncodedPayload payload, final EncodedPayload other) {
+
+        final MasterKey masterKey = this.getMasterKey(
             payload.getRecipientKeys().get(0), payload.getSenderKey(),
             payload.getRecipientNonce(), payload.getRecipientBoxes().get(0)
         );
 
-        final List<byte[]> sealedMasterKeyList = this.buildRecipientMasterKeys(
-            payload.getSenderKey(), singletonList(publicKey), payload.getRecipientNonce(), master
+        final MasterKey otherMasterKey = this.getMasterKey(
+            other.getRecipientKeys().get(0), other.getSenderKey(),
+            other.getRecipientNonce(), other.getRecipientBoxes().get(0)
         );
 
-        return sealedMasterKeyList.get(0);
+        return MessageDigest.isEqual(masterKey.getKeyBytes(), otherMasterKey.getKeyBytes());
     }
 
     @Override
     public EncodedPayload encryptPayload(final RawTransaction rawTransaction,
                                          final List<PublicKey> recipientPublicKeys) {
+        final long start = System.nanoTime();
+
         final MasterKey masterKey = this.getMasterKey(
             rawTransaction.getFrom(), rawTransaction.getFrom(),
             rawTransaction.getNonce(), rawTransaction.getEncryptedKey()
@@ -70,6 +127,8 @@ public class EnclaveImpl implements Enclave {
         final List<byte[]> encryptedMasterKeys
             = buildRecipientMasterKeys(rawTransaction.getFrom(), recipientPublicKeys, recipientNonce, masterKey);
 
+        encryptTimer.recordSince(start);
+
         return new EncodedPayload(
             rawTransaction.getFrom(), rawTransaction.getEncryptedPayload(),
             rawTransaction.getNonce(), encryptedMasterKeys, recipientNonce, recipientPublicKeys
@@ -106,7 +165,28 @@ public class EnclaveImpl implements Enclave {
     }
 
     @Override
-    public byte[] unencryptTransaction(EncodedPayload payload, final PublicKey providedSenderKey) {
+    public byte[] unencryptTransaction(final EncodedPayload payload, final PublicKey providedSenderKey) {
+        return this.unencryptTransaction(payload, providedSenderKey, this::computeSharedKey);
+    }
+
+    /**
+     * Payloads in a group often share a sender and recipient, so each shared
+     * key is only computed once for the whole group
+     */
+    @Override
+    public List<byte[]> unencryptTransactions(final List<EncodedPayload> payloads, final PublicKey providedSenderKey) {
+        final BiFunction<PublicKey, PublicKey, SharedKey> sharedKeys = this.sharedKeyCache();
+
+        return payloads.stream()
+            .map(payload -> this.unencryptTransaction(payload, providedSenderKey, sharedKeys))
+            .collect(Collectors.toList());
+    }
+
+    private byte[] unencryptTransaction(final EncodedPayload payload,
+                                        final PublicKey providedSenderKey,
+                                        final BiFunction<PublicKey, PublicKey, SharedKey> sharedKeys) {
+
+        final long start = System.nanoTime();
 
         final PublicKey senderPubKey;
 
@@ -122,9 +202,7 @@ public class EnclaveImpl implements Enclave {
             recipientPubKey = payload.getRecipientKeys().get(0);
         }
 
-        final PrivateKey senderPrivKey = keyManager.getPrivateKeyForPublicKey(senderPubKey);
-
-        final SharedKey sharedKey = nacl.computeSharedKey(recipientPubKey, senderPrivKey);
+        final SharedKey sharedKey = sharedKeys.apply(recipientPubKey, senderPubKey);
 
         final byte[] recipientBox = payload.getRecipientBoxes().iterator().next();
 
@@ -137,8 +215,22 @@ public class EnclaveImpl implements Enclave {
         final byte[] cipherText = payload.getCipherText();
         final Nonce cipherTextNonce = payload.getCipherTextNonce();
 
-        return nacl.openAfterPrecomputation(cipherText, cipherTextNonce, masterKey);
+        final byte[] message = nacl.openAfterPrecomputation(cipherText, cipherTextNonce, masterKey);
+
+        decryptTimer.recordSince(start);
 
+        return message;
+    }
+
+    private SharedKey computeSharedKey(final PublicKey publicKey, final PublicKey ownKey) {
+        return nacl.computeSharedKey(publicKey, keyManager.getPrivateKeyForPublicKey(ownKey));
+    }
+
+    private BiFunction<PublicKey, PublicKey, SharedKey> sharedKeyCache() {
+        final Map<List<PublicKey>, SharedKey> sharedKeys = new HashMap<>();
+        return (publicKey, ownKey) -> sharedKeys.computeIfAbsent(
+            Arrays.asList(publicKey, ownKey), k -> this.computeSharedKey(publicKey, ownKey)
+        );
     }
 
     private MasterKey getMasterKey(PublicKey recipient, PublicKey sender, Nonce nonce, byte[] encryptedKey) {
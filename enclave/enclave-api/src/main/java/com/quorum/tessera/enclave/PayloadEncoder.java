@@ -2,6 +2,9 @@ package com.quorum.tessera.enclave;
 
 import com.quorum.tessera.encryption.PublicKey;
 
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
 /**
  * Encodes and decodes a {@link EncodedPayload} to and from its binary
  * representation
@@ -16,6 +19,18 @@ public interface PayloadEncoder {
      */
     byte[] encode(EncodedPayload payload);
 
+    /**
+     * Writes the encoded payload to a stream, taking the cipher text from the
+     * given buffer rather than from the payload. The cipher text is copied
+     * across in chunks, so a cipher text held in a memory mapped file can be
+     * sent without first being read fully onto the heap.
+     *
+     * @param payload    the payload to encode, whose own cipher text is ignored
+     * @param cipherText the cipher text to write in place of the payload's
+     * @param output     the stream to write the encoded payload to
+     */
+    void encode(EncodedPayload payload, ByteBuffer cipherText, OutputStream output);
+
     /**
      * Decodes a byte array back into an encrypted payload
      *
@@ -1,8 +1,10 @@
 package com.quorum.tessera.enclave;
 
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.io.IOCallback;
 import com.quorum.tessera.nacl.Nonce;
 
+import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
@@ -13,6 +15,8 @@ import static java.util.stream.Collectors.toList;
 
 public class PayloadEncoderImpl implements PayloadEncoder, BinaryEncoder {
 
+    private static final int CHUNK_SIZE = 64 * 1024;
+
     @Override
     public byte[] encode(final EncodedPayload payload) {
 
@@ -35,6 +39,30 @@ public class PayloadEncoderImpl implements PayloadEncoder, BinaryEncoder {
             .array();
     }
 
+    @Override
+    public void encode(final EncodedPayload payload, final ByteBuffer cipherText, final OutputStream output) {
+
+        final ByteBuffer source = cipherText.duplicate();
+        final byte[] chunk = new byte[Math.min(CHUNK_SIZE, source.remaining())];
+
+        IOCallback.execute(() -> {
+            output.write(encodeField(payload.getSenderKey().getKeyBytes()));
+
+            output.write(ByteBuffer.allocate(Long.BYTES).putLong(source.remaining()).array());
+            while (source.hasRemaining()) {
+                final int length = Math.min(chunk.length, source.remaining());
+                source.get(chunk, 0, length);
+                output.write(chunk, 0, length);
+            }
+
+            output.write(encodeField(payload.getCipherTextNonce().getNonceBytes()));
+            output.write(encodeArray(payload.getRecipientBoxes()));
+            output.write(encodeField(payload.getRecipientNonce().getNonceBytes()));
+            output.write(encodeArray(payload.getRecipientKeys().stream().map(PublicKey::getKeyBytes).collect(toList())));
+            return null;
+        });
+    }
+
     @Override
     public EncodedPayload decode(final byte[] input) {
         final ByteBuffer buffer = ByteBuffer.wrap(input);
@@ -0,0 +1,179 @@
+package com.quorum.tessera.enclave;
+
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.service.Service;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class CachingEnclaveClientTest {
+
+    private static final PublicKey DEFAULT_KEY = PublicKey.from("DEFAULT".getBytes());
+
+    private static final PublicKey OTHER_KEY = PublicKey.from("OTHER".getBytes());
+
+    private static final PublicKey FORWARDING_KEY = PublicKey.from("FORWARDING".getBytes());
+
+    private EnclaveClient delegate;
+
+    private ScheduledExecutorService scheduler;
+
+    private Runnable scheduledRefresh;
+
+    private CachingEnclaveClient enclaveClient;
+
+    @Before
+    public void onSetUp() {
+        this.delegate = mock(EnclaveClient.class);
+        this.scheduler = mock(ScheduledExecutorService.class);
+
+        when(delegate.defaultPublicKey()).thenReturn(DEFAULT_KEY);
+        when(delegate.getPublicKeys()).thenReturn(Collections.singleton(DEFAULT_KEY));
+        when(delegate.getForwardingKeys()).thenReturn(Collections.singleton(FORWARDING_KEY));
+
+        this.enclaveClient = new CachingEnclaveClient(delegate, scheduler, 1000L);
+
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(scheduler).scheduleWithFixedDelay(captor.capture(), eq(1000L), eq(1000L), eq(TimeUnit.MILLISECONDS));
+        this.scheduledRefresh = captor.getValue();
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(delegate, scheduler);
+    }
+
+    @Test
+    public void keysAreOnlyFetchedOnce() {
+        assertThat(enclaveClient.defaultPublicKey()).isEqualTo(DEFAULT_KEY);
+        assertThat(enclaveClient.getPublicKeys()).containsExactly(DEFAULT_KEY);
+        assertThat(enclaveClient.getForwardingKeys()).containsExactly(FORWARDING_KEY);
+
+        assertThat(enclaveClient.defaultPublicKey()).isEqualTo(DEFAULT_KEY);
+        assertThat(enclaveClient.getPublicKeys()).containsExactly(DEFAULT_KEY);
+
+        verify(delegate).defaultPublicKey();
+        verify(delegate).getPublicKeys();
+        verify(delegate).getForwardingKeys();
+    }
+
+    @Test
+    public void scheduledRefreshPicksUpChangedKeys() {
+        assertThat(enclaveClient.getPublicKeys()).containsExactly(DEFAULT_KEY);
+
+        when(delegate.getPublicKeys()).thenReturn(Collections.singleton(OTHER_KEY));
+        scheduledRefresh.run();
+
+        assertThat(enclaveClient.getPublicKeys()).containsExactly(OTHER_KEY);
+
+        verify(delegate, times(2)).defaultPublicKey();
+        verify(delegate, times(2)).getPublicKeys();
+        verify(delegate, times(2)).getForwardingKeys();
+    }
+
+    @Test
+    public void failedRefreshKeepsPreviousKeys() {
+        assertThat(enclaveClient.getPublicKeys()).containsExactly(DEFAULT_KEY);
+
+        when(delegate.defaultPublicKey()).thenThrow(new EnclaveNotAvailableException());
+        scheduledRefresh.run();
+
+        assertThat(enclaveClient.getPublicKeys()).containsExactly(DEFAULT_KEY);
+
+        verify(delegate, times(2)).defaultPublicKey();
+        verify(delegate).getPublicKeys();
+        verify(delegate).getForwardingKeys();
+    }
+
+    @Test
+    public void returnedKeySetsCannotBeModified() {
+        final Set<PublicKey> keys = enclaveClient.getPublicKeys();
+
+        final Throwable throwable = catchThrowable(() -> keys.add(OTHER_KEY));
+
+        assertThat(throwable).isInstanceOf(UnsupportedOperationException.class);
+
+        verify(delegate).defaultPublicKey();
+        verify(delegate).getPublicKeys();
+        verify(delegate).getForwardingKeys();
+    }
+
+    @Test
+    public void startReloadsKeysInBackground() {
+        enclaveClient.start();
+
+        verify(delegate).start();
+        verify(scheduler).execute(any(Runnable.class));
+    }
+
+    @Test
+    public void enclaveComingBackUpReloadsKeys() {
+        when(delegate.status()).thenReturn(Service.Status.STARTED, Service.Status.STOPPED, Service.Status.STARTED);
+
+        assertThat(enclaveClient.status()).isEqualTo(Service.Status.STARTED);
+        assertThat(enclaveClient.status()).isEqualTo(Service.Status.STOPPED);
+
+        verify(scheduler, never()).execute(any(Runnable.class));
+
+        assertThat(enclaveClient.status()).isEqualTo(Service.Status.STARTED);
+
+        verify(scheduler).execute(any(Runnable.class));
+        verify(delegate, times(3)).status();
+    }
+
+    @Test
+    public void stopShutsDownRefresh() {
+        enclaveClient.stop();
+
+        verify(scheduler).shutdown();
+        verify(delegate).stop();
+    }
+
+    @Test
+    public void otherOperationsAreDelegated() {
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        final RawTransaction rawTransaction = mock(RawTransaction.class);
+        final byte[] message = "MESSAGE".getBytes();
+
+        enclaveClient.encryptPayload(message, DEFAULT_KEY, singletonList(OTHER_KEY));
+        enclaveClient.encryptPayload(rawTransaction, singletonList(OTHER_KEY));
+        enclaveClient.encryptRawPayload(message, DEFAULT_KEY);
+        enclaveClient.unencryptTransaction(payload, OTHER_KEY);
+        enclaveClient.createNewRecipientBox(payload, OTHER_KEY);
+        enclaveClient.sharesMasterKey(payload, payload);
+        enclaveClient.unencryptTransactions(singletonList(payload), OTHER_KEY);
+        enclaveClient.createNewRecipientBoxes(singletonList(payload), OTHER_KEY);
+
+        verify(delegate).encryptPayload(message, DEFAULT_KEY, singletonList(OTHER_KEY));
+        verify(delegate).encryptPayload(rawTransaction, singletonList(OTHER_KEY));
+        verify(delegate).encryptRawPayload(message, DEFAULT_KEY);
+        verify(delegate).unencryptTransaction(payload, OTHER_KEY);
+        verify(delegate).createNewRecipientBox(payload, OTHER_KEY);
+        verify(delegate).sharesMasterKey(payload, payload);
+        verify(delegate).unencryptTransactions(singletonList(payload), OTHER_KEY);
+        verify(delegate).createNewRecipientBoxes(singletonList(payload), OTHER_KEY);
+    }
+
+    @Test
+    public void createWithDefaultScheduler() {
+        final CachingEnclaveClient client = new CachingEnclaveClient(delegate);
+
+        client.stop();
+
+        verify(delegate).stop();
+    }
+
+}
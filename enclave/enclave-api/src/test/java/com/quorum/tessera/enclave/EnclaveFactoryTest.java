@@ -40,7 +40,9 @@ public class EnclaveFactoryTest {
 
         Enclave result = enclaveFactory.create(config);
 
-        assertThat(result).isInstanceOf(EnclaveClient.class);
+        assertThat(result).isInstanceOf(CachingEnclaveClient.class);
+
+        result.stop();
     }
 
     @Test
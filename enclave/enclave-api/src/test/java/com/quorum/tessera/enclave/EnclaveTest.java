@@ -1,6 +1,8 @@
 package com.quorum.tessera.enclave;
 
 import com.quorum.tessera.encryption.*;
+import com.quorum.tessera.metrics.Histogram;
+import com.quorum.tessera.metrics.MetricsRegistry;
 import com.quorum.tessera.nacl.NaclFacade;
 import com.quorum.tessera.nacl.Nonce;
 import com.quorum.tessera.service.Service;
@@ -10,6 +12,7 @@ import org.junit.Test;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
@@ -188,8 +191,12 @@ public class EnclaveTest {
         byte[] encryptedMasterKeys = "encryptedMasterKeys".getBytes();
         when(nacl.sealAfterPrecomputation(masterKeyBytes, recipientNonce, sharedKey)).thenReturn(encryptedMasterKeys);
 
+        final Histogram encryptTimer = MetricsRegistry.getDefault().histogram("tessera_enclave_encrypt_microseconds");
+        final long encryptionsBefore = encryptTimer.snapshot().getCount();
+
         EncodedPayload result = enclave.encryptPayload(message, senderPublicKey, Arrays.asList(recipientPublicKey));
 
+        assertThat(encryptTimer.snapshot().getCount()).isEqualTo(encryptionsBefore + 1);
         assertThat(result).isNotNull();
         assertThat(result.getRecipientKeys()).containsExactly(recipientPublicKey);
         assertThat(result.getCipherText()).isEqualTo(cipherText);
@@ -358,4 +365,159 @@ public class EnclaveTest {
         verify(keyManager, times(2)).getPrivateKeyForPublicKey(senderKey);
     }
 
+    @Test
+    public void sharesMasterKeyOpensOnlyTheRecipientBoxes() {
+
+        final PublicKey senderKey = PublicKey.from("sender".getBytes());
+        final PublicKey recipientKey = PublicKey.from("recipient".getBytes());
+        final PublicKey otherRecipientKey = PublicKey.from("other-recipient".getBytes());
+        final PrivateKey privateKey = PrivateKey.from("sender-priv".getBytes());
+        final SharedKey sharedKey = SharedKey.from("shared-one".getBytes());
+        final SharedKey otherSharedKey = SharedKey.from("shared-two".getBytes());
+        final Nonce nonce = new Nonce("nonce".getBytes());
+
+        final EncodedPayload payload = new EncodedPayload(
+            senderKey, "cipherText".getBytes(), null, singletonList("box".getBytes()), nonce, singletonList(recipientKey)
+        );
+        final EncodedPayload other = new EncodedPayload(
+            senderKey, "cipherText".getBytes(), null,
+            singletonList("other-box".getBytes()), nonce, singletonList(otherRecipientKey)
+        );
+
+        when(keyManager.getPrivateKeyForPublicKey(senderKey)).thenReturn(privateKey);
+        when(nacl.computeSharedKey(recipientKey, privateKey)).thenReturn(sharedKey);
+        when(nacl.computeSharedKey(otherRecipientKey, privateKey)).thenReturn(otherSharedKey);
+        when(nacl.openAfterPrecomputation("box".getBytes(), nonce, sharedKey)).thenReturn("master".getBytes());
+        when(nacl.openAfterPrecomputation("other-box".getBytes(), nonce, otherSharedKey))
+            .thenReturn("master".getBytes());
+
+        assertThat(enclave.sharesMasterKey(payload, other)).isTrue();
+
+        verify(keyManager, times(2)).getPrivateKeyForPublicKey(senderKey);
+        verify(nacl).computeSharedKey(recipientKey, privateKey);
+        verify(nacl).computeSharedKey(otherRecipientKey, privateKey);
+        verify(nacl).openAfterPrecomputation("box".getBytes(), nonce, sharedKey);
+        verify(nacl).openAfterPrecomputation("other-box".getBytes(), nonce, otherSharedKey);
+    }
+
+    @Test
+    public void sharesMasterKeyIsFalseForDifferentMasterKeys() {
+
+        final PublicKey senderKey = PublicKey.from("sender".getBytes());
+        final PublicKey recipientKey = PublicKey.from("recipient".getBytes());
+        final PrivateKey privateKey = PrivateKey.from("sender-priv".getBytes());
+        final SharedKey sharedKey = SharedKey.from("shared-one".getBytes());
+        final Nonce nonce = new Nonce("nonce".getBytes());
+
+        final EncodedPayload payload = new EncodedPayload(
+            senderKey, "cipherText".getBytes(), null, singletonList("box".getBytes()), nonce, singletonList(recipientKey)
+        );
+        final EncodedPayload other = new EncodedPayload(
+            senderKey, "cipherText".getBytes(), null,
+            singletonList("forged-box".getBytes()), nonce, singletonList(recipientKey)
+        );
+
+        when(keyManager.getPrivateKeyForPublicKey(senderKey)).thenReturn(privateKey);
+        when(nacl.computeSharedKey(recipientKey, privateKey)).thenReturn(sharedKey);
+        when(nacl.openAfterPrecomputation("box".getBytes(), nonce, sharedKey)).thenReturn("master".getBytes());
+        when(nacl.openAfterPrecomputation("forged-box".getBytes(), nonce, sharedKey)).thenReturn("forged".getBytes());
+
+        assertThat(enclave.sharesMasterKey(payload, other)).isFalse();
+
+        verify(keyManager, times(2)).getPrivateKeyForPublicKey(senderKey);
+        verify(nacl, times(2)).computeSharedKey(recipientKey, privateKey);
+        verify(nacl).openAfterPrecomputation("box".getBytes(), nonce, sharedKey);
+        verify(nacl).openAfterPrecomputation("forged-box".getBytes(), nonce, sharedKey);
+    }
+
+    @Test
+    public void sharesMasterKeyDefaultsToComparingDecryptedPayloads() {
+
+        final Enclave remoteEnclave = mock(Enclave.class);
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        final EncodedPayload same = mock(EncodedPayload.class);
+        final EncodedPayload different = mock(EncodedPayload.class);
+
+        when(remoteEnclave.sharesMasterKey(any(EncodedPayload.class), any(EncodedPayload.class))).thenCallRealMethod();
+        when(remoteEnclave.unencryptTransaction(payload, null)).thenReturn("message".getBytes());
+        when(remoteEnclave.unencryptTransaction(same, null)).thenReturn("message".getBytes());
+        when(remoteEnclave.unencryptTransaction(different, null)).thenReturn("other message".getBytes());
+
+        assertThat(remoteEnclave.sharesMasterKey(payload, same)).isTrue();
+        assertThat(remoteEnclave.sharesMasterKey(payload, different)).isFalse();
+    }
+
+    @Test
+    public void unencryptTransactionsComputesEachSharedKeyOnce() {
+
+        final PublicKey senderKey = PublicKey.from("sender".getBytes());
+        final PublicKey recipientKey = PublicKey.from("recipient".getBytes());
+        final PrivateKey privateKey = PrivateKey.from("sender-priv".getBytes());
+        final SharedKey sharedKey = SharedKey.from("shared".getBytes());
+        final Nonce nonce = new Nonce("nonce".getBytes());
+
+        final EncodedPayload first = new EncodedPayload(
+            senderKey, "first".getBytes(), nonce, singletonList("box".getBytes()), nonce, singletonList(recipientKey)
+        );
+        final EncodedPayload second = new EncodedPayload(
+            senderKey, "second".getBytes(), nonce, singletonList("box".getBytes()), nonce, singletonList(recipientKey)
+        );
+
+        when(keyManager.getPublicKeys()).thenReturn(Collections.singleton(senderKey));
+        when(keyManager.getPrivateKeyForPublicKey(senderKey)).thenReturn(privateKey);
+        when(nacl.computeSharedKey(recipientKey, privateKey)).thenReturn(sharedKey);
+        when(nacl.openAfterPrecomputation(any(byte[].class), any(Nonce.class), any(SharedKey.class)))
+            .thenReturn(new byte[32]);
+        when(nacl.openAfterPrecomputation(eq("first".getBytes()), any(Nonce.class), any(MasterKey.class)))
+            .thenReturn("one".getBytes());
+        when(nacl.openAfterPrecomputation(eq("second".getBytes()), any(Nonce.class), any(MasterKey.class)))
+            .thenReturn("two".getBytes());
+
+        final List<byte[]> results = enclave.unencryptTransactions(Arrays.asList(first, second), null);
+
+        assertThat(results).containsExactly("one".getBytes(), "two".getBytes());
+
+        verify(keyManager, times(2)).getPublicKeys();
+        verify(keyManager).getPrivateKeyForPublicKey(senderKey);
+        verify(nacl).computeSharedKey(recipientKey, privateKey);
+        verify(nacl, times(2)).openAfterPrecomputation(any(byte[].class), any(Nonce.class), any(SharedKey.class));
+        verify(nacl, times(2)).openAfterPrecomputation(any(byte[].class), any(Nonce.class), any(MasterKey.class));
+    }
+
+    @Test
+    public void createNewRecipientBoxesComputesEachSharedKeyOnce() {
+
+        final PublicKey publicKey = PublicKey.from("recipient".getBytes());
+        final PublicKey senderKey = PublicKey.from("sender".getBytes());
+        final PrivateKey privateKey = PrivateKey.from("sender-priv".getBytes());
+        final SharedKey recipientSenderShared = SharedKey.from("shared-one".getBytes());
+        final SharedKey senderShared = SharedKey.from("shared-two".getBytes());
+        final Nonce nonce = new Nonce("nonce".getBytes());
+
+        final EncodedPayload first
+            = new EncodedPayload(senderKey, null, null, singletonList("first".getBytes()), nonce, singletonList(publicKey));
+        final EncodedPayload second
+            = new EncodedPayload(senderKey, null, null, singletonList("second".getBytes()), nonce, singletonList(publicKey));
+
+        when(keyManager.getPrivateKeyForPublicKey(senderKey)).thenReturn(privateKey);
+        when(nacl.computeSharedKey(publicKey, privateKey)).thenReturn(recipientSenderShared);
+        when(nacl.computeSharedKey(senderKey, privateKey)).thenReturn(senderShared);
+        when(nacl.openAfterPrecomputation("first".getBytes(), nonce, recipientSenderShared)).thenReturn("one".getBytes());
+        when(nacl.openAfterPrecomputation("second".getBytes(), nonce, recipientSenderShared)).thenReturn("two".getBytes());
+        when(nacl.sealAfterPrecomputation("one".getBytes(), nonce, senderShared)).thenReturn("newbox-one".getBytes());
+        when(nacl.sealAfterPrecomputation("two".getBytes(), nonce, senderShared)).thenReturn("newbox-two".getBytes());
+
+        final List<byte[]> boxes = enclave.createNewRecipientBoxes(Arrays.asList(first, second), senderKey);
+
+        assertThat(boxes).containsExactly("newbox-one".getBytes(), "newbox-two".getBytes());
+
+        verify(keyManager, times(2)).getPrivateKeyForPublicKey(senderKey);
+        verify(nacl).computeSharedKey(publicKey, privateKey);
+        verify(nacl).computeSharedKey(senderKey, privateKey);
+        verify(nacl).openAfterPrecomputation("first".getBytes(), nonce, recipientSenderShared);
+        verify(nacl).openAfterPrecomputation("second".getBytes(), nonce, recipientSenderShared);
+        verify(nacl).sealAfterPrecomputation("one".getBytes(), nonce, senderShared);
+        verify(nacl).sealAfterPrecomputation("two".getBytes(), nonce, senderShared);
+    }
+
 }
@@ -5,10 +5,20 @@ import com.quorum.tessera.nacl.Nonce;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
 import java.util.Base64;
+import java.util.Random;
 
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 
 public class PayloadEncoderTest {
@@ -166,4 +176,52 @@ public class PayloadEncoderTest {
 
     }
 
+    @Test
+    public void streamingEncodeTakesCipherTextFromBuffer() {
+
+        final byte[] cipherText = new byte[200 * 1024];
+        new Random().nextBytes(cipherText);
+
+        final EncodedPayload payload = new EncodedPayload(
+            PublicKey.from(new byte[]{1, 2, 3}),
+            cipherText,
+            new Nonce(new byte[]{4, 5}),
+            singletonList(new byte[]{6, 7}),
+            new Nonce(new byte[]{8, 9}),
+            singletonList(PublicKey.from(new byte[]{10, 11}))
+        );
+
+        final EncodedPayload withoutCipherText = new EncodedPayload(
+            payload.getSenderKey(),
+            new byte[0],
+            payload.getCipherTextNonce(),
+            payload.getRecipientBoxes(),
+            payload.getRecipientNonce(),
+            payload.getRecipientKeys()
+        );
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        payloadEncoder.encode(withoutCipherText, ByteBuffer.wrap(cipherText), output);
+
+        assertThat(output.toByteArray()).containsExactly(payloadEncoder.encode(payload));
+    }
+
+    @Test
+    public void streamingEncodeFailureIsUnchecked() throws IOException {
+
+        final EncodedPayload payload = new EncodedPayload(
+            PublicKey.from(new byte[]{1}), new byte[0], new Nonce(new byte[]{2}),
+            emptyList(), new Nonce(new byte[]{3}), emptyList()
+        );
+
+        final OutputStream output = mock(OutputStream.class);
+        doThrow(IOException.class).when(output).write(any(byte[].class));
+
+        final Throwable throwable = catchThrowable(
+            () -> payloadEncoder.encode(payload, ByteBuffer.wrap(new byte[]{1}), output)
+        );
+
+        assertThat(throwable).isInstanceOf(UncheckedIOException.class);
+    }
+
 }
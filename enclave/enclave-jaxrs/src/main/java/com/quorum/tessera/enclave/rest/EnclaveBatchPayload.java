@@ -0,0 +1,33 @@
+package com.quorum.tessera.enclave.rest;
+
+import java.io.Serializable;
+import java.util.List;
+import javax.xml.bind.annotation.XmlMimeType;
+import javax.xml.bind.annotation.XmlRootElement;
+
+@XmlRootElement
+public class EnclaveBatchPayload implements Serializable {
+
+    @XmlMimeType("base64Binary")
+    private List<byte[]> data;
+
+    @XmlMimeType("base64Binary")
+    private byte[] providedKey;
+
+    public List<byte[]> getData() {
+        return data;
+    }
+
+    public void setData(List<byte[]> data) {
+        this.data = data;
+    }
+
+    public byte[] getProvidedKey() {
+        return providedKey;
+    }
+
+    public void setProvidedKey(byte[] providedKey) {
+        this.providedKey = providedKey;
+    }
+
+}
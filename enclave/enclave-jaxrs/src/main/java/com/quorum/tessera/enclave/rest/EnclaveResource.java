@@ -12,6 +12,7 @@ import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
+import java.util.Base64;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
@@ -178,4 +179,52 @@ public class EnclaveResource {
 
     }
 
+    @POST
+    @Path("unencrypt/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response unencryptTransactions(EnclaveBatchPayload enclaveBatchPayload) {
+
+        List<EncodedPayload> payloads = enclaveBatchPayload.getData()
+                .stream()
+                .map(payloadEncoder::decode)
+                .collect(Collectors.toList());
+
+        PublicKey providedKey = Optional.ofNullable(enclaveBatchPayload.getProvidedKey())
+            .map(PublicKey::from)
+            .orElse(null);
+
+        List<byte[]> results = enclave.unencryptTransactions(payloads, providedKey);
+
+        return toJsonArray(results);
+    }
+
+    @POST
+    @Path("addRecipient/batch")
+    @Consumes(MediaType.APPLICATION_JSON)
+    @Produces(MediaType.APPLICATION_JSON)
+    public Response createNewRecipientBoxes(EnclaveBatchPayload enclaveBatchPayload) {
+
+        List<EncodedPayload> payloads = enclaveBatchPayload.getData()
+                .stream()
+                .map(payloadEncoder::decode)
+                .collect(Collectors.toList());
+
+        PublicKey recipientKey = PublicKey.from(enclaveBatchPayload.getProvidedKey());
+
+        List<byte[]> results = enclave.createNewRecipientBoxes(payloads, recipientKey);
+
+        return toJsonArray(results);
+    }
+
+    private static Response toJsonArray(List<byte[]> results) {
+
+        List<String> body = results.stream()
+                .map(Base64.getEncoder()::encodeToString)
+                .collect(Collectors.toList());
+
+        return Response.ok(Json.createArrayBuilder(body).build().toString(), MediaType.APPLICATION_JSON_TYPE)
+                .build();
+    }
+
 }
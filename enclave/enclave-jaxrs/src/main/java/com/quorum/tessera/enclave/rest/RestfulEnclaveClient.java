@@ -236,6 +236,49 @@ public class RestfulEnclaveClient implements EnclaveClient {
         });
     }
 
+    @Override
+    public List<byte[]> unencryptTransactions(final List<EncodedPayload> payloads, final PublicKey providedKey) {
+
+        return ClientCallback.execute(() -> {
+
+            final EnclaveBatchPayload dto = toBatch(payloads);
+
+            if (providedKey != null) {
+                dto.setProvidedKey(providedKey.getKeyBytes());
+            }
+
+            final Response response = client.target(uri)
+                .path("unencrypt")
+                .path("batch")
+                .request()
+                .post(Entity.json(dto));
+
+            validateResponseIsOk(response);
+
+            return readByteArrays(response);
+        });
+    }
+
+    @Override
+    public List<byte[]> createNewRecipientBoxes(final List<EncodedPayload> payloads, final PublicKey recipientKey) {
+
+        return ClientCallback.execute(() -> {
+
+            final EnclaveBatchPayload dto = toBatch(payloads);
+            dto.setProvidedKey(recipientKey.getKeyBytes());
+
+            final Response response = client.target(uri)
+                .path("addRecipient")
+                .path("batch")
+                .request()
+                .post(Entity.json(dto));
+
+            validateResponseIsOk(response);
+
+            return readByteArrays(response);
+        });
+    }
+
     /**
      * In the case of a stateless client there is no start/stop all the run
      * status logic is handled in the status command itself
@@ -266,6 +309,23 @@ public class RestfulEnclaveClient implements EnclaveClient {
         } 
     }
 
+    private static EnclaveBatchPayload toBatch(List<EncodedPayload> payloads) {
+        final PayloadEncoder payloadEncoder = PayloadEncoder.create();
+
+        final EnclaveBatchPayload dto = new EnclaveBatchPayload();
+        dto.setData(payloads.stream().map(payloadEncoder::encode).collect(Collectors.toList()));
+        return dto;
+    }
+
+    private static List<byte[]> readByteArrays(Response response) {
+        final JsonArray results = response.readEntity(JsonArray.class);
+
+        return IntStream.range(0, results.size())
+            .mapToObj(results::getString)
+            .map(Base64.getDecoder()::decode)
+            .collect(Collectors.toList());
+    }
+
     private static void validateResponseIsOk(Response response) {
         if (response.getStatus() != 200) {
             Response.StatusType statusInfo = response.getStatusInfo();
@@ -221,6 +221,58 @@ public class RestfulEnclaveClientTest {
 
     }
 
+    @Test
+    public void unencryptTransactions() {
+
+        List<EncodedPayload> payloads = Arrays.asList(Fixtures.createSample(), Fixtures.createSample());
+
+        PublicKey providedKey = PublicKey.from("ProvidedKey".getBytes());
+
+        when(enclave.unencryptTransactions(anyList(), any(PublicKey.class)))
+            .thenReturn(Arrays.asList("ONE".getBytes(), "TWO".getBytes()));
+
+        List<byte[]> result = enclaveClient.unencryptTransactions(payloads, providedKey);
+
+        assertThat(result).containsExactly("ONE".getBytes(), "TWO".getBytes());
+
+        verify(enclave).unencryptTransactions(argThat(list -> list.size() == 2), eq(providedKey));
+
+    }
+
+    @Test
+    public void unencryptTransactionsWithoutProvidedKey() {
+
+        List<EncodedPayload> payloads = Collections.singletonList(Fixtures.createSample());
+
+        when(enclave.unencryptTransactions(anyList(), isNull()))
+            .thenReturn(Collections.singletonList("ONE".getBytes()));
+
+        List<byte[]> result = enclaveClient.unencryptTransactions(payloads, null);
+
+        assertThat(result).containsExactly("ONE".getBytes());
+
+        verify(enclave).unencryptTransactions(anyList(), isNull());
+
+    }
+
+    @Test
+    public void createNewRecipientBoxes() {
+
+        List<EncodedPayload> payloads = Arrays.asList(Fixtures.createSample(), Fixtures.createSample());
+
+        PublicKey recipientKey = PublicKey.from("RecipientKey".getBytes());
+
+        when(enclave.createNewRecipientBoxes(anyList(), any(PublicKey.class)))
+            .thenReturn(Arrays.asList("BOX1".getBytes(), "BOX2".getBytes()));
+
+        List<byte[]> result = enclaveClient.createNewRecipientBoxes(payloads, recipientKey);
+
+        assertThat(result).containsExactly("BOX1".getBytes(), "BOX2".getBytes());
+
+        verify(enclave).createNewRecipientBoxes(argThat(list -> list.size() == 2), eq(recipientKey));
+
+    }
+
     @Test
     public void statusStarted() {
         when(enclave.status())
@@ -7,6 +7,7 @@ public enum ArgType {
     STRING,
     PUBLIC_KEY_LIST,
     RAW_TRANSACTION,
-    ENCODED_PAYLOAD
+    ENCODED_PAYLOAD,
+    ENCODED_PAYLOAD_LIST
     
 }
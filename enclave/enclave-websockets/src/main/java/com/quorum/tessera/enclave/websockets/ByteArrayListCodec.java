@@ -0,0 +1,42 @@
+package com.quorum.tessera.enclave.websockets;
+
+import java.util.Base64;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.json.Json;
+import javax.json.JsonArrayBuilder;
+import javax.json.JsonObject;
+import javax.json.JsonObjectBuilder;
+import javax.json.JsonString;
+
+public class ByteArrayListCodec extends JsonCodec<List<byte[]>> {
+
+    @Override
+    public JsonObjectBuilder doEncode(List<byte[]> object) throws Exception {
+
+        Base64.Encoder base64Encoder = Base64.getEncoder();
+
+        JsonArrayBuilder jsonArrayBuilder = Json.createArrayBuilder();
+
+        object.stream()
+                .map(base64Encoder::encodeToString)
+                .forEach(jsonArrayBuilder::add);
+
+        return Json.createObjectBuilder()
+                .add("data", jsonArrayBuilder);
+    }
+
+    @Override
+    public List<byte[]> doDecode(JsonObject json) throws Exception {
+
+        Base64.Decoder base64Decoder = Base64.getDecoder();
+
+        return json.getJsonArray("data")
+                .getValuesAs(JsonString.class)
+                .stream()
+                .map(JsonString::getString)
+                .map(base64Decoder::decode)
+                .collect(Collectors.toList());
+    }
+
+}
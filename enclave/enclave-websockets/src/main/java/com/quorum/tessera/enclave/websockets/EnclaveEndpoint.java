@@ -5,6 +5,8 @@ import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.enclave.RawTransaction;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.service.Service.Status;
+import com.quorum.tessera.trace.Span;
+import com.quorum.tessera.trace.Tracer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -37,8 +39,17 @@ public class EnclaveEndpoint {
         LOGGER.info("Opening session {}", session.getId());
     }
 
+    /**
+     * Handles the request as part of the caller's trace, if it sent one
+     */
     @OnMessage
     public void onRequest(Session session, EnclaveRequest request) {
+        try (Span span = Tracer.startServerSpan("enclave " + request.getType(), request.getTraceParent())) {
+            this.handle(session, request);
+        }
+    }
+
+    private void handle(Session session, EnclaveRequest request) {
 
         LOGGER.info("Request {}", request.getClass());
 
@@ -118,6 +129,22 @@ public class EnclaveEndpoint {
                 byte[] boxData = enclave.createNewRecipientBox(createNewRecipientPayload, recipientKey);
                 webSocketTemplate.execute(s -> s.getBasicRemote().sendObject(new EnclaveResponse(type, ByteBuffer.wrap(boxData))));
                 break;
+
+            case UNENCRYPT_TXNS:
+                List<EncodedPayload> unencryptPayloads = (List<EncodedPayload>) request.getArgs().get(0);
+                PublicKey batchProvidedKey = (PublicKey) request.getArgs().get(1);
+
+                List<byte[]> txnsData = enclave.unencryptTransactions(unencryptPayloads, batchProvidedKey);
+                webSocketTemplate.execute(s -> s.getBasicRemote().sendObject(new EnclaveResponse(type, txnsData)));
+                break;
+
+            case CREATE_NEW_RECIPIENT_BOXES:
+                List<EncodedPayload> createNewRecipientPayloads = (List<EncodedPayload>) request.getArgs().get(0);
+                PublicKey batchRecipientKey = (PublicKey) request.getArgs().get(1);
+
+                List<byte[]> boxesData = enclave.createNewRecipientBoxes(createNewRecipientPayloads, batchRecipientKey);
+                webSocketTemplate.execute(s -> s.getBasicRemote().sendObject(new EnclaveResponse(type, boxesData)));
+                break;
         }
 
     }
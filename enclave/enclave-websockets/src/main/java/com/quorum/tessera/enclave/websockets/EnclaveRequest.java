@@ -1,5 +1,7 @@
 package com.quorum.tessera.enclave.websockets;
 
+import com.quorum.tessera.trace.Tracer;
+
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
@@ -10,9 +12,12 @@ public class EnclaveRequest implements Serializable {
 
     private List<?> args;
 
-    private EnclaveRequest(EnclaveRequestType type, List<?> args) {
+    private String traceParent;
+
+    private EnclaveRequest(EnclaveRequestType type, List<?> args, String traceParent) {
         this.type = type;
         this.args = args;
+        this.traceParent = traceParent;
     }
 
     public EnclaveRequestType getType() {
@@ -23,12 +28,21 @@ public class EnclaveRequest implements Serializable {
         return args;
     }
 
+    /**
+     * @return the trace the request was made in, or null if none was sent
+     */
+    public String getTraceParent() {
+        return traceParent;
+    }
+
     public static class Builder {
 
         private EnclaveRequestType type;
 
         private List<Object> args = new ArrayList<>();
 
+        private String traceParent = Tracer.currentTraceParent().orElse(null);
+
         private Builder() {
         }
 
@@ -45,6 +59,11 @@ public class EnclaveRequest implements Serializable {
             this.args.add(arg);
             return this;
         }
+
+        public Builder withTraceParent(String traceParent) {
+            this.traceParent = traceParent;
+            return this;
+        }
         
         public EnclaveRequest build() {
 
@@ -52,7 +71,7 @@ public class EnclaveRequest implements Serializable {
                 throw new IllegalStateException("Param types and args are not of equal length:" + type + " "+ args);
             }
             
-            return new EnclaveRequest(type, args);
+            return new EnclaveRequest(type, args, traceParent);
         }
 
     }
@@ -3,8 +3,10 @@ package com.quorum.tessera.enclave.websockets;
 import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.enclave.RawTransaction;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.trace.Tracer;
 
 import javax.json.*;
+import java.util.ArrayList;
 import java.util.Base64;
 import java.util.Base64.Decoder;
 import java.util.Base64.Encoder;
@@ -43,6 +45,10 @@ public class EnclaveRequestCodec extends JsonCodec<EnclaveRequest> {
                     break;
 
                 case PUBLIC_KEY:
+                    if (value == null) {
+                        jsonArrayBuilder.addNull();
+                        break;
+                    }
                     PublicKey publicKey = PublicKey.class.cast(value);
                     String encodedKey = BASE64_ENCODER.encodeToString(publicKey.getKeyBytes());
                     jsonArrayBuilder.add(encodedKey);
@@ -59,13 +65,29 @@ public class EnclaveRequestCodec extends JsonCodec<EnclaveRequest> {
                     JsonObjectBuilder encodedObject = new EncodedPayloadCodec().doEncode(encodedPayload);
                     jsonArrayBuilder.add(encodedObject);
                     break;
+
+                case ENCODED_PAYLOAD_LIST:
+                    JsonArrayBuilder payloadsBuilder = Json.createArrayBuilder();
+                    List<EncodedPayload> payloads = List.class.cast(value);
+
+                    for (EncodedPayload payload : payloads) {
+                        payloadsBuilder.add(new EncodedPayloadCodec().doEncode(payload));
+                    }
+                    jsonArrayBuilder.add(payloadsBuilder);
+                    break;
             }
 
         }
 
-        return Json.createObjectBuilder()
+        JsonObjectBuilder builder = Json.createObjectBuilder()
                 .add("type", request.getType().name())
                 .add("args", jsonArrayBuilder);
+
+        if (request.getTraceParent() != null) {
+            builder.add(Tracer.TRACE_PARENT, request.getTraceParent());
+        }
+
+        return builder;
     }
 
     @Override
@@ -76,7 +98,8 @@ public class EnclaveRequestCodec extends JsonCodec<EnclaveRequest> {
         JsonArray args = json.getJsonArray("args");
 
         EnclaveRequest.Builder requestBuilder = EnclaveRequest.Builder.create()
-                .withType(enclaveRequestType);
+                .withType(enclaveRequestType)
+                .withTraceParent(json.getString(Tracer.TRACE_PARENT, null));
 
         for (int i = 0; i < args.size(); i++) {
 
@@ -90,6 +113,10 @@ public class EnclaveRequestCodec extends JsonCodec<EnclaveRequest> {
                     break;
 
                 case PUBLIC_KEY:
+                    if (args.isNull(i)) {
+                        requestBuilder.withArg(null);
+                        break;
+                    }
                     String encodedKey = args.getString(i);
                     byte[] decodedKey = BASE64_DECODER.decode(encodedKey);
                     requestBuilder.withArg(PublicKey.from(decodedKey));
@@ -113,6 +140,14 @@ public class EnclaveRequestCodec extends JsonCodec<EnclaveRequest> {
                 case ENCODED_PAYLOAD:
                     requestBuilder.withArg(new EncodedPayloadCodec().doDecode(args.getJsonObject(i)));
                     break;
+
+                case ENCODED_PAYLOAD_LIST:
+                    List<EncodedPayload> payloads = new ArrayList<>();
+                    for (JsonObject encodedPayload : args.getJsonArray(i).getValuesAs(JsonObject.class)) {
+                        payloads.add(new EncodedPayloadCodec().doDecode(encodedPayload));
+                    }
+                    requestBuilder.withArg(payloads);
+                    break;
             }
         }
 
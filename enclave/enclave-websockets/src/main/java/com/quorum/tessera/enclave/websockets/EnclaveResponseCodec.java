@@ -22,6 +22,7 @@ public class EnclaveResponseCodec extends JsonCodec<EnclaveResponse> {
         lookup.put(EnclaveResponseType.STATUS, new StatusCodec());
         lookup.put(EnclaveResponseType.RAW_TXN, new RawTransactionCodec());
         lookup.put(EnclaveResponseType.ENCODED_PAYLOAD, new EncodedPayloadCodec());
+        lookup.put(EnclaveResponseType.BYTES_LIST, new ByteArrayListCodec());
     }
 
     @Override
@@ -7,5 +7,6 @@ public enum EnclaveResponseType {
     PUBLIC_KEYS,
     BYTES,
     ENCODED_PAYLOAD,
-    RAW_TXN
+    RAW_TXN,
+    BYTES_LIST
 }
@@ -182,6 +182,32 @@ public class WebsocketEnclaveClient implements EnclaveClient {
         return client.pollForResult(ByteBuffer.class).get().array();  
     }
 
+    @Override
+    public List<byte[]> unencryptTransactions(List<EncodedPayload> payloads, PublicKey providedKey) {
+        webSocketTemplate.execute(s -> {
+            EnclaveRequest request = EnclaveRequest.Builder.create()
+                    .withType(EnclaveRequestType.UNENCRYPT_TXNS)
+                    .withArg(payloads)
+                    .withArg(providedKey).build();
+            s.getBasicRemote().sendObject(request);
+        });
+
+        return client.pollForResult(List.class).get();
+    }
+
+    @Override
+    public List<byte[]> createNewRecipientBoxes(List<EncodedPayload> payloads, PublicKey recipientKey) {
+        webSocketTemplate.execute(s -> {
+            EnclaveRequest request = EnclaveRequest.Builder.create()
+                    .withType(EnclaveRequestType.CREATE_NEW_RECIPIENT_BOXES)
+                    .withArg(payloads)
+                    .withArg(recipientKey).build();
+            s.getBasicRemote().sendObject(request);
+        });
+
+        return client.pollForResult(List.class).get();
+    }
+
     @Override
     public com.quorum.tessera.service.Service.Status status() {
         webSocketTemplate.execute(s -> {
@@ -0,0 +1,44 @@
+package com.quorum.tessera.enclave.websockets;
+
+import static com.quorum.tessera.enclave.websockets.JsonCodec.ENCODED_BY_KEY;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+import javax.json.Json;
+import javax.json.JsonObject;
+import static org.assertj.core.api.Assertions.assertThat;
+import org.junit.Test;
+
+public class ByteArrayListCodecTest {
+
+    private ByteArrayListCodec byteArrayListCodec = new ByteArrayListCodec();
+
+    @Test
+    public void encode() throws Exception {
+
+        String resultData = byteArrayListCodec.encode(Arrays.asList("SOMEDATA".getBytes(), "MOREDATA".getBytes()));
+
+        JsonObject result = Json.createReader(new StringReader(resultData)).readObject();
+
+        assertThat(result).containsKeys(ENCODED_BY_KEY, "data");
+        assertThat(result.getString(ENCODED_BY_KEY)).isEqualTo(ByteArrayListCodec.class.getSimpleName());
+        assertThat(result.getJsonArray("data")).hasSize(2);
+        assertThat(result.getJsonArray("data").getString(0)).isEqualTo("U09NRURBVEE=");
+        assertThat(result.getJsonArray("data").getString(1)).isEqualTo("TU9SRURBVEE=");
+
+    }
+
+    @Test
+    public void decode() throws Exception {
+
+        JsonObject input = Json.createObjectBuilder()
+                .add("data", Json.createArrayBuilder()
+                        .add("U09NRURBVEE=")
+                        .add("TU9SRURBVEE=")).build();
+
+        List<byte[]> result = byteArrayListCodec.decode(input.toString());
+
+        assertThat(result).containsExactly("SOMEDATA".getBytes(), "MOREDATA".getBytes());
+    }
+
+}
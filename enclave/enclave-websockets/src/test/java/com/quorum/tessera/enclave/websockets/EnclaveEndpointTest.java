@@ -26,6 +26,8 @@ import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.isNull;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import org.slf4j.Logger;
@@ -237,6 +239,49 @@ public class EnclaveEndpointTest {
         assertThat(result).isEqualTo(outcome);
     }
 
+    @Test
+    public void unencryptTransactions() {
+
+        EncodedPayload encodedPayload = EncodedPayloadBuilder.create()
+                .withSenderKey(PublicKey.from("senderKey".getBytes()))
+                .withCipherText("cipherText".getBytes())
+                .withCipherTextNonce("cipherTextNonce".getBytes())
+                .withRecipientBoxes(Arrays.asList("recipientBox".getBytes()))
+                .withRecipientNonce("recipientNonce".getBytes())
+                .withRecipientKeys(PublicKey.from("recipientKey".getBytes()))
+                .build();
+
+        when(enclave.unencryptTransactions(anyList(), isNull()))
+                .thenReturn(Arrays.asList("ONE".getBytes(), "TWO".getBytes()));
+
+        List<byte[]> result = enclaveAdapter.unencryptTransactions(Arrays.asList(encodedPayload, encodedPayload), null);
+
+        assertThat(result).containsExactly("ONE".getBytes(), "TWO".getBytes());
+    }
+
+    @Test
+    public void createBoxesData() {
+
+        String key = "ROAZBWtSacxXQrOe3FGAqJDyJjFePR5ce4TSIzmJ0Bc=";
+        PublicKey recipientKey = PublicKey.from(Base64.getDecoder().decode(key));
+
+        EncodedPayload encodedPayload = EncodedPayloadBuilder.create()
+                .withSenderKey(PublicKey.from("senderKey".getBytes()))
+                .withCipherText("cipherText".getBytes())
+                .withCipherTextNonce("cipherTextNonce".getBytes())
+                .withRecipientBoxes(Arrays.asList("recipientBox".getBytes()))
+                .withRecipientNonce("recipientNonce".getBytes())
+                .withRecipientKeys(PublicKey.from("recipientKey".getBytes()))
+                .build();
+
+        when(enclave.createNewRecipientBoxes(anyList(), any(PublicKey.class)))
+                .thenReturn(Collections.singletonList("BOX".getBytes()));
+
+        List<byte[]> result = enclaveAdapter.createNewRecipientBoxes(Collections.singletonList(encodedPayload), recipientKey);
+
+        assertThat(result).containsExactly("BOX".getBytes());
+    }
+
     //An impossible situation but for the last 0.01 coverage
     @Test(expected = UnsupportedOperationException.class)
     public void nullRequestType() {
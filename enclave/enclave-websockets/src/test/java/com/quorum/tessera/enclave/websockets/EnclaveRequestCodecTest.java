@@ -1,6 +1,10 @@
 package com.quorum.tessera.enclave.websockets;
 
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.EncodedPayloadBuilder;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.trace.Span;
+import com.quorum.tessera.trace.Tracer;
 import java.io.StringReader;
 import java.util.Arrays;
 import java.util.Base64;
@@ -74,8 +78,51 @@ public class EnclaveRequestCodecTest {
         assertThat(result.getArgs().get(2)).isInstanceOf(List.class);
         List keys = (List) result.getArgs().get(2);
         assertThat(keys).containsExactly(publicKey);
+        assertThat(result.getTraceParent()).isNull();
     }
-    
 
+    @Test
+    public void currentTraceIsSentWithRequest() throws Exception {
+
+        try (Span span = Tracer.startSpan("transaction.send")) {
+            EnclaveRequest enclaveRequest = EnclaveRequest.Builder.create()
+                    .withType(EnclaveRequestType.DEFAULT_PUBLIC_KEY)
+                    .build();
+
+            EnclaveRequest result = enclaveRequestCodec.decode(enclaveRequestCodec.encode(enclaveRequest));
+
+            assertThat(result.getTraceParent()).isEqualTo(span.getContext().toTraceParent());
+        }
+    }
+
+    @Test
+    public void encodeAndDecodePayloadListWithoutKey() throws Exception {
+
+        EncodedPayload encodedPayload = EncodedPayloadBuilder.create()
+                .withSenderKey(PublicKey.from("senderKey".getBytes()))
+                .withCipherText("cipherText".getBytes())
+                .withCipherTextNonce("cipherTextNonce".getBytes())
+                .withRecipientBoxes(Arrays.asList("recipientBox".getBytes()))
+                .withRecipientNonce("recipientNonce".getBytes())
+                .withRecipientKeys(PublicKey.from("recipientKey".getBytes()))
+                .build();
+
+        EnclaveRequest enclaveRequest = EnclaveRequest.Builder.create()
+                .withType(EnclaveRequestType.UNENCRYPT_TXNS)
+                .withArg(Arrays.asList(encodedPayload, encodedPayload))
+                .withArg(null)
+                .build();
+
+        EnclaveRequest result = enclaveRequestCodec.decode(enclaveRequestCodec.encode(enclaveRequest));
+
+        assertThat(result.getType()).isSameAs(EnclaveRequestType.UNENCRYPT_TXNS);
+        assertThat(result.getArgs()).hasSize(2);
+        assertThat(result.getArgs().get(1)).isNull();
+
+        List<EncodedPayload> payloads = (List<EncodedPayload>) result.getArgs().get(0);
+        assertThat(payloads).hasSize(2);
+        assertThat(payloads.get(1).getCipherText()).isEqualTo("cipherText".getBytes());
+        assertThat(payloads.get(1).getSenderKey()).isEqualTo(PublicKey.from("senderKey".getBytes()));
+    }
 
 }
@@ -1,25 +1,49 @@
 package com.quorum.tessera.client;
 
+import com.quorum.tessera.config.GrpcConfig;
+import io.grpc.ManagedChannel;
+import io.grpc.netty.NettyChannelBuilder;
+
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Keeps a single client, and so a single channel, per peer which is shared
+ * by all calls to that peer
+ */
 class GrpcClientFactory {
 
-    private static final ConcurrentMap<String, GrpcClient> CLIENTS = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, GrpcClient> clients = new ConcurrentHashMap<>();
+
+    private final GrpcConfig grpcConfig;
+
+    GrpcClientFactory(final GrpcConfig grpcConfig) {
+        this.grpcConfig = Objects.requireNonNull(grpcConfig);
+    }
 
-    private static GrpcClient newClient(final String targetUrl) {
-        final GrpcClient client = new GrpcClientImpl(targetUrl);
-        CLIENTS.put(targetUrl, client);
-        return client;
+    GrpcClientFactory() {
+        this(new GrpcConfig());
     }
 
     public GrpcClient getClient(final String targetUrl) {
-        final GrpcClient client = CLIENTS.get(targetUrl);
-        if (Objects.nonNull(client)) {
-            return client;
-        }
-        return newClient(targetUrl);
+        return clients.computeIfAbsent(targetUrl, url -> new GrpcClientImpl(
+            this.newChannel(url), TimeUnit.SECONDS.toMillis(grpcConfig.getPushTimeoutInSecs())
+        ));
+    }
+
+    ManagedChannel newChannel(final String targetUrl) {
+        return NettyChannelBuilder
+            .forTarget(targetUrl.replaceFirst("^(http[s]?://www\\.|http[s]?://|www\\.)", ""))
+            .usePlaintext()
+            .keepAliveTime(grpcConfig.getKeepAliveTimeInSecs(), TimeUnit.SECONDS)
+            .keepAliveTimeout(grpcConfig.getKeepAliveTimeoutInSecs(), TimeUnit.SECONDS)
+            .keepAliveWithoutCalls(true)
+            .idleTimeout(grpcConfig.getIdleTimeoutInSecs(), TimeUnit.SECONDS)
+            .flowControlWindow(grpcConfig.getFlowControlWindow())
+            .maxInboundMessageSize(grpcConfig.getMaxMessageSize())
+            .build();
     }
 
 }
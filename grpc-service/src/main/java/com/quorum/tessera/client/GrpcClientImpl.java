@@ -2,13 +2,21 @@ package com.quorum.tessera.client;
 
 import com.google.protobuf.ByteString;
 import com.quorum.tessera.grpc.p2p.*;
+import com.quorum.tessera.trace.Span;
+import com.quorum.tessera.trace.Tracer;
 import io.grpc.ManagedChannel;
-import io.grpc.ManagedChannelBuilder;
+import io.grpc.Status;
 import io.grpc.StatusRuntimeException;
+import io.grpc.stub.StreamObserver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 final class GrpcClientImpl implements GrpcClient {
 
@@ -20,20 +28,20 @@ final class GrpcClientImpl implements GrpcClient {
 
     private final P2PTransactionGrpc.P2PTransactionBlockingStub transactionBlockingStub;
 
+    private final P2PTransactionGrpc.P2PTransactionStub transactionStub;
 
-    GrpcClientImpl(final ManagedChannel channel) {
+    private final long pushTimeoutInMillis;
+
+    private PushStream pushStream;
+
+    private volatile boolean pushStreamUnimplemented;
+
+    GrpcClientImpl(final ManagedChannel channel, final long pushTimeoutInMillis) {
         this.channel = channel;
+        this.pushTimeoutInMillis = pushTimeoutInMillis;
         this.partyInfoBlockingStub = PartyInfoGrpc.newBlockingStub(channel);
         this.transactionBlockingStub = P2PTransactionGrpc.newBlockingStub(channel);
-    }
-
-    GrpcClientImpl(final String targetUrl) {
-        this(ManagedChannelBuilder
-            .forTarget(targetUrl.replaceFirst("^(http[s]?://www\\.|http[s]?://|www\\.)",""))
-            .usePlaintext()
-            .keepAliveWithoutCalls(true)
-            .build()
-        );
+        this.transactionStub = P2PTransactionGrpc.newStub(channel);
     }
 
     @Override
@@ -51,21 +59,87 @@ final class GrpcClientImpl implements GrpcClient {
         return null;
     }
 
+    /**
+     * Sends the payload on the long-lived push stream to the peer, opening a
+     * new stream if there isn't one, and waits for its hash to be returned.
+     * If the peer doesn't answer in time the stream is cancelled, so that the
+     * next push opens a new one rather than waiting behind it.
+     *
+     * Peers that don't have the push stream are remembered, and their
+     * payloads are sent with the unary push instead.
+     *
+     * The current trace is sent with the payload so the peer can continue it.
+     */
     @Override
     public byte[] push(final byte[] data) {
+        final Span span = Tracer.startClientSpan("grpc push").tag("peer", channel.authority());
+
         final PushRequest request = PushRequest.newBuilder()
             .setData(ByteString.copyFrom(data))
+            .setTraceParent(span.getContext().toTraceParent())
             .build();
+
+        PushStream stream = null;
         try {
-            final PushRequest response = transactionBlockingStub.push(request);
+            if (pushStreamUnimplemented) {
+                return this.pushUnary(request, span);
+            }
+
+            stream = this.pushStream();
+            final PushResponse response = stream.send(request).get(pushTimeoutInMillis, TimeUnit.MILLISECONDS);
+            if (!response.getError().isEmpty()) {
+                LOGGER.error("Peer was unable to store pushed payload: {}", response.getError());
+                span.tag("error", response.getError());
+                return null;
+            }
+            return response.getHash().toByteArray();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (final TimeoutException ex) {
+            LOGGER.error("RPC failed: no response within {}ms", pushTimeoutInMillis);
+            span.tag("error", Status.Code.DEADLINE_EXCEEDED);
+            stream.cancel("No response to push within " + pushTimeoutInMillis + "ms");
+        } catch (final ExecutionException ex) {
+            final Status status = Status.fromThrowable(ex.getCause());
+            if (status.getCode() == Status.Code.UNIMPLEMENTED) {
+                LOGGER.info("Peer {} does not support push streams, using unary push", channel.authority());
+                this.pushStreamUnimplemented = true;
+                return this.pushUnary(request, span);
+            }
+            LOGGER.error("RPC failed: {}", status.getCode());
+            LOGGER.debug("RPC failed: {}", status);
+            span.tag("error", status.getCode());
+        } finally {
+            span.close();
+        }
+        return null;
+    }
+
+    /**
+     * Pushes the payload with a single call, asking for only its hash back.
+     * Older peers ignore this and return the payload they were sent.
+     */
+    private byte[] pushUnary(final PushRequest request, final Span span) {
+        try {
+            final PushRequest response = transactionBlockingStub
+                .withDeadlineAfter(pushTimeoutInMillis, TimeUnit.MILLISECONDS)
+                .push(request.toBuilder().setHashOnly(true).build());
             return response.getData().toByteArray();
-        } catch (StatusRuntimeException ex) {
+        } catch (final StatusRuntimeException ex) {
             LOGGER.error("RPC failed: {}", ex.getStatus().getCode());
             LOGGER.debug("RPC failed: {}", ex.getStatus());
+            span.tag("error", ex.getStatus().getCode());
         }
         return null;
     }
 
+    private synchronized PushStream pushStream() {
+        if (pushStream == null || pushStream.closed) {
+            pushStream = new PushStream();
+        }
+        return pushStream;
+    }
+
     @Override
     public boolean makeResendRequest(final ResendRequest request) {
         try {
@@ -80,7 +154,101 @@ final class GrpcClientImpl implements GrpcClient {
     }
 
     void shutdown() throws InterruptedException {
+        synchronized (this) {
+            if (pushStream != null) {
+                pushStream.complete();
+            }
+        }
         channel.shutdown().awaitTermination(5, TimeUnit.SECONDS);
     }
 
+    /**
+     * A push stream to the peer. Each payload is sent with an id that the
+     * peer returns with its acknowledgement, as the peer may store several
+     * payloads at once and acknowledge them in any order.
+     */
+    private final class PushStream implements StreamObserver<PushResponse> {
+
+        private final ConcurrentMap<Long, CompletableFuture<PushResponse>> pending = new ConcurrentHashMap<>();
+
+        private final StreamObserver<PushRequest> requests;
+
+        private long lastId;
+
+        private volatile boolean closed;
+
+        private PushStream() {
+            this.requests = transactionStub.pushStream(this);
+        }
+
+        private synchronized CompletableFuture<PushResponse> send(final PushRequest request) {
+            final long id = ++lastId;
+            final CompletableFuture<PushResponse> ack = new CompletableFuture<>();
+            pending.put(id, ack);
+
+            try {
+                requests.onNext(request.toBuilder().setId(id).build());
+            } catch (final RuntimeException ex) {
+                this.onError(ex);
+            }
+
+            // the stream may have failed after the pending sends were failed
+            if (closed) {
+                this.failPending(Status.UNAVAILABLE.withDescription("Push stream closed").asRuntimeException());
+            }
+
+            return ack;
+        }
+
+        /**
+         * Cancels the stream, failing every send still waiting on it
+         */
+        private synchronized void cancel(final String reason) {
+            if (closed) {
+                return;
+            }
+
+            this.closed = true;
+            requests.onError(Status.CANCELLED.withDescription(reason).asRuntimeException());
+            this.failPending(Status.UNAVAILABLE.withDescription("Push stream cancelled: " + reason).asRuntimeException());
+        }
+
+        private synchronized void complete() {
+            if (!closed) {
+                this.closed = true;
+                requests.onCompleted();
+            }
+        }
+
+        @Override
+        public void onNext(final PushResponse response) {
+            final CompletableFuture<PushResponse> ack = pending.remove(response.getId());
+            if (ack != null) {
+                ack.complete(response);
+            }
+        }
+
+        @Override
+        public void onError(final Throwable t) {
+            this.closed = true;
+            this.failPending(t);
+        }
+
+        @Override
+        public void onCompleted() {
+            this.closed = true;
+            this.failPending(Status.UNAVAILABLE.withDescription("Push stream closed by peer").asRuntimeException());
+        }
+
+        private void failPending(final Throwable cause) {
+            for (final Long id : pending.keySet()) {
+                final CompletableFuture<PushResponse> ack = pending.remove(id);
+                if (ack != null) {
+                    ack.completeExceptionally(cause);
+                }
+            }
+        }
+
+    }
+
 }
@@ -3,6 +3,7 @@ package com.quorum.tessera.client;
 import com.quorum.tessera.grpc.p2p.Convertor;
 import com.quorum.tessera.api.model.ResendRequest;
 
+import java.io.InputStream;
 import java.util.Objects;
 
 
@@ -33,6 +34,15 @@ class GrpcP2pClient implements P2pClient {
         com.quorum.tessera.grpc.p2p.ResendRequest grpcObj = Convertor.toGrpc(request);
         return grpcClientFactory.getClient(targetUrl).makeResendRequest(grpcObj);
     }
+
+    /**
+     * Streamed resends are only served over HTTP, so the caller falls back
+     * to asking for the transactions to be pushed
+     */
+    @Override
+    public InputStream streamResend(String targetUrl, ResendRequest request) {
+        return null;
+    }
     
     
 }
@@ -3,13 +3,22 @@ package com.quorum.tessera.client;
 
 import com.quorum.tessera.config.CommunicationType;
 import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.GrpcConfig;
+import com.quorum.tessera.config.ServerConfig;
+
+import java.util.Optional;
 
 
 public class GrpcP2pClientFactory implements P2pClientFactory {
 
     @Override
     public P2pClient create(Config config) {
-        return new GrpcP2pClient();
+        final GrpcConfig grpcConfig = Optional.ofNullable(config)
+            .map(Config::getP2PServerConfig)
+            .map(ServerConfig::getGrpcConfig)
+            .orElseGet(GrpcConfig::new);
+
+        return new GrpcP2pClient(new GrpcClientFactory(grpcConfig));
     }
 
     @Override
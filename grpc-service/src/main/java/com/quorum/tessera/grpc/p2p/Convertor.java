@@ -22,9 +22,14 @@ public class Convertor {
                 .map(com.quorum.tessera.grpc.p2p.ResendRequestType::valueOf)
                 .orElse(com.quorum.tessera.grpc.p2p.ResendRequestType.INDIVIDUAL);
 
-        return com.quorum.tessera.grpc.p2p.ResendRequest.newBuilder()
-            .setKey(request.getKey()).setPublicKey(request.getPublicKey())
-            .setType(resendRequestType).build();
+        final com.quorum.tessera.grpc.p2p.ResendRequest.Builder builder =
+            com.quorum.tessera.grpc.p2p.ResendRequest.newBuilder()
+                .setKey(request.getKey()).setPublicKey(request.getPublicKey())
+                .setType(resendRequestType);
+
+        Optional.ofNullable(request.getSince()).ifPresent(builder::setSince);
+
+        return builder.build();
     }
 
 
@@ -47,6 +52,10 @@ public class Convertor {
             .map(ResendRequestType::valueOf)
             .findAny().ifPresent(resendRequest::setType);
 
+        if (resendRequest.getType() == ResendRequestType.SINCE) {
+            resendRequest.setSince(grpcObject.getSince());
+        }
+
         return resendRequest;
     }
 }
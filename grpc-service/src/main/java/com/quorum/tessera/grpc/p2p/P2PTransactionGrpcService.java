@@ -1,11 +1,17 @@
 package com.quorum.tessera.grpc.p2p;
 
 import com.google.protobuf.ByteString;
+import com.quorum.tessera.enclave.model.MessageHash;
 import com.quorum.tessera.grpc.StreamObserverTemplate;
+import com.quorum.tessera.trace.Span;
+import com.quorum.tessera.trace.Tracer;
 import com.quorum.tessera.transaction.TransactionManager;
 
+import io.grpc.stub.CallStreamObserver;
 import io.grpc.stub.StreamObserver;
 import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -23,10 +29,18 @@ public class P2PTransactionGrpcService extends P2PTransactionGrpc.P2PTransaction
     private final Validator validator = Validation.byDefaultProvider()
             .configure().ignoreXmlConfiguration().buildValidatorFactory().getValidator();
 
+    /**
+     * The most payloads from one push stream that are stored at once
+     */
+    static final int PUSH_STREAM_WINDOW = 32;
+
     private final TransactionManager transactionManager;
 
-    public P2PTransactionGrpcService(TransactionManager transactionManager) {
+    private final Executor pushExecutor;
+
+    public P2PTransactionGrpcService(final TransactionManager transactionManager, final Executor pushExecutor) {
         this.transactionManager = Objects.requireNonNull(transactionManager);
+        this.pushExecutor = Objects.requireNonNull(pushExecutor);
     }
 
     @Override
@@ -75,10 +89,114 @@ public class P2PTransactionGrpcService extends P2PTransactionGrpc.P2PTransaction
         StreamObserverTemplate template = new StreamObserverTemplate(responseObserver);
 
         template.handle(() -> {
-            transactionManager.storePayload(request.getData().toByteArray());
-            return request;
+            try (Span span = Tracer.startServerSpan("grpc push", request.getTraceParent())) {
+                final MessageHash messageHash = transactionManager.storePayload(request.getData().toByteArray());
+
+                if (request.getHashOnly()) {
+                    return PushRequest.newBuilder().setData(ByteString.copyFrom(messageHash.getHashBytes())).build();
+                }
+
+                return request;
+            }
         });
 
     }
 
+    /**
+     * Stores the payloads sent on the stream and acknowledges each with its
+     * hash, or the reason it couldn't be stored, tagged with the id the
+     * sender gave it.
+     *
+     * Up to {@link #PUSH_STREAM_WINDOW} payloads are stored at once, so that
+     * payloads pushed together can be written together, and payloads may be
+     * acknowledged in a different order to the one they were sent in. A
+     * further payload is only requested once one has been stored, so a
+     * sender can't queue up more than this node can write.
+     */
+    @Override
+    public StreamObserver<PushRequest> pushStream(final StreamObserver<PushResponse> responseObserver) {
+        LOGGER.debug("Opened push stream");
+
+        final CallStreamObserver<PushResponse> flowControl = (CallStreamObserver<PushResponse>) responseObserver;
+        flowControl.disableAutoInboundFlowControl();
+        flowControl.request(PUSH_STREAM_WINDOW);
+
+        return new StreamObserver<PushRequest>() {
+
+            // guarded by responseObserver, which may only be called by one thread at a time
+            private int inFlight;
+
+            private boolean halfClosed;
+
+            private boolean cancelled;
+
+            @Override
+            public void onNext(final PushRequest request) {
+                synchronized (responseObserver) {
+                    inFlight++;
+                }
+
+                try {
+                    pushExecutor.execute(() -> this.acknowledge(store(request)));
+                } catch (final RejectedExecutionException ex) {
+                    LOGGER.error("Unable to store pushed payload", ex);
+                    this.acknowledge(
+                        PushResponse.newBuilder().setId(request.getId()).setError("Node is shutting down").build()
+                    );
+                }
+            }
+
+            @Override
+            public void onError(final Throwable t) {
+                LOGGER.debug("Push stream closed by sender", t);
+                synchronized (responseObserver) {
+                    cancelled = true;
+                }
+            }
+
+            @Override
+            public void onCompleted() {
+                LOGGER.debug("Push stream completed");
+                synchronized (responseObserver) {
+                    halfClosed = true;
+                    if (inFlight == 0 && !cancelled) {
+                        responseObserver.onCompleted();
+                    }
+                }
+            }
+
+            private void acknowledge(final PushResponse response) {
+                synchronized (responseObserver) {
+                    inFlight--;
+                    if (cancelled) {
+                        return;
+                    }
+
+                    responseObserver.onNext(response);
+
+                    if (!halfClosed) {
+                        flowControl.request(1);
+                    } else if (inFlight == 0) {
+                        responseObserver.onCompleted();
+                    }
+                }
+            }
+
+        };
+    }
+
+    private PushResponse store(final PushRequest request) {
+        final PushResponse.Builder response = PushResponse.newBuilder().setId(request.getId());
+
+        try (Span span = Tracer.startServerSpan("grpc push", request.getTraceParent())) {
+            final MessageHash messageHash = transactionManager.storePayload(request.getData().toByteArray());
+            response.setHash(ByteString.copyFrom(messageHash.getHashBytes()));
+        } catch (final RuntimeException ex) {
+            LOGGER.error("Unable to store pushed payload", ex);
+            response.setError(Objects.toString(ex.getMessage(), ex.getClass().getSimpleName()));
+        }
+
+        return response.build();
+    }
+
 }
@@ -1,5 +1,7 @@
 package com.quorum.tessera.client;
 
+import com.quorum.tessera.config.GrpcConfig;
+import io.grpc.ManagedChannel;
 import org.junit.Test;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -20,4 +22,28 @@ public class GrpcClientFactoryTest {
         assertThat(grpcClientFactory.getClient("bogus.com")).isEqualTo(client1);
         assertThat(grpcClientFactory.getClient("morebogus.com")).isEqualTo(client2);
     }
+
+    @Test
+    public void clientsCreatedFromConfigAreReusedPerPeer() {
+        GrpcClientFactory grpcClientFactory = new GrpcClientFactory(new GrpcConfig(30L, 10L, 60L, 65536, 1024, 30L));
+
+        GrpcClient client = grpcClientFactory.getClient("http://somehost:9000");
+
+        assertThat(client).isNotNull();
+        assertThat(grpcClientFactory.getClient("http://somehost:9000")).isSameAs(client);
+    }
+
+    @Test
+    public void schemeIsStrippedFromChannelTarget() {
+        ManagedChannel channel = new GrpcClientFactory().newChannel("https://www.somehost:9000");
+
+        assertThat(channel.authority()).isEqualTo("somehost:9000");
+
+        channel.shutdownNow();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void nullConfigIsRejected() {
+        new GrpcClientFactory(null);
+    }
 }
@@ -2,6 +2,9 @@ package com.quorum.tessera.client;
 
 import com.google.protobuf.ByteString;
 import com.quorum.tessera.grpc.p2p.*;
+import com.quorum.tessera.trace.Span;
+import com.quorum.tessera.trace.TraceContext;
+import com.quorum.tessera.trace.Tracer;
 import io.grpc.ManagedChannel;
 import io.grpc.inprocess.InProcessChannelBuilder;
 import io.grpc.inprocess.InProcessServerBuilder;
@@ -12,11 +15,18 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.AdditionalAnswers.delegatesTo;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class GrpcClientTest {
@@ -38,6 +48,10 @@ public class GrpcClientTest {
             delegatesTo(new TransactionGrpcServiceDelegate() {
             }));
 
+    private final List<ByteString> pushed = Collections.synchronizedList(new ArrayList<>());
+
+    private final List<String> traceParents = Collections.synchronizedList(new ArrayList<>());
+
     private GrpcClientImpl client;
 
     @Before
@@ -55,7 +69,7 @@ public class GrpcClientTest {
         final ManagedChannel channel = grpcCleanup.register(
             InProcessChannelBuilder.forName(serverName).directExecutor().usePlaintext().build());
 
-        client = new GrpcClientImpl(channel);
+        client = new GrpcClientImpl(channel, 500L);
     }
 
     @Test
@@ -83,14 +97,161 @@ public class GrpcClientTest {
     @Test
     public void testPush() {
 
-        ArgumentCaptor<PushRequest> requestCaptor = ArgumentCaptor.forClass(PushRequest.class);
         final byte[] data = "REQUEST".getBytes();
 
-        client.push(data);
+        final byte[] response = client.push(data);
+
+        verify(p2pTransactionService).pushStream(any());
+
+        assertThat(pushed).containsExactly(ByteString.copyFrom(data));
+        assertThat(response).isEqualTo("HASH".getBytes());
+    }
+
+    @Test
+    public void pushesShareOneStream() {
+
+        client.push("FIRST".getBytes());
+        client.push("SECOND".getBytes());
+
+        verify(p2pTransactionService).pushStream(any());
+
+        assertThat(pushed).containsExactly(ByteString.copyFromUtf8("FIRST"), ByteString.copyFromUtf8("SECOND"));
+    }
+
+    @Test
+    public void pushSendsCurrentTrace() {
+
+        try (Span span = Tracer.startSpan("transaction.send")) {
+            client.push("REQUEST".getBytes());
+
+            assertThat(traceParents).hasSize(1);
+            final TraceContext sent = TraceContext.parse(traceParents.get(0)).get();
+            assertThat(sent.getTraceId()).isEqualTo(span.getContext().getTraceId());
+        }
+    }
+
+    @Test
+    public void pushRejectedByPeerReturnsNull() {
+
+        final byte[] response = client.push("BAD".getBytes());
 
-        verify(p2pTransactionService).push(requestCaptor.capture(), any());
+        verify(p2pTransactionService).pushStream(any());
 
-        assertEquals(ByteString.copyFrom(data), requestCaptor.getValue().getData());
+        assertThat(response).isNull();
+    }
+
+    @Test
+    public void pushFallsBackToUnaryWhenPeerHasNoPushStream() {
+
+        doAnswer(invocation -> new P2PTransactionGrpc.P2PTransactionImplBase() {
+        }.pushStream(invocation.getArgument(0))).when(p2pTransactionService).pushStream(any());
+
+        final ArgumentCaptor<PushRequest> requestCaptor = ArgumentCaptor.forClass(PushRequest.class);
+
+        final byte[] first = client.push("FIRST".getBytes());
+        final byte[] second = client.push("SECOND".getBytes());
+
+        verify(p2pTransactionService).pushStream(any());
+        verify(p2pTransactionService, times(2)).push(requestCaptor.capture(), any());
+
+        assertThat(requestCaptor.getAllValues()).extracting(PushRequest::getHashOnly).containsExactly(true, true);
+        assertThat(requestCaptor.getAllValues()).extracting(PushRequest::getData)
+            .containsExactly(ByteString.copyFromUtf8("FIRST"), ByteString.copyFromUtf8("SECOND"));
+        assertThat(first).isEqualTo("RESPONSE".getBytes());
+        assertThat(second).isEqualTo("RESPONSE".getBytes());
+    }
+
+    @Test
+    public void pushNotAcknowledgedInTimeReturnsNull() {
+
+        doAnswer(invocation -> new StreamObserver<PushRequest>() {
+            @Override
+            public void onNext(PushRequest request) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        }).when(p2pTransactionService).pushStream(any());
+
+        final byte[] response = client.push("REQUEST".getBytes());
+
+        assertThat(response).isNull();
+    }
+
+    @Test
+    public void pushAfterTimeoutUsesNewStream() {
+
+        final List<Throwable> cancellations = Collections.synchronizedList(new ArrayList<>());
+
+        doAnswer(invocation -> new StreamObserver<PushRequest>() {
+            @Override
+            public void onNext(PushRequest request) {
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                cancellations.add(t);
+            }
+
+            @Override
+            public void onCompleted() {
+            }
+        }).doAnswer(invocation -> new TransactionGrpcServiceDelegate() {
+        }.pushStream(invocation.getArgument(0))).when(p2pTransactionService).pushStream(any());
+
+        assertThat(client.push("FIRST".getBytes())).isNull();
+        assertThat(client.push("SECOND".getBytes())).isEqualTo("HASH".getBytes());
+
+        verify(p2pTransactionService, times(2)).pushStream(any());
+
+        assertThat(cancellations).hasSize(1);
+        assertThat(pushed).containsExactly(ByteString.copyFromUtf8("SECOND"));
+    }
+
+    @Test
+    public void pushesAcknowledgedOutOfOrderAreMatchedById() throws Exception {
+
+        final List<PushRequest> received = new ArrayList<>();
+
+        doAnswer(invocation -> {
+            final StreamObserver<PushResponse> responses = invocation.getArgument(0);
+            return new StreamObserver<PushRequest>() {
+                @Override
+                public synchronized void onNext(PushRequest request) {
+                    received.add(request);
+                    if (received.size() < 2) {
+                        return;
+                    }
+                    for (int i = received.size() - 1; i >= 0; i--) {
+                        responses.onNext(PushResponse.newBuilder()
+                            .setId(received.get(i).getId())
+                            .setHash(received.get(i).getData())
+                            .build());
+                    }
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onCompleted() {
+                }
+            };
+        }).when(p2pTransactionService).pushStream(any());
+
+        final CompletableFuture<byte[]> first = CompletableFuture.supplyAsync(() -> client.push("FIRST".getBytes()));
+        final CompletableFuture<byte[]> second = CompletableFuture.supplyAsync(() -> client.push("SECOND".getBytes()));
+
+        assertThat(first.get()).isEqualTo("FIRST".getBytes());
+        assertThat(second.get()).isEqualTo("SECOND".getBytes());
+
+        verify(p2pTransactionService).pushStream(any());
     }
 
     @Test
@@ -155,6 +316,34 @@ public class GrpcClientTest {
             responseObserver.onCompleted();
         }
 
+        @Override
+        public StreamObserver<PushRequest> pushStream(StreamObserver<PushResponse> responseObserver) {
+            return new StreamObserver<PushRequest>() {
+                @Override
+                public void onNext(PushRequest request) {
+                    pushed.add(request.getData());
+                    traceParents.add(request.getTraceParent());
+
+                    final PushResponse.Builder response = PushResponse.newBuilder().setId(request.getId());
+                    if (request.getData().toStringUtf8().equals("BAD")) {
+                        response.setError("Invalid payload");
+                    } else {
+                        response.setHash(ByteString.copyFromUtf8("HASH"));
+                    }
+                    responseObserver.onNext(response.build());
+                }
+
+                @Override
+                public void onError(Throwable t) {
+                }
+
+                @Override
+                public void onCompleted() {
+                    responseObserver.onCompleted();
+                }
+            };
+        }
+
         @Override
         public void resend(ResendRequest request, StreamObserver<ResendResponse> responseObserver) {
             byte[] responseData = "RESPONSE".getBytes();
@@ -2,9 +2,12 @@ package com.quorum.tessera.client;
 
 import com.quorum.tessera.config.CommunicationType;
 import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.GrpcConfig;
+import com.quorum.tessera.config.ServerConfig;
 import static org.assertj.core.api.Assertions.assertThat;
 import org.junit.Test;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class GrpcP2pClientFactoryTest {
 
@@ -34,4 +37,20 @@ public class GrpcP2pClientFactoryTest {
 
     }
 
+    @Test
+    public void createWithGrpcConfig() {
+
+        GrpcP2pClientFactory grpcP2pClientFactory = new GrpcP2pClientFactory();
+
+        ServerConfig serverConfig = mock(ServerConfig.class);
+        when(serverConfig.getGrpcConfig()).thenReturn(new GrpcConfig());
+        Config config = mock(Config.class);
+        when(config.getP2PServerConfig()).thenReturn(serverConfig);
+
+        P2pClient result = grpcP2pClientFactory.create(config);
+
+        assertThat(result).isExactlyInstanceOf(GrpcP2pClient.class);
+
+    }
+
 }
@@ -77,6 +77,15 @@ public class GrpcP2pClientTest {
 
     }
     
+    @Test
+    public void streamResendIsNotSupported() {
+        ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setPublicKey("PUBLICKEY");
+        resendRequest.setType(ResendRequestType.ALL);
+
+        assertThat(p2pClient.streamResend(targetUrl, resendRequest)).isNull();
+    }
+
     @Test
     public void defaultConstuct() {
         GrpcP2pClient instance = new GrpcP2pClient();
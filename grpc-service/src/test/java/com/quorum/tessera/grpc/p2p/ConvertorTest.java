@@ -49,6 +49,7 @@ public class ConvertorTest {
         assertThat(result.getKey()).isEqualTo("KEY");
         assertThat(result.getPublicKey()).isEqualTo("PUBLICKEY");
         assertThat(result.getType()).isEqualTo(com.quorum.tessera.api.model.ResendRequestType.ALL);
+        assertThat(result.getSince()).isNull();
 
     }
 
@@ -85,6 +86,40 @@ public class ConvertorTest {
 
     }
 
+    @Test
+    public void toModelResendRequestSince() {
+
+        ResendRequest resendRequest = ResendRequest.newBuilder()
+                .setKey("KEY")
+                .setPublicKey("PUBLICKEY")
+                .setType(ResendRequestType.SINCE)
+                .setSince(1000L)
+                .build();
+
+        com.quorum.tessera.api.model.ResendRequest result = Convertor.toModel(resendRequest);
+
+        assertThat(result.getPublicKey()).isEqualTo("PUBLICKEY");
+        assertThat(result.getType()).isEqualTo(com.quorum.tessera.api.model.ResendRequestType.SINCE);
+        assertThat(result.getSince()).isEqualTo(1000L);
+
+    }
+
+    @Test
+    public void toGrpcResendRequestSince() throws Exception {
+
+        com.quorum.tessera.api.model.ResendRequest request = new com.quorum.tessera.api.model.ResendRequest();
+        request.setKey("KEY");
+        request.setPublicKey("PUBLIC_KEY");
+        request.setType(com.quorum.tessera.api.model.ResendRequestType.SINCE);
+        request.setSince(1000L);
+
+        ResendRequest result = Convertor.toGrpc(request);
+        assertThat(result).isNotNull();
+        assertThat(result.getType()).isEqualTo(ResendRequestType.SINCE);
+        assertThat(result.getSince()).isEqualTo(1000L);
+
+    }
+
     @Test
     public void toGrpcResendRequestAll() throws Exception {
 
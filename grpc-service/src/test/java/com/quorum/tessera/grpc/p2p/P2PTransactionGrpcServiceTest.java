@@ -1,9 +1,13 @@
 package com.quorum.tessera.grpc.p2p;
 
 import com.google.protobuf.ByteString;
+import com.quorum.tessera.enclave.model.MessageHash;
 import com.quorum.tessera.transaction.TransactionManagerImpl;
+import io.grpc.stub.ServerCallStreamObserver;
 import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Optional;
 import org.junit.After;
 import org.junit.Before;
@@ -27,6 +31,9 @@ public class P2PTransactionGrpcServiceTest {
     @Mock
     private StreamObserver<ResendResponse> resendResponseObserver;
 
+    @Mock
+    private ServerCallStreamObserver<PushResponse> pushStreamResponseObserver;
+
     @Mock
     private TransactionManagerImpl enclaveMediator;
 
@@ -35,7 +42,7 @@ public class P2PTransactionGrpcServiceTest {
     @Before
     public void setUp() {
         MockitoAnnotations.initMocks(this);
-        service = new P2PTransactionGrpcService(enclaveMediator);
+        service = new P2PTransactionGrpcService(enclaveMediator, Runnable::run);
     }
 
     @After
@@ -43,7 +50,8 @@ public class P2PTransactionGrpcServiceTest {
         verifyNoMoreInteractions(
                 deleteResponseObserver,
                 pushResponseObserver,
-                resendResponseObserver);
+                resendResponseObserver,
+                pushStreamResponseObserver);
     }
 
     @Test
@@ -85,6 +93,105 @@ public class P2PTransactionGrpcServiceTest {
         verify(pushResponseObserver).onCompleted();
     }
 
+    @Test
+    public void pushWithHashOnlyReturnsHash() {
+
+        when(enclaveMediator.storePayload(any())).thenReturn(new MessageHash("HASH".getBytes()));
+
+        PushRequest request = PushRequest.newBuilder()
+            .setData(ByteString.copyFrom("SOMEDATA".getBytes()))
+            .setHashOnly(true)
+            .build();
+        service.push(request, pushResponseObserver);
+
+        verify(enclaveMediator).storePayload("SOMEDATA".getBytes());
+
+        ArgumentCaptor<PushRequest> responseCaptor = ArgumentCaptor.forClass(PushRequest.class);
+        verify(pushResponseObserver).onNext(responseCaptor.capture());
+
+        assertThat(responseCaptor.getValue().getData().toByteArray()).isEqualTo("HASH".getBytes());
+
+        verify(pushResponseObserver).onCompleted();
+    }
+
+    @Test
+    public void pushStreamAcknowledgesEachPayloadWithItsHash() {
+
+        when(enclaveMediator.storePayload(any())).thenReturn(new MessageHash("HASH".getBytes()));
+
+        StreamObserver<PushRequest> requestObserver = service.pushStream(pushStreamResponseObserver);
+
+        verify(pushStreamResponseObserver).disableAutoInboundFlowControl();
+        verify(pushStreamResponseObserver).request(P2PTransactionGrpcService.PUSH_STREAM_WINDOW);
+
+        requestObserver.onNext(
+            PushRequest.newBuilder().setId(7L).setData(ByteString.copyFrom("SOMEDATA".getBytes())).build()
+        );
+        requestObserver.onCompleted();
+
+        verify(enclaveMediator).storePayload("SOMEDATA".getBytes());
+
+        ArgumentCaptor<PushResponse> responseCaptor = ArgumentCaptor.forClass(PushResponse.class);
+        verify(pushStreamResponseObserver).onNext(responseCaptor.capture());
+
+        assertThat(responseCaptor.getValue().getId()).isEqualTo(7L);
+        assertThat(responseCaptor.getValue().getHash().toByteArray()).isEqualTo("HASH".getBytes());
+        assertThat(responseCaptor.getValue().getError()).isEmpty();
+
+        verify(pushStreamResponseObserver).request(1);
+        verify(pushStreamResponseObserver).onCompleted();
+    }
+
+    @Test
+    public void pushStreamReportsFailureAndKeepsStreamOpen() {
+
+        when(enclaveMediator.storePayload(any())).thenThrow(new RuntimeException("BANG"));
+
+        StreamObserver<PushRequest> requestObserver = service.pushStream(pushStreamResponseObserver);
+        requestObserver.onNext(PushRequest.newBuilder().setData(ByteString.copyFrom("SOMEDATA".getBytes())).build());
+
+        ArgumentCaptor<PushResponse> responseCaptor = ArgumentCaptor.forClass(PushResponse.class);
+        verify(pushStreamResponseObserver).onNext(responseCaptor.capture());
+
+        assertThat(responseCaptor.getValue().getError()).isEqualTo("BANG");
+        assertThat(responseCaptor.getValue().getHash().isEmpty()).isTrue();
+
+        verify(pushStreamResponseObserver).disableAutoInboundFlowControl();
+        verify(pushStreamResponseObserver).request(P2PTransactionGrpcService.PUSH_STREAM_WINDOW);
+        verify(pushStreamResponseObserver).request(1);
+    }
+
+    @Test
+    public void pushStreamStoresSeveralPayloadsAtOnceAndCompletesAfterThem() {
+
+        when(enclaveMediator.storePayload(any())).thenReturn(new MessageHash("HASH".getBytes()));
+
+        final List<Runnable> stores = new ArrayList<>();
+        service = new P2PTransactionGrpcService(enclaveMediator, stores::add);
+
+        StreamObserver<PushRequest> requestObserver = service.pushStream(pushStreamResponseObserver);
+        requestObserver.onNext(PushRequest.newBuilder().setId(1L).setData(ByteString.copyFromUtf8("FIRST")).build());
+        requestObserver.onNext(PushRequest.newBuilder().setId(2L).setData(ByteString.copyFromUtf8("SECOND")).build());
+        requestObserver.onCompleted();
+
+        assertThat(stores).hasSize(2);
+        verify(pushStreamResponseObserver, never()).onCompleted();
+
+        stores.get(1).run();
+        verify(pushStreamResponseObserver, never()).onCompleted();
+        stores.get(0).run();
+
+        ArgumentCaptor<PushResponse> responseCaptor = ArgumentCaptor.forClass(PushResponse.class);
+        verify(pushStreamResponseObserver, times(2)).onNext(responseCaptor.capture());
+        assertThat(responseCaptor.getAllValues()).extracting(PushResponse::getId).containsExactly(2L, 1L);
+
+        verify(enclaveMediator).storePayload("FIRST".getBytes());
+        verify(enclaveMediator).storePayload("SECOND".getBytes());
+        verify(pushStreamResponseObserver).disableAutoInboundFlowControl();
+        verify(pushStreamResponseObserver).request(P2PTransactionGrpcService.PUSH_STREAM_WINDOW);
+        verify(pushStreamResponseObserver).onCompleted();
+    }
+
     @Test
     public void testResendAll() {
 
@@ -49,13 +49,17 @@ public class ClientFactory {
     /**
      * Creates a new client, which may or may not be SSL enabled 
      * or a unix socket enabled depending on
-     * the configuration.
+     * the configuration. Every client passes on the current trace.
      *
      * @param config
      * @return 
      * @see Client
      */
     public Client buildFrom(final ServerConfig config) {
+        return this.createClient(config).register(TracingClientFilter.class);
+    }
+
+    private Client createClient(final ServerConfig config) {
   
         if (config.isUnixSocket()) {
             Configuration clientConfig = createUnixServerSocketConfig();
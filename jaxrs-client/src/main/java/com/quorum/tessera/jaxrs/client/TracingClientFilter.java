@@ -0,0 +1,39 @@
+package com.quorum.tessera.jaxrs.client;
+
+import com.quorum.tessera.trace.Span;
+import com.quorum.tessera.trace.Tracer;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientRequestFilter;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.client.ClientResponseFilter;
+
+/**
+ * Starts a span for each outgoing request and sends its context in the
+ * {@code traceparent} header, so the receiving node can continue the trace.
+ *
+ * A request that fails before a response is received has its span dropped.
+ */
+public class TracingClientFilter implements ClientRequestFilter, ClientResponseFilter {
+
+    private static final String SPAN = TracingClientFilter.class.getName() + ".span";
+
+    @Override
+    public void filter(final ClientRequestContext requestContext) {
+        final Span span = Tracer.startClientSpan(requestContext.getMethod() + " " + requestContext.getUri().getPath())
+            .tag("peer", requestContext.getUri().getAuthority());
+
+        requestContext.getHeaders().putSingle(Tracer.TRACE_PARENT, span.getContext().toTraceParent());
+        requestContext.setProperty(SPAN, span);
+    }
+
+    @Override
+    public void filter(final ClientRequestContext requestContext, final ClientResponseContext responseContext) {
+        final Object span = requestContext.getProperty(SPAN);
+
+        if (span != null) {
+            ((Span) span).tag("status", responseContext.getStatus()).close();
+        }
+    }
+
+}
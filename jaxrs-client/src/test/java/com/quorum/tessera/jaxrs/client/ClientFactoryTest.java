@@ -44,6 +44,7 @@ public class ClientFactoryTest {
 
         Client client = factory.buildFrom(serverConfig);
         assertThat(client).isNotNull();
+        assertThat(client.getConfiguration().isRegistered(TracingClientFilter.class)).isTrue();
 
     }
 
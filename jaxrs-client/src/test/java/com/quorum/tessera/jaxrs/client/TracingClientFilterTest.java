@@ -0,0 +1,84 @@
+package com.quorum.tessera.jaxrs.client;
+
+import com.quorum.tessera.trace.Span;
+import com.quorum.tessera.trace.TraceContext;
+import com.quorum.tessera.trace.Tracer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.ws.rs.client.ClientRequestContext;
+import javax.ws.rs.client.ClientResponseContext;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import java.net.URI;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TracingClientFilterTest {
+
+    private ClientRequestContext requestContext;
+
+    private MultivaluedMap<String, Object> headers;
+
+    private TracingClientFilter filter;
+
+    @Before
+    public void onSetUp() {
+        this.requestContext = mock(ClientRequestContext.class);
+        this.headers = new MultivaluedHashMap<>();
+
+        when(requestContext.getMethod()).thenReturn("POST");
+        when(requestContext.getUri()).thenReturn(URI.create("http://peer:9001/push"));
+        when(requestContext.getHeaders()).thenReturn(headers);
+
+        this.filter = new TracingClientFilter();
+    }
+
+    @Test
+    public void currentTraceIsSentToPeer() {
+        try (Span parent = Tracer.startSpan("transaction.send")) {
+
+            filter.filter(requestContext);
+
+            final TraceContext sent = TraceContext.parse((String) headers.getFirst(Tracer.TRACE_PARENT)).get();
+
+            assertThat(sent.getTraceId()).isEqualTo(parent.getContext().getTraceId());
+            assertThat(sent.getSpanId()).isNotEqualTo(parent.getContext().getSpanId());
+            assertThat(Tracer.currentTraceParent()).contains(parent.getContext().toTraceParent());
+        }
+    }
+
+    @Test
+    public void spanIsFinishedWithResponse() {
+        filter.filter(requestContext);
+
+        final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(requestContext).setProperty(anyString(), captor.capture());
+        final Span span = (Span) captor.getValue();
+
+        when(requestContext.getProperty(anyString())).thenReturn(span);
+        final ClientResponseContext responseContext = mock(ClientResponseContext.class);
+        when(responseContext.getStatus()).thenReturn(201);
+
+        filter.filter(requestContext, responseContext);
+
+        assertThat(span.getName()).isEqualTo("POST /push");
+        assertThat(span.getTags()).containsEntry("peer", "peer:9001").containsEntry("status", "201");
+        assertThat(span.getDurationMicros()).isGreaterThanOrEqualTo(0L);
+    }
+
+    @Test
+    public void responseWithoutSpanIsIgnored() {
+        final ClientResponseContext responseContext = mock(ClientResponseContext.class);
+
+        filter.filter(requestContext, responseContext);
+
+        verify(requestContext).getProperty(eq(TracingClientFilter.class.getName() + ".span"));
+        verifyZeroInteractions(responseContext);
+    }
+
+}
@@ -0,0 +1,42 @@
+package com.quorum.tessera.admin;
+
+import com.quorum.tessera.client.PeerHealthRegistry;
+import com.quorum.tessera.config.apps.AdminApp;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Reports the health of calls to each peer this node has contacted
+ */
+@Path("/peerhealth")
+@Produces(MediaType.APPLICATION_JSON)
+public class PeerHealthResource implements AdminApp {
+
+    private final PeerHealthRegistry peerHealthRegistry;
+
+    public PeerHealthResource(final PeerHealthRegistry peerHealthRegistry) {
+        this.peerHealthRegistry = Objects.requireNonNull(peerHealthRegistry);
+    }
+
+    @GET
+    public Response getPeerHealth() {
+        final List<PeerHealthResponse> responseData = peerHealthRegistry.getPeers()
+            .stream()
+            .map(PeerHealthResponse::new)
+            .sorted(Comparator.comparing(PeerHealthResponse::getUrl))
+            .collect(Collectors.toList());
+
+        return Response.ok(new GenericEntity<List<PeerHealthResponse>>(responseData) {
+        }).build();
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.quorum.tessera.admin;
+
+import com.quorum.tessera.client.PeerHealth;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+class PeerHealthResponse {
+
+    @XmlElement
+    private String url;
+
+    @XmlElement
+    private String state;
+
+    @XmlElement
+    private int consecutiveFailures;
+
+    @XmlElement
+    private double errorRate;
+
+    @XmlElement
+    private double averageLatencyMillis;
+
+    @XmlElement
+    private long lastSuccess;
+
+    @XmlElement
+    private long lastFailure;
+
+    //No args constructor required for jaxb marshalling
+    private PeerHealthResponse() {
+    }
+
+    PeerHealthResponse(final PeerHealth peerHealth) {
+        this.url = peerHealth.getUrl();
+        this.state = peerHealth.getState().name();
+        this.consecutiveFailures = peerHealth.getConsecutiveFailures();
+        this.errorRate = peerHealth.getErrorRate();
+        this.averageLatencyMillis = peerHealth.getAverageLatencyMillis();
+        this.lastSuccess = peerHealth.getLastSuccess();
+        this.lastFailure = peerHealth.getLastFailure();
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    String getState() {
+        return state;
+    }
+
+    int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    double getErrorRate() {
+        return errorRate;
+    }
+
+    double getAverageLatencyMillis() {
+        return averageLatencyMillis;
+    }
+
+    long getLastSuccess() {
+        return lastSuccess;
+    }
+
+    long getLastFailure() {
+        return lastFailure;
+    }
+}
@@ -0,0 +1,74 @@
+package com.quorum.tessera.admin;
+
+import com.quorum.tessera.client.PeerTrafficRegistry;
+import com.quorum.tessera.config.apps.AdminApp;
+
+import javax.validation.constraints.Min;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.GenericEntity;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Reports the traffic exchanged with each peer, largest first, to find the
+ * peers that cost this node the most
+ */
+@Path("/peertraffic")
+@Produces(MediaType.APPLICATION_JSON)
+public class PeerTrafficResource implements AdminApp {
+
+    private static final Map<String, Comparator<PeerTrafficResponse>> ORDERS = new HashMap<>();
+
+    static {
+        ORDERS.put("bytes", Comparator.comparingLong(PeerTrafficResponse::getTotalBytes));
+        ORDERS.put("requests", Comparator.comparingLong(PeerTrafficResponse::getTotalRequests));
+        ORDERS.put("latency", Comparator.comparingLong(PeerTrafficResponse::getCallLatencyP99Micros));
+        ORDERS.put("errors", Comparator.comparingLong(PeerTrafficResponse::getErrors));
+    }
+
+    private final PeerTrafficRegistry peerTrafficRegistry;
+
+    public PeerTrafficResource(final PeerTrafficRegistry peerTrafficRegistry) {
+        this.peerTrafficRegistry = Objects.requireNonNull(peerTrafficRegistry);
+    }
+
+    /**
+     * @param sort what to rank peers by: {@code bytes} for the top talkers,
+     * {@code latency} for the slowest peers to answer, {@code requests} or
+     * {@code errors}
+     * @param limit the most peers to report
+     */
+    @GET
+    public Response getPeerTraffic(@QueryParam("sort") @DefaultValue("bytes") final String sort,
+                                   @QueryParam("limit") @DefaultValue("20") @Min(1) final int limit) {
+        final Comparator<PeerTrafficResponse> order = ORDERS.get(sort);
+
+        if (order == null) {
+            return Response.status(Response.Status.BAD_REQUEST)
+                .entity("Unknown sort " + sort + ", expected one of " + ORDERS.keySet())
+                .type(MediaType.TEXT_PLAIN)
+                .build();
+        }
+
+        final List<PeerTrafficResponse> responseData = peerTrafficRegistry.getPeers()
+            .stream()
+            .map(PeerTrafficResponse::new)
+            .sorted(order.reversed().thenComparing(PeerTrafficResponse::getUrl))
+            .limit(limit)
+            .collect(Collectors.toList());
+
+        return Response.ok(new GenericEntity<List<PeerTrafficResponse>>(responseData) {
+        }).build();
+    }
+
+}
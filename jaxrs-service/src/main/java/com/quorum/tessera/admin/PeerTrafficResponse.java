@@ -0,0 +1,109 @@
+package com.quorum.tessera.admin;
+
+import com.quorum.tessera.client.PeerTraffic;
+import com.quorum.tessera.metrics.Histogram;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+class PeerTrafficResponse {
+
+    @XmlElement
+    private String url;
+
+    @XmlElement
+    private long requestsSent;
+
+    @XmlElement
+    private long requestsReceived;
+
+    @XmlElement
+    private long errors;
+
+    @XmlElement
+    private long bytesSent;
+
+    @XmlElement
+    private long bytesReceived;
+
+    @XmlElement
+    private long callLatencyP50Micros;
+
+    @XmlElement
+    private long callLatencyP99Micros;
+
+    @XmlElement
+    private long callLatencyMaxMicros;
+
+    @XmlElement
+    private long serveLatencyP99Micros;
+
+    //No args constructor required for jaxb marshalling
+    private PeerTrafficResponse() {
+    }
+
+    PeerTrafficResponse(final PeerTraffic peerTraffic) {
+        final Histogram.Snapshot callLatency = peerTraffic.getCallLatency();
+
+        this.url = peerTraffic.getUrl();
+        this.requestsSent = peerTraffic.getRequestsSent();
+        this.requestsReceived = peerTraffic.getRequestsReceived();
+        this.errors = peerTraffic.getErrors();
+        this.bytesSent = peerTraffic.getBytesSent();
+        this.bytesReceived = peerTraffic.getBytesReceived();
+        this.callLatencyP50Micros = callLatency.getValueAtQuantile(0.5);
+        this.callLatencyP99Micros = callLatency.getValueAtQuantile(0.99);
+        this.callLatencyMaxMicros = callLatency.getMax();
+        this.serveLatencyP99Micros = peerTraffic.getServeLatency().getValueAtQuantile(0.99);
+    }
+
+    String getUrl() {
+        return url;
+    }
+
+    long getRequestsSent() {
+        return requestsSent;
+    }
+
+    long getRequestsReceived() {
+        return requestsReceived;
+    }
+
+    long getErrors() {
+        return errors;
+    }
+
+    long getBytesSent() {
+        return bytesSent;
+    }
+
+    long getBytesReceived() {
+        return bytesReceived;
+    }
+
+    long getCallLatencyP50Micros() {
+        return callLatencyP50Micros;
+    }
+
+    long getCallLatencyP99Micros() {
+        return callLatencyP99Micros;
+    }
+
+    long getCallLatencyMaxMicros() {
+        return callLatencyMaxMicros;
+    }
+
+    long getServeLatencyP99Micros() {
+        return serveLatencyP99Micros;
+    }
+
+    long getTotalBytes() {
+        return bytesSent + bytesReceived;
+    }
+
+    long getTotalRequests() {
+        return requestsSent + requestsReceived;
+    }
+}
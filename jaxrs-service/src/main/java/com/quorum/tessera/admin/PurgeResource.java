@@ -0,0 +1,66 @@
+package com.quorum.tessera.admin;
+
+import com.quorum.tessera.config.apps.AdminApp;
+import com.quorum.tessera.transaction.TransactionPurger;
+
+import javax.ws.rs.*;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+
+/**
+ * Allows old transactions to be purged on demand, in addition to any
+ * scheduled retention purges. Purges run in the background, and their
+ * progress is read from the same resource.
+ */
+@Path("/purge")
+@Produces(MediaType.APPLICATION_JSON)
+public class PurgeResource implements AdminApp {
+
+    private final TransactionPurger transactionPurger;
+
+    private final Executor executor;
+
+    public PurgeResource(final TransactionPurger transactionPurger, final Executor executor) {
+        this.transactionPurger = Objects.requireNonNull(transactionPurger);
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Starts deleting all transactions stored before the given time.
+     * Responds with 202 Accepted once the purge has started, or with
+     * 429 Too Many Requests if a purge is already running.
+     *
+     * @param olderThan the time in milliseconds since the epoch
+     * @return the status of the purge that was started
+     */
+    @POST
+    public Response purge(@QueryParam("olderThan") final Long olderThan) {
+        if (olderThan == null) {
+            throw new BadRequestException("olderThan query parameter is required");
+        }
+
+        transactionPurger.purgeAsync(olderThan, executor);
+
+        return Response.accepted(this.status()).build();
+    }
+
+    /**
+     * @return whether a purge is running, and how many transactions the
+     * current or last purge has deleted
+     */
+    @GET
+    public Response getPurge() {
+        return Response.ok(this.status()).build();
+    }
+
+    private PurgeResponse status() {
+        return new PurgeResponse(
+            transactionPurger.isPurging(),
+            transactionPurger.getPurgeTimestamp().orElse(null),
+            transactionPurger.getPurged()
+        );
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.quorum.tessera.admin;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+
+@XmlAccessorType(XmlAccessType.FIELD)
+class PurgeResponse {
+
+    @XmlElement
+    private boolean running;
+
+    @XmlElement
+    private Long olderThan;
+
+    @XmlElement
+    private int deleted;
+
+    //No args constructor required for jaxb marshalling
+    private PurgeResponse() {
+    }
+
+    PurgeResponse(boolean running, Long olderThan, int deleted) {
+        this.running = running;
+        this.olderThan = olderThan;
+        this.deleted = deleted;
+    }
+
+    boolean isRunning() {
+        return this.running;
+    }
+
+    Long getOlderThan() {
+        return this.olderThan;
+    }
+
+    int getDeleted() {
+        return this.deleted;
+    }
+}
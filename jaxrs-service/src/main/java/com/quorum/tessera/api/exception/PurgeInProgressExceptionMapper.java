@@ -0,0 +1,29 @@
+package com.quorum.tessera.api.exception;
+
+import com.quorum.tessera.transaction.exception.PurgeInProgressException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+@Provider
+public class PurgeInProgressExceptionMapper implements ExceptionMapper<PurgeInProgressException> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PurgeInProgressExceptionMapper.class);
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    @Override
+    public Response toResponse(final PurgeInProgressException e) {
+        LOGGER.info(e.getMessage());
+
+        return Response.status(TOO_MANY_REQUESTS)
+            .entity(e.getMessage())
+            .type(MediaType.TEXT_PLAIN)
+            .build();
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.quorum.tessera.api.filter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits how many requests are handled at once, adjusting the limit to the
+ * latency the requests see, in the way TCP adjusts its congestion window.
+ *
+ * While requests complete in their usual time and the limit is being used,
+ * the limit grows by one for each limit's worth of requests. When requests
+ * take much longer than usual the node is taken to be overloaded and the
+ * limit is cut by a tenth, at most once for each usual request time so that
+ * a burst of slow responses to the same overload only counts once.
+ *
+ * Latency is tracked separately for each operation, since a cheap operation
+ * and an expensive one have nothing to say about each other's usual time.
+ * For each operation a fast moving average of recent requests is compared
+ * against a slow moving average of all of them, so that one slow request
+ * isn't mistaken for overload and a lasting change in the cost of requests
+ * is learnt.
+ */
+class AdaptiveConcurrencyLimit {
+
+    static final double BACKOFF = 0.9;
+
+    static final double BASELINE_SMOOTHING = 0.01;
+
+    static final double RECENT_SMOOTHING = 0.25;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double latencyTolerance;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Map<Object, Latency> latencies = new HashMap<>();
+
+    private volatile int currentLimit;
+
+    private double limit;
+
+    private long lastDecreaseNanos;
+
+    private boolean decreased;
+
+    AdaptiveConcurrencyLimit(final int initialLimit,
+                             final int minLimit,
+                             final int maxLimit,
+                             final double latencyTolerance) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Limits must satisfy 1 <= min <= max");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTolerance = latencyTolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.currentLimit = (int) limit;
+    }
+
+    /**
+     * @return whether the request may go ahead, in which case
+     *         {@link #release(Object, long, long)} must be called when it completes
+     */
+    boolean tryAcquire() {
+        while (true) {
+            final int current = inFlight.get();
+            if (current >= currentLimit) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Records that an admitted request has completed and adjusts the limit
+     *
+     * @param operation what the request did, such as the resource method it called
+     * @param startNanos when the request was admitted
+     * @param nowNanos when the request completed
+     */
+    synchronized void release(final Object operation, final long startNanos, final long nowNanos) {
+        final int wasInFlight = inFlight.getAndDecrement();
+        final long latency = nowNanos - startNanos;
+
+        final Latency usual = latencies.computeIfAbsent(operation, key -> new Latency(latency));
+        final boolean overloaded = usual.record(latency, latencyTolerance);
+
+        if (overloaded) {
+            if (!decreased || nowNanos - lastDecreaseNanos >= usual.baselineNanos) {
+                limit = Math.max(minLimit, limit * BACKOFF);
+                lastDecreaseNanos = nowNanos;
+                decreased = true;
+            }
+        } else if (wasInFlight * 2 >= limit) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+
+        currentLimit = (int) limit;
+    }
+
+    int getLimit() {
+        return currentLimit;
+    }
+
+    int getInFlight() {
+        return inFlight.get();
+    }
+
+    private static final class Latency {
+
+        private double baselineNanos;
+
+        private double recentNanos;
+
+        private Latency(final long firstNanos) {
+            this.baselineNanos = firstNanos;
+            this.recentNanos = firstNanos;
+        }
+
+        /**
+         * @return whether recent requests are slower than usual by more than the tolerance
+         */
+        private boolean record(final long latency, final double tolerance) {
+            recentNanos += (latency - recentNanos) * RECENT_SMOOTHING;
+            final boolean slow = recentNanos > baselineNanos * tolerance;
+            baselineNanos += (latency - baselineNanos) * BASELINE_SMOOTHING;
+            return slow;
+        }
+
+    }
+
+}
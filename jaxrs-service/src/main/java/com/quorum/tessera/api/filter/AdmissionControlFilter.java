@@ -0,0 +1,194 @@
+package com.quorum.tessera.api.filter;
+
+import com.quorum.tessera.config.AdmissionConfig;
+import com.quorum.tessera.metrics.Counter;
+import com.quorum.tessera.metrics.MetricsRegistry;
+import com.quorum.tessera.p2p.P2PRestApp;
+import com.quorum.tessera.q2t.Q2TRestApp;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Limits how many requests to the Q2T and P2P APIs are handled at once, so
+ * that an overloaded node turns requests away quickly rather than letting
+ * every request slow down.
+ *
+ * Each API has its own {@link AdaptiveConcurrencyLimit}, so a flood of
+ * requests from the local node cannot take the capacity needed to serve
+ * peers. Latency is learnt per resource method, so quick calls such as
+ * partyinfo don't make a resend look like overload. Excess Q2T requests are
+ * answered with 429 Too Many Requests and excess P2P requests with 503
+ * Service Unavailable, both with a {@code Retry-After} header. Requests to
+ * other APIs are not limited.
+ *
+ * A request holds its permit until its response entity has been written, as
+ * streamed entities such as a resend do most of their work while being
+ * written, after the response filters have run.
+ */
+@GlobalFilter
+public class AdmissionControlFilter implements ContainerRequestFilter, ContainerResponseFilter, WriterInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private static final String PERMIT = AdmissionControlFilter.class.getName() + ".permit";
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private static final int SERVICE_UNAVAILABLE = Response.Status.SERVICE_UNAVAILABLE.getStatusCode();
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final boolean enabled;
+
+    private final Map<String, Api> apis = new HashMap<>();
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    public AdmissionControlFilter(final AdmissionConfig config) {
+        this(config, MetricsRegistry.getDefault(), null);
+    }
+
+    AdmissionControlFilter(final AdmissionConfig config,
+                           final MetricsRegistry registry,
+                           final ResourceInfo resourceInfo) {
+        Objects.requireNonNull(config);
+        Objects.requireNonNull(registry);
+
+        this.enabled = config.getEnabled();
+        this.resourceInfo = resourceInfo;
+
+        this.apis.put(
+            Q2TRestApp.class.getPackage().getName(),
+            new Api("q2t", config.getQ2tMaxConcurrency(), TOO_MANY_REQUESTS, config, registry)
+        );
+        this.apis.put(
+            P2PRestApp.class.getPackage().getName(),
+            new Api("p2p", config.getP2pMaxConcurrency(), SERVICE_UNAVAILABLE, config, registry)
+        );
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        if (!enabled) {
+            return;
+        }
+
+        final Class<?> resource = resourceInfo.getResourceClass();
+        if (resource == null) {
+            return;
+        }
+
+        final Api api = apis.get(resource.getPackage().getName());
+        if (api == null) {
+            return;
+        }
+
+        if (!api.limit.tryAcquire()) {
+            api.rejected.increment();
+            LOGGER.debug("Rejecting {} request, {} requests already in progress", api.name, api.limit.getLimit());
+
+            requestContext.abortWith(
+                Response.status(api.rejectionStatus)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .build()
+            );
+            return;
+        }
+
+        requestContext.setProperty(PERMIT, new Permit(api.limit, resourceInfo.getResourceMethod(), System.nanoTime()));
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext, final ContainerResponseContext responseContext) {
+        final Object permit = requestContext.getProperty(PERMIT);
+
+        if (permit == null || responseContext.hasEntity()) {
+            return;
+        }
+
+        requestContext.removeProperty(PERMIT);
+        ((Permit) permit).release();
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        try {
+            context.proceed();
+        } finally {
+            final Object permit = context.getProperty(PERMIT);
+
+            if (permit != null) {
+                context.removeProperty(PERMIT);
+                ((Permit) permit).release();
+            }
+        }
+    }
+
+    private static final class Api {
+
+        private final String name;
+
+        private final AdaptiveConcurrencyLimit limit;
+
+        private final int rejectionStatus;
+
+        private final Counter rejected;
+
+        private Api(final String name,
+                    final int maxConcurrency,
+                    final int rejectionStatus,
+                    final AdmissionConfig config,
+                    final MetricsRegistry registry) {
+            final int minConcurrency = Math.min(config.getMinConcurrency(), maxConcurrency);
+
+            this.name = name;
+            this.limit = new AdaptiveConcurrencyLimit(
+                maxConcurrency / 2, minConcurrency, maxConcurrency, config.getLatencyTolerance()
+            );
+            this.rejectionStatus = rejectionStatus;
+            this.rejected = registry.counter(MetricsRegistry.labelled("tessera_admission_rejected", "api", name));
+
+            registry.gauge(MetricsRegistry.labelled("tessera_admission_limit", "api", name), limit::getLimit);
+            registry.gauge(MetricsRegistry.labelled("tessera_admission_in_flight", "api", name), limit::getInFlight);
+        }
+
+    }
+
+    private static final class Permit {
+
+        private final AdaptiveConcurrencyLimit limit;
+
+        private final Method operation;
+
+        private final long startNanos;
+
+        private Permit(final AdaptiveConcurrencyLimit limit, final Method operation, final long startNanos) {
+            this.limit = limit;
+            this.operation = operation;
+            this.startNanos = startNanos;
+        }
+
+        private void release() {
+            limit.release(operation, startNanos, System.nanoTime());
+        }
+
+    }
+
+}
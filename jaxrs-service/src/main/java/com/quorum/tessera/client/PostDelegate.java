@@ -1,11 +1,13 @@
 package com.quorum.tessera.client;
 
+import com.quorum.tessera.api.model.ApiPath;
 import com.quorum.tessera.api.model.ResendRequest;
 
 import javax.ws.rs.client.Client;
 import javax.ws.rs.client.Entity;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
+import java.io.InputStream;
 import java.util.Objects;
 
 /**
@@ -67,4 +69,30 @@ public class PostDelegate {
         return Response.Status.OK.getStatusCode() == response.getStatus();
     }
 
+    /**
+     * Makes a request for the provided node to stream back its transactions.
+     *
+     * Does not handle an exceptions that arise.
+     *
+     * @param url The target url to make the request to
+     * @param resendRequest The request body object that gets serialised
+     * @return the response body to read the stream from, or null if the
+     * request was not successful
+     */
+    public InputStream openResendStream(final String url, final ResendRequest resendRequest) {
+
+        final Response response = client
+            .target(url)
+            .path(ApiPath.RESEND_STREAM)
+            .request()
+            .post(Entity.entity(resendRequest, MediaType.APPLICATION_JSON));
+
+        if (Response.Status.OK.getStatusCode() != response.getStatus()) {
+            response.close();
+            return null;
+        }
+
+        return response.readEntity(InputStream.class);
+    }
+
 }
@@ -3,6 +3,8 @@ package com.quorum.tessera.client;
 
 import com.quorum.tessera.api.model.ApiPath;
 import com.quorum.tessera.api.model.ResendRequest;
+
+import java.io.InputStream;
 import java.util.Objects;
 
 public class RestP2pClient implements P2pClient {
@@ -28,5 +30,10 @@ public class RestP2pClient implements P2pClient {
         return postDelegate.makeResendRequest(targetUrl, request);
     }
 
+    @Override
+    public InputStream streamResend(String targetUrl, ResendRequest request) {
+        return postDelegate.openResendStream(targetUrl, request);
+    }
+
     
 }
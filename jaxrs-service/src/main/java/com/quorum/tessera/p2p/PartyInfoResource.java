@@ -1,5 +1,6 @@
 package com.quorum.tessera.p2p;
 
+import com.quorum.tessera.client.PeerTrafficRegistry;
 import com.quorum.tessera.node.PartyInfoParser;
 import com.quorum.tessera.node.PartyInfoService;
 import com.quorum.tessera.node.model.PartyInfo;
@@ -15,6 +16,7 @@ import javax.ws.rs.*;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.StreamingOutput;
+import java.util.Optional;
 
 import static java.util.Objects.requireNonNull;
 
@@ -28,9 +30,14 @@ public class PartyInfoResource {
 
     private final PartyInfoService partyInfoService;
 
-    public PartyInfoResource(final PartyInfoService partyInfoService, final PartyInfoParser partyInfoParser) {
+    private final PeerTrafficRegistry peerTrafficRegistry;
+
+    public PartyInfoResource(final PartyInfoService partyInfoService,
+                             final PartyInfoParser partyInfoParser,
+                             final PeerTrafficRegistry peerTrafficRegistry) {
         this.partyInfoService = requireNonNull(partyInfoService, "partyInfoService must not be null");
         this.partyInfoParser = requireNonNull(partyInfoParser, "partyInfoParser must not be null");
+        this.peerTrafficRegistry = requireNonNull(peerTrafficRegistry, "peerTrafficRegistry must not be null");
     }
 
     /**
@@ -47,12 +54,19 @@ public class PartyInfoResource {
     @ApiResponses({@ApiResponse(code = 200, message = "Encoded PartyInfo Data", response = byte[].class)})
     public Response partyInfo(@ApiParam(required = true) final byte[] payload) {
 
+        final long start = System.nanoTime();
+
         final PartyInfo partyInfo = partyInfoParser.from(payload);
 
         final PartyInfo updatedPartyInfo = partyInfoService.updatePartyInfo(partyInfo);
 
         final byte[] encoded = partyInfoParser.to(updatedPartyInfo);
 
+        // the sender's own URL is the one this node calls it on
+        Optional.ofNullable(partyInfo.getUrl())
+            .map(peerTrafficRegistry::get)
+            .ifPresent(traffic -> traffic.recordServed(payload.length, encoded.length, start));
+
         final StreamingOutput streamingOutput = out -> out.write(encoded);
 
         return Response.status(Response.Status.OK).entity(streamingOutput).build();
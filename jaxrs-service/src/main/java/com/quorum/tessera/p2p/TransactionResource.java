@@ -2,8 +2,15 @@ package com.quorum.tessera.p2p;
 
 import com.quorum.tessera.api.filter.Logged;
 import com.quorum.tessera.api.model.ResendRequest;
+import com.quorum.tessera.api.model.ResendRequestType;
 import com.quorum.tessera.api.model.ResendResponse;
+import com.quorum.tessera.client.PeerTraffic;
+import com.quorum.tessera.client.PeerTrafficRegistry;
 import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.encryption.KeyNotFoundException;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.node.PartyInfoService;
+import com.quorum.tessera.node.PeerAddressResolver;
 import com.quorum.tessera.transaction.TransactionManager;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
@@ -12,15 +19,28 @@ import io.swagger.annotations.ApiResponses;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.validation.Valid;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.Consumes;
 import javax.ws.rs.POST;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.util.Base64;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static javax.ws.rs.core.MediaType.*;
 
@@ -38,8 +58,22 @@ public class TransactionResource {
 
     private final TransactionManager delegate;
 
-    public TransactionResource(TransactionManager delegate) {
+    private final PeerTrafficRegistry peerTrafficRegistry;
+
+    private final PartyInfoService partyInfoService;
+
+    private final PeerAddressResolver peerAddressResolver;
+
+    private HttpServletRequest httpServletRequest;
+
+    public TransactionResource(TransactionManager delegate,
+                               PeerTrafficRegistry peerTrafficRegistry,
+                               PartyInfoService partyInfoService,
+                               PeerAddressResolver peerAddressResolver) {
         this.delegate = Objects.requireNonNull(delegate);
+        this.peerTrafficRegistry = Objects.requireNonNull(peerTrafficRegistry);
+        this.partyInfoService = Objects.requireNonNull(partyInfoService);
+        this.peerAddressResolver = Objects.requireNonNull(peerAddressResolver);
     }
 
     @ApiOperation("Resend transactions for given key or message hash/recipient")
@@ -57,13 +91,60 @@ public class TransactionResource {
 
         LOGGER.debug("Received resend request");
 
+        final long start = System.nanoTime();
+
         ResendResponse response = delegate.resend(resendRequest);
         Response.ResponseBuilder builder = Response.status(Status.OK);
         response.getPayload().ifPresent(builder::entity);
+
+        final long sent = response.getPayload().map(payload -> payload.length).orElse(0);
+        this.remotePeer().recordServed(0, sent, start);
+
         return builder.build();
 
     }
 
+    @ApiOperation("Stream back all transactions for a key, in pages that can be resumed from")
+    @ApiResponses({
+        @ApiResponse(code = 200, message = "Length prefixed encoded payloads and resume points"),
+        @ApiResponse(code = 400, message = "TYPE is INDIVIDUAL"),
+        @ApiResponse(code = 403, message = "Caller is not the node registered for the key"),
+        @ApiResponse(code = 500, message = "General error")
+    })
+    @POST
+    @Path("resendstream")
+    @Consumes(APPLICATION_JSON)
+    @Produces(APPLICATION_OCTET_STREAM)
+    public Response resendStream(
+            @ApiParam(name = "resendRequest", required = true) @Valid @NotNull final ResendRequest resendRequest
+    ) {
+
+        LOGGER.debug("Received streamed resend request");
+
+        if (resendRequest.getType() == ResendRequestType.INDIVIDUAL) {
+            return Response.status(Status.BAD_REQUEST).build();
+        }
+
+        if (!this.isRegisteredFor(resendRequest.getPublicKey())) {
+            LOGGER.warn("Refusing streamed resend for a key not registered to the caller");
+            return Response.status(Status.FORBIDDEN).build();
+        }
+
+        final PeerTraffic traffic = this.remotePeer();
+
+        final StreamingOutput stream = output -> {
+            final long start = System.nanoTime();
+            final CountingOutputStream counted = new CountingOutputStream(output);
+            try {
+                delegate.resendStream(resendRequest, counted);
+            } finally {
+                traffic.recordServed(0, counted.getCount(), start);
+            }
+        };
+        return Response.ok(stream).build();
+
+    }
+
     @ApiOperation(value = "Transmit encrypted payload between P2PRestApp Nodes")
     @ApiResponses({
         @ApiResponse(code = 201, message = "Key created status"),
@@ -78,12 +159,117 @@ public class TransactionResource {
 
         LOGGER.debug("Received push request");
 
+        final long start = System.nanoTime();
+
         final MessageHash messageHash = delegate.storePayload(payload);
         LOGGER.debug("Push request generated hash {}", Objects.toString(messageHash));
+
+        final String entity = Objects.toString(messageHash);
+        this.remotePeer().recordServed(payload.length, entity.length(), start);
+
         //TODO: Return the query url not the string of the messageHAsh
         return Response.status(Response.Status.CREATED)
-                .entity(Objects.toString(messageHash))
+                .entity(entity)
                 .build();
     }
 
+    /**
+     * Pushes and resend requests don't say which node sent them, so their
+     * traffic is recorded against the URL of the known peer at the address
+     * they were received from, which is the URL calls to that peer are
+     * recorded against. Callers that aren't known peers are recorded
+     * against their address.
+     */
+    private PeerTraffic remotePeer() {
+        if (httpServletRequest == null) {
+            return peerTrafficRegistry.get("unknown");
+        }
+
+        final String remoteAddress = httpServletRequest.getRemoteAddr();
+
+        final String peer = peerAddressResolver.urlAt(remoteAddress, httpServletRequest.getRemoteHost())
+            .orElse(remoteAddress);
+
+        return peerTrafficRegistry.get(peer);
+    }
+
+    /**
+     * A streamed resend is written back to the caller, rather than pushed to
+     * the node registered for the key as a normal resend is, so it is only
+     * served when the caller's address is that of the registered node
+     */
+    private boolean isRegisteredFor(final String base64Key) {
+        if (httpServletRequest == null) {
+            return false;
+        }
+
+        final Optional<String> host;
+        try {
+            final PublicKey key = PublicKey.from(Base64.getDecoder().decode(base64Key));
+            host = hostOf(partyInfoService.getURLFromRecipientKey(key));
+        } catch (final KeyNotFoundException ex) {
+            LOGGER.debug(null, ex);
+            return false;
+        }
+
+        return host
+            .filter(h -> isAddressOf(h, httpServletRequest.getRemoteAddr(), httpServletRequest.getRemoteHost()))
+            .isPresent();
+    }
+
+    private static Optional<String> hostOf(final String url) {
+        try {
+            return Optional.of(new URL(url).getHost());
+        } catch (final MalformedURLException ex) {
+            LOGGER.debug(null, ex);
+            return Optional.empty();
+        }
+    }
+
+    private static boolean isAddressOf(final String host, final String remoteAddress, final String remoteHost) {
+        if (host.equals(remoteAddress) || host.equals(remoteHost)) {
+            return true;
+        }
+
+        try {
+            return Stream.of(InetAddress.getAllByName(host))
+                .map(InetAddress::getHostAddress)
+                .anyMatch(remoteAddress::equals);
+        } catch (final UnknownHostException ex) {
+            LOGGER.debug(null, ex);
+            return false;
+        }
+    }
+
+    @Context
+    public void setHttpServletRequest(final HttpServletRequest request) {
+        this.httpServletRequest = request;
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        private CountingOutputStream(final OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(final byte[] b, final int off, final int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+
+        private long getCount() {
+            return count;
+        }
+
+    }
+
 }
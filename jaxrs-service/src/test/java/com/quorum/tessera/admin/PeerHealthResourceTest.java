@@ -0,0 +1,90 @@
+package com.quorum.tessera.admin;
+
+import com.quorum.tessera.client.PeerHealth;
+import com.quorum.tessera.client.PeerHealthRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class PeerHealthResourceTest {
+
+    private PeerHealthRegistry peerHealthRegistry;
+
+    private PeerHealthResource peerHealthResource;
+
+    @Before
+    public void onSetUp() {
+        peerHealthRegistry = mock(PeerHealthRegistry.class);
+        peerHealthResource = new PeerHealthResource(peerHealthRegistry);
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(peerHealthRegistry);
+    }
+
+    @Test
+    public void noPeersCalledGivesEmptyList() {
+        when(peerHealthRegistry.getPeers()).thenReturn(emptyList());
+
+        final Response response = peerHealthResource.getPeerHealth();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(entity(response)).isEmpty();
+
+        verify(peerHealthRegistry).getPeers();
+    }
+
+    @Test
+    public void peersAreReportedInUrlOrder() {
+        final PeerHealth failing = peer("http://b.com", PeerHealth.State.OPEN);
+        when(failing.getConsecutiveFailures()).thenReturn(5);
+        when(failing.getErrorRate()).thenReturn(0.8);
+        when(failing.getLastFailure()).thenReturn(2000L);
+
+        final PeerHealth healthy = peer("http://a.com", PeerHealth.State.CLOSED);
+        when(healthy.getAverageLatencyMillis()).thenReturn(12.5);
+        when(healthy.getLastSuccess()).thenReturn(1000L);
+
+        when(peerHealthRegistry.getPeers()).thenReturn(Arrays.asList(failing, healthy));
+
+        final Response response = peerHealthResource.getPeerHealth();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+
+        final List<PeerHealthResponse> peers = entity(response);
+        assertThat(peers).extracting(PeerHealthResponse::getUrl).containsExactly("http://a.com", "http://b.com");
+
+        assertThat(peers.get(0).getState()).isEqualTo("CLOSED");
+        assertThat(peers.get(0).getAverageLatencyMillis()).isEqualTo(12.5);
+        assertThat(peers.get(0).getLastSuccess()).isEqualTo(1000L);
+
+        assertThat(peers.get(1).getState()).isEqualTo("OPEN");
+        assertThat(peers.get(1).getConsecutiveFailures()).isEqualTo(5);
+        assertThat(peers.get(1).getErrorRate()).isEqualTo(0.8);
+        assertThat(peers.get(1).getLastFailure()).isEqualTo(2000L);
+
+        verify(peerHealthRegistry).getPeers();
+    }
+
+    private static PeerHealth peer(final String url, final PeerHealth.State state) {
+        final PeerHealth peerHealth = mock(PeerHealth.class);
+        when(peerHealth.getUrl()).thenReturn(url);
+        when(peerHealth.getState()).thenReturn(state);
+        return peerHealth;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<PeerHealthResponse> entity(final Response response) {
+        return (List<PeerHealthResponse>) response.getEntity();
+    }
+
+}
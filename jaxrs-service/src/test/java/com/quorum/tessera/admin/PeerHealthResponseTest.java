@@ -0,0 +1,34 @@
+package com.quorum.tessera.admin;
+
+import com.quorum.tessera.client.PeerHealth;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PeerHealthResponseTest {
+
+    @Test
+    public void copiesPeerHealth() {
+        final PeerHealth peerHealth = mock(PeerHealth.class);
+        when(peerHealth.getUrl()).thenReturn("http://peer.com");
+        when(peerHealth.getState()).thenReturn(PeerHealth.State.HALF_OPEN);
+        when(peerHealth.getConsecutiveFailures()).thenReturn(3);
+        when(peerHealth.getErrorRate()).thenReturn(0.5);
+        when(peerHealth.getAverageLatencyMillis()).thenReturn(20.0);
+        when(peerHealth.getLastSuccess()).thenReturn(100L);
+        when(peerHealth.getLastFailure()).thenReturn(200L);
+
+        final PeerHealthResponse response = new PeerHealthResponse(peerHealth);
+
+        assertThat(response.getUrl()).isEqualTo("http://peer.com");
+        assertThat(response.getState()).isEqualTo("HALF_OPEN");
+        assertThat(response.getConsecutiveFailures()).isEqualTo(3);
+        assertThat(response.getErrorRate()).isEqualTo(0.5);
+        assertThat(response.getAverageLatencyMillis()).isEqualTo(20.0);
+        assertThat(response.getLastSuccess()).isEqualTo(100L);
+        assertThat(response.getLastFailure()).isEqualTo(200L);
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.quorum.tessera.admin;
+
+import com.quorum.tessera.client.PeerTrafficRegistry;
+import com.quorum.tessera.metrics.MetricsRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PeerTrafficResourceTest {
+
+    private PeerTrafficRegistry peerTrafficRegistry;
+
+    private PeerTrafficResource peerTrafficResource;
+
+    @Before
+    public void onSetUp() {
+        peerTrafficRegistry = new PeerTrafficRegistry(new MetricsRegistry());
+        peerTrafficResource = new PeerTrafficResource(peerTrafficRegistry);
+
+        final long now = System.nanoTime();
+        final long oneSecondAgo = now - TimeUnit.SECONDS.toNanos(1);
+
+        peerTrafficRegistry.get("http://quiet.com").recordCall(10, 10, now);
+        peerTrafficRegistry.get("http://slow.com").recordCall(100, 100, oneSecondAgo);
+        peerTrafficRegistry.get("http://busy.com").recordCall(1000, 5000, now);
+        peerTrafficRegistry.get("http://busy.com").recordFailedCall(1000, now);
+    }
+
+    @Test
+    public void topTalkersReportedFirstByDefault() {
+        final Response response = peerTrafficResource.getPeerTraffic("bytes", 20);
+
+        assertThat(response.getStatus()).isEqualTo(200);
+
+        final List<PeerTrafficResponse> peers = entity(response);
+        assertThat(peers).extracting(PeerTrafficResponse::getUrl)
+            .containsExactly("http://busy.com", "http://slow.com", "http://quiet.com");
+
+        final PeerTrafficResponse busy = peers.get(0);
+        assertThat(busy.getRequestsSent()).isEqualTo(2L);
+        assertThat(busy.getErrors()).isEqualTo(1L);
+        assertThat(busy.getBytesSent()).isEqualTo(2000L);
+        assertThat(busy.getBytesReceived()).isEqualTo(5000L);
+        assertThat(busy.getRequestsReceived()).isZero();
+    }
+
+    @Test
+    public void slowestPeersReportedFirst() {
+        final Response response = peerTrafficResource.getPeerTraffic("latency", 1);
+
+        final List<PeerTrafficResponse> peers = entity(response);
+        assertThat(peers).extracting(PeerTrafficResponse::getUrl).containsExactly("http://slow.com");
+        assertThat(peers.get(0).getCallLatencyMaxMicros()).isGreaterThanOrEqualTo(TimeUnit.SECONDS.toMicros(1));
+    }
+
+    @Test
+    public void unknownSortIsRejected() {
+        final Response response = peerTrafficResource.getPeerTraffic("colour", 20);
+
+        assertThat(response.getStatus()).isEqualTo(400);
+    }
+
+    private static List<PeerTrafficResponse> entity(final Response response) {
+        return (List<PeerTrafficResponse>) response.getEntity();
+    }
+
+}
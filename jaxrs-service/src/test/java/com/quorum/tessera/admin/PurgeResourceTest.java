@@ -0,0 +1,109 @@
+package com.quorum.tessera.admin;
+
+import com.quorum.tessera.transaction.TransactionPurger;
+import com.quorum.tessera.transaction.exception.PurgeInProgressException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.BadRequestException;
+import javax.ws.rs.core.Response;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class PurgeResourceTest {
+
+    private TransactionPurger transactionPurger;
+
+    private Executor executor;
+
+    private PurgeResource purgeResource;
+
+    @Before
+    public void onSetUp() {
+        transactionPurger = mock(TransactionPurger.class);
+        executor = mock(Executor.class);
+        purgeResource = new PurgeResource(transactionPurger, executor);
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(transactionPurger, executor);
+    }
+
+    @Test
+    public void purgeIsStartedInBackground() {
+        when(transactionPurger.isPurging()).thenReturn(true);
+        when(transactionPurger.getPurgeTimestamp()).thenReturn(Optional.of(1000L));
+
+        final Response response = purgeResource.purge(1000L);
+
+        assertThat(response.getStatus()).isEqualTo(202);
+        assertThat(response.getEntity()).isInstanceOf(PurgeResponse.class);
+
+        final PurgeResponse status = (PurgeResponse) response.getEntity();
+        assertThat(status.isRunning()).isTrue();
+        assertThat(status.getOlderThan()).isEqualTo(1000L);
+        assertThat(status.getDeleted()).isZero();
+
+        verify(transactionPurger).purgeAsync(1000L, executor);
+        verify(transactionPurger).isPurging();
+        verify(transactionPurger).getPurgeTimestamp();
+        verify(transactionPurger).getPurged();
+    }
+
+    @Test
+    public void purgeWhilePurgeIsRunningIsRejected() {
+        when(transactionPurger.purgeAsync(1000L, executor)).thenThrow(new PurgeInProgressException("in progress"));
+
+        final Throwable throwable = catchThrowable(() -> purgeResource.purge(1000L));
+
+        assertThat(throwable).isInstanceOf(PurgeInProgressException.class);
+        verify(transactionPurger).purgeAsync(1000L, executor);
+    }
+
+    @Test
+    public void getPurgeReportsProgress() {
+        when(transactionPurger.isPurging()).thenReturn(false);
+        when(transactionPurger.getPurgeTimestamp()).thenReturn(Optional.of(1000L));
+        when(transactionPurger.getPurged()).thenReturn(7);
+
+        final Response response = purgeResource.getPurge();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+
+        final PurgeResponse status = (PurgeResponse) response.getEntity();
+        assertThat(status.isRunning()).isFalse();
+        assertThat(status.getOlderThan()).isEqualTo(1000L);
+        assertThat(status.getDeleted()).isEqualTo(7);
+
+        verify(transactionPurger).isPurging();
+        verify(transactionPurger).getPurgeTimestamp();
+        verify(transactionPurger).getPurged();
+    }
+
+    @Test
+    public void getPurgeBeforeAnyPurge() {
+        when(transactionPurger.getPurgeTimestamp()).thenReturn(Optional.empty());
+
+        final PurgeResponse status = (PurgeResponse) purgeResource.getPurge().getEntity();
+
+        assertThat(status.getOlderThan()).isNull();
+
+        verify(transactionPurger).isPurging();
+        verify(transactionPurger).getPurgeTimestamp();
+        verify(transactionPurger).getPurged();
+    }
+
+    @Test
+    public void purgeWithoutTimestampIsBadRequest() {
+        final Throwable throwable = catchThrowable(() -> purgeResource.purge(null));
+
+        assertThat(throwable).isInstanceOf(BadRequestException.class);
+    }
+
+}
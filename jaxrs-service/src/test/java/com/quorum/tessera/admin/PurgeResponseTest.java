@@ -0,0 +1,15 @@
+package com.quorum.tessera.admin;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PurgeResponseTest {
+
+    @Test
+    public void getter() {
+        PurgeResponse response = new PurgeResponse(5);
+        assertThat(response.getDeleted()).isEqualTo(5);
+    }
+
+}
@@ -0,0 +1,26 @@
+package com.quorum.tessera.api.exception;
+
+import com.quorum.tessera.transaction.exception.PurgeInProgressException;
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PurgeInProgressExceptionMapperTest {
+
+    private PurgeInProgressExceptionMapper instance = new PurgeInProgressExceptionMapper();
+
+    @Test
+    public void toResponse() {
+
+        final PurgeInProgressException exception = new PurgeInProgressException("A purge is already in progress");
+
+        final Response result = instance.toResponse(exception);
+
+        assertThat(result).isNotNull();
+        assertThat(result.getStatus()).isEqualTo(429);
+        assertThat(result.getEntity()).isEqualTo(exception.getMessage());
+
+    }
+}
@@ -0,0 +1,140 @@
+package com.quorum.tessera.api.filter;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class AdaptiveConcurrencyLimitTest {
+
+    private static final long USUAL = 1000L;
+
+    private static final String OPERATION = "operation";
+
+    private AdaptiveConcurrencyLimit limit;
+
+    @Before
+    public void onSetUp() {
+        this.limit = new AdaptiveConcurrencyLimit(10, 2, 20, 2.0);
+    }
+
+    @Test
+    public void requestsBeyondLimitAreRefused() {
+        for (int i = 0; i < 10; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+
+        assertThat(limit.tryAcquire()).isFalse();
+        assertThat(limit.getInFlight()).isEqualTo(10);
+    }
+
+    @Test
+    public void limitGrowsWhileUsedAndFast() {
+        fill(10);
+
+        long now = 0;
+        for (int i = 0; i < 11; i++) {
+            now += USUAL;
+            limit.release(OPERATION, now - USUAL, now);
+            limit.tryAcquire();
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(11);
+    }
+
+    @Test
+    public void limitDoesNotGrowWhenUnused() {
+        long now = 0;
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            now += USUAL;
+            limit.release(OPERATION, now - USUAL, now);
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    public void slowRequestsCutLimit() {
+        fill(3);
+        limit.release(OPERATION, 0, USUAL);
+
+        limit.release(OPERATION, USUAL, USUAL + 5 * USUAL);
+        assertThat(limit.getLimit()).isEqualTo(10);
+
+        limit.release(OPERATION, 2 * USUAL, 2 * USUAL + 5 * USUAL);
+        assertThat(limit.getLimit()).isEqualTo((int) (10 * AdaptiveConcurrencyLimit.BACKOFF));
+        assertThat(limit.getInFlight()).isZero();
+    }
+
+    @Test
+    public void slowOperationIsNotComparedWithFastOne() {
+        long now = 0;
+        for (int i = 0; i < 100; i++) {
+            limit.tryAcquire();
+            limit.tryAcquire();
+            limit.release("fast", now, now + 1);
+            limit.release("slow", now, now + 100 * USUAL);
+            now += 100 * USUAL;
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    public void burstOfSlowRequestsCutsLimitOnce() {
+        fill(4);
+        limit.release(OPERATION, 0, USUAL);
+
+        final long now = 10 * USUAL;
+        limit.release(OPERATION, 0, now);
+        limit.release(OPERATION, 0, now + 1);
+        limit.release(OPERATION, 0, now + 2);
+
+        assertThat(limit.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    public void limitIsNotCutBelowMinimum() {
+        limit.tryAcquire();
+        limit.release(OPERATION, 0, USUAL);
+
+        long now = USUAL;
+        for (int i = 0; i < 50; i++) {
+            limit.tryAcquire();
+            limit.release(OPERATION, now, now + 1000 * USUAL);
+            now += 2000 * USUAL;
+        }
+
+        assertThat(limit.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void limitIsNotRaisedAboveMaximum() {
+        final AdaptiveConcurrencyLimit small = new AdaptiveConcurrencyLimit(2, 1, 2, 2.0);
+
+        for (int i = 0; i < 100; i++) {
+            small.tryAcquire();
+            small.tryAcquire();
+            small.release(OPERATION, 0, USUAL);
+            small.release(OPERATION, 0, USUAL);
+        }
+
+        assertThat(small.getLimit()).isEqualTo(2);
+    }
+
+    @Test
+    public void invalidLimitsAreRejected() {
+        final Throwable throwable = catchThrowable(() -> new AdaptiveConcurrencyLimit(1, 5, 2, 2.0));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void fill(final int requests) {
+        for (int i = 0; i < requests; i++) {
+            assertThat(limit.tryAcquire()).isTrue();
+        }
+    }
+
+}
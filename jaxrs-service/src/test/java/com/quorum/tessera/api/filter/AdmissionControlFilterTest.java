@@ -0,0 +1,222 @@
+package com.quorum.tessera.api.filter;
+
+import com.quorum.tessera.admin.ConfigResource;
+import com.quorum.tessera.config.AdmissionConfig;
+import com.quorum.tessera.metrics.MetricsRegistry;
+import com.quorum.tessera.p2p.PartyInfoResource;
+import com.quorum.tessera.q2t.TransactionResource;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.ext.WriterInterceptorContext;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class AdmissionControlFilterTest {
+
+    private static final String Q2T_LIMIT = MetricsRegistry.labelled("tessera_admission_limit", "api", "q2t");
+
+    private static final String Q2T_REJECTED = MetricsRegistry.labelled("tessera_admission_rejected", "api", "q2t");
+
+    private static final String P2P_IN_FLIGHT = MetricsRegistry.labelled("tessera_admission_in_flight", "api", "p2p");
+
+    private ResourceInfo resourceInfo;
+
+    private MetricsRegistry registry;
+
+    private AdmissionControlFilter filter;
+
+    @Before
+    public void onSetUp() {
+        this.resourceInfo = mock(ResourceInfo.class);
+        this.registry = new MetricsRegistry();
+
+        this.filter = new AdmissionControlFilter(new AdmissionConfig(true, 4, 4, 1, 2.0), registry, resourceInfo);
+    }
+
+    @Test
+    public void q2tRequestsBeyondLimitAreRejected() {
+        doReturn(TransactionResource.class).when(resourceInfo).getResourceClass();
+        assertThat(registry.getGauges().get(Q2T_LIMIT).get()).isEqualTo(2L);
+
+        filter.filter(request());
+        filter.filter(request());
+
+        final ContainerRequestContext rejected = request();
+        filter.filter(rejected);
+
+        final Response response = abortedWith(rejected);
+        assertThat(response.getStatus()).isEqualTo(429);
+        assertThat(response.getHeaderString(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(registry.getCounters().get(Q2T_REJECTED).get()).isEqualTo(1L);
+    }
+
+    @Test
+    public void p2pHasItsOwnBudget() {
+        doReturn(TransactionResource.class).when(resourceInfo).getResourceClass();
+        filter.filter(request());
+        filter.filter(request());
+
+        doReturn(PartyInfoResource.class).when(resourceInfo).getResourceClass();
+        final ContainerRequestContext peerRequest = request();
+        filter.filter(peerRequest);
+
+        verify(peerRequest, never()).abortWith(any(Response.class));
+        assertThat(registry.getGauges().get(P2P_IN_FLIGHT).get()).isEqualTo(1L);
+    }
+
+    @Test
+    public void p2pRequestsBeyondLimitAreRejectedAsUnavailable() {
+        doReturn(PartyInfoResource.class).when(resourceInfo).getResourceClass();
+        filter.filter(request());
+        filter.filter(request());
+
+        final ContainerRequestContext rejected = request();
+        filter.filter(rejected);
+
+        assertThat(abortedWith(rejected).getStatus()).isEqualTo(503);
+    }
+
+    @Test
+    public void completedRequestsFreeCapacity() {
+        doReturn(PartyInfoResource.class).when(resourceInfo).getResourceClass();
+
+        final ContainerRequestContext first = request();
+        filter.filter(first);
+        filter.filter(request());
+
+        final ContainerResponseContext response = mock(ContainerResponseContext.class);
+        filter.filter(first, response);
+        filter.filter(first, response);
+
+        assertThat(registry.getGauges().get(P2P_IN_FLIGHT).get()).isEqualTo(1L);
+
+        final ContainerRequestContext next = request();
+        filter.filter(next);
+        verify(next, never()).abortWith(any(Response.class));
+    }
+
+    @Test
+    public void responsesWithAnEntityHoldCapacityUntilWritten() throws IOException {
+        doReturn(PartyInfoResource.class).when(resourceInfo).getResourceClass();
+
+        final Map<String, Object> properties = new HashMap<>();
+        final ContainerRequestContext request = request(properties);
+        filter.filter(request);
+
+        final ContainerResponseContext response = mock(ContainerResponseContext.class);
+        doReturn(true).when(response).hasEntity();
+        filter.filter(request, response);
+
+        assertThat(registry.getGauges().get(P2P_IN_FLIGHT).get()).isEqualTo(1L);
+
+        final WriterInterceptorContext writer = writer(properties);
+        filter.aroundWriteTo(writer);
+
+        verify(writer).proceed();
+        assertThat(registry.getGauges().get(P2P_IN_FLIGHT).get()).isEqualTo(0L);
+    }
+
+    @Test
+    public void failedWritesFreeCapacity() throws IOException {
+        doReturn(PartyInfoResource.class).when(resourceInfo).getResourceClass();
+
+        final Map<String, Object> properties = new HashMap<>();
+        filter.filter(request(properties));
+
+        final WriterInterceptorContext writer = writer(properties);
+        doThrow(new IOException("closed")).when(writer).proceed();
+
+        final Throwable throwable = catchThrowable(() -> filter.aroundWriteTo(writer));
+
+        assertThat(throwable).isInstanceOf(IOException.class);
+        assertThat(registry.getGauges().get(P2P_IN_FLIGHT).get()).isEqualTo(0L);
+    }
+
+    @Test
+    public void otherApisAreNotLimited() {
+        doReturn(ConfigResource.class).when(resourceInfo).getResourceClass();
+
+        for (int i = 0; i < 10; i++) {
+            final ContainerRequestContext request = request();
+            filter.filter(request);
+            verifyZeroInteractions(request);
+        }
+    }
+
+    @Test
+    public void disabledFilterAllowsAllRequests() {
+        final AdmissionControlFilter disabled
+            = new AdmissionControlFilter(new AdmissionConfig(false, 1, 1, 1, 2.0), registry, resourceInfo);
+
+        final ContainerRequestContext request = request();
+        disabled.filter(request);
+
+        verifyZeroInteractions(request, resourceInfo);
+    }
+
+    @Test
+    public void responseWithoutPermitIsIgnored() {
+        final ContainerRequestContext request = mock(ContainerRequestContext.class);
+        final ContainerResponseContext response = mock(ContainerResponseContext.class);
+
+        filter.filter(request, response);
+
+        verify(request).getProperty(anyString());
+        verifyNoMoreInteractions(request);
+        verifyZeroInteractions(response);
+    }
+
+    @Test
+    public void constructWithDefaultRegistry() {
+        assertThat(new AdmissionControlFilter(new AdmissionConfig())).isNotNull();
+    }
+
+    private static ContainerRequestContext request() {
+        return request(new HashMap<>());
+    }
+
+    private static ContainerRequestContext request(final Map<String, Object> properties) {
+        final ContainerRequestContext request = mock(ContainerRequestContext.class);
+
+        doAnswer(invocation -> properties.put(invocation.getArgument(0), invocation.getArgument(1)))
+            .when(request).setProperty(anyString(), any());
+        doAnswer(invocation -> properties.get(invocation.<String>getArgument(0)))
+            .when(request).getProperty(anyString());
+        doAnswer(invocation -> properties.remove(invocation.<String>getArgument(0)))
+            .when(request).removeProperty(anyString());
+
+        return request;
+    }
+
+    private static WriterInterceptorContext writer(final Map<String, Object> properties) {
+        final WriterInterceptorContext writer = mock(WriterInterceptorContext.class);
+
+        doAnswer(invocation -> properties.get(invocation.<String>getArgument(0)))
+            .when(writer).getProperty(anyString());
+        doAnswer(invocation -> properties.remove(invocation.<String>getArgument(0)))
+            .when(writer).removeProperty(anyString());
+
+        return writer;
+    }
+
+    private static Response abortedWith(final ContainerRequestContext request) {
+        final ArgumentCaptor<Response> captor = ArgumentCaptor.forClass(Response.class);
+        verify(request).abortWith(captor.capture());
+        return captor.getValue();
+    }
+
+}
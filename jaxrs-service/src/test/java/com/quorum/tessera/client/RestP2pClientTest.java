@@ -44,6 +44,15 @@ public class RestP2pClientTest {
         verify(postDelegate).makeResendRequest(url, request);
     }
 
+    @Test
+    public void streamResend() {
+        String url = "someurl";
+        ResendRequest request = mock(ResendRequest.class);
+        p2pClient.streamResend(url, request);
+
+        verify(postDelegate).openResendStream(url, request);
+    }
+
     @Test
     public void push() {
         String url = "someurl";
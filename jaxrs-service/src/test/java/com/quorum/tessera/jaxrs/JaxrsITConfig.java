@@ -1,6 +1,8 @@
 
 package com.quorum.tessera.jaxrs;
 
+import com.quorum.tessera.client.PeerHealthRegistry;
+import com.quorum.tessera.client.PeerTrafficRegistry;
 import com.quorum.tessera.config.Config;
 import com.quorum.tessera.config.JdbcConfig;
 import com.quorum.tessera.config.KeyConfiguration;
@@ -33,6 +35,16 @@ public class JaxrsITConfig {
     public PartyInfoParser partyInfoParser() {
         return mock(PartyInfoParser.class);
     }
+
+    @Bean
+    public PeerHealthRegistry peerHealthRegistry() {
+        return new PeerHealthRegistry();
+    }
+
+    @Bean
+    public PeerTrafficRegistry peerTrafficRegistry() {
+        return new PeerTrafficRegistry();
+    }
     
     @Bean
     public Config config() {
@@ -11,6 +11,8 @@ import javax.ws.rs.client.Entity;
 import javax.ws.rs.client.Invocation;
 import javax.ws.rs.client.WebTarget;
 import javax.ws.rs.core.Response;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
@@ -121,4 +123,33 @@ public class PostDelegateTest {
 
     }
 
+    @Test
+    public void openResendStreamReturnsBodyIf200() {
+
+        final InputStream body = new ByteArrayInputStream(new byte[0]);
+        final Response response = mock(Response.class);
+
+        when(response.getStatus()).thenReturn(Response.Status.OK.getStatusCode());
+        when(response.readEntity(InputStream.class)).thenReturn(body);
+        when(builder.post(any(Entity.class))).thenReturn(response);
+
+        final InputStream result = delegate.openResendStream("http://bogus.com", new ResendRequest());
+
+        assertThat(result).isSameAs(body);
+    }
+
+    @Test
+    public void openResendStreamFailureClosesResponse() {
+
+        final Response response = mock(Response.class);
+        when(response.getStatus()).thenReturn(Response.Status.NOT_FOUND.getStatusCode());
+        when(builder.post(any(Entity.class))).thenReturn(response);
+
+        final InputStream result = delegate.openResendStream("http://bogus.com", new ResendRequest());
+
+        assertThat(result).isNull();
+        verify(response).close();
+        verify(response, never()).readEntity(InputStream.class);
+    }
+
 }
@@ -1,6 +1,9 @@
 package com.quorum.tessera.p2p;
 
+import com.quorum.tessera.client.PeerTraffic;
+import com.quorum.tessera.client.PeerTrafficRegistry;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.metrics.MetricsRegistry;
 import com.quorum.tessera.node.PartyInfoParser;
 import com.quorum.tessera.node.PartyInfoService;
 import com.quorum.tessera.node.model.Party;
@@ -33,12 +36,16 @@ public class PartyInfoResourceTest {
 
     private PartyInfoParser partyInfoParser;
 
+    private PeerTrafficRegistry peerTrafficRegistry;
+
     @Before
     public void onSetup() {
         this.partyInfoService = mock(PartyInfoService.class);
         this.partyInfoParser = mock(PartyInfoParser.class);
 
-        this.partyInfoResource = new PartyInfoResource(partyInfoService, partyInfoParser);
+        this.peerTrafficRegistry = new PeerTrafficRegistry(new MetricsRegistry());
+
+        this.partyInfoResource = new PartyInfoResource(partyInfoService, partyInfoParser, peerTrafficRegistry);
     }
 
     @After
@@ -52,6 +59,7 @@ public class PartyInfoResourceTest {
         byte[] data = "{}".getBytes();
 
         PartyInfo partyInfo = mock(PartyInfo.class);
+        when(partyInfo.getUrl()).thenReturn("http://other:9001/");
         when(partyInfoParser.from(data)).thenReturn(partyInfo);
         when(partyInfoService.updatePartyInfo(partyInfo)).thenReturn(partyInfo);
 
@@ -72,6 +80,11 @@ public class PartyInfoResourceTest {
         verify(partyInfoParser).from(data);
         verify(partyInfoService).updatePartyInfo(partyInfo);
         verify(partyInfoParser).to(partyInfo);
+
+        final PeerTraffic traffic = peerTrafficRegistry.get("http://other:9001/");
+        assertThat(traffic.getRequestsReceived()).isEqualTo(1L);
+        assertThat(traffic.getBytesReceived()).isEqualTo(data.length);
+        assertThat(traffic.getBytesSent()).isEqualTo(resultData.length);
     }
 
     @Test
@@ -1,13 +1,29 @@
 package com.quorum.tessera.p2p;
 
 import com.quorum.tessera.api.model.ResendRequest;
+import com.quorum.tessera.api.model.ResendRequestType;
 import com.quorum.tessera.api.model.ResendResponse;
+import com.quorum.tessera.client.PeerTraffic;
+import com.quorum.tessera.client.PeerTrafficRegistry;
+import com.quorum.tessera.encryption.KeyNotFoundException;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.metrics.MetricsRegistry;
+import com.quorum.tessera.node.PartyInfoService;
+import com.quorum.tessera.node.PeerAddressResolver;
+import com.quorum.tessera.node.model.Party;
+import com.quorum.tessera.node.model.PartyInfo;
 import com.quorum.tessera.transaction.TransactionManager;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
@@ -18,11 +34,24 @@ public class TransactionResourceTest {
 
     private TransactionManager transactionManager;
 
+    private PeerTrafficRegistry peerTrafficRegistry;
+
+    private PartyInfoService partyInfoService;
+
     @Before
     public void onSetup() {
 
         transactionManager = mock(TransactionManager.class);
-        transactionResource = new TransactionResource(transactionManager);
+        peerTrafficRegistry = new PeerTrafficRegistry(new MetricsRegistry());
+        partyInfoService = mock(PartyInfoService.class);
+        when(partyInfoService.getPartyInfo()).thenReturn(new PartyInfo(
+            "http://10.0.0.1:9000/", Collections.emptySet(), Collections.singleton(new Party("http://10.0.0.2:9000/"))
+        ));
+        final PeerAddressResolver peerAddressResolver = new PeerAddressResolver(partyInfoService);
+        peerAddressResolver.run();
+        transactionResource = new TransactionResource(
+            transactionManager, peerTrafficRegistry, partyInfoService, peerAddressResolver
+        );
 
     }
 
@@ -41,6 +70,42 @@ public class TransactionResourceTest {
         verify(transactionManager).storePayload(someData);
     }
 
+    @Test
+    public void pushFromKnownPeerIsRecordedAgainstItsUrl() {
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRemoteAddr()).thenReturn("10.0.0.2");
+        transactionResource.setHttpServletRequest(request);
+
+        byte[] someData = "SomeData".getBytes();
+        transactionResource.push(someData);
+        transactionResource.push(someData);
+
+        verify(transactionManager, times(2)).storePayload(someData);
+
+        final PeerTraffic traffic = peerTrafficRegistry.get("http://10.0.0.2:9000/");
+        assertThat(traffic.getRequestsReceived()).isEqualTo(2L);
+        assertThat(traffic.getBytesReceived()).isEqualTo(2L * someData.length);
+        assertThat(peerTrafficRegistry.get("10.0.0.2").getRequestsReceived()).isZero();
+    }
+
+    @Test
+    public void pushIsRecordedAgainstRemoteAddress() {
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRemoteAddr()).thenReturn("10.0.0.3");
+        when(request.getRemoteHost()).thenReturn("10.0.0.3");
+        transactionResource.setHttpServletRequest(request);
+
+        byte[] someData = "SomeData".getBytes();
+        transactionResource.push(someData);
+
+        verify(transactionManager).storePayload(someData);
+
+        final PeerTraffic traffic = peerTrafficRegistry.get("10.0.0.3");
+        assertThat(traffic.getRequestsReceived()).isEqualTo(1L);
+        assertThat(traffic.getBytesReceived()).isEqualTo(someData.length);
+        assertThat(traffic.getServeLatency().getCount()).isEqualTo(1L);
+    }
+
     @Test
     public void resend() {
 
@@ -54,5 +119,92 @@ public class TransactionResourceTest {
         assertThat(result.getEntity()).isEqualTo("SUCCESS".getBytes());
         verify(transactionManager).resend(resendRequest);
 
+        assertThat(peerTrafficRegistry.get("unknown").getBytesSent()).isEqualTo("SUCCESS".getBytes().length);
+
+    }
+
+    @Test
+    public void resendStreamWritesFromTransactionManager() throws IOException {
+
+        final PublicKey key = PublicKey.from("KEY".getBytes());
+        when(partyInfoService.getURLFromRecipientKey(key)).thenReturn("http://10.0.0.2:9000/");
+
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRemoteAddr()).thenReturn("10.0.0.2");
+        transactionResource.setHttpServletRequest(request);
+
+        final ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setType(ResendRequestType.ALL);
+        resendRequest.setPublicKey(key.encodeToBase64());
+
+        doAnswer(invocation -> {
+            ((OutputStream) invocation.getArgument(1)).write("STREAMED".getBytes());
+            return null;
+        }).when(transactionManager).resendStream(eq(resendRequest), any(OutputStream.class));
+
+        final Response result = transactionResource.resendStream(resendRequest);
+        assertThat(result.getStatus()).isEqualTo(200);
+
+        final PeerTraffic traffic = peerTrafficRegistry.get("http://10.0.0.2:9000/");
+        assertThat(traffic.getBytesSent()).isZero();
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        ((StreamingOutput) result.getEntity()).write(output);
+
+        assertThat(output.toByteArray()).isEqualTo("STREAMED".getBytes());
+        assertThat(traffic.getBytesSent()).isEqualTo("STREAMED".getBytes().length);
+        assertThat(traffic.getRequestsReceived()).isEqualTo(1L);
+
+        verify(transactionManager).resendStream(eq(resendRequest), any(OutputStream.class));
+    }
+
+    @Test
+    public void resendStreamFromAnotherAddressIsForbidden() {
+
+        final PublicKey key = PublicKey.from("KEY".getBytes());
+        when(partyInfoService.getURLFromRecipientKey(key)).thenReturn("http://10.0.0.2:9000/");
+
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRemoteAddr()).thenReturn("10.0.0.3");
+        when(request.getRemoteHost()).thenReturn("10.0.0.3");
+        transactionResource.setHttpServletRequest(request);
+
+        final ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setType(ResendRequestType.ALL);
+        resendRequest.setPublicKey(key.encodeToBase64());
+
+        final Response result = transactionResource.resendStream(resendRequest);
+
+        assertThat(result.getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    public void resendStreamForUnknownKeyIsForbidden() {
+
+        final PublicKey key = PublicKey.from("KEY".getBytes());
+        when(partyInfoService.getURLFromRecipientKey(key)).thenThrow(new KeyNotFoundException("unknown"));
+
+        final HttpServletRequest request = mock(HttpServletRequest.class);
+        when(request.getRemoteAddr()).thenReturn("10.0.0.2");
+        transactionResource.setHttpServletRequest(request);
+
+        final ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setType(ResendRequestType.SINCE);
+        resendRequest.setPublicKey(key.encodeToBase64());
+
+        final Response result = transactionResource.resendStream(resendRequest);
+
+        assertThat(result.getStatus()).isEqualTo(403);
+    }
+
+    @Test
+    public void resendStreamOfIndividualTransactionIsRejected() {
+
+        final ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setType(ResendRequestType.INDIVIDUAL);
+
+        final Response result = transactionResource.resendStream(resendRequest);
+
+        assertThat(result.getStatus()).isEqualTo(400);
     }
 }
@@ -0,0 +1,24 @@
+package com.quorum.tessera.key.generation;
+
+/**
+ * How the passwords that lock the private keys of a batch of generated key
+ * pairs are chosen. Only keys written to files are locked with a password.
+ */
+public enum BatchPassword {
+
+    /**
+     * A password is asked for each key, which may be left blank to leave that key unlocked
+     */
+    EACH,
+
+    /**
+     * One password is asked for and used to lock every key, or left blank to leave every key unlocked
+     */
+    SHARED,
+
+    /**
+     * No password is asked for and every key is left unlocked
+     */
+    NONE
+
+}
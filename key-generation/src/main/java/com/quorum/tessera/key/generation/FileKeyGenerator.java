@@ -1,9 +1,11 @@
 package com.quorum.tessera.key.generation;
 
+import com.quorum.tessera.concurrent.ParallelTasks;
 import com.quorum.tessera.config.ArgonOptions;
 import com.quorum.tessera.config.KeyData;
 import com.quorum.tessera.config.KeyDataConfig;
 import com.quorum.tessera.config.PrivateKeyData;
+import com.quorum.tessera.config.keypairs.ConfigKeyPair;
 import com.quorum.tessera.config.keypairs.FilesystemKeyPair;
 import com.quorum.tessera.config.keys.KeyEncryptor;
 import com.quorum.tessera.config.util.JaxbUtil;
@@ -17,8 +19,12 @@ import org.slf4j.LoggerFactory;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import static com.quorum.tessera.config.PrivateKeyType.LOCKED;
 import static com.quorum.tessera.config.PrivateKeyType.UNLOCKED;
@@ -31,6 +37,11 @@ public class FileKeyGenerator implements KeyGenerator {
 
     private static final String EMPTY_FILENAME = "";
 
+    /**
+     * The number of threads Argon2 uses to lock a key when no options are given
+     */
+    private static final int DEFAULT_ARGON_PARALLELISM = 4;
+
     private final NaclFacade nacl;
 
     private final KeyEncryptor keyEncryptor;
@@ -48,6 +59,52 @@ public class FileKeyGenerator implements KeyGenerator {
 
         final String password = this.passwordReader.requestUserPassword();
 
+        return this.generateKeyPair(filename, password, encryptionOptions);
+    }
+
+    /**
+     * Asks for the passwords up front, either one for each key or one for the
+     * whole batch, then generates, locks and writes the keys in parallel.
+     *
+     * Locking a key with Argon2 already uses several threads, so fewer keys
+     * are locked at once than there are processors, which also bounds the
+     * memory Argon2 needs.
+     */
+    @Override
+    public List<ConfigKeyPair> generate(final List<String> filenames,
+                                        final ArgonOptions encryptionOptions,
+                                        final KeyVaultOptions keyVaultOptions,
+                                        final BatchPassword batchPassword) {
+
+        final List<String> passwords = this.passwords(filenames.size(), batchPassword);
+
+        final boolean locking = passwords.stream().anyMatch(password -> !password.isEmpty());
+
+        final List<Integer> indices = new ArrayList<>(filenames.size());
+        for (int i = 0; i < filenames.size(); i++) {
+            indices.add(i);
+        }
+
+        final long start = System.nanoTime();
+
+        final List<ConfigKeyPair> keyPairs = ParallelTasks.map(
+            indices,
+            maxThreads(encryptionOptions, locking),
+            "key-generator",
+            i -> this.generateKeyPair(filenames.get(i), passwords.get(i), encryptionOptions)
+        );
+
+        LOGGER.info(
+            "Generated {} key pairs in {} ms",
+            keyPairs.size(),
+            TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)
+        );
+
+        return keyPairs;
+    }
+
+    private FilesystemKeyPair generateKeyPair(final String filename, final String password, final ArgonOptions encryptionOptions) {
+
         final KeyPair generated = this.nacl.generateNewKeys();
 
         final String publicKeyBase64 = Base64.getEncoder().encodeToString(generated.getPublicKey().getKeyBytes());
@@ -113,4 +170,33 @@ public class FileKeyGenerator implements KeyGenerator {
         return keyPair;
     }
 
+    private List<String> passwords(final int count, final BatchPassword batchPassword) {
+        switch (batchPassword) {
+            case NONE:
+                return Collections.nCopies(count, "");
+            case SHARED:
+                return Collections.nCopies(count, this.passwordReader.requestUserPassword());
+            default:
+                final List<String> passwords = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    passwords.add(this.passwordReader.requestUserPassword());
+                }
+                return passwords;
+        }
+    }
+
+    private static int maxThreads(final ArgonOptions encryptionOptions, final boolean locking) {
+        final int processors = Runtime.getRuntime().availableProcessors();
+
+        if (!locking) {
+            return processors;
+        }
+
+        final int argonParallelism = encryptionOptions == null || encryptionOptions.getParallelism() == null
+            ? DEFAULT_ARGON_PARALLELISM
+            : encryptionOptions.getParallelism();
+
+        return Math.max(1, processors / Math.max(1, argonParallelism));
+    }
+
 }
@@ -3,8 +3,30 @@ package com.quorum.tessera.key.generation;
 import com.quorum.tessera.config.ArgonOptions;
 import com.quorum.tessera.config.keypairs.ConfigKeyPair;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 public interface KeyGenerator {
 
     ConfigKeyPair generate(String filename, ArgonOptions encryptionOptions, KeyVaultOptions keyVaultOptions);
 
+    /**
+     * Generates a key pair for each of the given names. Generators that can
+     * do this faster than one key at a time should override this.
+     *
+     * @param filenames the names of the key pairs to generate
+     * @param encryptionOptions the options used to lock the private keys
+     * @param keyVaultOptions the options used to save the keys in a vault
+     * @param batchPassword how the passwords that lock the private keys are chosen
+     * @return the generated key pairs, in the same order as the names
+     */
+    default List<ConfigKeyPair> generate(List<String> filenames,
+                                         ArgonOptions encryptionOptions,
+                                         KeyVaultOptions keyVaultOptions,
+                                         BatchPassword batchPassword) {
+        return filenames.stream()
+            .map(filename -> generate(filename, encryptionOptions, keyVaultOptions))
+            .collect(Collectors.toList());
+    }
+
 }
@@ -4,6 +4,7 @@ import com.quorum.tessera.config.ArgonOptions;
 import com.quorum.tessera.config.KeyDataConfig;
 import com.quorum.tessera.config.PrivateKeyData;
 import com.quorum.tessera.config.PrivateKeyType;
+import com.quorum.tessera.config.keypairs.ConfigKeyPair;
 import com.quorum.tessera.config.keypairs.FilesystemKeyPair;
 import com.quorum.tessera.config.keys.KeyEncryptor;
 import com.quorum.tessera.config.util.PasswordReader;
@@ -20,6 +21,8 @@ import java.io.UncheckedIOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 
 import static com.quorum.tessera.config.PrivateKeyType.UNLOCKED;
@@ -127,6 +130,91 @@ public class FileKeyGeneratorTest {
         verify(nacl).generateNewKeys();
     }
 
+    @Test
+    public void generateSeveralKeysAsksForEachPasswordAndWritesEachKey() throws IOException {
+
+        when(passwordReader.requestUserPassword()).thenReturn("", "PASSWORD", "", "PASSWORD");
+
+        doReturn(keyPair).when(nacl).generateNewKeys();
+
+        final PrivateKeyData encryptedKey
+            = new PrivateKeyData(null, "snonce", "salt", "sbox", new ArgonOptions("id", 1, 1, 1));
+        doReturn(encryptedKey).when(keyEncryptor).encryptPrivateKey(any(PrivateKey.class), eq("PASSWORD"), eq(null));
+
+        final Path tempFolder = Files.createTempDirectory(UUID.randomUUID().toString());
+        final List<String> filenames = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            filenames.add(tempFolder.resolve("key" + i).toString());
+        }
+
+        final List<ConfigKeyPair> generated = generator.generate(filenames, null, null, BatchPassword.EACH);
+
+        assertThat(generated).hasSize(4);
+        for (int i = 0; i < 4; i++) {
+            final FilesystemKeyPair pair = (FilesystemKeyPair) generated.get(i);
+            assertThat(pair.getPublicKeyPath()).isEqualTo(tempFolder.resolve("key" + i + ".pub"));
+            assertThat(Files.exists(tempFolder.resolve("key" + i + ".key"))).isTrue();
+            assertThat(pair.getInlineKeypair().getPrivateKeyConfig().getType())
+                .isEqualTo(i % 2 == 0 ? UNLOCKED : PrivateKeyType.LOCKED);
+        }
+
+        verify(passwordReader, times(4)).requestUserPassword();
+        verify(nacl, times(4)).generateNewKeys();
+        verify(keyEncryptor, times(2)).encryptPrivateKey(any(PrivateKey.class), eq("PASSWORD"), eq(null));
+    }
+
+    @Test
+    public void generateSeveralKeysWithSharedPasswordAsksOnce() throws IOException {
+
+        when(passwordReader.requestUserPassword()).thenReturn("PASSWORD");
+
+        doReturn(keyPair).when(nacl).generateNewKeys();
+
+        final PrivateKeyData encryptedKey
+            = new PrivateKeyData(null, "snonce", "salt", "sbox", new ArgonOptions("id", 1, 1, 1));
+        doReturn(encryptedKey).when(keyEncryptor).encryptPrivateKey(any(PrivateKey.class), eq("PASSWORD"), eq(null));
+
+        final Path tempFolder = Files.createTempDirectory(UUID.randomUUID().toString());
+        final List<String> filenames = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            filenames.add(tempFolder.resolve("key" + i).toString());
+        }
+
+        final List<ConfigKeyPair> generated = generator.generate(filenames, null, null, BatchPassword.SHARED);
+
+        assertThat(generated).hasSize(3);
+        for (final ConfigKeyPair pair : generated) {
+            assertThat(((FilesystemKeyPair) pair).getInlineKeypair().getPrivateKeyConfig().getType())
+                .isEqualTo(PrivateKeyType.LOCKED);
+        }
+
+        verify(passwordReader).requestUserPassword();
+        verify(nacl, times(3)).generateNewKeys();
+        verify(keyEncryptor, times(3)).encryptPrivateKey(any(PrivateKey.class), eq("PASSWORD"), eq(null));
+    }
+
+    @Test
+    public void generateSeveralKeysWithoutPasswordDoesntAsk() throws IOException {
+
+        doReturn(keyPair).when(nacl).generateNewKeys();
+
+        final Path tempFolder = Files.createTempDirectory(UUID.randomUUID().toString());
+        final List<String> filenames = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            filenames.add(tempFolder.resolve("key" + i).toString());
+        }
+
+        final List<ConfigKeyPair> generated = generator.generate(filenames, null, null, BatchPassword.NONE);
+
+        assertThat(generated).hasSize(3);
+        for (final ConfigKeyPair pair : generated) {
+            assertThat(((FilesystemKeyPair) pair).getInlineKeypair().getPrivateKeyConfig().getType())
+                .isEqualTo(UNLOCKED);
+        }
+
+        verify(nacl, times(3)).generateNewKeys();
+    }
+
     @Test
     public void providingPathSavesToFile() throws IOException {
         final Path tempFolder = Files.createTempDirectory(UUID.randomUUID().toString());
@@ -1,6 +1,9 @@
 package com.quorum.tessera.keypairconverter;
 
+import com.quorum.tessera.concurrent.ParallelTasks;
 import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.KeyConfiguration;
+import com.quorum.tessera.config.KeyVaultCacheConfig;
 import com.quorum.tessera.config.KeyVaultType;
 import com.quorum.tessera.config.keypairs.AzureVaultKeyPair;
 import com.quorum.tessera.config.keypairs.ConfigKeyPair;
@@ -12,31 +15,69 @@ import com.quorum.tessera.config.vault.data.HashicorpGetSecretData;
 import com.quorum.tessera.encryption.KeyPair;
 import com.quorum.tessera.encryption.PrivateKey;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.key.vault.CachingKeyVaultService;
 import com.quorum.tessera.key.vault.KeyVaultService;
 import com.quorum.tessera.key.vault.KeyVaultServiceFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Base64;
 import java.util.Collection;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
+/**
+ * Resolves the configured key pairs into the keys used by the enclave.
+ *
+ * Key pairs are resolved in parallel, since unlocking a key with Argon2 is
+ * deliberately slow and each key in a vault needs a network request, and a
+ * node with many keys would otherwise take a long time to start. One vault
+ * client of each type is shared by every converter in the process, and
+ * caches the secrets it reads unless configured not to, so keys resolved
+ * again after startup are read from memory.
+ */
 public class KeyPairConverter {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeyPairConverter.class);
+
+    private static final int MAX_THREADS = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+    private static final ConcurrentMap<KeyVaultType, KeyVaultService> SHARED_KEY_VAULT_SERVICES = new ConcurrentHashMap<>();
+
     private final Config config;
 
     private final EnvironmentVariableProvider envProvider;
 
+    private final ConcurrentMap<KeyVaultType, KeyVaultService> keyVaultServices;
+
     public KeyPairConverter(Config config, EnvironmentVariableProvider envProvider) {
+        this(config, envProvider, SHARED_KEY_VAULT_SERVICES);
+    }
+
+    KeyPairConverter(Config config,
+                     EnvironmentVariableProvider envProvider,
+                     ConcurrentMap<KeyVaultType, KeyVaultService> keyVaultServices) {
         this.config = config;
         this.envProvider = envProvider;
+        this.keyVaultServices = Objects.requireNonNull(keyVaultServices);
     }
 
     public Collection<KeyPair> convert(Collection<ConfigKeyPair> configKeyPairs) {
-        return configKeyPairs
-            .stream()
-            .map(this::convert)
-            .collect(Collectors.toList());
+        final long start = System.nanoTime();
+
+        final List<KeyPair> keyPairs
+            = ParallelTasks.map(new ArrayList<>(configKeyPairs), MAX_THREADS, "key-loader", this::convert);
+
+        LOGGER.info("Loaded {} key pairs in {} ms", keyPairs.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+
+        return keyPairs;
     }
 
     private KeyPair convert(ConfigKeyPair configKeyPair) {
@@ -45,30 +86,28 @@ public class KeyPairConverter {
 
         if (configKeyPair instanceof AzureVaultKeyPair) {
 
-            KeyVaultServiceFactory keyVaultServiceFactory = KeyVaultServiceFactory.getInstance(KeyVaultType.AZURE);
-
-            KeyVaultService keyVaultService = keyVaultServiceFactory.create(config, envProvider);
+            KeyVaultService keyVaultService = keyVaultService(KeyVaultType.AZURE);
 
             AzureVaultKeyPair akp = (AzureVaultKeyPair) configKeyPair;
 
             GetSecretData getPublicKeyData = new AzureGetSecretData(akp.getPublicKeyId(), akp.getPublicKeyVersion());
             GetSecretData getPrivateKeyData = new AzureGetSecretData(akp.getPrivateKeyId(), akp.getPrivateKeyVersion());
 
-            base64PublicKey = keyVaultService.getSecret(getPublicKeyData);
-            base64PrivateKey = keyVaultService.getSecret(getPrivateKeyData);
+            List<String> secrets = keyVaultService.getSecrets(Arrays.asList(getPublicKeyData, getPrivateKeyData));
+            base64PublicKey = secrets.get(0);
+            base64PrivateKey = secrets.get(1);
         } else if (configKeyPair instanceof HashicorpVaultKeyPair) {
 
-            KeyVaultServiceFactory keyVaultServiceFactory = KeyVaultServiceFactory.getInstance(KeyVaultType.HASHICORP);
-
-            KeyVaultService keyVaultService = keyVaultServiceFactory.create(config, envProvider);
+            KeyVaultService keyVaultService = keyVaultService(KeyVaultType.HASHICORP);
 
             HashicorpVaultKeyPair hkp = (HashicorpVaultKeyPair) configKeyPair;
 
             GetSecretData getPublicKeyData = new HashicorpGetSecretData(hkp.getSecretEngineName(), hkp.getSecretName(), hkp.getPublicKeyId(), hkp.getSecretVersionAsInt());
             GetSecretData getPrivateKeyData = new HashicorpGetSecretData(hkp.getSecretEngineName(), hkp.getSecretName(), hkp.getPrivateKeyId(), hkp.getSecretVersionAsInt());
 
-            base64PublicKey = keyVaultService.getSecret(getPublicKeyData);
-            base64PrivateKey = keyVaultService.getSecret(getPrivateKeyData);
+            List<String> secrets = keyVaultService.getSecrets(Arrays.asList(getPublicKeyData, getPrivateKeyData));
+            base64PublicKey = secrets.get(0);
+            base64PrivateKey = secrets.get(1);
         } else {
 
             base64PublicKey = configKeyPair.getPublicKey();
@@ -82,6 +121,21 @@ public class KeyPairConverter {
         );
     }
 
+    private KeyVaultService keyVaultService(KeyVaultType keyVaultType) {
+        return keyVaultServices.computeIfAbsent(keyVaultType, type -> {
+            final KeyVaultService keyVaultService = KeyVaultServiceFactory.getInstance(type).create(config, envProvider);
+
+            final KeyVaultCacheConfig cacheConfig = Optional.ofNullable(config.getKeys())
+                .map(KeyConfiguration::getKeyVaultCacheConfig)
+                .orElseGet(KeyVaultCacheConfig::new);
+
+            if (!cacheConfig.getEnabled()) {
+                return keyVaultService;
+            }
+            return new CachingKeyVaultService(keyVaultService, type, cacheConfig);
+        });
+    }
+
     public List<PublicKey> convert(List<String> values) {
         return Objects.requireNonNull(values, "Key values cannot be null")
             .stream()
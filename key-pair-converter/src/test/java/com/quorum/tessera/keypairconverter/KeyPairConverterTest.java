@@ -1,17 +1,22 @@
 package com.quorum.tessera.keypairconverter;
 
 import com.quorum.tessera.config.Config;
+import com.quorum.tessera.config.KeyConfiguration;
+import com.quorum.tessera.config.KeyVaultCacheConfig;
 import com.quorum.tessera.config.keypairs.*;
 import com.quorum.tessera.config.util.EnvironmentVariableProvider;
 import com.quorum.tessera.encryption.KeyPair;
 import com.quorum.tessera.encryption.PrivateKey;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.key.vault.KeyVaultException;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -25,7 +30,8 @@ public class KeyPairConverterTest {
     public void setUp() {
         this.config = mock(Config.class);
         this.envProvider = mock(EnvironmentVariableProvider.class);
-        this.converter = new KeyPairConverter(config, envProvider);
+        this.converter = new KeyPairConverter(config, envProvider, new ConcurrentHashMap<>());
+        StubKeyVaultService.reset();
     }
 
     private byte[] decodeBase64(String input) {
@@ -106,6 +112,82 @@ public class KeyPairConverterTest {
         assertThat(resultKeyPair).isEqualToComparingFieldByField(expected);
     }
 
+    @Test
+    public void convertManyVaultKeyPairsSharesOneVaultClient() {
+        final List<ConfigKeyPair> keyPairs = new ArrayList<>();
+        final List<KeyPair> expected = new ArrayList<>();
+
+        for (int i = 0; i < 20; i++) {
+            final byte[] publicKey = new byte[]{(byte) i, 1};
+            final byte[] privateKey = new byte[]{(byte) i, 2};
+            StubKeyVaultService.SECRETS.put("pub" + i, Base64.getEncoder().encodeToString(publicKey));
+            StubKeyVaultService.SECRETS.put("priv" + i, Base64.getEncoder().encodeToString(privateKey));
+
+            keyPairs.add(
+                i % 2 == 0
+                    ? new HashicorpVaultKeyPair("pub" + i, "priv" + i, "engine", "secretName", null)
+                    : new AzureVaultKeyPair("pub" + i, "priv" + i, null, null)
+            );
+            expected.add(new KeyPair(PublicKey.from(publicKey), PrivateKey.from(privateKey)));
+        }
+
+        final Collection<KeyPair> result = converter.convert(keyPairs);
+
+        assertThat(result).containsExactlyElementsOf(expected);
+        assertThat(StubKeyVaultService.INSTANCES.get()).isEqualTo(2);
+        assertThat(StubKeyVaultService.REQUESTS.get()).isEqualTo(20);
+    }
+
+    @Test
+    public void vaultSecretsAreCachedBetweenConversions() {
+        StubKeyVaultService.SECRETS.put("pub", "cHVi");
+        StubKeyVaultService.SECRETS.put("priv", "cHJpdg==");
+        final AzureVaultKeyPair keyPair = new AzureVaultKeyPair("pub", "priv", null, null);
+
+        final Collection<KeyPair> first = converter.convert(Collections.singletonList(keyPair));
+        final Collection<KeyPair> second = converter.convert(Collections.singletonList(keyPair));
+
+        assertThat(second).containsExactlyElementsOf(first);
+        assertThat(StubKeyVaultService.REQUESTS.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void vaultSecretsAreCachedForEveryConverter() {
+        StubKeyVaultService.SECRETS.put("sharedPub", "cHVi");
+        StubKeyVaultService.SECRETS.put("sharedPriv", "cHJpdg==");
+        final AzureVaultKeyPair keyPair = new AzureVaultKeyPair("sharedPub", "sharedPriv", null, null);
+
+        new KeyPairConverter(config, envProvider).convert(Collections.singletonList(keyPair));
+        new KeyPairConverter(config, envProvider).convert(Collections.singletonList(keyPair));
+
+        assertThat(StubKeyVaultService.REQUESTS.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void vaultSecretsAreNotCachedWhenDisabled() {
+        final KeyConfiguration keyConfiguration = new KeyConfiguration();
+        keyConfiguration.setKeyVaultCacheConfig(new KeyVaultCacheConfig(false, null, null, null));
+        when(config.getKeys()).thenReturn(keyConfiguration);
+
+        StubKeyVaultService.SECRETS.put("pub", "cHVi");
+        StubKeyVaultService.SECRETS.put("priv", "cHJpdg==");
+        final AzureVaultKeyPair keyPair = new AzureVaultKeyPair("pub", "priv", null, null);
+
+        converter.convert(Collections.singletonList(keyPair));
+        converter.convert(Collections.singletonList(keyPair));
+
+        assertThat(StubKeyVaultService.REQUESTS.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void missingVaultSecretIsReported() {
+        final HashicorpVaultKeyPair keyPair = new HashicorpVaultKeyPair("pub", "missing", "engine", "secretName", null);
+
+        final Throwable throwable = catchThrowable(() -> converter.convert(Arrays.asList(keyPair, keyPair)));
+
+        assertThat(throwable).isInstanceOf(KeyVaultException.class).hasMessage("No secret missing");
+    }
+
     @Test
     public void convertMultipleKeyPairs() {
         final String pubA = "publicA";
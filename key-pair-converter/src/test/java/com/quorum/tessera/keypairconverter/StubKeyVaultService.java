@@ -0,0 +1,72 @@
+package com.quorum.tessera.keypairconverter;
+
+import com.quorum.tessera.config.vault.data.AzureGetSecretData;
+import com.quorum.tessera.config.vault.data.GetSecretData;
+import com.quorum.tessera.config.vault.data.HashicorpGetSecretData;
+import com.quorum.tessera.config.vault.data.SetSecretData;
+import com.quorum.tessera.key.vault.KeyVaultException;
+import com.quorum.tessera.key.vault.KeyVaultService;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * A vault held in memory, shared by every instance, that answers each request
+ * for several secrets in one go and counts the requests it is sent
+ */
+public class StubKeyVaultService implements KeyVaultService {
+
+    static final Map<String, String> SECRETS = new ConcurrentHashMap<>();
+
+    static final AtomicInteger REQUESTS = new AtomicInteger();
+
+    static final AtomicInteger INSTANCES = new AtomicInteger();
+
+    static void reset() {
+        SECRETS.clear();
+        SECRETS.put("pub", "publicSecret");
+        SECRETS.put("priv", "privSecret");
+        REQUESTS.set(0);
+        INSTANCES.set(0);
+    }
+
+    StubKeyVaultService() {
+        INSTANCES.incrementAndGet();
+    }
+
+    @Override
+    public String getSecret(final GetSecretData getSecretData) {
+        REQUESTS.incrementAndGet();
+        return lookup(getSecretData);
+    }
+
+    @Override
+    public List<String> getSecrets(final List<GetSecretData> getSecretData) {
+        REQUESTS.incrementAndGet();
+        return getSecretData.stream().map(this::lookup).collect(Collectors.toList());
+    }
+
+    @Override
+    public Object setSecret(final SetSecretData setSecretData) {
+        throw new UnsupportedOperationException();
+    }
+
+    private String lookup(final GetSecretData getSecretData) {
+        final String id;
+        if (getSecretData instanceof AzureGetSecretData) {
+            id = ((AzureGetSecretData) getSecretData).getSecretName();
+        } else {
+            id = ((HashicorpGetSecretData) getSecretData).getValueId();
+        }
+
+        final String secret = SECRETS.get(id);
+        if (secret == null) {
+            throw new KeyVaultException("No secret " + id);
+        }
+        return secret;
+    }
+
+}
@@ -8,6 +8,9 @@ import com.quorum.tessera.key.vault.KeyVaultException;
 import com.quorum.tessera.key.vault.KeyVaultService;
 import org.springframework.vault.support.Versioned;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 public class HashicorpKeyVaultService implements KeyVaultService {
@@ -21,12 +24,46 @@ public class HashicorpKeyVaultService implements KeyVaultService {
 
     @Override
     public String getSecret(GetSecretData getSecretData) {
+        HashicorpGetSecretData hashicorpGetSecretData = toHashicorpData(getSecretData);
+
+        return valueOf(hashicorpGetSecretData, fetch(hashicorpGetSecretData));
+    }
+
+    /**
+     * Retrieves each secret named in the request once, reading as many values
+     * from it as are asked for, so a key pair stored in one secret takes a
+     * single request rather than one per key
+     */
+    @Override
+    public List<String> getSecrets(List<GetSecretData> getSecretData) {
+        final Map<String, Versioned<Map<String, Object>>> secrets = new HashMap<>();
+
+        final List<String> values = new ArrayList<>(getSecretData.size());
+        for (GetSecretData data : getSecretData) {
+            final HashicorpGetSecretData hashicorpGetSecretData = toHashicorpData(data);
+
+            final String secretKey = hashicorpGetSecretData.getSecretEngineName()
+                + "/" + hashicorpGetSecretData.getSecretName()
+                + "@" + hashicorpGetSecretData.getSecretVersion();
+
+            final Versioned<Map<String, Object>> secret
+                = secrets.computeIfAbsent(secretKey, k -> fetch(hashicorpGetSecretData));
+
+            values.add(valueOf(hashicorpGetSecretData, secret));
+        }
+
+        return values;
+    }
+
+    private static HashicorpGetSecretData toHashicorpData(GetSecretData getSecretData) {
         if(!(getSecretData instanceof HashicorpGetSecretData)) {
             throw new KeyVaultException("Incorrect data type passed to HashicorpKeyVaultService.  Type was " + getSecretData.getType());
         }
 
-        HashicorpGetSecretData hashicorpGetSecretData = (HashicorpGetSecretData) getSecretData;
+        return (HashicorpGetSecretData) getSecretData;
+    }
 
+    private Versioned<Map<String, Object>> fetch(HashicorpGetSecretData hashicorpGetSecretData) {
         KeyValueOperationsDelegate keyValueOperationsDelegate = keyValueOperationsDelegateFactory.create(hashicorpGetSecretData.getSecretEngineName());
 
         Versioned<Map<String, Object>> versionedResponse = keyValueOperationsDelegate.get(hashicorpGetSecretData);
@@ -35,6 +72,10 @@ public class HashicorpKeyVaultService implements KeyVaultService {
             throw new HashicorpVaultException("No data found at " + hashicorpGetSecretData.getSecretEngineName() + "/" + hashicorpGetSecretData.getSecretName());
         }
 
+        return versionedResponse;
+    }
+
+    private static String valueOf(HashicorpGetSecretData hashicorpGetSecretData, Versioned<Map<String, Object>> versionedResponse) {
         if(!versionedResponse.getData().containsKey(hashicorpGetSecretData.getValueId())) {
             throw new HashicorpVaultException("No value with id " + hashicorpGetSecretData.getValueId() + " found at " + hashicorpGetSecretData.getSecretEngineName() + "/" + hashicorpGetSecretData.getSecretName());
         }
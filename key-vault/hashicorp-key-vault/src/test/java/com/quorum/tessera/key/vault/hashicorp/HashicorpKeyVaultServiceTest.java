@@ -9,7 +9,10 @@ import org.junit.Before;
 import org.junit.Test;
 import org.springframework.vault.support.Versioned;
 
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -17,6 +20,8 @@ import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 public class HashicorpKeyVaultServiceTest {
@@ -120,6 +125,46 @@ public class HashicorpKeyVaultServiceTest {
     }
 
 
+    @Test
+    public void getSecretsReadsEachSecretOnce() {
+        final Map<String, Object> keyPair = new HashMap<>();
+        keyPair.put("pub", "publicValue");
+        keyPair.put("priv", "privateValue");
+        final Versioned<Map<String, Object>> secret = Versioned.create(keyPair);
+
+        final Map<String, Object> other = Collections.singletonMap("pub", "otherValue");
+        final Versioned<Map<String, Object>> otherSecret = Versioned.create(other);
+
+        final HashicorpGetSecretData pub = new HashicorpGetSecretData("engine", "secretName", "pub", 0);
+        final HashicorpGetSecretData priv = new HashicorpGetSecretData("engine", "secretName", "priv", 0);
+        final HashicorpGetSecretData otherPub = new HashicorpGetSecretData("engine", "otherName", "pub", 0);
+
+        when(delegate.get(pub)).thenReturn(secret);
+        when(delegate.get(otherPub)).thenReturn(otherSecret);
+
+        final List<String> result = keyVaultService.getSecrets(Arrays.asList(pub, priv, otherPub));
+
+        assertThat(result).containsExactly("publicValue", "privateValue", "otherValue");
+        verify(delegate).get(pub);
+        verify(delegate).get(otherPub);
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    public void getSecretsThrowsExceptionIfValueNotFound() {
+        final Versioned<Map<String, Object>> secret = Versioned.create(Collections.<String, Object>singletonMap("pub", "publicValue"));
+
+        final HashicorpGetSecretData pub = new HashicorpGetSecretData("engine", "secretName", "pub", 0);
+        final HashicorpGetSecretData priv = new HashicorpGetSecretData("engine", "secretName", "priv", 0);
+
+        when(delegate.get(pub)).thenReturn(secret);
+
+        final Throwable ex = catchThrowable(() -> keyVaultService.getSecrets(Arrays.asList(pub, priv)));
+
+        assertThat(ex).isExactlyInstanceOf(HashicorpVaultException.class);
+        assertThat(ex).hasMessage("No value with id priv found at engine/secretName");
+    }
+
     @Test
     public void setSecretThrowsExceptionIfProvidedDataIsNotCorrectType() {
         SetSecretData setSecretData = mock(SetSecretData.class);
@@ -0,0 +1,308 @@
+package com.quorum.tessera.key.vault;
+
+import com.quorum.tessera.config.KeyVaultCacheConfig;
+import com.quorum.tessera.config.KeyVaultType;
+import com.quorum.tessera.config.vault.data.GetSecretData;
+import com.quorum.tessera.config.vault.data.SetSecretData;
+import com.quorum.tessera.metrics.Counter;
+import com.quorum.tessera.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps secrets read from a key vault in memory, so that reading the same
+ * secret again does not need a request to the vault.
+ *
+ * A secret that is read shortly before it expires is read again from the
+ * vault in the background. Concurrent reads of a secret that is not cached
+ * share a single request to the vault, whether the secret is read on its own
+ * or with others. If the vault cannot be reached, an
+ * expired secret is still returned for a while, unless the vault reports
+ * that the secret no longer exists.
+ *
+ * Writing any secret clears the cache, as it may replace the latest version
+ * of a cached secret.
+ */
+public class CachingKeyVaultService implements KeyVaultService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingKeyVaultService.class);
+
+    private final KeyVaultService delegate;
+
+    private final long ttlNanos;
+
+    private final long refreshAheadNanos;
+
+    private final long staleIfErrorNanos;
+
+    private final Executor refresher;
+
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentMap<GetSecretData, Entry> entries = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<GetSecretData, CompletableFuture<String>> loading = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter refreshes;
+
+    private final Counter staleServed;
+
+    private final Counter failures;
+
+    public CachingKeyVaultService(final KeyVaultService delegate,
+                                  final KeyVaultType type,
+                                  final KeyVaultCacheConfig config) {
+        this(delegate, type, config, refresher(type), System::nanoTime, MetricsRegistry.getDefault());
+    }
+
+    CachingKeyVaultService(final KeyVaultService delegate,
+                           final KeyVaultType type,
+                           final KeyVaultCacheConfig config,
+                           final Executor refresher,
+                           final LongSupplier nanoClock,
+                           final MetricsRegistry registry) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(config.getTtlInMillis());
+        this.refreshAheadNanos = Math.min(TimeUnit.MILLISECONDS.toNanos(config.getRefreshAheadInMillis()), ttlNanos);
+        this.staleIfErrorNanos = TimeUnit.MILLISECONDS.toNanos(config.getStaleIfErrorInMillis());
+        this.refresher = Objects.requireNonNull(refresher);
+        this.nanoClock = Objects.requireNonNull(nanoClock);
+
+        final String vault = type.name().toLowerCase(Locale.ROOT);
+        this.hits = registry.counter(MetricsRegistry.labelled("tessera_key_vault_cache_hits", "vault", vault));
+        this.misses = registry.counter(MetricsRegistry.labelled("tessera_key_vault_cache_misses", "vault", vault));
+        this.refreshes = registry.counter(MetricsRegistry.labelled("tessera_key_vault_cache_refreshes", "vault", vault));
+        this.staleServed = registry.counter(MetricsRegistry.labelled("tessera_key_vault_cache_stale", "vault", vault));
+        this.failures = registry.counter(MetricsRegistry.labelled("tessera_key_vault_failures", "vault", vault));
+        registry.gauge(MetricsRegistry.labelled("tessera_key_vault_cache_size", "vault", vault), entries::size);
+    }
+
+    @Override
+    public String getSecret(final GetSecretData getSecretData) {
+        final long now = nanoClock.getAsLong();
+        final Entry entry = entries.get(getSecretData);
+
+        if (entry != null && entry.isFresh(now)) {
+            hits.increment();
+            refreshIfDue(getSecretData, entry, now);
+            return entry.value;
+        }
+
+        misses.increment();
+        try {
+            return load(getSecretData);
+        } catch (final RuntimeException ex) {
+            return stale(getSecretData, entry, now, ex);
+        }
+    }
+
+    /**
+     * Reads the secrets that are not cached from the vault together, so
+     * that the vault can return them in fewer requests
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public List<String> getSecrets(final List<GetSecretData> getSecretData) {
+        final long now = nanoClock.getAsLong();
+
+        final Map<GetSecretData, String> values = new HashMap<>();
+        final Map<GetSecretData, Entry> expired = new HashMap<>();
+        final LinkedHashSet<GetSecretData> missing = new LinkedHashSet<>();
+
+        for (final GetSecretData data : getSecretData) {
+            final Entry entry = entries.get(data);
+            if (entry != null && entry.isFresh(now)) {
+                hits.increment();
+                refreshIfDue(data, entry, now);
+                values.put(data, entry.value);
+            } else if (missing.add(data)) {
+                misses.increment();
+                if (entry != null) {
+                    expired.put(data, entry);
+                }
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            final Map<GetSecretData, CompletableFuture<String>> requests = new LinkedHashMap<>();
+            final Map<GetSecretData, CompletableFuture<String>> inProgress = new HashMap<>();
+
+            for (final GetSecretData data : missing) {
+                final CompletableFuture<String> request = new CompletableFuture<>();
+                final CompletableFuture<String> existing = loading.putIfAbsent(data, request);
+                if (existing == null) {
+                    requests.put(data, request);
+                } else {
+                    inProgress.put(data, existing);
+                }
+            }
+
+            if (!requests.isEmpty()) {
+                this.loadAll(requests);
+            }
+
+            for (final GetSecretData data : missing) {
+                try {
+                    values.put(data, join(requests.getOrDefault(data, inProgress.get(data))));
+                } catch (final RuntimeException ex) {
+                    values.put(data, stale(data, expired.get(data), now, ex));
+                }
+            }
+        }
+
+        return getSecretData.stream().map(values::get).collect(Collectors.toList());
+    }
+
+    @Override
+    public Object setSecret(final SetSecretData setSecretData) {
+        try {
+            return delegate.setSecret(setSecretData);
+        } finally {
+            entries.clear();
+        }
+    }
+
+    private void refreshIfDue(final GetSecretData getSecretData, final Entry entry, final long now) {
+        if (now < entry.expiresAt - refreshAheadNanos || loading.containsKey(getSecretData)) {
+            return;
+        }
+
+        refresher.execute(() -> {
+            try {
+                load(getSecretData);
+                refreshes.increment();
+            } catch (final RuntimeException ex) {
+                LOGGER.warn("Unable to refresh key vault secret, will retry when next read: {}", ex.getMessage());
+                LOGGER.debug(null, ex);
+            }
+        });
+    }
+
+    /**
+     * Reads a secret from the vault, or waits for a read of the same secret
+     * that is already in progress
+     */
+    private String load(final GetSecretData getSecretData) {
+        final CompletableFuture<String> request = new CompletableFuture<>();
+        final CompletableFuture<String> inProgress = loading.putIfAbsent(getSecretData, request);
+
+        if (inProgress != null) {
+            return join(inProgress);
+        }
+
+        try {
+            final String value = delegate.getSecret(getSecretData);
+            entries.put(getSecretData, new Entry(value, nanoClock.getAsLong() + ttlNanos));
+            request.complete(value);
+            return value;
+        } catch (final RuntimeException ex) {
+            failures.increment();
+            request.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            loading.remove(getSecretData, request);
+        }
+    }
+
+    /**
+     * Reads secrets from the vault in one request, completing the given
+     * requests that other reads of the same secrets may be waiting on
+     */
+    private void loadAll(final Map<GetSecretData, CompletableFuture<String>> requests) {
+        final List<GetSecretData> toLoad = new ArrayList<>(requests.keySet());
+
+        try {
+            final List<String> loaded = delegate.getSecrets(toLoad);
+            final long expiresAt = nanoClock.getAsLong() + ttlNanos;
+            for (int i = 0; i < toLoad.size(); i++) {
+                entries.put(toLoad.get(i), new Entry(loaded.get(i), expiresAt));
+                requests.get(toLoad.get(i)).complete(loaded.get(i));
+            }
+        } catch (final RuntimeException ex) {
+            failures.increment();
+            requests.values().forEach(request -> request.completeExceptionally(ex));
+        } finally {
+            requests.forEach(loading::remove);
+        }
+    }
+
+    private static String join(final CompletableFuture<String> request) {
+        try {
+            return request.join();
+        } catch (final CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+            throw ex;
+        }
+    }
+
+    private String stale(final GetSecretData getSecretData,
+                         final Entry entry,
+                         final long now,
+                         final RuntimeException cause) {
+        final boolean usable = entry != null
+            && now - entry.expiresAt < staleIfErrorNanos
+            && !(cause instanceof VaultSecretNotFoundException);
+
+        if (!usable) {
+            throw cause;
+        }
+
+        LOGGER.warn("Unable to read secret from key vault, using the previously read value: {}", cause.getMessage());
+        staleServed.increment();
+        return entries.getOrDefault(getSecretData, entry).value;
+    }
+
+    private static Executor refresher(final KeyVaultType type) {
+        final String name = "key-vault-refresh-" + type.name().toLowerCase(Locale.ROOT);
+
+        return new ThreadPoolExecutor(0, 1, 60L, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), runnable -> {
+            final Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private static final class Entry {
+
+        private final String value;
+
+        private final long expiresAt;
+
+        private Entry(final String value, final long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isFresh(final long now) {
+            return now - expiresAt < 0;
+        }
+
+    }
+
+}
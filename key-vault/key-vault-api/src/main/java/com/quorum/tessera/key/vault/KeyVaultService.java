@@ -3,9 +3,25 @@ package com.quorum.tessera.key.vault;
 import com.quorum.tessera.config.vault.data.GetSecretData;
 import com.quorum.tessera.config.vault.data.SetSecretData;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
 public interface KeyVaultService {
     String getSecret(GetSecretData getSecretData);
 
     Object setSecret(SetSecretData setSecretData);
 
+    /**
+     * Retrieves several secrets at once. Vaults that can return more than one
+     * value from a single request should override this to make fewer requests.
+     *
+     * @param getSecretData the secrets to retrieve
+     * @return the secret values, in the same order as requested
+     */
+    default List<String> getSecrets(List<GetSecretData> getSecretData) {
+        return getSecretData.stream()
+            .map(this::getSecret)
+            .collect(Collectors.toList());
+    }
+
 }
@@ -0,0 +1,246 @@
+package com.quorum.tessera.key.vault;
+
+import com.quorum.tessera.config.KeyVaultCacheConfig;
+import com.quorum.tessera.config.KeyVaultType;
+import com.quorum.tessera.config.vault.data.AzureGetSecretData;
+import com.quorum.tessera.config.vault.data.GetSecretData;
+import com.quorum.tessera.config.vault.data.SetSecretData;
+import com.quorum.tessera.metrics.MetricsRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.mock;
+
+public class CachingKeyVaultServiceTest {
+
+    private static final GetSecretData PUBLIC = new AzureGetSecretData("pub", null);
+
+    private static final GetSecretData PRIVATE = new AzureGetSecretData("priv", null);
+
+    private InMemoryKeyVaultService vault;
+
+    private AtomicLong clock;
+
+    private List<Runnable> refreshes;
+
+    private MetricsRegistry registry;
+
+    private CachingKeyVaultService cache;
+
+    @Before
+    public void onSetUp() {
+        this.vault = new InMemoryKeyVaultService();
+        vault.secrets.put("pub", "publicSecret");
+        vault.secrets.put("priv", "privateSecret");
+
+        this.clock = new AtomicLong();
+        this.refreshes = new ArrayList<>();
+        this.registry = new MetricsRegistry();
+
+        final KeyVaultCacheConfig config = new KeyVaultCacheConfig(true, 1000L, 200L, 5000L);
+
+        this.cache = new CachingKeyVaultService(
+            vault, KeyVaultType.AZURE, config, refreshes::add, clock::get, registry
+        );
+    }
+
+    @Test
+    public void secretIsReadOnceUntilItExpires() {
+        assertThat(cache.getSecret(PUBLIC)).isEqualTo("publicSecret");
+
+        advanceMillis(500);
+        assertThat(cache.getSecret(new AzureGetSecretData("pub", null))).isEqualTo("publicSecret");
+        assertThat(vault.requests.get()).isEqualTo(1);
+
+        advanceMillis(600);
+        vault.secrets.put("pub", "rotated");
+        assertThat(cache.getSecret(PUBLIC)).isEqualTo("rotated");
+        assertThat(vault.requests.get()).isEqualTo(2);
+
+        assertThat(counter("tessera_key_vault_cache_hits")).isEqualTo(1);
+        assertThat(counter("tessera_key_vault_cache_misses")).isEqualTo(2);
+        assertThat(registry.getGauges().get("tessera_key_vault_cache_size{vault=\"azure\"}").get()).isEqualTo(1);
+    }
+
+    @Test
+    public void secretIsRefreshedInBackgroundBeforeItExpires() {
+        cache.getSecret(PUBLIC);
+
+        advanceMillis(700);
+        cache.getSecret(PUBLIC);
+        assertThat(refreshes).isEmpty();
+
+        advanceMillis(200);
+        vault.secrets.put("pub", "rotated");
+        assertThat(cache.getSecret(PUBLIC)).isEqualTo("publicSecret");
+        assertThat(refreshes).hasSize(1);
+
+        refreshes.forEach(Runnable::run);
+
+        advanceMillis(900);
+        assertThat(cache.getSecret(PUBLIC)).isEqualTo("rotated");
+        assertThat(vault.requests.get()).isEqualTo(2);
+        assertThat(counter("tessera_key_vault_cache_refreshes")).isEqualTo(1);
+    }
+
+    @Test
+    public void failedRefreshLeavesCachedSecret() {
+        cache.getSecret(PUBLIC);
+
+        advanceMillis(900);
+        vault.available = false;
+        cache.getSecret(PUBLIC);
+        refreshes.forEach(Runnable::run);
+
+        assertThat(cache.getSecret(PUBLIC)).isEqualTo("publicSecret");
+        assertThat(counter("tessera_key_vault_failures")).isEqualTo(1);
+    }
+
+    @Test
+    public void expiredSecretIsUsedWhileVaultIsUnavailable() {
+        cache.getSecret(PUBLIC);
+
+        vault.available = false;
+        advanceMillis(3000);
+        assertThat(cache.getSecret(PUBLIC)).isEqualTo("publicSecret");
+        assertThat(counter("tessera_key_vault_cache_stale")).isEqualTo(1);
+
+        advanceMillis(5000);
+        final Throwable throwable = catchThrowable(() -> cache.getSecret(PUBLIC));
+        assertThat(throwable).isInstanceOf(KeyVaultException.class).hasMessage("Vault unavailable");
+    }
+
+    @Test
+    public void removedSecretIsNotServedFromCache() {
+        cache.getSecret(PUBLIC);
+
+        vault.secrets.remove("pub");
+        advanceMillis(1500);
+
+        final Throwable throwable = catchThrowable(() -> cache.getSecret(PUBLIC));
+        assertThat(throwable).isInstanceOf(VaultSecretNotFoundException.class);
+    }
+
+    @Test
+    public void secretNeverReadIsNotAvailableWhileVaultIsUnavailable() {
+        vault.available = false;
+
+        final Throwable throwable = catchThrowable(() -> cache.getSecret(PUBLIC));
+        assertThat(throwable).isInstanceOf(KeyVaultException.class);
+    }
+
+    @Test
+    public void concurrentReadsShareOneRequest() throws Exception {
+        vault.gate = new CountDownLatch(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<String>> reads = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                reads.add(executor.submit(() -> cache.getSecret(PUBLIC)));
+            }
+
+            while (vault.requests.get() == 0) {
+                Thread.sleep(1);
+            }
+            Thread.sleep(50);
+            vault.gate.countDown();
+
+            for (Future<String> read : reads) {
+                assertThat(read.get(5, TimeUnit.SECONDS)).isEqualTo("publicSecret");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(vault.requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void concurrentBatchReadsShareOneRequest() throws Exception {
+        vault.gate = new CountDownLatch(1);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<List<String>>> reads = new ArrayList<>();
+            reads.add(executor.submit(() -> cache.getSecrets(Arrays.asList(PUBLIC, PRIVATE))));
+
+            while (vault.requests.get() == 0) {
+                Thread.sleep(1);
+            }
+
+            for (int i = 0; i < 3; i++) {
+                reads.add(executor.submit(() -> cache.getSecrets(Arrays.asList(PRIVATE, PUBLIC))));
+            }
+            Thread.sleep(50);
+            vault.gate.countDown();
+
+            for (Future<List<String>> read : reads) {
+                assertThat(read.get(5, TimeUnit.SECONDS)).containsExactlyInAnyOrder("publicSecret", "privateSecret");
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(vault.requests.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void onlySecretsNotCachedAreReadTogether() {
+        cache.getSecret(PUBLIC);
+
+        final List<String> secrets = cache.getSecrets(Arrays.asList(PUBLIC, PRIVATE, PRIVATE));
+
+        assertThat(secrets).containsExactly("publicSecret", "privateSecret", "privateSecret");
+        assertThat(vault.requests.get()).isEqualTo(2);
+
+        assertThat(cache.getSecrets(Arrays.asList(PRIVATE, PUBLIC))).containsExactly("privateSecret", "publicSecret");
+        assertThat(vault.requests.get()).isEqualTo(2);
+    }
+
+    @Test
+    public void expiredSecretsAreUsedWhileVaultIsUnavailable() {
+        cache.getSecrets(Arrays.asList(PUBLIC, PRIVATE));
+
+        vault.available = false;
+        advanceMillis(2000);
+
+        assertThat(cache.getSecrets(Arrays.asList(PUBLIC, PRIVATE))).containsExactly("publicSecret", "privateSecret");
+
+        final Throwable throwable = catchThrowable(
+            () -> cache.getSecrets(Arrays.asList(PUBLIC, new AzureGetSecretData("other", null)))
+        );
+        assertThat(throwable).isInstanceOf(KeyVaultException.class);
+    }
+
+    @Test
+    public void writingSecretClearsCache() {
+        cache.getSecret(PUBLIC);
+
+        cache.setSecret(mock(SetSecretData.class));
+        cache.getSecret(PUBLIC);
+
+        assertThat(vault.requests.get()).isEqualTo(3);
+    }
+
+    private void advanceMillis(long millis) {
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    private long counter(String name) {
+        return registry.getCounters().get(MetricsRegistry.labelled(name, "vault", "azure")).get();
+    }
+
+}
@@ -0,0 +1,66 @@
+package com.quorum.tessera.key.vault;
+
+import com.quorum.tessera.config.vault.data.AzureGetSecretData;
+import com.quorum.tessera.config.vault.data.GetSecretData;
+import com.quorum.tessera.config.vault.data.SetSecretData;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * A vault held in memory that can be made unavailable or slow, and counts
+ * the requests it is sent
+ */
+class InMemoryKeyVaultService implements KeyVaultService {
+
+    final Map<String, String> secrets = new ConcurrentHashMap<>();
+
+    final AtomicInteger requests = new AtomicInteger();
+
+    volatile boolean available = true;
+
+    volatile CountDownLatch gate = new CountDownLatch(0);
+
+    @Override
+    public String getSecret(final GetSecretData getSecretData) {
+        requests.incrementAndGet();
+        return lookup(getSecretData);
+    }
+
+    @Override
+    public List<String> getSecrets(final List<GetSecretData> getSecretData) {
+        requests.incrementAndGet();
+        return getSecretData.stream().map(this::lookup).collect(Collectors.toList());
+    }
+
+    @Override
+    public Object setSecret(final SetSecretData setSecretData) {
+        requests.incrementAndGet();
+        return null;
+    }
+
+    private String lookup(final GetSecretData getSecretData) {
+        try {
+            gate.await(5, TimeUnit.SECONDS);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (!available) {
+            throw new KeyVaultException("Vault unavailable");
+        }
+
+        final String name = ((AzureGetSecretData) getSecretData).getSecretName();
+        final String secret = secrets.get(name);
+        if (secret == null) {
+            throw new VaultSecretNotFoundException("No secret " + name);
+        }
+        return secret;
+    }
+
+}
@@ -1,16 +1,18 @@
 package com.quorum.tessera.grpc.server;
 
 import com.quorum.tessera.config.CommunicationType;
+import com.quorum.tessera.config.GrpcConfig;
 import com.quorum.tessera.config.ServerConfig;
 import com.quorum.tessera.grpc.GrpcApp;
 import com.quorum.tessera.server.TesseraServer;
 import com.quorum.tessera.server.TesseraServerFactory;
-import io.grpc.ServerBuilder;
+import io.grpc.netty.NettyServerBuilder;
 import org.slf4j.LoggerFactory;
 
 import java.net.URI;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 public class GrpcServerFactory implements TesseraServerFactory<Object> {
     private static final org.slf4j.Logger LOGGER = LoggerFactory.getLogger(GrpcServerFactory.class);
@@ -28,7 +30,13 @@ public class GrpcServerFactory implements TesseraServerFactory<Object> {
 
             if (grpcApp.isPresent()) {
                 final URI serverUri = serverConfig.getServerUri();
-                ServerBuilder serverBuilder = ServerBuilder.forPort(serverUri.getPort());
+                final GrpcConfig grpcConfig = Optional.ofNullable(serverConfig.getGrpcConfig()).orElseGet(GrpcConfig::new);
+
+                final NettyServerBuilder serverBuilder = NettyServerBuilder.forPort(serverUri.getPort())
+                    .flowControlWindow(grpcConfig.getFlowControlWindow())
+                    .maxInboundMessageSize(grpcConfig.getMaxMessageSize())
+                    .permitKeepAliveTime(grpcConfig.getKeepAliveTimeInSecs(), TimeUnit.SECONDS)
+                    .permitKeepAliveWithoutCalls(true);
                 grpcApp.get().getBindableServices().forEach(serverBuilder::addService);
                 return new GrpcServer(serverUri, serverBuilder.build());
             } else {
@@ -2,23 +2,34 @@ package com.quorum.tessera.server;
 
 import com.jpmorgan.quorum.server.utils.ServerUtils;
 import com.quorum.tessera.config.InfluxConfig;
+import com.quorum.tessera.config.InfluxProtocol;
 import com.quorum.tessera.config.ServerConfig;
-import com.quorum.tessera.server.monitoring.InfluxDbClient;
+import com.quorum.tessera.metrics.MetricsRegistry;
+import com.quorum.tessera.server.monitoring.HttpInfluxDbSender;
 import com.quorum.tessera.server.monitoring.InfluxDbPublisher;
+import com.quorum.tessera.server.monitoring.InfluxDbSender;
+import com.quorum.tessera.server.monitoring.InfluxDbShipper;
+import com.quorum.tessera.server.monitoring.MetricsBuffer;
 import com.quorum.tessera.server.monitoring.MetricsResource;
+import com.quorum.tessera.server.monitoring.ResourceMetricsFilter;
+import com.quorum.tessera.server.monitoring.TracingFilter;
+import com.quorum.tessera.server.monitoring.UdpInfluxDbSender;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.bridge.SLF4JBridgeHandler;
 import javax.ws.rs.core.Application;
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.net.URI;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
-import static java.util.concurrent.Executors.newSingleThreadScheduledExecutor;
+import static java.util.concurrent.Executors.newScheduledThreadPool;
 import org.eclipse.jetty.servlet.ServletContextHandler;
 import org.eclipse.jetty.servlet.ServletHolder;
 import org.glassfish.jersey.servlet.ServletContainer;
@@ -47,7 +58,7 @@ public class JerseyServer implements TesseraServer {
         this.application = Objects.requireNonNull(application);
         this.serverConfig = serverConfig;
 
-        this.executor = newSingleThreadScheduledExecutor();
+        this.executor = newScheduledThreadPool(2);
 
         if (serverConfig.getInfluxConfig() != null) {
             this.influxConfig = serverConfig.getInfluxConfig();
@@ -69,14 +80,13 @@ public class JerseyServer implements TesseraServer {
         initParams.put("jersey.config.server.tracing.threshold", "SUMMARY");
         initParams.put("jersey.config.logging.verbosity", "PAYLOAD_ANY");
         initParams.put("jersey.config.beanValidation.enableOutputValidationErrorEntity.server", "true");
-        initParams.put("jersey.config.server.monitoring.statistics.enabled", "true");
-        initParams.put("jersey.config.server.monitoring.enabled", "true");
-        initParams.put("jersey.config.server.monitoring.statistics.mbeans.enabled", "true");
 
         final ResourceConfig config = ResourceConfig.forApplication(application);
 
         config.addProperties(initParams)
-                .register(MetricsResource.class);
+                .register(MetricsResource.class)
+                .register(ResourceMetricsFilter.class)
+                .register(TracingFilter.class);
 
         this.server = ServerUtils.buildWebServer(serverConfig);
 
@@ -99,9 +109,24 @@ public class JerseyServer implements TesseraServer {
 
     }
 
-    private void startInfluxMonitoring() {
-        InfluxDbClient influxDbClient = new InfluxDbClient(this.uri, influxConfig);
-        Runnable publisher = new InfluxDbPublisher(influxDbClient);
+    private void startInfluxMonitoring() throws IOException {
+        final MetricsRegistry registry = MetricsRegistry.getDefault();
+
+        final MetricsBuffer buffer
+            = new MetricsBuffer(influxConfig.getBufferSize(), registry.counter("tessera_influx_dropped_lines"));
+
+        final InfluxDbSender sender;
+        if (influxConfig.getProtocol() == InfluxProtocol.UDP) {
+            final String host = Optional.ofNullable(URI.create(influxConfig.getHostName()).getHost())
+                .orElse(influxConfig.getHostName());
+            sender = new UdpInfluxDbSender(new InetSocketAddress(host, influxConfig.getPort()));
+        } else {
+            sender = new HttpInfluxDbSender(influxConfig.getHostName(), influxConfig.getPort(), influxConfig.getDbName());
+        }
+
+        this.executor.submit(new InfluxDbShipper(buffer, sender, influxConfig, registry));
+
+        Runnable publisher = new InfluxDbPublisher(registry, this.uri, buffer);
 
         final Runnable exceptionSafePublisher = () -> {
             try{
@@ -121,7 +146,7 @@ public class JerseyServer implements TesseraServer {
         LOGGER.info("Stopping Jersey server at {}", uri);
 
         if (influxConfig != null) {
-            this.executor.shutdown();
+            this.executor.shutdownNow();
         }
 
         if (Objects.nonNull(this.server)) {
@@ -0,0 +1,77 @@
+package com.quorum.tessera.server.monitoring;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.ws.rs.ProcessingException;
+import javax.ws.rs.client.Client;
+import javax.ws.rs.client.ClientBuilder;
+import javax.ws.rs.client.Entity;
+import javax.ws.rs.client.WebTarget;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes gzipped batches to the InfluxDB HTTP write endpoint, reusing one
+ * client for every write
+ */
+public class HttpInfluxDbSender implements InfluxDbSender {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HttpInfluxDbSender.class);
+
+    private final Client client;
+
+    private final WebTarget writeTarget;
+
+    public HttpInfluxDbSender(final String hostName, final int port, final String dbName) {
+        this.client = ClientBuilder.newClient();
+        this.writeTarget = client.target(hostName + ":" + port).path("write").queryParam("db", dbName);
+    }
+
+    @Override
+    public void send(final List<String> lines) throws IOException {
+        final byte[] body = gzip(String.join("\n", lines));
+
+        final Response response;
+        try {
+            response = writeTarget.request(MediaType.TEXT_PLAIN)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .post(Entity.entity(body, MediaType.TEXT_PLAIN));
+        } catch (final ProcessingException ex) {
+            throw new IOException("Unable to reach InfluxDB at " + writeTarget.getUri(), ex);
+        }
+
+        final int status = response.getStatus();
+        response.close();
+
+        if (status >= 500) {
+            throw new IOException("InfluxDB responded with status " + status);
+        }
+
+        if (status >= 400) {
+            // the lines were rejected, so sending them again won't help
+            LOGGER.warn("InfluxDB rejected {} lines with status {}", lines.size(), status);
+        }
+    }
+
+    @Override
+    public void close() {
+        client.close();
+    }
+
+    private static byte[] gzip(final String text) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(bytes)) {
+            out.write(text.getBytes(StandardCharsets.UTF_8));
+        }
+        return bytes.toByteArray();
+    }
+
+}
@@ -1,35 +1,65 @@
 package com.quorum.tessera.server.monitoring;
 
+import com.quorum.tessera.metrics.Histogram;
+import com.quorum.tessera.metrics.MetricsRegistry;
+
 import java.net.URI;
-import java.util.List;
+import java.util.regex.Pattern;
 
+/**
+ * Renders the metrics in a {@link MetricsRegistry} in the InfluxDB line
+ * protocol, one line per metric tagged with the instance that produced it
+ */
 public class InfluxDbProtocolFormatter {
 
-    public String format(List<MBeanMetric> metrics, URI uri) {
+    private static final Pattern TAG_SPECIAL_CHARACTERS = Pattern.compile("([,= ])");
+
+    public String format(MetricsRegistry registry, URI uri) {
         StringBuilder formattedMetrics = new StringBuilder();
 
-        for(MBeanMetric metric : metrics) {
-            MBeanResourceMetric resourceMetric = (MBeanResourceMetric) metric;
-
-            formattedMetrics.append("tessera_")
-                            .append(sanitize(resourceMetric.getResourceMethod()))
-                            .append(",")
-                            .append("instance=")
-                            .append(uri.getHost())
-                            .append(":")
-                            .append(uri.getPort())
-                            .append(" ")
-                            .append(sanitize(resourceMetric.getName()))
-                            .append("=")
-                            .append(resourceMetric.getValue())
+        final String tags = ",instance=" + uri.getHost() + ":" + uri.getPort();
+
+        registry.getCounters().forEach((name, counter) ->
+            appendSeries(formattedMetrics, name, tags).append(" value=").append(counter.get()).append("\n")
+        );
+
+        registry.getGauges().forEach((name, gauge) ->
+            appendSeries(formattedMetrics, name, tags).append(" value=").append(gauge.get()).append("\n")
+        );
+
+        registry.getHistograms().forEach((name, histogram) -> {
+            final Histogram.Snapshot snapshot = histogram.snapshot();
+
+            appendSeries(formattedMetrics, name, tags)
+                            .append(" count=").append(snapshot.getCount())
+                            .append(",sum=").append(snapshot.getSum())
+                            .append(",max=").append(snapshot.getMax())
+                            .append(",p50=").append(snapshot.getValueAtQuantile(0.5))
+                            .append(",p90=").append(snapshot.getValueAtQuantile(0.9))
+                            .append(",p99=").append(snapshot.getValueAtQuantile(0.99))
                             .append("\n");
-        }
+        });
 
         return formattedMetrics.toString().trim();
     }
 
-    private String sanitize(String input) {
-        return input.replaceAll("(#.*)|(_total)|\\(\\)|\\)|\\[\\]|\\]|;", "")
-                    .replaceAll("->|\\(|\\[", "_");
+    /**
+     * Writes the measurement and its tags, turning the metric's label, if it
+     * has one, into a tag
+     */
+    private static StringBuilder appendSeries(StringBuilder formattedMetrics, String name, String tags) {
+        final MetricName metricName = MetricName.parse(name);
+
+        formattedMetrics.append(metricName.getFamily()).append(tags);
+
+        if (metricName.isLabelled()) {
+            formattedMetrics.append(",")
+                            .append(metricName.getLabel())
+                            .append("=")
+                            .append(TAG_SPECIAL_CHARACTERS.matcher(metricName.getValue()).replaceAll("\\\\$1"));
+        }
+
+        return formattedMetrics;
     }
+
 }
@@ -1,21 +1,49 @@
 package com.quorum.tessera.server.monitoring;
 
+import com.quorum.tessera.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Takes a timestamped reading of every metric and adds it to the buffer for
+ * the {@link InfluxDbShipper} to send, so a reading is never held up by
+ * InfluxDB being slow
+ */
 public class InfluxDbPublisher implements Runnable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(InfluxDbPublisher.class);
 
-    private final InfluxDbClient client;
+    private final InfluxDbProtocolFormatter formatter = new InfluxDbProtocolFormatter();
+
+    private final MetricsRegistry registry;
+
+    private final URI uri;
+
+    private final MetricsBuffer buffer;
 
-    public InfluxDbPublisher(InfluxDbClient client) {
-        this.client = client;
+    public InfluxDbPublisher(final MetricsRegistry registry, final URI uri, final MetricsBuffer buffer) {
+        this.registry = registry;
+        this.uri = uri;
+        this.buffer = buffer;
     }
 
     @Override
     public void run() {
-        LOGGER.info("InfluxDbPublisher executed...");
-        client.postMetrics();
+        final String timestamp = " " + TimeUnit.MILLISECONDS.toNanos(System.currentTimeMillis());
+
+        final List<String> lines = Stream.of(formatter.format(registry, uri).split("\n"))
+            .filter(line -> !line.isEmpty())
+            .map(line -> line + timestamp)
+            .collect(Collectors.toList());
+
+        buffer.addAll(lines);
+
+        LOGGER.debug("Buffered {} metric lines", lines.size());
     }
 }
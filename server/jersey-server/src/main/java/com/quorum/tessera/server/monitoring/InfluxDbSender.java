@@ -0,0 +1,18 @@
+package com.quorum.tessera.server.monitoring;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writes a batch of line protocol lines to InfluxDB
+ */
+public interface InfluxDbSender extends Closeable {
+
+    /**
+     * @throws IOException if the lines could not be written, but might be if
+     * tried again
+     */
+    void send(List<String> lines) throws IOException;
+
+}
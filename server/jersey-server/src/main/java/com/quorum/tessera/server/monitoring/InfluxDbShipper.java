@@ -0,0 +1,114 @@
+package com.quorum.tessera.server.monitoring;
+
+import com.quorum.tessera.config.InfluxConfig;
+import com.quorum.tessera.metrics.Counter;
+import com.quorum.tessera.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Sends buffered metric lines to InfluxDB on its own thread, in batches that
+ * are sent once full or once the flush interval has passed.
+ *
+ * A failed batch is retried with exponential backoff. Lines keep being
+ * buffered meanwhile, with the oldest dropped if the buffer fills up.
+ */
+public class InfluxDbShipper implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(InfluxDbShipper.class);
+
+    private static final long MAX_BACKOFF_MILLIS = 30000L;
+
+    private final MetricsBuffer buffer;
+
+    private final InfluxDbSender sender;
+
+    private final int batchSize;
+
+    private final long flushIntervalMillis;
+
+    private final int maxRetries;
+
+    private final long retryBackoffMillis;
+
+    private final Counter sentLines;
+
+    private final Counter failedBatches;
+
+    public InfluxDbShipper(final MetricsBuffer buffer,
+                           final InfluxDbSender sender,
+                           final InfluxConfig config,
+                           final MetricsRegistry registry) {
+        this(
+            buffer,
+            sender,
+            config.getBatchSize(),
+            config.getFlushIntervalInMillis(),
+            config.getMaxRetries(),
+            1000L,
+            registry
+        );
+    }
+
+    InfluxDbShipper(final MetricsBuffer buffer,
+                    final InfluxDbSender sender,
+                    final int batchSize,
+                    final long flushIntervalMillis,
+                    final int maxRetries,
+                    final long retryBackoffMillis,
+                    final MetricsRegistry registry) {
+        this.buffer = buffer;
+        this.sender = sender;
+        this.batchSize = batchSize;
+        this.flushIntervalMillis = flushIntervalMillis;
+        this.maxRetries = maxRetries;
+        this.retryBackoffMillis = retryBackoffMillis;
+        this.sentLines = registry.counter("tessera_influx_sent_lines");
+        this.failedBatches = registry.counter("tessera_influx_failed_batches");
+    }
+
+    @Override
+    public void run() {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final List<String> batch = buffer.take(batchSize, flushIntervalMillis);
+
+                if (!batch.isEmpty()) {
+                    this.send(batch);
+                }
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            try {
+                sender.close();
+            } catch (final IOException ex) {
+                LOGGER.debug("Unable to close InfluxDB sender", ex);
+            }
+        }
+    }
+
+    private void send(final List<String> batch) throws InterruptedException {
+        for (int attempt = 0;; attempt++) {
+            try {
+                sender.send(batch);
+                sentLines.add(batch.size());
+                return;
+            } catch (final IOException | RuntimeException ex) {
+                if (attempt >= maxRetries) {
+                    LOGGER.warn("Dropping {} metric lines after {} attempts: {}", batch.size(), attempt + 1, ex.getMessage());
+                    LOGGER.debug(null, ex);
+                    failedBatches.increment();
+                    return;
+                }
+
+                LOGGER.debug("Unable to send metrics to InfluxDB, retrying", ex);
+                Thread.sleep(Math.min(retryBackoffMillis << Math.min(attempt, 16), MAX_BACKOFF_MILLIS));
+            }
+        }
+    }
+
+}
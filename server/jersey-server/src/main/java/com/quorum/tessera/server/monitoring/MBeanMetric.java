@@ -1,6 +0,0 @@
-package com.quorum.tessera.server.monitoring;
-
-public interface MBeanMetric {
-    String getName();
-    String getValue();
-}
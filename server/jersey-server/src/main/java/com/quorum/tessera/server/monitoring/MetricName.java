@@ -0,0 +1,75 @@
+package com.quorum.tessera.server.monitoring;
+
+/**
+ * Splits a metric name of the form {@code name} or {@code name{label="value"}}
+ * into its parts
+ */
+final class MetricName {
+
+    private final String family;
+
+    private final String labels;
+
+    private final String label;
+
+    private final String value;
+
+    private MetricName(final String family, final String labels, final String label, final String value) {
+        this.family = family;
+        this.labels = labels;
+        this.label = label;
+        this.value = value;
+    }
+
+    static MetricName parse(final String name) {
+        final int open = name.indexOf('{');
+        if (open < 0) {
+            return new MetricName(name, null, null, null);
+        }
+
+        final int equals = name.indexOf('=', open);
+        final String escaped = name.substring(equals + 2, name.length() - 2);
+
+        final StringBuilder value = new StringBuilder(escaped.length());
+        for (int i = 0; i < escaped.length(); i++) {
+            char c = escaped.charAt(i);
+            if (c == '\\' && i + 1 < escaped.length()) {
+                c = escaped.charAt(++i);
+                value.append(c == 'n' ? '\n' : c);
+            } else {
+                value.append(c);
+            }
+        }
+
+        return new MetricName(
+            name.substring(0, open),
+            name.substring(open + 1, name.length() - 1),
+            name.substring(open + 1, equals),
+            value.toString()
+        );
+    }
+
+    String getFamily() {
+        return family;
+    }
+
+    boolean isLabelled() {
+        return labels != null;
+    }
+
+    /**
+     * @return the label as written in the name, e.g. {@code peer="http://a"}
+     */
+    String getLabels() {
+        return labels;
+    }
+
+    String getLabel() {
+        return label;
+    }
+
+    String getValue() {
+        return value;
+    }
+
+}
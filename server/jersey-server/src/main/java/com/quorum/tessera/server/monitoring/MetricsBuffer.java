@@ -0,0 +1,64 @@
+package com.quorum.tessera.server.monitoring;
+
+import com.quorum.tessera.metrics.Counter;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A bounded buffer of metric lines waiting to be sent. When full, the oldest
+ * lines are dropped to make room, so a slow or unavailable metrics store
+ * never holds up the node or grows its memory.
+ */
+public class MetricsBuffer {
+
+    private final Deque<String> lines = new ArrayDeque<>();
+
+    private final int capacity;
+
+    private final Counter dropped;
+
+    public MetricsBuffer(final int capacity, final Counter dropped) {
+        this.capacity = capacity;
+        this.dropped = dropped;
+    }
+
+    public synchronized void addAll(final Collection<String> added) {
+        for (final String line : added) {
+            if (lines.size() == capacity) {
+                lines.pollFirst();
+                dropped.increment();
+            }
+            lines.addLast(line);
+        }
+        this.notifyAll();
+    }
+
+    /**
+     * Waits until {@code max} lines are available or the wait time passes,
+     * then removes and returns up to {@code max} of the oldest lines
+     */
+    public synchronized List<String> take(final int max, final long maxWaitMillis) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+
+        long remaining;
+        while (lines.size() < max && (remaining = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+
+        final List<String> batch = new ArrayList<>(Math.min(max, lines.size()));
+        while (batch.size() < max && !lines.isEmpty()) {
+            batch.add(lines.pollFirst());
+        }
+        return batch;
+    }
+
+    public synchronized int size() {
+        return lines.size();
+    }
+
+}
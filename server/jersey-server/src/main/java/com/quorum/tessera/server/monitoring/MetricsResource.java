@@ -1,32 +1,33 @@
 package com.quorum.tessera.server.monitoring;
 
-import javax.management.*;
+import com.quorum.tessera.metrics.MetricsRegistry;
+
 import javax.ws.rs.GET;
 import javax.ws.rs.Path;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.Response;
-import java.lang.management.ManagementFactory;
-import java.util.List;
+import java.util.Objects;
 
 import static javax.ws.rs.core.MediaType.TEXT_PLAIN;
 
 @Path("/metrics")
 public class MetricsResource {
 
-    private final MBeanServer mbs;
+    private final MetricsRegistry registry;
 
     public MetricsResource() {
-        mbs = ManagementFactory.getPlatformMBeanServer();
+        this(MetricsRegistry.getDefault());
+    }
+
+    MetricsResource(MetricsRegistry registry) {
+        this.registry = Objects.requireNonNull(registry);
     }
 
     @GET
     @Produces("text/plain")
     public Response getMetrics() {
-        MetricsEnquirer metricsEnquirer = new MetricsEnquirer(mbs);
-        List<MBeanMetric> metrics = metricsEnquirer.getMBeanMetrics();
-
         PrometheusProtocolFormatter formatter = new PrometheusProtocolFormatter();
-        String formattedMetrics = formatter.format(metrics);
+        String formattedMetrics = formatter.format(registry);
 
         return Response.status(Response.Status.OK)
             .header("Content-Type", TEXT_PLAIN)
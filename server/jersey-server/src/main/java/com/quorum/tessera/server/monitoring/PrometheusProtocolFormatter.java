@@ -1,31 +1,82 @@
 package com.quorum.tessera.server.monitoring;
 
-import java.util.List;
+import com.quorum.tessera.metrics.Histogram;
+import com.quorum.tessera.metrics.MetricsRegistry;
 
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Renders the metrics in a {@link MetricsRegistry} in the Prometheus text
+ * format. Histograms are rendered as summaries with a fixed set of quantiles.
+ */
 public class PrometheusProtocolFormatter {
 
-    public String format(List<MBeanMetric> metrics) {
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    public String format(MetricsRegistry registry) {
         StringBuilder formattedMetrics = new StringBuilder();
 
-        for(MBeanMetric metric : metrics) {
-            MBeanResourceMetric resourceMetric = (MBeanResourceMetric) metric;
+        byFamily(registry.getCounters()).forEach((family, counters) -> {
+            appendType(formattedMetrics, family, "counter");
+            counters.forEach((name, counter) -> appendValue(formattedMetrics, name, counter.get()));
+        });
+
+        byFamily(registry.getGauges()).forEach((family, gauges) -> {
+            appendType(formattedMetrics, family, "gauge");
+            gauges.forEach((name, gauge) -> appendValue(formattedMetrics, name, gauge.get()));
+        });
+
+        byFamily(registry.getHistograms()).forEach((family, histograms) -> {
+            appendType(formattedMetrics, family, "summary");
 
-            formattedMetrics.append("tessera_")
-                            .append(sanitize(resourceMetric.getResourceMethod()))
-                            .append("_")
-                            .append(sanitize(resourceMetric.getName()))
-                            .append(" ")
-                            .append(resourceMetric.getValue())
-                            .append("\n");
-        }
+            histograms.forEach((name, histogram) -> {
+                final Histogram.Snapshot snapshot = histogram.snapshot();
+                final MetricName metricName = MetricName.parse(name);
+                final String labels = metricName.isLabelled() ? metricName.getLabels() : "";
+                final String quantilePrefix = labels.isEmpty() ? "" : labels + ",";
+                final String suffix = labels.isEmpty() ? "" : "{" + labels + "}";
+
+                for (double quantile : QUANTILES) {
+                    appendValue(
+                        formattedMetrics,
+                        family + "{" + quantilePrefix + "quantile=\"" + quantile + "\"}",
+                        snapshot.getValueAtQuantile(quantile)
+                    );
+                }
+                appendValue(formattedMetrics, family + "_sum" + suffix, snapshot.getSum());
+                appendValue(formattedMetrics, family + "_count" + suffix, snapshot.getCount());
+            });
+        });
 
         return formattedMetrics.toString().trim();
     }
 
-    private String sanitize(String input) {
-        return input.replaceAll("(#.*)|(_total)|\\(\\)|\\)|\\[\\]|\\]|;", "")
-                    .replaceAll("->|\\(|\\[", "_");
+    /**
+     * Groups metrics that differ only by label, as every line of a metric
+     * must follow its type
+     */
+    private static <T> SortedMap<String, SortedMap<String, T>> byFamily(SortedMap<String, T> metrics) {
+        final SortedMap<String, SortedMap<String, T>> families = new TreeMap<>();
+        metrics.forEach((name, metric) ->
+            families.computeIfAbsent(MetricName.parse(name).getFamily(), f -> new TreeMap<>()).put(name, metric)
+        );
+        return families;
+    }
+
+    private static void appendType(StringBuilder formattedMetrics, String name, String type) {
+        formattedMetrics.append("# TYPE ")
+                        .append(name)
+                        .append(" ")
+                        .append(type)
+                        .append("\n");
     }
 
+    private static void appendValue(StringBuilder formattedMetrics, String name, long value) {
+        formattedMetrics.append(name)
+                        .append(" ")
+                        .append(value)
+                        .append("\n");
+    }
 
 }
@@ -0,0 +1,73 @@
+package com.quorum.tessera.server.monitoring;
+
+import com.quorum.tessera.metrics.Histogram;
+import com.quorum.tessera.metrics.MetricsRegistry;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import java.lang.reflect.Method;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Records how long each resource method takes to serve a request, and how
+ * many of its requests fail, in the {@link MetricsRegistry}.
+ *
+ * Metrics are named after the resource class and method, for example
+ * {@code tessera_http_TransactionResource_send_microseconds}.
+ */
+public class ResourceMetricsFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String START_TIME = ResourceMetricsFilter.class.getName() + ".start";
+
+    private final MetricsRegistry registry;
+
+    private final ConcurrentMap<Method, String> names = new ConcurrentHashMap<>();
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    public ResourceMetricsFilter() {
+        this(MetricsRegistry.getDefault(), null);
+    }
+
+    ResourceMetricsFilter(MetricsRegistry registry, ResourceInfo resourceInfo) {
+        this.registry = Objects.requireNonNull(registry);
+        this.resourceInfo = resourceInfo;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        requestContext.setProperty(START_TIME, System.nanoTime());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        final Object startTime = requestContext.getProperty(START_TIME);
+        final Method method = resourceInfo.getResourceMethod();
+
+        if (startTime == null || method == null) {
+            return;
+        }
+
+        final String name = names.computeIfAbsent(method, ResourceMetricsFilter::metricName);
+
+        final Histogram histogram = registry.histogram(name + "_microseconds");
+        histogram.recordSince((Long) startTime);
+
+        if (responseContext.getStatus() >= 500) {
+            registry.counter(name + "_errors").increment();
+        }
+    }
+
+    private static String metricName(Method method) {
+        final String resource = method.getDeclaringClass().getSimpleName() + "_" + method.getName();
+        return "tessera_http_" + resource.replaceAll("[^a-zA-Z0-9_]", "_");
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.quorum.tessera.server.monitoring;
+
+import com.quorum.tessera.trace.Span;
+import com.quorum.tessera.trace.Tracer;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.PreMatching;
+
+/**
+ * Starts a span for each request received, continuing the caller's trace if
+ * the request has a {@code traceparent} header, so that the work done for the
+ * request on this node is linked to the node that asked for it
+ */
+@PreMatching
+public class TracingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String SPAN = TracingFilter.class.getName() + ".span";
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) {
+        final String name = requestContext.getMethod() + " /" + requestContext.getUriInfo().getPath();
+
+        final Span span = Tracer.startServerSpan(name, requestContext.getHeaderString(Tracer.TRACE_PARENT));
+
+        requestContext.setProperty(SPAN, span);
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) {
+        final Object span = requestContext.getProperty(SPAN);
+
+        if (span != null) {
+            ((Span) span).tag("status", responseContext.getStatus()).close();
+        }
+    }
+
+}
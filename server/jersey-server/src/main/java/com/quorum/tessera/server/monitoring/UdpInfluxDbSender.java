@@ -0,0 +1,58 @@
+package com.quorum.tessera.server.monitoring;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Writes batches to an InfluxDB UDP listener, packing as many lines into each
+ * datagram as fit without it being fragmented
+ */
+public class UdpInfluxDbSender implements InfluxDbSender {
+
+    static final int MAX_DATAGRAM_SIZE = 1400;
+
+    private final DatagramSocket socket;
+
+    private final InetSocketAddress address;
+
+    public UdpInfluxDbSender(final InetSocketAddress address) throws SocketException {
+        this.socket = new DatagramSocket();
+        this.address = address;
+    }
+
+    @Override
+    public void send(final List<String> lines) throws IOException {
+        final ByteArrayOutputStream datagram = new ByteArrayOutputStream(MAX_DATAGRAM_SIZE);
+
+        for (final String line : lines) {
+            final byte[] bytes = (line + "\n").getBytes(StandardCharsets.UTF_8);
+
+            if (datagram.size() > 0 && datagram.size() + bytes.length > MAX_DATAGRAM_SIZE) {
+                this.sendDatagram(datagram);
+            }
+            datagram.write(bytes);
+        }
+
+        if (datagram.size() > 0) {
+            this.sendDatagram(datagram);
+        }
+    }
+
+    private void sendDatagram(final ByteArrayOutputStream datagram) throws IOException {
+        final byte[] data = datagram.toByteArray();
+        socket.send(new DatagramPacket(data, data.length, address));
+        datagram.reset();
+    }
+
+    @Override
+    public void close() {
+        socket.close();
+    }
+
+}
@@ -1,78 +1,82 @@
 package com.quorum.tessera.server.monitoring;
 
+import com.quorum.tessera.metrics.MetricsRegistry;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class InfluxDbProtocolFormatterTest {
     private InfluxDbProtocolFormatter protocolFormatter;
 
-    private ArrayList<MBeanMetric> mockMetrics;
+    private MetricsRegistry registry;
 
     URI mockUri;
 
     @Before
     public void setUp() throws URISyntaxException {
         this.protocolFormatter = new InfluxDbProtocolFormatter();
-        this.mockMetrics = new ArrayList<>();
+        this.registry = new MetricsRegistry();
         this.mockUri = new URI("http://localhost:8080");
     }
 
-
     @Test
-    public void noArgResourceResponseCorrectlyFormatted() {
-        mockMetrics.add(new MBeanResourceMetric("GET->upCheck()#a10a4f8d", "AverageTime[ms]_total", "100"));
+    public void counterCorrectlyFormatted() {
+        registry.counter("tessera_p2p_push_failures").add(3);
 
-        String expectedResponse = "tessera_GET_upCheck,instance=localhost:8080 AverageTime_ms=100";
+        String expectedResponse = "tessera_p2p_push_failures,instance=localhost:8080 value=3";
 
-        assertThat(protocolFormatter.format(mockMetrics, this.mockUri)).isEqualTo(expectedResponse);
+        assertThat(protocolFormatter.format(registry, this.mockUri)).isEqualTo(expectedResponse);
     }
 
     @Test
-    public void singleArgResourceResponseCorrectlyFormatted() {
-        mockMetrics.add(new MBeanResourceMetric("POST->resend(ResendRequest)#8ca0a760", "RequestRate[requestsPerSeconds]", "1.3"));
+    public void gaugeCorrectlyFormatted() {
+        registry.gauge("tessera_sync_active", () -> 2L);
 
-        String expectedResponse = "tessera_POST_resend_ResendRequest,instance=localhost:8080 RequestRate_requestsPerSeconds=1.3";
+        String expectedResponse = "tessera_sync_active,instance=localhost:8080 value=2";
 
-        assertThat(protocolFormatter.format(mockMetrics, this.mockUri)).isEqualTo(expectedResponse);
+        assertThat(protocolFormatter.format(registry, this.mockUri)).isEqualTo(expectedResponse);
     }
 
     @Test
-    public void singleArrayArgResourceResponseCorrectlyFormatted() {
-        mockMetrics.add(new MBeanResourceMetric("POST->push(byte[])#7f702b7e", "MinTime[ms]_total", "3.4"));
+    public void histogramCorrectlyFormatted() {
+        registry.histogram("tessera_enclave_encrypt_microseconds").record(5);
+        registry.histogram("tessera_enclave_encrypt_microseconds").record(7);
 
-        String expectedResponse = "tessera_POST_push_byte,instance=localhost:8080 MinTime_ms=3.4";
+        String expectedResponse = "tessera_enclave_encrypt_microseconds,instance=localhost:8080 " +
+            "count=2,sum=12,max=7,p50=5,p90=7,p99=7";
 
-        assertThat(protocolFormatter.format(mockMetrics, this.mockUri)).isEqualTo(expectedResponse);
+        assertThat(protocolFormatter.format(registry, this.mockUri)).isEqualTo(expectedResponse);
     }
 
     @Test
-    public void multipleArgResourceResponseCorrectlyFormatted() {
-        mockMetrics.add(new MBeanResourceMetric("GET->receiveRaw(String;String)#fc8f8357", "AverageTime[ms]_total", "5.2"));
+    public void multipleMetricsCorrectlyFormatted() {
+        registry.counter("requests").increment();
+        registry.histogram("latency_microseconds").record(1);
 
-        String expectedResponse = "tessera_GET_receiveRaw_StringString,instance=localhost:8080 AverageTime_ms=5.2";
+        String expectedResponse = "requests,instance=localhost:8080 value=1" + "\n" +
+            "latency_microseconds,instance=localhost:8080 count=1,sum=1,max=1,p50=1,p90=1,p99=1";
 
-        assertThat(protocolFormatter.format(mockMetrics, this.mockUri)).isEqualTo(expectedResponse);
+        assertThat(protocolFormatter.format(registry, this.mockUri)).isEqualTo(expectedResponse);
     }
 
     @Test
-    public void multipleMetricsResponseCorrectlyFormatted() {
-        mockMetrics.add(new MBeanResourceMetric("GET->upCheck()#a10a4f8d", "AverageTime[ms]_total", "100"));
-        mockMetrics.add(new MBeanResourceMetric("POST->resend(ResendRequest)#8ca0a760", "RequestRate[requestsPerSeconds]", "1.3"));
+    public void labelBecomesTag() {
+        registry.counter(MetricsRegistry.labelled("tessera_p2p_peer_bytes_sent", "peer", "http://a:9001/")).add(10);
+        registry.histogram(MetricsRegistry.labelled("tessera_p2p_peer_call_microseconds", "peer", "http://a b,c=/")).record(3);
 
-        String expectedResponse = "tessera_GET_upCheck,instance=localhost:8080 AverageTime_ms=100" + "\n" +
-            "tessera_POST_resend_ResendRequest,instance=localhost:8080 RequestRate_requestsPerSeconds=1.3";
+        String expectedResponse = "tessera_p2p_peer_bytes_sent,instance=localhost:8080,peer=http://a:9001/ value=10" + "\n" +
+            "tessera_p2p_peer_call_microseconds,instance=localhost:8080,peer=http://a\\ b\\,c\\=/ " +
+            "count=1,sum=3,max=3,p50=3,p90=3,p99=3";
 
-        assertThat(protocolFormatter.format(mockMetrics, this.mockUri)).isEqualTo(expectedResponse);
+        assertThat(protocolFormatter.format(registry, this.mockUri)).isEqualTo(expectedResponse);
     }
 
     @Test
     public void noMetricsToFormatIsHandled() {
-        assertThat(protocolFormatter.format(mockMetrics, this.mockUri)).isEmpty();
+        assertThat(protocolFormatter.format(registry, this.mockUri)).isEmpty();
     }
 }
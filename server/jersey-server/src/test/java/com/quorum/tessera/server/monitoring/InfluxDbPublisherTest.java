@@ -1,31 +1,48 @@
 package com.quorum.tessera.server.monitoring;
 
+import com.quorum.tessera.metrics.Counter;
+import com.quorum.tessera.metrics.MetricsRegistry;
 import org.junit.Before;
 import org.junit.Test;
-import org.mockito.Mock;
-import org.mockito.MockitoAnnotations;
 
-import static org.mockito.Mockito.times;
-import static org.mockito.Mockito.verify;
+import java.net.URI;
+import java.util.List;
 
+import static org.assertj.core.api.Assertions.assertThat;
 
 public class InfluxDbPublisherTest {
 
-    private InfluxDbPublisher influxDbPublisher;
+    private MetricsRegistry registry;
+
+    private MetricsBuffer buffer;
 
-    @Mock
-    InfluxDbClient influxDbClient;
+    private InfluxDbPublisher influxDbPublisher;
 
     @Before
     public void setUp() {
-        MockitoAnnotations.initMocks(this);
-        this.influxDbPublisher = new InfluxDbPublisher(influxDbClient);
+        this.registry = new MetricsRegistry();
+        this.buffer = new MetricsBuffer(10, new Counter());
+        this.influxDbPublisher = new InfluxDbPublisher(registry, URI.create("http://localhost:8080"), buffer);
+    }
+
+    @Test
+    public void timestampedReadingIsBuffered() throws InterruptedException {
+        registry.counter("requests").add(2);
+        registry.gauge("tessera_sync_active", () -> 1L);
+
+        influxDbPublisher.run();
+
+        final List<String> lines = buffer.take(10, 0);
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).matches("requests,instance=localhost:8080 value=2 \\d+");
+        assertThat(lines.get(1)).matches("tessera_sync_active,instance=localhost:8080 value=1 \\d+");
     }
 
     @Test
-    public void runMethodIsCalled() {
+    public void emptyRegistryBuffersNothing() {
         influxDbPublisher.run();
-        verify(influxDbClient, times(1)).postMetrics();
+
+        assertThat(buffer.size()).isZero();
     }
 
 }
@@ -0,0 +1,183 @@
+package com.quorum.tessera.server.monitoring;
+
+import com.quorum.tessera.metrics.Counter;
+import com.quorum.tessera.metrics.MetricsRegistry;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Ships metrics to a local HTTP stand-in for InfluxDB
+ */
+public class InfluxDbShipperTest {
+
+    private final BlockingQueue<Write> writes = new LinkedBlockingQueue<>();
+
+    private final Queue<Integer> statuses = new ConcurrentLinkedQueue<>();
+
+    private HttpServer influx;
+
+    private MetricsRegistry registry;
+
+    private MetricsBuffer buffer;
+
+    private Thread shipperThread;
+
+    @Before
+    public void setUp() throws IOException {
+        this.influx = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        influx.createContext("/write", this::handleWrite);
+        influx.start();
+
+        this.registry = new MetricsRegistry();
+        this.buffer = new MetricsBuffer(100, new Counter());
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        if (shipperThread != null) {
+            shipperThread.interrupt();
+            shipperThread.join(TimeUnit.SECONDS.toMillis(5));
+        }
+        influx.stop(0);
+    }
+
+    @Test
+    public void batchIsGzippedAndWrittenToDatabase() throws Exception {
+        this.startShipper(2, 1);
+
+        buffer.addAll(Arrays.asList("a value=1 1", "b value=2 1"));
+
+        final Write write = writes.poll(5, TimeUnit.SECONDS);
+        assertThat(write).isNotNull();
+        assertThat(write.query).isEqualTo("db=tessera");
+        assertThat(write.contentEncoding).isEqualTo("gzip");
+        assertThat(write.body).isEqualTo("a value=1 1\nb value=2 1");
+    }
+
+    @Test
+    public void partialBatchWrittenOnceFlushIntervalPasses() throws Exception {
+        this.startShipper(100, 1);
+
+        buffer.addAll(Arrays.asList("a value=1 1"));
+
+        final Write write = writes.poll(5, TimeUnit.SECONDS);
+        assertThat(write).isNotNull();
+        assertThat(write.body).isEqualTo("a value=1 1");
+    }
+
+    @Test
+    public void failedWriteIsRetried() throws Exception {
+        statuses.add(503);
+        this.startShipper(1, 1);
+
+        buffer.addAll(Arrays.asList("a value=1 1"));
+
+        final Write failed = writes.poll(5, TimeUnit.SECONDS);
+        final Write retried = writes.poll(5, TimeUnit.SECONDS);
+        assertThat(failed.body).isEqualTo("a value=1 1");
+        assertThat(retried.body).isEqualTo("a value=1 1");
+
+        this.awaitCount("tessera_influx_sent_lines", 1L);
+        assertThat(registry.counter("tessera_influx_failed_batches").get()).isZero();
+    }
+
+    @Test
+    public void batchDroppedOnceRetriesRunOut() throws Exception {
+        statuses.addAll(Arrays.asList(500, 500));
+        this.startShipper(1, 1);
+
+        buffer.addAll(Arrays.asList("a value=1 1"));
+
+        this.awaitCount("tessera_influx_failed_batches", 1L);
+        assertThat(writes).hasSize(2);
+        assertThat(registry.counter("tessera_influx_sent_lines").get()).isZero();
+    }
+
+    @Test
+    public void unreachableInfluxCountsAsFailure() throws Exception {
+        final int unusedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            unusedPort = socket.getLocalPort();
+        }
+        this.startShipper(1, 0, unusedPort);
+
+        buffer.addAll(Arrays.asList("a value=1 1"));
+
+        this.awaitCount("tessera_influx_failed_batches", 1L);
+    }
+
+    private void startShipper(final int batchSize, final int maxRetries) {
+        this.startShipper(batchSize, maxRetries, influx.getAddress().getPort());
+    }
+
+    private void startShipper(final int batchSize, final int maxRetries, final int port) {
+        final InfluxDbSender sender = new HttpInfluxDbSender("http://localhost", port, "tessera");
+
+        final InfluxDbShipper shipper = new InfluxDbShipper(buffer, sender, batchSize, 50L, maxRetries, 10L, registry);
+
+        this.shipperThread = new Thread(shipper);
+        shipperThread.start();
+    }
+
+    private void awaitCount(final String name, final long expected) throws InterruptedException {
+        final long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.counter(name).get() != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(registry.counter(name).get()).isEqualTo(expected);
+    }
+
+    private void handleWrite(final HttpExchange exchange) throws IOException {
+        final String contentEncoding = exchange.getRequestHeaders().getFirst("Content-Encoding");
+
+        final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        try (InputStream in = new GZIPInputStream(exchange.getRequestBody())) {
+            final byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+            }
+        }
+
+        writes.add(new Write(exchange.getRequestURI().getQuery(), contentEncoding, body.toString("UTF-8")));
+
+        final Integer status = statuses.poll();
+        exchange.sendResponseHeaders(status == null ? 204 : status, -1);
+        exchange.close();
+    }
+
+    private static final class Write {
+
+        private final String query;
+
+        private final String contentEncoding;
+
+        private final String body;
+
+        private Write(final String query, final String contentEncoding, final String body) {
+            this.query = query;
+            this.contentEncoding = contentEncoding;
+            this.body = body;
+        }
+
+    }
+
+}
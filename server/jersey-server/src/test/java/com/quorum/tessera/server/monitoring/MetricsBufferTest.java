@@ -0,0 +1,72 @@
+package com.quorum.tessera.server.monitoring;
+
+import com.quorum.tessera.metrics.Counter;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsBufferTest {
+
+    private Counter dropped;
+
+    private MetricsBuffer buffer;
+
+    @Before
+    public void setUp() {
+        this.dropped = new Counter();
+        this.buffer = new MetricsBuffer(3, dropped);
+    }
+
+    @Test
+    public void oldestLinesDroppedWhenFull() throws InterruptedException {
+        buffer.addAll(Arrays.asList("a", "b", "c", "d", "e"));
+
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(dropped.get()).isEqualTo(2L);
+        assertThat(buffer.take(10, 0)).containsExactly("c", "d", "e");
+    }
+
+    @Test
+    public void takeReturnsAtMostBatchSize() throws InterruptedException {
+        buffer.addAll(Arrays.asList("a", "b", "c"));
+
+        assertThat(buffer.take(2, 0)).containsExactly("a", "b");
+        assertThat(buffer.take(2, 0)).containsExactly("c");
+        assertThat(buffer.take(2, 0)).isEmpty();
+    }
+
+    @Test
+    public void takeReturnsPartialBatchOnceWaitPasses() throws InterruptedException {
+        buffer.addAll(Collections.singletonList("a"));
+
+        final long start = System.nanoTime();
+        final List<String> batch = buffer.take(2, 50);
+
+        assertThat(batch).containsExactly("a");
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void takeReturnsAsSoonAsBatchIsFull() throws Exception {
+        final CompletableFuture<List<String>> batch = CompletableFuture.supplyAsync(() -> {
+            try {
+                return buffer.take(2, TimeUnit.MINUTES.toMillis(1));
+            } catch (final InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        buffer.addAll(Collections.singletonList("a"));
+        buffer.addAll(Collections.singletonList("b"));
+
+        assertThat(batch.get(10, TimeUnit.SECONDS)).containsExactly("a", "b");
+    }
+
+}
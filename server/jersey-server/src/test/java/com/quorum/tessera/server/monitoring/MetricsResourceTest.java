@@ -0,0 +1,30 @@
+package com.quorum.tessera.server.monitoring;
+
+import com.quorum.tessera.metrics.MetricsRegistry;
+import org.junit.Test;
+
+import javax.ws.rs.core.Response;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MetricsResourceTest {
+
+    @Test
+    public void metricsAreRenderedFromRegistry() {
+        final MetricsRegistry registry = new MetricsRegistry();
+        registry.counter("tessera_requests").increment();
+
+        final Response response = new MetricsResource(registry).getMetrics();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getEntity()).isEqualTo("# TYPE tessera_requests counter\ntessera_requests 1");
+    }
+
+    @Test
+    public void defaultConstructorUsesDefaultRegistry() {
+        final Response response = new MetricsResource().getMetrics();
+
+        assertThat(response.getStatus()).isEqualTo(200);
+    }
+
+}
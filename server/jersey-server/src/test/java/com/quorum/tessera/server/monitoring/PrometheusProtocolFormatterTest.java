@@ -1,73 +1,104 @@
 package com.quorum.tessera.server.monitoring;
 
-import java.util.ArrayList;
-import java.util.List;
-
+import com.quorum.tessera.metrics.MetricsRegistry;
 import org.junit.Before;
 import org.junit.Test;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 public class PrometheusProtocolFormatterTest {
 
     private PrometheusProtocolFormatter protocolFormatter;
 
-    private List<MBeanMetric> mockMetrics;
+    private MetricsRegistry registry;
 
     @Before
     public void setUp() {
         this.protocolFormatter = new PrometheusProtocolFormatter();
-        this.mockMetrics = new ArrayList<>();
+        this.registry = new MetricsRegistry();
     }
 
     @Test
-    public void noArgResourceResponseCorrectlyFormatted() {
-        mockMetrics.add(new MBeanResourceMetric("GET->upCheck()#a10a4f8d", "AverageTime[ms]_total", "100"));
+    public void counterCorrectlyFormatted() {
+        registry.counter("tessera_p2p_push_failures").add(3);
 
-        String expectedResponse = "tessera_GET_upCheck_AverageTime_ms 100";
+        String expectedResponse = "# TYPE tessera_p2p_push_failures counter" + "\n" +
+            "tessera_p2p_push_failures 3";
 
-        assertThat(protocolFormatter.format(mockMetrics)).isEqualTo(expectedResponse);
+        assertThat(protocolFormatter.format(registry)).isEqualTo(expectedResponse);
     }
 
     @Test
-    public void singleArgResourceResponseCorrectlyFormatted() {
-        mockMetrics.add(new MBeanResourceMetric("POST->resend(ResendRequest)#8ca0a760", "RequestRate[requestsPerSeconds]", "1.3"));
+    public void gaugeCorrectlyFormatted() {
+        registry.gauge("tessera_sync_active", () -> 2L);
 
-        String expectedResponse = "tessera_POST_resend_ResendRequest_RequestRate_requestsPerSeconds 1.3";
+        String expectedResponse = "# TYPE tessera_sync_active gauge" + "\n" +
+            "tessera_sync_active 2";
 
-        assertThat(protocolFormatter.format(mockMetrics)).isEqualTo(expectedResponse);
+        assertThat(protocolFormatter.format(registry)).isEqualTo(expectedResponse);
     }
 
     @Test
-    public void singleArrayArgResourceResponseCorrectlyFormatted() {
-        mockMetrics.add(new MBeanResourceMetric("POST->push(byte[])#7f702b7e", "MinTime[ms]_total", "3.4"));
-
-        String expectedResponse = "tessera_POST_push_byte_MinTime_ms 3.4";
-
-        assertThat(protocolFormatter.format(mockMetrics)).isEqualTo(expectedResponse);
+    public void histogramCorrectlyFormattedAsSummary() {
+        registry.histogram("tessera_enclave_encrypt_microseconds").record(5);
+        registry.histogram("tessera_enclave_encrypt_microseconds").record(7);
+
+        String expectedResponse = "# TYPE tessera_enclave_encrypt_microseconds summary" + "\n" +
+            "tessera_enclave_encrypt_microseconds{quantile=\"0.5\"} 5" + "\n" +
+            "tessera_enclave_encrypt_microseconds{quantile=\"0.9\"} 7" + "\n" +
+            "tessera_enclave_encrypt_microseconds{quantile=\"0.99\"} 7" + "\n" +
+            "tessera_enclave_encrypt_microseconds_sum 12" + "\n" +
+            "tessera_enclave_encrypt_microseconds_count 2";
+
+        assertThat(protocolFormatter.format(registry)).isEqualTo(expectedResponse);
     }
 
     @Test
-    public void multipleArgResourceResponseCorrectlyFormatted() {
-        mockMetrics.add(new MBeanResourceMetric("GET->receiveRaw(String;String)#fc8f8357", "AverageTime[ms]_total", "5.2"));
+    public void multipleMetricsCorrectlyFormatted() {
+        registry.counter("second").increment();
+        registry.counter("first").increment();
 
-        String expectedResponse = "tessera_GET_receiveRaw_StringString_AverageTime_ms 5.2";
+        String expectedResponse = "# TYPE first counter" + "\n" +
+            "first 1" + "\n" +
+            "# TYPE second counter" + "\n" +
+            "second 1";
 
-        assertThat(protocolFormatter.format(mockMetrics)).isEqualTo(expectedResponse);
+        assertThat(protocolFormatter.format(registry)).isEqualTo(expectedResponse);
+    }
+
+    @Test
+    public void labelledMetricsShareOneType() {
+        registry.counter("tessera_p2p_peer_requests_sent").add(3);
+        registry.counter(MetricsRegistry.labelled("tessera_p2p_peer_requests_sent", "peer", "http://b:9001/")).add(2);
+        registry.counter("tessera_p2p_peer_requests_sent_total").add(4);
+        registry.counter(MetricsRegistry.labelled("tessera_p2p_peer_requests_sent", "peer", "http://a:9001/")).add(1);
+
+        String expectedResponse = "# TYPE tessera_p2p_peer_requests_sent counter" + "\n" +
+            "tessera_p2p_peer_requests_sent 3" + "\n" +
+            "tessera_p2p_peer_requests_sent{peer=\"http://a:9001/\"} 1" + "\n" +
+            "tessera_p2p_peer_requests_sent{peer=\"http://b:9001/\"} 2" + "\n" +
+            "# TYPE tessera_p2p_peer_requests_sent_total counter" + "\n" +
+            "tessera_p2p_peer_requests_sent_total 4";
+
+        assertThat(protocolFormatter.format(registry)).isEqualTo(expectedResponse);
     }
 
     @Test
-    public void multipleMetricsResponseCorrectlyFormatted() {
-        mockMetrics.add(new MBeanResourceMetric("GET->upCheck()#a10a4f8d", "AverageTime[ms]_total", "100"));
-        mockMetrics.add(new MBeanResourceMetric("POST->resend(ResendRequest)#8ca0a760", "RequestRate[requestsPerSeconds]", "1.3"));
+    public void labelledHistogramKeepsLabelWithQuantile() {
+        registry.histogram(MetricsRegistry.labelled("tessera_p2p_peer_call_microseconds", "peer", "http://a/")).record(5);
 
-        String expectedResponse = "tessera_GET_upCheck_AverageTime_ms 100" + "\n" +
-            "tessera_POST_resend_ResendRequest_RequestRate_requestsPerSeconds 1.3";
+        String expectedResponse = "# TYPE tessera_p2p_peer_call_microseconds summary" + "\n" +
+            "tessera_p2p_peer_call_microseconds{peer=\"http://a/\",quantile=\"0.5\"} 5" + "\n" +
+            "tessera_p2p_peer_call_microseconds{peer=\"http://a/\",quantile=\"0.9\"} 5" + "\n" +
+            "tessera_p2p_peer_call_microseconds{peer=\"http://a/\",quantile=\"0.99\"} 5" + "\n" +
+            "tessera_p2p_peer_call_microseconds_sum{peer=\"http://a/\"} 5" + "\n" +
+            "tessera_p2p_peer_call_microseconds_count{peer=\"http://a/\"} 1";
 
-        assertThat(protocolFormatter.format(mockMetrics)).isEqualTo(expectedResponse);
+        assertThat(protocolFormatter.format(registry)).isEqualTo(expectedResponse);
     }
 
     @Test
     public void noMetricsToFormatIsHandled() {
-        assertThat(protocolFormatter.format(mockMetrics)).isEmpty();
+        assertThat(protocolFormatter.format(registry)).isEmpty();
     }
 }
@@ -0,0 +1,100 @@
+package com.quorum.tessera.server.monitoring;
+
+import com.quorum.tessera.metrics.MetricsRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ResourceInfo;
+import java.lang.reflect.Method;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ResourceMetricsFilterTest {
+
+    private static final String HISTOGRAM = "tessera_http_ResourceMetricsFilterTest_sampleResourceMethod_microseconds";
+
+    private static final String ERRORS = "tessera_http_ResourceMetricsFilterTest_sampleResourceMethod_errors";
+
+    private MetricsRegistry registry;
+
+    private ResourceInfo resourceInfo;
+
+    private ContainerRequestContext requestContext;
+
+    private ContainerResponseContext responseContext;
+
+    private ResourceMetricsFilter filter;
+
+    @Before
+    public void onSetUp() throws NoSuchMethodException {
+        this.registry = new MetricsRegistry();
+        this.resourceInfo = mock(ResourceInfo.class);
+        this.requestContext = mock(ContainerRequestContext.class);
+        this.responseContext = mock(ContainerResponseContext.class);
+
+        final Method method = ResourceMetricsFilterTest.class.getDeclaredMethod("sampleResourceMethod");
+        when(resourceInfo.getResourceMethod()).thenReturn(method);
+
+        this.filter = new ResourceMetricsFilter(registry, resourceInfo);
+    }
+
+    @Test
+    public void startTimeIsStoredOnRequest() {
+        filter.filter(requestContext);
+
+        verify(requestContext).setProperty(eq(ResourceMetricsFilter.class.getName() + ".start"), anyLong());
+    }
+
+    @Test
+    public void responseTimeIsRecordedForResourceMethod() {
+        when(requestContext.getProperty(anyString())).thenReturn(System.nanoTime());
+        when(responseContext.getStatus()).thenReturn(200);
+
+        filter.filter(requestContext, responseContext);
+        filter.filter(requestContext, responseContext);
+
+        assertThat(registry.getHistograms().get(HISTOGRAM).snapshot().getCount()).isEqualTo(2);
+        assertThat(registry.getCounters()).doesNotContainKey(ERRORS);
+    }
+
+    @Test
+    public void serverErrorsAreCounted() {
+        when(requestContext.getProperty(anyString())).thenReturn(System.nanoTime());
+        when(responseContext.getStatus()).thenReturn(500);
+
+        filter.filter(requestContext, responseContext);
+
+        assertThat(registry.getCounters().get(ERRORS).get()).isEqualTo(1);
+    }
+
+    @Test
+    public void unmatchedRequestIsNotRecorded() {
+        when(requestContext.getProperty(anyString())).thenReturn(System.nanoTime());
+        when(resourceInfo.getResourceMethod()).thenReturn(null);
+
+        filter.filter(requestContext, responseContext);
+
+        assertThat(registry.getHistograms()).isEmpty();
+    }
+
+    @Test
+    public void requestWithoutStartTimeIsNotRecorded() {
+        filter.filter(requestContext, responseContext);
+
+        assertThat(registry.getHistograms()).isEmpty();
+    }
+
+    @Test
+    public void createWithDefaultConstructor() {
+        assertThat(new ResourceMetricsFilter()).isNotNull();
+    }
+
+    private void sampleResourceMethod() {
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.quorum.tessera.server.monitoring;
+
+import com.quorum.tessera.trace.Span;
+import com.quorum.tessera.trace.Tracer;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.core.UriInfo;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+public class TracingFilterTest {
+
+    private static final String TRACE_PARENT = "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01";
+
+    private ContainerRequestContext requestContext;
+
+    private TracingFilter filter;
+
+    @Before
+    public void onSetUp() {
+        this.requestContext = mock(ContainerRequestContext.class);
+
+        final UriInfo uriInfo = mock(UriInfo.class);
+        when(uriInfo.getPath()).thenReturn("push");
+        when(requestContext.getUriInfo()).thenReturn(uriInfo);
+        when(requestContext.getMethod()).thenReturn("POST");
+
+        this.filter = new TracingFilter();
+    }
+
+    @Test
+    public void requestContinuesCallersTrace() {
+        when(requestContext.getHeaderString(Tracer.TRACE_PARENT)).thenReturn(TRACE_PARENT);
+
+        filter.filter(requestContext);
+
+        final Span span = this.capturedSpan();
+        assertThat(span.getName()).isEqualTo("POST /push");
+        assertThat(span.getContext().getTraceId()).isEqualTo("0af7651916cd43dd8448eb211c80319c");
+        assertThat(span.getParentSpanId()).isEqualTo("b7ad6b7169203331");
+        assertThat(Tracer.currentTraceParent()).contains(span.getContext().toTraceParent());
+
+        this.respond(span, 200);
+
+        assertThat(span.getTags()).containsEntry("status", "200");
+        assertThat(Tracer.currentTraceParent()).isEmpty();
+    }
+
+    @Test
+    public void requestWithoutTraceStartsNewTrace() {
+        filter.filter(requestContext);
+
+        final Span span = this.capturedSpan();
+        assertThat(span.getParentSpanId()).isNull();
+
+        this.respond(span, 500);
+
+        assertThat(Tracer.currentTraceParent()).isEmpty();
+    }
+
+    @Test
+    public void responseWithoutSpanIsIgnored() {
+        final ContainerResponseContext responseContext = mock(ContainerResponseContext.class);
+
+        filter.filter(requestContext, responseContext);
+
+        verifyZeroInteractions(responseContext);
+    }
+
+    private Span capturedSpan() {
+        final ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(requestContext).setProperty(anyString(), captor.capture());
+        return (Span) captor.getValue();
+    }
+
+    private void respond(Span span, int status) {
+        final ContainerResponseContext responseContext = mock(ContainerResponseContext.class);
+        when(responseContext.getStatus()).thenReturn(status);
+        when(requestContext.getProperty(anyString())).thenReturn(span);
+
+        filter.filter(requestContext, responseContext);
+    }
+
+}
@@ -0,0 +1,60 @@
+package com.quorum.tessera.server.monitoring;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class UdpInfluxDbSenderTest {
+
+    private DatagramSocket influx;
+
+    private UdpInfluxDbSender sender;
+
+    @Before
+    public void setUp() throws Exception {
+        this.influx = new DatagramSocket(0);
+        influx.setSoTimeout(5000);
+
+        this.sender = new UdpInfluxDbSender(new InetSocketAddress("localhost", influx.getLocalPort()));
+    }
+
+    @After
+    public void tearDown() {
+        sender.close();
+        influx.close();
+    }
+
+    @Test
+    public void linesPackedIntoOneDatagram() throws Exception {
+        sender.send(Arrays.asList("a value=1", "b value=2"));
+
+        assertThat(this.receive()).isEqualTo("a value=1\nb value=2\n");
+    }
+
+    @Test
+    public void linesSplitAcrossDatagramsWhenTooLarge() throws Exception {
+        final String line = String.join("", Collections.nCopies(1000, "x")) + " value=1";
+
+        sender.send(Arrays.asList(line, line));
+
+        assertThat(this.receive()).isEqualTo(line + "\n");
+        assertThat(this.receive()).isEqualTo(line + "\n");
+    }
+
+    private String receive() throws Exception {
+        final byte[] data = new byte[UdpInfluxDbSender.MAX_DATAGRAM_SIZE * 2];
+        final DatagramPacket packet = new DatagramPacket(data, data.length);
+        influx.receive(packet);
+        return new String(packet.getData(), 0, packet.getLength(), StandardCharsets.UTF_8);
+    }
+
+}
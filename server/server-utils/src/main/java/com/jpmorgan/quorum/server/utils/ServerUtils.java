@@ -1,10 +1,23 @@
 package com.jpmorgan.quorum.server.utils;
 
+import com.quorum.tessera.config.AppType;
+import com.quorum.tessera.config.JettyConfig;
 import com.quorum.tessera.config.ServerConfig;
+import com.quorum.tessera.metrics.MetricsRegistry;
 import com.quorum.tessera.ssl.context.ServerSSLContextFactory;
 import java.net.URI;
 import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
 import javax.net.ssl.SSLContext;
+import javax.net.ssl.SSLSessionContext;
+import org.eclipse.jetty.alpn.server.ALPNServerConnectionFactory;
+import org.eclipse.jetty.http2.HTTP2Cipher;
+import org.eclipse.jetty.http2.server.HTTP2CServerConnectionFactory;
+import org.eclipse.jetty.http2.server.HTTP2ServerConnectionFactory;
+import org.eclipse.jetty.server.ConnectionFactory;
 import org.eclipse.jetty.server.Connector;
 import org.eclipse.jetty.server.HttpConfiguration;
 import org.eclipse.jetty.server.HttpConnectionFactory;
@@ -12,13 +25,29 @@ import org.eclipse.jetty.server.SecureRequestCustomizer;
 import org.eclipse.jetty.server.Server;
 import org.eclipse.jetty.server.ServerConnector;
 import org.eclipse.jetty.server.SslConnectionFactory;
+import org.eclipse.jetty.util.BlockingArrayQueue;
 import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
 import org.eclipse.jetty.unixsocket.UnixSocketConnector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 public class ServerUtils {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ServerUtils.class);
+
     public static Server buildWebServer(ServerConfig serverConfig) {
-        Server server = new Server();
+        return buildWebServer(serverConfig, MetricsRegistry.getDefault());
+    }
+
+    static Server buildWebServer(ServerConfig serverConfig, MetricsRegistry registry) {
+        final JettyConfig jettyConfig = Optional.ofNullable(serverConfig.getJettyConfig()).orElseGet(JettyConfig::new);
+
+        final String name = appName(serverConfig.getApp());
+        final QueuedThreadPool threadPool = buildThreadPool(name, jettyConfig);
+        registerThreadPoolMetrics(name, threadPool, registry);
+
+        Server server = new Server(threadPool);
         URI uri = serverConfig.getBindingUri();
 
         if (serverConfig.isUnixSocket()) {
@@ -26,8 +55,9 @@ public class ServerUtils {
             HttpConnectionFactory httpConnectionFactory = new HttpConnectionFactory();
 
             UnixSocketConnector connector = new UnixSocketConnector(server, httpConnectionFactory);
-            connector.setAcceptQueueSize(128);
-            
+            connector.setAcceptQueueSize(jettyConfig.getAcceptQueueSize());
+            connector.setIdleTimeout(jettyConfig.getIdleTimeoutInMillis());
+
             String path = Paths.get(serverConfig.getServerUri()).toAbsolutePath().toString();
             connector.setUnixSocket(path);
 
@@ -43,21 +73,112 @@ public class ServerUtils {
             SSLContext sslContext = ServerSSLContextFactory.create()
                     .from(uri.toString(), serverConfig.getSslConfig());
 
+            final SSLSessionContext sessionContext = sslContext.getServerSessionContext();
+            if (sessionContext != null) {
+                sessionContext.setSessionCacheSize(jettyConfig.getSslSessionCacheSize());
+                sessionContext.setSessionTimeout(jettyConfig.getSslSessionTimeoutInSecs());
+            }
+
             SslContextFactory sslContextFactory = new SslContextFactory();
             sslContextFactory.setSslContext(sslContext);
             sslContextFactory.setNeedClientAuth(true);
-            ServerConnector connector = new ServerConnector(server,
+
+            final ConnectionFactory[] factories = jettyConfig.getHttp2Enabled()
+                ? secureHttp2Factories(sslContextFactory, https)
+                : new ConnectionFactory[]{
                     new SslConnectionFactory(sslContextFactory, "http/1.1"),
-                    new HttpConnectionFactory(https));
+                    new HttpConnectionFactory(https)
+                };
+
+            ServerConnector connector = buildConnector(server, jettyConfig, factories);
             connector.setPort(uri.getPort());
             server.setConnectors(new Connector[]{connector});
             return server;
         }
 
-        ServerConnector connector = new ServerConnector(server);
+        final HttpConfiguration http = new HttpConfiguration();
+
+        final ConnectionFactory[] factories = jettyConfig.getHttp2Enabled()
+            ? new ConnectionFactory[]{new HttpConnectionFactory(http), new HTTP2CServerConnectionFactory(http)}
+            : new ConnectionFactory[]{new HttpConnectionFactory(http)};
+
+        ServerConnector connector = buildConnector(server, jettyConfig, factories);
         connector.setPort(uri.getPort());
         server.setConnectors(new Connector[]{connector});
 
         return server;
     }
+
+    private static QueuedThreadPool buildThreadPool(String name, JettyConfig jettyConfig) {
+        final int minThreads = Math.min(jettyConfig.getMinThreads(), jettyConfig.getMaxThreads());
+
+        final int maxQueued = jettyConfig.getMaxQueuedRequests();
+
+        final BlockingQueue<Runnable> queue = maxQueued > 0
+            ? new BlockingArrayQueue<>(Math.min(minThreads, maxQueued), minThreads, maxQueued)
+            : new BlockingArrayQueue<>(minThreads, minThreads);
+
+        final QueuedThreadPool threadPool = new QueuedThreadPool(
+            jettyConfig.getMaxThreads(), minThreads, jettyConfig.getThreadIdleTimeoutInMillis(), queue
+        );
+        threadPool.setName("tessera-" + name);
+
+        return threadPool;
+    }
+
+    /**
+     * Publishes how busy the thread pool is, so that a server running out of
+     * threads shows up before requests start to queue
+     */
+    private static void registerThreadPoolMetrics(String name, QueuedThreadPool threadPool, MetricsRegistry registry) {
+        registry.gauge(MetricsRegistry.labelled("tessera_jetty_threads", "app", name), threadPool::getThreads);
+        registry.gauge(MetricsRegistry.labelled("tessera_jetty_busy_threads", "app", name), threadPool::getBusyThreads);
+        registry.gauge(MetricsRegistry.labelled("tessera_jetty_max_threads", "app", name), threadPool::getMaxThreads);
+        registry.gauge(MetricsRegistry.labelled("tessera_jetty_queued_requests", "app", name), threadPool::getQueueSize);
+        registry.gauge(
+            MetricsRegistry.labelled("tessera_jetty_low_on_threads", "app", name),
+            () -> threadPool.isLowOnThreads() ? 1 : 0
+        );
+    }
+
+    /**
+     * Offers HTTP/2 to clients that ask for it through ALPN, and HTTP/1.1 to
+     * the rest. If no ALPN implementation is available on this JVM, only
+     * HTTP/1.1 is offered.
+     */
+    private static ConnectionFactory[] secureHttp2Factories(SslContextFactory sslContextFactory, HttpConfiguration https) {
+        final ALPNServerConnectionFactory alpn;
+        try {
+            alpn = new ALPNServerConnectionFactory();
+        } catch (final IllegalStateException ex) {
+            LOGGER.warn("HTTP/2 is not available over TLS, as ALPN is not supported. Using HTTP/1.1 only", ex);
+            return new ConnectionFactory[]{
+                new SslConnectionFactory(sslContextFactory, "http/1.1"),
+                new HttpConnectionFactory(https)
+            };
+        }
+
+        alpn.setDefaultProtocol("http/1.1");
+        sslContextFactory.setCipherComparator(HTTP2Cipher.COMPARATOR);
+
+        return new ConnectionFactory[]{
+            new SslConnectionFactory(sslContextFactory, alpn.getProtocol()),
+            alpn,
+            new HTTP2ServerConnectionFactory(https),
+            new HttpConnectionFactory(https)
+        };
+    }
+
+    private static ServerConnector buildConnector(Server server, JettyConfig jettyConfig, ConnectionFactory... factories) {
+        final ServerConnector connector
+            = new ServerConnector(server, jettyConfig.getAcceptors(), jettyConfig.getSelectors(), factories);
+        connector.setAcceptQueueSize(jettyConfig.getAcceptQueueSize());
+        connector.setIdleTimeout(jettyConfig.getIdleTimeoutInMillis());
+        return connector;
+    }
+
+    private static String appName(AppType app) {
+        return Objects.toString(app, "unknown").toLowerCase(Locale.ROOT);
+    }
+
 }
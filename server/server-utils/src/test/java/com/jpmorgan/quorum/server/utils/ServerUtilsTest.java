@@ -0,0 +1,83 @@
+package com.jpmorgan.quorum.server.utils;
+
+import com.quorum.tessera.config.AppType;
+import com.quorum.tessera.config.CommunicationType;
+import com.quorum.tessera.config.JettyConfig;
+import com.quorum.tessera.config.ServerConfig;
+import com.quorum.tessera.metrics.MetricsRegistry;
+import org.eclipse.jetty.server.Server;
+import org.eclipse.jetty.server.ServerConnector;
+import org.eclipse.jetty.util.thread.QueuedThreadPool;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ServerUtilsTest {
+
+    private MetricsRegistry registry;
+
+    @Before
+    public void onSetUp() {
+        this.registry = new MetricsRegistry();
+    }
+
+    @Test
+    public void defaultsAreUsedWithoutJettyConfig() {
+        final ServerConfig serverConfig
+            = new ServerConfig(AppType.Q2T, true, "http://localhost:8080", CommunicationType.REST, null, null, null);
+
+        final Server server = ServerUtils.buildWebServer(serverConfig, registry);
+
+        final QueuedThreadPool threadPool = (QueuedThreadPool) server.getThreadPool();
+        assertThat(threadPool.getName()).isEqualTo("tessera-q2t");
+        assertThat(threadPool.getMaxThreads()).isEqualTo(200);
+        assertThat(threadPool.getMinThreads()).isEqualTo(8);
+
+        final ServerConnector connector = (ServerConnector) server.getConnectors()[0];
+        assertThat(connector.getPort()).isEqualTo(8080);
+        assertThat(connector.getProtocols()).containsExactly("http/1.1");
+        assertThat(connector.getAcceptQueueSize()).isEqualTo(128);
+    }
+
+    @Test
+    public void jettyConfigIsApplied() {
+        final ServerConfig serverConfig
+            = new ServerConfig(AppType.P2P, true, "http://localhost:9001", CommunicationType.REST, null, null, null);
+        serverConfig.setJettyConfig(new JettyConfig(4, 50, 1000, 100, 5000L, 64, 1, 2, true, null, null));
+
+        final Server server = ServerUtils.buildWebServer(serverConfig, registry);
+
+        final QueuedThreadPool threadPool = (QueuedThreadPool) server.getThreadPool();
+        assertThat(threadPool.getName()).isEqualTo("tessera-p2p");
+        assertThat(threadPool.getMaxThreads()).isEqualTo(50);
+        assertThat(threadPool.getMinThreads()).isEqualTo(4);
+        assertThat(threadPool.getIdleTimeout()).isEqualTo(1000);
+
+        final ServerConnector connector = (ServerConnector) server.getConnectors()[0];
+        assertThat(connector.getProtocols()).containsExactly("http/1.1", "h2c");
+        assertThat(connector.getAcceptQueueSize()).isEqualTo(64);
+        assertThat(connector.getIdleTimeout()).isEqualTo(5000L);
+        assertThat(connector.getAcceptors()).isEqualTo(1);
+    }
+
+    @Test
+    public void threadPoolSaturationIsPublished() {
+        final ServerConfig serverConfig
+            = new ServerConfig(AppType.P2P, true, "http://localhost:9001", CommunicationType.REST, null, null, null);
+
+        ServerUtils.buildWebServer(serverConfig, registry);
+
+        assertThat(registry.getGauges())
+            .containsKeys(
+                MetricsRegistry.labelled("tessera_jetty_threads", "app", "p2p"),
+                MetricsRegistry.labelled("tessera_jetty_busy_threads", "app", "p2p"),
+                MetricsRegistry.labelled("tessera_jetty_max_threads", "app", "p2p"),
+                MetricsRegistry.labelled("tessera_jetty_queued_requests", "app", "p2p"),
+                MetricsRegistry.labelled("tessera_jetty_low_on_threads", "app", "p2p")
+            );
+        assertThat(registry.getGauges().get(MetricsRegistry.labelled("tessera_jetty_max_threads", "app", "p2p")).get())
+            .isEqualTo(200L);
+    }
+
+}
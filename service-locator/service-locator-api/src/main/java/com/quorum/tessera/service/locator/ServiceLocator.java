@@ -16,6 +16,18 @@ public interface ServiceLocator {
      */
     Set<Object> getServices(String filename);
 
+    /**
+     * Creates the services that are not needed to start serving requests,
+     * such as background pollers and the admin API, which are left until
+     * the node is already serving so that it is available sooner
+     *
+     * @param filename the file from which to load service definitions from
+     * @return the set of all configuration services, including the deferred ones
+     */
+    default Set<Object> getDeferredServices(String filename) {
+        return getServices(filename);
+    }
+
     /**
      * Returns an implementation of the {@link ServiceLocator} from the service loader
      *
@@ -1,6 +1,12 @@
 package com.quorum.tessera.service.locator;
 
-import org.springframework.context.ApplicationContext;
+import com.quorum.tessera.startup.StartupEvent;
+import com.quorum.tessera.startup.StartupTimer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.support.ClassPathXmlApplicationContext;
 
 import java.util.Set;
@@ -10,10 +16,18 @@ import java.util.stream.Stream;
 /**
  * A Spring implementation of the Service Locator
  * that accepts xml bean definition files
+ *
+ * Beans marked {@code lazy-init} are not created with the rest, but are left
+ * until {@link #getDeferredServices(String)} is called once the node is
+ * serving requests.
  */
 public class SpringServiceLocator implements ServiceLocator {
 
-    private static ApplicationContext context;
+    private static final Logger LOGGER = LoggerFactory.getLogger(SpringServiceLocator.class);
+
+    private static final int SLOWEST_BEANS_LOGGED = 10;
+
+    private static ConfigurableApplicationContext context;
 
     /**
      * If the Spring context is already established, then returns the
@@ -24,13 +38,54 @@ public class SpringServiceLocator implements ServiceLocator {
     @Override
     public Set<Object> getServices(final String filename) {
         if(context == null) {
-            context = new ClassPathXmlApplicationContext(filename);
+            context = createContext(filename);
         }
 
+        final ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+
         return Stream
             .of(context.getBeanDefinitionNames())
+            .filter(name -> !beanFactory.getBeanDefinition(name).isLazyInit() || beanFactory.containsSingleton(name))
             .map(context::getBean)
             .collect(Collectors.toSet());
     }
 
+    /**
+     * Creates the beans marked {@code lazy-init}
+     *
+     * {@inheritDoc}
+     */
+    @Override
+    public Set<Object> getDeferredServices(final String filename) {
+        getServices(filename);
+
+        final ConfigurableListableBeanFactory beanFactory = context.getBeanFactory();
+
+        try (StartupTimer.Phase phase = StartupTimer.getDefault().phase("deferred services")) {
+            Stream.of(context.getBeanDefinitionNames())
+                .filter(name -> beanFactory.getBeanDefinition(name).isLazyInit())
+                .forEach(context::getBean);
+        }
+
+        return getServices(filename);
+    }
+
+    private static ConfigurableApplicationContext createContext(final String filename) {
+        final StartupTimer timer = StartupTimer.getDefault();
+
+        final ConfigurableApplicationContext created;
+        try (StartupTimer.Phase phase = timer.phase("spring context")) {
+            created = new ClassPathXmlApplicationContext(filename) {
+                @Override
+                protected DefaultListableBeanFactory createBeanFactory() {
+                    return new TimedBeanFactory(getInternalParentBeanFactory(), timer);
+                }
+            };
+        }
+
+        LOGGER.info("Slowest beans to create: {}", timer.getSlowest(StartupEvent.Type.BEAN, SLOWEST_BEANS_LOGGED));
+
+        return created;
+    }
+
 }
@@ -0,0 +1,51 @@
+package com.quorum.tessera.service.locator;
+
+import com.quorum.tessera.startup.StartupEvent;
+import com.quorum.tessera.startup.StartupTimer;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Objects;
+
+/**
+ * Records how long each bean takes to create in the {@link StartupTimer}.
+ *
+ * The time recorded for a bean does not include the time taken to create
+ * the beans it depends on, so that a slow bean stands out rather than
+ * everything that needs it.
+ */
+class TimedBeanFactory extends DefaultListableBeanFactory {
+
+    private final ThreadLocal<Deque<long[]>> nestedNanos = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final StartupTimer timer;
+
+    TimedBeanFactory(final BeanFactory parent, final StartupTimer timer) {
+        super(parent);
+        this.timer = Objects.requireNonNull(timer);
+    }
+
+    @Override
+    protected Object createBean(final String beanName, final RootBeanDefinition mbd, final Object[] args) {
+        final Deque<long[]> stack = nestedNanos.get();
+        stack.push(new long[1]);
+
+        final long start = System.nanoTime();
+        try {
+            return super.createBean(beanName, mbd, args);
+        } finally {
+            final long total = System.nanoTime() - start;
+            final long nested = stack.pop()[0];
+
+            if (!stack.isEmpty()) {
+                stack.peek()[0] += total;
+            }
+
+            timer.record(StartupEvent.Type.BEAN, beanName, total - nested);
+        }
+    }
+
+}
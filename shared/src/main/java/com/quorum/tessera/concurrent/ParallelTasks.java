@@ -0,0 +1,83 @@
+package com.quorum.tessera.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Runs a task over each of a list of items on a short lived, bounded pool of
+ * threads, for slow work done once such as unlocking keys at startup
+ */
+public final class ParallelTasks {
+
+    private ParallelTasks() {
+    }
+
+    /**
+     * Applies the task to every item, using at most the given number of
+     * threads, and waits for all of them.
+     *
+     * If any task fails, the tasks not yet started are cancelled and the
+     * first failure in item order is thrown to the caller, as it would be if
+     * the tasks had been run one after another.
+     *
+     * @param items the items to apply the task to
+     * @param maxThreads the most tasks to run at once
+     * @param name the name given to the pool's threads
+     * @param task the work to do for each item
+     * @return the results, in the same order as the items
+     */
+    public static <T, R> List<R> map(final List<T> items,
+                                     final int maxThreads,
+                                     final String name,
+                                     final Function<? super T, ? extends R> task) {
+        final List<R> results = new ArrayList<>(items.size());
+
+        if (items.size() <= 1 || maxThreads <= 1) {
+            for (final T item : items) {
+                results.add(task.apply(item));
+            }
+            return results;
+        }
+
+        final AtomicInteger threadCount = new AtomicInteger();
+        final ExecutorService executor = Executors.newFixedThreadPool(Math.min(items.size(), maxThreads), r -> {
+            final Thread thread = new Thread(r, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            final List<Future<R>> futures = new ArrayList<>(items.size());
+            for (final T item : items) {
+                futures.add(executor.submit(() -> task.apply(item)));
+            }
+
+            for (final Future<R> future : futures) {
+                results.add(future.get());
+            }
+
+            return results;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + name, ex);
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
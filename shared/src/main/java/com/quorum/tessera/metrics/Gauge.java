@@ -0,0 +1,11 @@
+package com.quorum.tessera.metrics;
+
+/**
+ * A value that is read when the metrics are reported, such as the size of a queue
+ */
+@FunctionalInterface
+public interface Gauge {
+
+    long get();
+
+}
@@ -0,0 +1,140 @@
+package com.quorum.tessera.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Records the distribution of non-negative values, usually latencies in
+ * microseconds, without taking any locks.
+ *
+ * As with an HDR histogram, values are counted in buckets that get wider as
+ * the values get larger: each power of two is split into 16 buckets, so any
+ * percentile is accurate to within about 6% while the memory used stays fixed.
+ */
+public class Histogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    // enough buckets for every positive long
+    private static final int BUCKET_COUNT = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder sum = new LongAdder();
+
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+    public void record(final long value) {
+        final long bounded = Math.max(value, 0L);
+
+        buckets.incrementAndGet(bucketIndex(bounded));
+        sum.add(bounded);
+        max.accumulate(bounded);
+    }
+
+    /**
+     * Records the time elapsed since the given start time, in microseconds
+     *
+     * @param startNanos the start time, as returned from {@link System#nanoTime()}
+     */
+    public void recordSince(final long startNanos) {
+        this.record(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos));
+    }
+
+    public Snapshot snapshot() {
+        final long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return new Snapshot(counts, sum.sum(), max.get());
+    }
+
+    static int bucketIndex(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        final int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        final int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueIn(final int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+
+        final int shift = index / SUB_BUCKETS - 1;
+        final long lowest = (long) (SUB_BUCKETS + index % SUB_BUCKETS) << shift;
+
+        return lowest + (1L << shift) - 1;
+    }
+
+    /**
+     * A point in time copy of a {@link Histogram}
+     */
+    public static class Snapshot {
+
+        private final long[] counts;
+
+        private final long count;
+
+        private final long sum;
+
+        private final long max;
+
+        private Snapshot(final long[] counts, final long sum, final long max) {
+            this.counts = counts;
+            this.sum = sum;
+            this.max = max;
+
+            long total = 0;
+            for (final long bucketCount : counts) {
+                total += bucketCount;
+            }
+            this.count = total;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getSum() {
+            return sum;
+        }
+
+        public long getMax() {
+            return max;
+        }
+
+        /**
+         * @param quantile the quantile to find, between 0 and 1
+         * @return the highest value in the bucket the quantile falls into, or 0
+         * if nothing has been recorded
+         */
+        public long getValueAtQuantile(final double quantile) {
+            if (count == 0) {
+                return 0L;
+            }
+
+            final long rank = Math.min(Math.max((long) Math.ceil(quantile * count), 1L), count);
+
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueIn(i), max);
+                }
+            }
+
+            return max;
+        }
+
+    }
+
+}
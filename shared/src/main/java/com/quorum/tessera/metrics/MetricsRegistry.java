@@ -0,0 +1,89 @@
+package com.quorum.tessera.metrics;
+
+import java.util.Collections;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.regex.Pattern;
+
+/**
+ * Holds the metrics of the application by name, so that they can be reported
+ * without having to ask each component for them.
+ *
+ * Metrics are created on first use and live for as long as the registry.
+ * Names follow the Prometheus rules so they can be reported as given, and
+ * histograms of latencies are named with a {@code _microseconds} suffix.
+ * A metric kept for each of several things, such as each peer, is named with
+ * a label using {@link #labelled(String, String, String)}.
+ */
+public class MetricsRegistry {
+
+    private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+    private static final Pattern NAME
+        = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*(\\{[a-zA-Z_][a-zA-Z0-9_]*=\"([^\"\\\\]|\\\\.)*\"})?");
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Gauge> gauges = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<String, Histogram> histograms = new ConcurrentHashMap<>();
+
+    /**
+     * @return the registry shared by the whole application
+     */
+    public static MetricsRegistry getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Names the metric for one of the things it is kept for, in the
+     * Prometheus form {@code name{label="value"}}
+     *
+     * @param name the name shared by the metric for every thing
+     * @param label what the things are, e.g. {@code peer}
+     * @param value which thing this metric is for
+     * @return the labelled name
+     */
+    public static String labelled(final String name, final String label, final String value) {
+        final String escaped = value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+        return name + "{" + label + "=\"" + escaped + "\"}";
+    }
+
+    public Counter counter(final String name) {
+        return counters.computeIfAbsent(validate(name), n -> new Counter());
+    }
+
+    public Histogram histogram(final String name) {
+        return histograms.computeIfAbsent(validate(name), n -> new Histogram());
+    }
+
+    /**
+     * Registers a gauge, replacing any previous gauge of the same name
+     */
+    public void gauge(final String name, final Gauge gauge) {
+        gauges.put(validate(name), Objects.requireNonNull(gauge));
+    }
+
+    public SortedMap<String, Counter> getCounters() {
+        return Collections.unmodifiableSortedMap(new TreeMap<>(counters));
+    }
+
+    public SortedMap<String, Gauge> getGauges() {
+        return Collections.unmodifiableSortedMap(new TreeMap<>(gauges));
+    }
+
+    public SortedMap<String, Histogram> getHistograms() {
+        return Collections.unmodifiableSortedMap(new TreeMap<>(histograms));
+    }
+
+    private static String validate(final String name) {
+        if (name == null || !NAME.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid metric name " + name);
+        }
+        return name;
+    }
+
+}
@@ -0,0 +1,55 @@
+package com.quorum.tessera.startup;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A step of starting the node and how long it took
+ */
+public class StartupEvent {
+
+    public enum Type {
+        /**
+         * A stage of startup, such as reading the configuration or starting the servers
+         */
+        PHASE,
+        /**
+         * The creation of one component, not counting the components it needed
+         */
+        BEAN
+    }
+
+    private final Type type;
+
+    private final String name;
+
+    private final long durationNanos;
+
+    public StartupEvent(final Type type, final String name, final long durationNanos) {
+        this.type = Objects.requireNonNull(type);
+        this.name = Objects.requireNonNull(name);
+        this.durationNanos = durationNanos;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getDurationNanos() {
+        return durationNanos;
+    }
+
+    public long getDurationMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(durationNanos);
+    }
+
+    @Override
+    public String toString() {
+        return type + " " + name + " " + getDurationMillis() + "ms";
+    }
+
+}
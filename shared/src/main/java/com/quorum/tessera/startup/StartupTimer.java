@@ -0,0 +1,132 @@
+package com.quorum.tessera.startup;
+
+import com.quorum.tessera.metrics.MetricsRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+/**
+ * Records how long each step of starting the node takes, so that a slow
+ * start can be traced to the phase or component responsible.
+ *
+ * Phases are logged as they finish and published as the gauge
+ * {@code tessera_startup_phase_milliseconds}, labelled by phase. The time from
+ * the JVM starting until the node serves requests is published as
+ * {@code tessera_startup_ready_milliseconds}.
+ */
+public class StartupTimer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StartupTimer.class);
+
+    private static final StartupTimer DEFAULT = new StartupTimer(MetricsRegistry.getDefault());
+
+    private final MetricsRegistry registry;
+
+    private final List<StartupEvent> events = new CopyOnWriteArrayList<>();
+
+    public StartupTimer(final MetricsRegistry registry) {
+        this.registry = Objects.requireNonNull(registry);
+    }
+
+    /**
+     * @return the timer shared by the whole application
+     */
+    public static StartupTimer getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Starts timing a phase, which is recorded when it is closed
+     *
+     * @param name what the phase does, e.g. {@code spring context}
+     * @return the running phase
+     */
+    public Phase phase(final String name) {
+        return new Phase(name, System.nanoTime());
+    }
+
+    /**
+     * Records a step that has already been timed
+     */
+    public void record(final StartupEvent.Type type, final String name, final long durationNanos) {
+        final StartupEvent event = new StartupEvent(type, name, durationNanos);
+        events.add(event);
+
+        if (type == StartupEvent.Type.PHASE) {
+            LOGGER.info("Startup phase {} took {} ms", name, event.getDurationMillis());
+            registry.gauge(
+                MetricsRegistry.labelled("tessera_startup_phase_milliseconds", "phase", name), event::getDurationMillis
+            );
+        } else {
+            LOGGER.debug("Created {} in {} ms", name, event.getDurationMillis());
+        }
+    }
+
+    /**
+     * Records that the node is serving requests, and how long after the JVM
+     * started that was
+     *
+     * @return the milliseconds since the JVM started
+     */
+    public long ready() {
+        final long sinceJvmStart = System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+
+        LOGGER.info("Serving requests {} ms after start", sinceJvmStart);
+        registry.gauge("tessera_startup_ready_milliseconds", () -> sinceJvmStart);
+
+        return sinceJvmStart;
+    }
+
+    public List<StartupEvent> getEvents() {
+        return Collections.unmodifiableList(new ArrayList<>(events));
+    }
+
+    /**
+     * @param type the kind of step
+     * @param limit the most steps to return
+     * @return the slowest steps of the given kind, slowest first
+     */
+    public List<StartupEvent> getSlowest(final StartupEvent.Type type, final int limit) {
+        return events.stream()
+            .filter(e -> e.getType() == type)
+            .sorted(Comparator.comparingLong(StartupEvent::getDurationNanos).reversed())
+            .limit(limit)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * A phase of startup being timed
+     */
+    public class Phase implements AutoCloseable {
+
+        private final String name;
+
+        private final long startNanos;
+
+        private boolean closed;
+
+        private Phase(final String name, final long startNanos) {
+            this.name = Objects.requireNonNull(name);
+            this.startNanos = startNanos;
+        }
+
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            record(StartupEvent.Type.PHASE, name, System.nanoTime() - startNanos);
+        }
+
+    }
+
+}
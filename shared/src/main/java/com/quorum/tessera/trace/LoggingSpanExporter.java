@@ -0,0 +1,33 @@
+package com.quorum.tessera.trace;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Writes finished spans to the {@code com.quorum.tessera.trace} logger at
+ * debug level, one line per span. Enabling that logger, optionally with its
+ * own file appender, gives a local record of traces without a collector.
+ */
+public class LoggingSpanExporter implements SpanExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger("com.quorum.tessera.trace");
+
+    @Override
+    public void export(final Span span) {
+        if (!LOGGER.isDebugEnabled()) {
+            return;
+        }
+
+        LOGGER.debug(
+            "trace={} span={} parent={} name=\"{}\" start={} duration={}us tags={}",
+            span.getContext().getTraceId(),
+            span.getContext().getSpanId(),
+            span.getParentSpanId(),
+            span.getName(),
+            span.getStartMillis(),
+            span.getDurationMicros(),
+            span.getTags()
+        );
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.quorum.tessera.trace;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A timed operation within a trace. Spans are started from the {@link Tracer}
+ * and are exported when closed, so they are best used in a try-with-resources
+ * block.
+ */
+public class Span implements AutoCloseable {
+
+    private final String name;
+
+    private final TraceContext context;
+
+    private final String parentSpanId;
+
+    private final Span previous;
+
+    private final boolean active;
+
+    private final long startMillis = System.currentTimeMillis();
+
+    private final long startNanos = System.nanoTime();
+
+    private final Map<String, String> tags = new LinkedHashMap<>();
+
+    private final AtomicBoolean finished = new AtomicBoolean();
+
+    private volatile long durationMicros = -1;
+
+    Span(final String name, final TraceContext context, final String parentSpanId, final Span previous, final boolean active) {
+        this.name = Objects.requireNonNull(name);
+        this.context = Objects.requireNonNull(context);
+        this.parentSpanId = parentSpanId;
+        this.previous = previous;
+        this.active = active;
+    }
+
+    /**
+     * Adds a piece of information about the operation, such as the peer called
+     *
+     * @return this span
+     */
+    public Span tag(final String key, final Object value) {
+        synchronized (tags) {
+            tags.put(key, String.valueOf(value));
+        }
+        return this;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public TraceContext getContext() {
+        return context;
+    }
+
+    /**
+     * @return the span id of the parent, which may be on another node, or
+     * null if this span started the trace
+     */
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public long getStartMillis() {
+        return startMillis;
+    }
+
+    /**
+     * @return how long the span took, or -1 if it hasn't finished
+     */
+    public long getDurationMicros() {
+        return durationMicros;
+    }
+
+    public Map<String, String> getTags() {
+        synchronized (tags) {
+            return Collections.unmodifiableMap(new LinkedHashMap<>(tags));
+        }
+    }
+
+    Span getPrevious() {
+        return previous;
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Finishes the span and exports it. Closing a span more than once has no
+     * further effect.
+     */
+    @Override
+    public void close() {
+        if (!finished.compareAndSet(false, true)) {
+            return;
+        }
+        durationMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+        Tracer.finish(this);
+    }
+
+}
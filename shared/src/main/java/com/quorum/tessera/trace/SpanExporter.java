@@ -0,0 +1,20 @@
+package com.quorum.tessera.trace;
+
+/**
+ * Receives spans as they finish, to send on to wherever traces are collected.
+ *
+ * An implementation can be provided using the {@link java.util.ServiceLoader}
+ * mechanism; if none is provided spans are written to the log by the
+ * {@link LoggingSpanExporter}.
+ */
+public interface SpanExporter {
+
+    /**
+     * Called on the thread that finished the span, so implementations should
+     * not block
+     *
+     * @param span the finished span
+     */
+    void export(Span span);
+
+}
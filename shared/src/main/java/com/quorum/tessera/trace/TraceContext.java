@@ -0,0 +1,91 @@
+package com.quorum.tessera.trace;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Identifies a span within a trace, and is passed between nodes in the
+ * W3C {@code traceparent} format so that spans on the receiving side are
+ * linked to the trace of the caller
+ */
+public final class TraceContext {
+
+    private static final Pattern TRACE_PARENT = Pattern.compile("00-([0-9a-f]{32})-([0-9a-f]{16})-[0-9a-f]{2}");
+
+    private final String traceId;
+
+    private final String spanId;
+
+    TraceContext(final String traceId, final String spanId) {
+        this.traceId = Objects.requireNonNull(traceId);
+        this.spanId = Objects.requireNonNull(spanId);
+    }
+
+    static TraceContext newTrace() {
+        return new TraceContext(randomHex(2), randomHex(1));
+    }
+
+    TraceContext newChild() {
+        return new TraceContext(traceId, randomHex(1));
+    }
+
+    /**
+     * @param traceParent the value of a {@code traceparent} header, may be null
+     * @return the context, or empty if the value is missing or malformed
+     */
+    public static Optional<TraceContext> parse(final String traceParent) {
+        if (traceParent == null) {
+            return Optional.empty();
+        }
+
+        final Matcher matcher = TRACE_PARENT.matcher(traceParent.trim());
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+
+        return Optional.of(new TraceContext(matcher.group(1), matcher.group(2)));
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String toTraceParent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    private static String randomHex(final int longs) {
+        final StringBuilder hex = new StringBuilder(longs * 16);
+        for (int i = 0; i < longs; i++) {
+            hex.append(String.format("%016x", ThreadLocalRandom.current().nextLong()));
+        }
+        return hex.toString();
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (!(o instanceof TraceContext)) {
+            return false;
+        }
+        final TraceContext that = (TraceContext) o;
+        return traceId.equals(that.traceId) && spanId.equals(that.spanId);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(traceId, spanId);
+    }
+
+    @Override
+    public String toString() {
+        return this.toTraceParent();
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.quorum.tessera.trace;
+
+import com.quorum.tessera.ServiceLoaderUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Starts spans and keeps track of the span that is currently in progress on
+ * each thread, so that spans started further down the call stack become its
+ * children without the context having to be passed around.
+ *
+ * Three kinds of span are started:
+ * - local spans, which become the current span until they are closed
+ * - server spans, which begin the work for a request from another process,
+ *   continuing the caller's trace if it sent one
+ * - client spans, which cover a call to another process and whose context
+ *   is sent along with the call, but which never become the current span
+ */
+public final class Tracer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Tracer.class);
+
+    /**
+     * The name of the header, or field, used to pass the trace context between processes
+     */
+    public static final String TRACE_PARENT = "traceparent";
+
+    private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+
+    private static volatile SpanExporter exporter
+        = ServiceLoaderUtil.load(SpanExporter.class).orElseGet(LoggingSpanExporter::new);
+
+    private Tracer() {
+    }
+
+    /**
+     * Starts a span as a child of the current span, or as the start of a new
+     * trace if there is no current span, and makes it the current span
+     */
+    public static Span startSpan(final String name) {
+        final Span parent = CURRENT.get();
+
+        final Span span;
+        if (parent == null) {
+            span = new Span(name, TraceContext.newTrace(), null, null, true);
+        } else {
+            span = new Span(name, parent.getContext().newChild(), parent.getContext().getSpanId(), parent, true);
+        }
+
+        CURRENT.set(span);
+        return span;
+    }
+
+    /**
+     * Starts a span for a request received from another process and makes it
+     * the current span, discarding anything left over on this thread from a
+     * previous request
+     *
+     * @param name the name of the span
+     * @param traceParent the trace context sent by the caller, may be null
+     */
+    public static Span startServerSpan(final String name, final String traceParent) {
+        final Span span = TraceContext.parse(traceParent)
+            .map(remote -> new Span(name, remote.newChild(), remote.getSpanId(), null, true))
+            .orElseGet(() -> new Span(name, TraceContext.newTrace(), null, null, true));
+
+        CURRENT.set(span);
+        return span;
+    }
+
+    /**
+     * Starts a span for a call to another process, as a child of the current
+     * span. The span does not become the current span, so it may be closed
+     * from any thread.
+     */
+    public static Span startClientSpan(final String name) {
+        final Span parent = CURRENT.get();
+
+        if (parent == null) {
+            return new Span(name, TraceContext.newTrace(), null, null, false);
+        }
+        return new Span(name, parent.getContext().newChild(), parent.getContext().getSpanId(), null, false);
+    }
+
+    /**
+     * @return the context of the current span in {@code traceparent} format,
+     * if there is a current span
+     */
+    public static Optional<String> currentTraceParent() {
+        return Optional.ofNullable(CURRENT.get()).map(Span::getContext).map(TraceContext::toTraceParent);
+    }
+
+    public static void setExporter(final SpanExporter spanExporter) {
+        exporter = Objects.requireNonNull(spanExporter);
+    }
+
+    static void finish(final Span span) {
+        if (span.isActive() && CURRENT.get() == span) {
+            if (span.getPrevious() == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(span.getPrevious());
+            }
+        }
+
+        try {
+            exporter.export(span);
+        } catch (final RuntimeException ex) {
+            LOGGER.debug("Unable to export span {}", span.getName(), ex);
+        }
+    }
+
+}
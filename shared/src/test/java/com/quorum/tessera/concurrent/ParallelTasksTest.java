@@ -0,0 +1,85 @@
+package com.quorum.tessera.concurrent;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ParallelTasksTest {
+
+    @Test
+    public void resultsAreInItemOrder() {
+        final List<Integer> items = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+
+        final List<String> results = ParallelTasks.map(items, 8, "test", i -> "item" + i);
+
+        assertThat(results).isEqualTo(items.stream().map(i -> "item" + i).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void tasksRunAtTheSameTime() {
+        final CountDownLatch allStarted = new CountDownLatch(3);
+
+        final List<Boolean> results = ParallelTasks.map(Arrays.asList(1, 2, 3), 3, "test", i -> {
+            allStarted.countDown();
+            try {
+                return allStarted.await(10, TimeUnit.SECONDS);
+            } catch (final InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+
+        assertThat(results).containsExactly(true, true, true);
+    }
+
+    @Test
+    public void noMoreThanMaxThreadsAreUsed() {
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger mostRunning = new AtomicInteger();
+
+        final List<Integer> items = IntStream.range(0, 20).boxed().collect(Collectors.toList());
+
+        ParallelTasks.map(items, 2, "test", i -> {
+            mostRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(5);
+            } catch (final InterruptedException ex) {
+                throw new IllegalStateException(ex);
+            }
+            return running.decrementAndGet();
+        });
+
+        assertThat(mostRunning.get()).isBetween(1, 2);
+    }
+
+    @Test
+    public void firstFailureIsThrown() {
+        final Throwable throwable = catchThrowable(() -> ParallelTasks.map(Arrays.asList(1, 2, 3), 3, "test", i -> {
+            if (i > 1) {
+                throw new IllegalArgumentException("bad item " + i);
+            }
+            return i;
+        }));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class).hasMessage("bad item 2");
+    }
+
+    @Test
+    public void singleItemRunsOnCallingThread() {
+        final Thread caller = Thread.currentThread();
+
+        final List<Thread> results = ParallelTasks.map(Collections.singletonList(1), 4, "test", i -> Thread.currentThread());
+
+        assertThat(results).containsExactly(caller);
+    }
+
+}
@@ -0,0 +1,90 @@
+package com.quorum.tessera.metrics;
+
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class HistogramTest {
+
+    private final Histogram histogram = new Histogram();
+
+    @Test
+    public void emptyHistogramReportsZero() {
+        final Histogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount()).isZero();
+        assertThat(snapshot.getSum()).isZero();
+        assertThat(snapshot.getMax()).isZero();
+        assertThat(snapshot.getValueAtQuantile(0.99)).isZero();
+    }
+
+    @Test
+    public void smallValuesAreExact() {
+        for (long i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        final Histogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount()).isEqualTo(10);
+        assertThat(snapshot.getSum()).isEqualTo(55);
+        assertThat(snapshot.getMax()).isEqualTo(10);
+        assertThat(snapshot.getValueAtQuantile(0.5)).isEqualTo(5);
+        assertThat(snapshot.getValueAtQuantile(0.9)).isEqualTo(9);
+        assertThat(snapshot.getValueAtQuantile(1.0)).isEqualTo(10);
+    }
+
+    @Test
+    public void largeValuesAreWithinBucketPrecision() {
+        for (long i = 1; i <= 100000; i++) {
+            histogram.record(i);
+        }
+
+        final Histogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getValueAtQuantile(0.5)).isBetween(50000L, 53125L);
+        assertThat(snapshot.getValueAtQuantile(0.99)).isBetween(99000L, 100000L);
+        assertThat(snapshot.getMax()).isEqualTo(100000);
+    }
+
+    @Test
+    public void negativeValuesAreRecordedAsZero() {
+        histogram.record(-5);
+
+        final Histogram.Snapshot snapshot = histogram.snapshot();
+
+        assertThat(snapshot.getCount()).isEqualTo(1);
+        assertThat(snapshot.getSum()).isZero();
+    }
+
+    @Test
+    public void maximumValueCanBeRecorded() {
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(histogram.snapshot().getValueAtQuantile(0.5)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void recordSinceRecordsMicroseconds() {
+        histogram.recordSince(System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertThat(histogram.snapshot().getMax()).isGreaterThanOrEqualTo(5000L);
+    }
+
+    @Test
+    public void everyValueFallsInsideItsBucket() {
+        final long[] values = {0, 15, 16, 17, 31, 32, 33, 1000, 123456789, Long.MAX_VALUE};
+
+        for (final long value : values) {
+            final int index = Histogram.bucketIndex(value);
+
+            assertThat(Histogram.highestValueIn(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(Histogram.highestValueIn(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+}
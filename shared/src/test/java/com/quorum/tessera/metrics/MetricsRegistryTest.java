@@ -0,0 +1,68 @@
+package com.quorum.tessera.metrics;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class MetricsRegistryTest {
+
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    @Test
+    public void sameNameReturnsSameMetric() {
+        assertThat(registry.counter("requests")).isSameAs(registry.counter("requests"));
+        assertThat(registry.histogram("latency")).isSameAs(registry.histogram("latency"));
+    }
+
+    @Test
+    public void countersAreReportedInNameOrder() {
+        registry.counter("second").add(2);
+        registry.counter("first").increment();
+
+        assertThat(registry.getCounters()).containsOnlyKeys("first", "second");
+        assertThat(registry.getCounters().firstKey()).isEqualTo("first");
+        assertThat(registry.getCounters().get("second").get()).isEqualTo(2);
+    }
+
+    @Test
+    public void gaugeIsReadWhenReported() {
+        final long[] value = {1};
+        registry.gauge("size", () -> value[0]);
+
+        value[0] = 5;
+
+        assertThat(registry.getGauges().get("size").get()).isEqualTo(5);
+    }
+
+    @Test
+    public void histogramsAreReported() {
+        registry.histogram("latency").record(10);
+
+        assertThat(registry.getHistograms()).containsOnlyKeys("latency");
+        assertThat(registry.getHistograms().get("latency").snapshot().getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void invalidNameIsRejected() {
+        final Throwable throwable = catchThrowable(() -> registry.counter("not valid"));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid metric name not valid");
+    }
+
+    @Test
+    public void labelledNameIsAccepted() {
+        final String name = MetricsRegistry.labelled("tessera_p2p_peer_requests_sent", "peer", "http://a:8080/\"");
+
+        registry.counter(name).increment();
+
+        assertThat(name).isEqualTo("tessera_p2p_peer_requests_sent{peer=\"http://a:8080/\\\"\"}");
+        assertThat(registry.getCounters()).containsOnlyKeys(name);
+    }
+
+    @Test
+    public void defaultRegistryIsShared() {
+        assertThat(MetricsRegistry.getDefault()).isSameAs(MetricsRegistry.getDefault());
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.quorum.tessera.startup;
+
+import com.quorum.tessera.metrics.MetricsRegistry;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StartupTimerTest {
+
+    private MetricsRegistry registry;
+
+    private StartupTimer timer;
+
+    @Before
+    public void onSetUp() {
+        this.registry = new MetricsRegistry();
+        this.timer = new StartupTimer(registry);
+    }
+
+    @Test
+    public void phaseIsRecordedWhenClosed() {
+        final StartupTimer.Phase phase = timer.phase("spring context");
+        assertThat(timer.getEvents()).isEmpty();
+
+        phase.close();
+        phase.close();
+
+        assertThat(timer.getEvents()).hasSize(1);
+        final StartupEvent event = timer.getEvents().get(0);
+        assertThat(event.getType()).isEqualTo(StartupEvent.Type.PHASE);
+        assertThat(event.getName()).isEqualTo("spring context");
+        assertThat(event.getDurationNanos()).isGreaterThanOrEqualTo(0L);
+        assertThat(registry.getGauges())
+            .containsKey(MetricsRegistry.labelled("tessera_startup_phase_milliseconds", "phase", "spring context"));
+    }
+
+    @Test
+    public void slowestEventsOfTypeAreReturnedFirst() {
+        timer.record(StartupEvent.Type.BEAN, "fast", TimeUnit.MILLISECONDS.toNanos(1));
+        timer.record(StartupEvent.Type.BEAN, "slow", TimeUnit.MILLISECONDS.toNanos(300));
+        timer.record(StartupEvent.Type.BEAN, "medium", TimeUnit.MILLISECONDS.toNanos(20));
+        timer.record(StartupEvent.Type.PHASE, "phase", TimeUnit.MILLISECONDS.toNanos(1000));
+
+        assertThat(timer.getSlowest(StartupEvent.Type.BEAN, 2))
+            .extracting(StartupEvent::getName)
+            .containsExactly("slow", "medium");
+        assertThat(timer.getSlowest(StartupEvent.Type.BEAN, 2).get(0).getDurationMillis()).isEqualTo(300L);
+        assertThat(timer.getSlowest(StartupEvent.Type.BEAN, 2).get(0)).hasToString("BEAN slow 300ms");
+    }
+
+    @Test
+    public void readyIsPublished() {
+        final long sinceStart = timer.ready();
+
+        assertThat(sinceStart).isGreaterThanOrEqualTo(0L);
+        assertThat(registry.getGauges().get("tessera_startup_ready_milliseconds").get()).isEqualTo(sinceStart);
+    }
+
+    @Test
+    public void defaultTimerIsShared() {
+        assertThat(StartupTimer.getDefault()).isSameAs(StartupTimer.getDefault());
+    }
+
+}
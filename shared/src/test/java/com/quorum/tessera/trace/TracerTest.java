@@ -0,0 +1,127 @@
+package com.quorum.tessera.trace;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TracerTest {
+
+    private final List<Span> exported = new ArrayList<>();
+
+    @Before
+    public void onSetUp() {
+        Tracer.setExporter(exported::add);
+    }
+
+    @After
+    public void onTearDown() {
+        Tracer.setExporter(new LoggingSpanExporter());
+        assertThat(Tracer.currentTraceParent()).isEmpty();
+    }
+
+    @Test
+    public void nestedSpansShareTrace() {
+        try (Span parent = Tracer.startSpan("parent")) {
+            try (Span child = Tracer.startSpan("child")) {
+                assertThat(child.getContext().getTraceId()).isEqualTo(parent.getContext().getTraceId());
+                assertThat(child.getParentSpanId()).isEqualTo(parent.getContext().getSpanId());
+                assertThat(Tracer.currentTraceParent()).contains(child.getContext().toTraceParent());
+            }
+            assertThat(Tracer.currentTraceParent()).contains(parent.getContext().toTraceParent());
+            assertThat(parent.getParentSpanId()).isNull();
+        }
+
+        assertThat(exported).extracting(Span::getName).containsExactly("child", "parent");
+    }
+
+    @Test
+    public void serverSpanContinuesRemoteTrace() {
+        final String traceParent = "00-0af7651916cd43dd8448eb211c80319c-b7ad6b7169203331-01";
+
+        try (Span span = Tracer.startServerSpan("POST /push", traceParent)) {
+            assertThat(span.getContext().getTraceId()).isEqualTo("0af7651916cd43dd8448eb211c80319c");
+            assertThat(span.getParentSpanId()).isEqualTo("b7ad6b7169203331");
+        }
+    }
+
+    @Test
+    public void serverSpanWithoutValidParentStartsNewTrace() {
+        try (Span span = Tracer.startServerSpan("POST /push", "garbage")) {
+            assertThat(span.getParentSpanId()).isNull();
+        }
+    }
+
+    @Test
+    public void serverSpanReplacesLeftoverSpan() {
+        final Span leftover = Tracer.startSpan("leftover");
+
+        try (Span span = Tracer.startServerSpan("GET /upcheck", null)) {
+            assertThat(span.getContext().getTraceId()).isNotEqualTo(leftover.getContext().getTraceId());
+        }
+    }
+
+    @Test
+    public void clientSpanIsNotMadeCurrent() {
+        try (Span parent = Tracer.startSpan("parent")) {
+            final Span client = Tracer.startClientSpan("POST /push");
+
+            assertThat(client.getParentSpanId()).isEqualTo(parent.getContext().getSpanId());
+            assertThat(Tracer.currentTraceParent()).contains(parent.getContext().toTraceParent());
+
+            client.close();
+            assertThat(Tracer.currentTraceParent()).contains(parent.getContext().toTraceParent());
+        }
+    }
+
+    @Test
+    public void clientSpanWithoutParentStartsNewTrace() {
+        final Span client = Tracer.startClientSpan("POST /push");
+        client.close();
+
+        assertThat(client.getParentSpanId()).isNull();
+        assertThat(exported).containsExactly(client);
+    }
+
+    @Test
+    public void closingTwiceExportsOnce() {
+        final Span span = Tracer.startSpan("span").tag("peer", "http://other");
+
+        span.close();
+        span.close();
+
+        assertThat(exported).containsExactly(span);
+        assertThat(span.getTags()).containsEntry("peer", "http://other");
+        assertThat(span.getDurationMicros()).isGreaterThanOrEqualTo(0L);
+    }
+
+    @Test
+    public void failingExporterDoesNotBreakCaller() {
+        Tracer.setExporter(span -> {
+            throw new IllegalStateException("unavailable");
+        });
+
+        Tracer.startSpan("span").close();
+    }
+
+    @Test
+    public void loggingExporterAcceptsSpans() {
+        Tracer.setExporter(new LoggingSpanExporter());
+
+        Tracer.startSpan("span").close();
+    }
+
+    @Test
+    public void traceParentRoundTrips() {
+        final TraceContext context = TraceContext.newTrace();
+
+        assertThat(TraceContext.parse(context.toTraceParent())).contains(context);
+        assertThat(TraceContext.parse(null)).isEmpty();
+        assertThat(context.toString()).isEqualTo(context.toTraceParent());
+    }
+
+}
@@ -13,4 +13,6 @@ public final class ApiPath {
 
     public static final String PUSH = "/push";
 
+    public static final String RESEND_STREAM = "/resendstream";
+
 }
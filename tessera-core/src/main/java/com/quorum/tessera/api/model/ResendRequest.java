@@ -10,12 +10,14 @@ import io.swagger.annotations.ApiModelProperty;
  *     <li>the public key who is a recipient</li>
  *     <li>the resend type, whether to send a single transaction or all transactions for the given key</li>
  *     <li>the transaction hash to resend in the case the resend type is for an individual transaction</li>
+ *     <li>the time from which to resend transactions in the case the resend type is since a given time</li>
+ *     <li>the hash of the last transaction already received at that time, when resuming a streamed resend</li>
  * </ul>
  */
 @ApiModel
 public class ResendRequest {
 
-    @ApiModelProperty("Resend type INDIVIDUAL or ALL, to resend a single or all transactions")
+    @ApiModelProperty("Resend type INDIVIDUAL, ALL or SINCE, to resend a single, all or recently stored transactions")
     private ResendRequestType type;
 
     @ApiModelProperty("The recipient public key to resend transactions for")
@@ -24,6 +26,13 @@ public class ResendRequest {
     @ApiModelProperty("Base64 encoded transaction hash")
     private String key;
 
+    @ApiModelProperty("Epoch milliseconds from which to resend transactions, when the type is SINCE")
+    private Long since;
+
+    @ApiModelProperty("Base64 encoded hash of the last transaction already received at the since time, "
+        + "when resuming a streamed resend")
+    private String afterKey;
+
     public ResendRequestType getType() {
         return type;
     }
@@ -48,4 +57,20 @@ public class ResendRequest {
         this.key = key;
     }
 
+    public Long getSince() {
+        return since;
+    }
+
+    public void setSince(final Long since) {
+        this.since = since;
+    }
+
+    public String getAfterKey() {
+        return afterKey;
+    }
+
+    public void setAfterKey(final String afterKey) {
+        this.afterKey = afterKey;
+    }
+
 }
@@ -9,8 +9,11 @@ import io.swagger.annotations.ApiModel;
  * <p>
  * INDIVIDUAL specifies to resend a single transaction (hash is provided) if
  * the given public key is a recipient
+ * <p>
+ * SINCE specifies to resend all transactions for a given recipient public key
+ * that were stored at or after the provided timestamp
  */
 @ApiModel
 public enum ResendRequestType {
-    ALL, INDIVIDUAL
+    ALL, INDIVIDUAL, SINCE
 }
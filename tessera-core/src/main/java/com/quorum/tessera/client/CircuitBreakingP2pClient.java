@@ -0,0 +1,79 @@
+package com.quorum.tessera.client;
+
+import com.quorum.tessera.api.model.ResendRequest;
+
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Records the outcome of every call in the {@link PeerHealthRegistry}, and
+ * fails calls to unavailable peers immediately with a
+ * {@link PeerUnavailableException} rather than waiting for them to time out.
+ *
+ * Calls that throw count as failures, as do pushes and party info requests
+ * that return nothing and resend requests that are not accepted. A stream
+ * resend that returns nothing is not a failure, as peers that do not serve
+ * streamed resends answer that way.
+ */
+public class CircuitBreakingP2pClient implements P2pClient {
+
+    private final P2pClient delegate;
+
+    private final PeerHealthRegistry peerHealthRegistry;
+
+    public CircuitBreakingP2pClient(final P2pClient delegate, final PeerHealthRegistry peerHealthRegistry) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.peerHealthRegistry = Objects.requireNonNull(peerHealthRegistry);
+    }
+
+    @Override
+    public byte[] push(final String targetUrl, final byte[] data) {
+        return this.call(targetUrl, () -> delegate.push(targetUrl, data), Objects::nonNull);
+    }
+
+    @Override
+    public byte[] getPartyInfo(final String targetUrl, final byte[] data) {
+        return this.call(targetUrl, () -> delegate.getPartyInfo(targetUrl, data), Objects::nonNull);
+    }
+
+    @Override
+    public boolean makeResendRequest(final String targetUrl, final ResendRequest request) {
+        return this.call(targetUrl, () -> delegate.makeResendRequest(targetUrl, request), Boolean::booleanValue);
+    }
+
+    @Override
+    public InputStream streamResend(final String targetUrl, final ResendRequest request) {
+        return this.call(targetUrl, () -> delegate.streamResend(targetUrl, request), stream -> true);
+    }
+
+    @Override
+    public boolean isAvailable(final String targetUrl) {
+        return peerHealthRegistry.isAvailable(targetUrl);
+    }
+
+    private <T> T call(final String targetUrl, final Supplier<T> request, final Predicate<T> isSuccess) {
+        final PeerHealth health = peerHealthRegistry.get(targetUrl);
+
+        if (!health.tryAcquire()) {
+            throw new PeerUnavailableException("Peer " + targetUrl + " is unavailable after repeated failures");
+        }
+
+        final long start = peerHealthRegistry.getClock().millis();
+        boolean succeeded = false;
+        try {
+            final T result = request.get();
+            succeeded = isSuccess.test(result);
+            return result;
+        } finally {
+            final long latency = peerHealthRegistry.getClock().millis() - start;
+            if (succeeded) {
+                health.recordSuccess(latency);
+            } else {
+                health.recordFailure(latency);
+            }
+        }
+    }
+
+}
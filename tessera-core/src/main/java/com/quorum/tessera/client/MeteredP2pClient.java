@@ -0,0 +1,77 @@
+package com.quorum.tessera.client;
+
+import com.quorum.tessera.api.model.ResendRequest;
+
+import java.io.InputStream;
+import java.util.Objects;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Records the requests, bytes and latency of every call to each peer in the
+ * {@link PeerTrafficRegistry}.
+ *
+ * Resend requests are counted without their size, which depends on how the
+ * delegate encodes them, and streamed resends are timed until the stream is
+ * opened.
+ */
+public class MeteredP2pClient implements P2pClient {
+
+    private final P2pClient delegate;
+
+    private final PeerTrafficRegistry peerTrafficRegistry;
+
+    public MeteredP2pClient(final P2pClient delegate, final PeerTrafficRegistry peerTrafficRegistry) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.peerTrafficRegistry = Objects.requireNonNull(peerTrafficRegistry);
+    }
+
+    @Override
+    public byte[] push(final String targetUrl, final byte[] data) {
+        return this.call(targetUrl, data.length, () -> delegate.push(targetUrl, data), MeteredP2pClient::length);
+    }
+
+    @Override
+    public byte[] getPartyInfo(final String targetUrl, final byte[] data) {
+        return this.call(targetUrl, data.length, () -> delegate.getPartyInfo(targetUrl, data), MeteredP2pClient::length);
+    }
+
+    @Override
+    public boolean makeResendRequest(final String targetUrl, final ResendRequest request) {
+        return this.call(targetUrl, 0, () -> delegate.makeResendRequest(targetUrl, request), r -> 0);
+    }
+
+    @Override
+    public InputStream streamResend(final String targetUrl, final ResendRequest request) {
+        return this.call(targetUrl, 0, () -> delegate.streamResend(targetUrl, request), r -> 0);
+    }
+
+    @Override
+    public boolean isAvailable(final String targetUrl) {
+        return delegate.isAvailable(targetUrl);
+    }
+
+    private <T> T call(final String targetUrl,
+                       final long sent,
+                       final Supplier<T> request,
+                       final ToLongFunction<T> received) {
+        final PeerTraffic traffic = peerTrafficRegistry.get(targetUrl);
+
+        final long start = System.nanoTime();
+        final T result;
+        try {
+            result = request.get();
+        } catch (final RuntimeException ex) {
+            traffic.recordFailedCall(sent, start);
+            throw ex;
+        }
+
+        traffic.recordCall(sent, received.applyAsLong(result), start);
+        return result;
+    }
+
+    private static long length(final byte[] data) {
+        return data == null ? 0 : data.length;
+    }
+
+}
@@ -2,6 +2,8 @@ package com.quorum.tessera.client;
 
 import com.quorum.tessera.api.model.ResendRequest;
 
+import java.io.InputStream;
+
 public interface P2pClient {
 
     byte[] push(String targetUrl, byte[] data);
@@ -9,5 +11,27 @@ public interface P2pClient {
     byte[] getPartyInfo(String targetUrl, byte[] data);
 
     boolean makeResendRequest(String targetUrl, ResendRequest request);
- 
+
+    /**
+     * Asks the target node to stream back the transactions for the requested key
+     *
+     * @param targetUrl the node to request from
+     * @param request the key to resend for and where to start from
+     * @return the open stream, which the caller must close, or null if the
+     * node doesn't support or didn't accept the request
+     * @see com.quorum.tessera.sync.ResendStreamReader
+     */
+    InputStream streamResend(String targetUrl, ResendRequest request);
+
+    /**
+     * Whether the target node is expected to accept calls now. Callers may use
+     * this to defer work for a node that has recently kept failing.
+     *
+     * @param targetUrl the node to check
+     * @return false if calls to the node are currently being refused
+     */
+    default boolean isAvailable(String targetUrl) {
+        return true;
+    }
+
 }
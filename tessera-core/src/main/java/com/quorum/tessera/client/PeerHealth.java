@@ -0,0 +1,147 @@
+package com.quorum.tessera.client;
+
+import java.time.Clock;
+
+/**
+ * The health of calls to a single peer, acting as a circuit breaker.
+ *
+ * While closed, all calls are let through. After a number of consecutive
+ * failures the circuit opens and calls fail immediately. Once the open duration
+ * has passed a single probe call is let through (half open): if it succeeds the
+ * circuit closes again, otherwise it re-opens.
+ *
+ * A rolling error rate and latency are kept as exponentially weighted averages
+ * of recent calls, for reporting.
+ */
+public class PeerHealth {
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * The weight given to the latest call in the rolling averages
+     */
+    static final double SMOOTHING = 0.2;
+
+    private final String url;
+
+    private final int failureThreshold;
+
+    private final long openDurationMillis;
+
+    private final Clock clock;
+
+    private State state = State.CLOSED;
+
+    private int consecutiveFailures;
+
+    private long openedAt;
+
+    private double errorRate;
+
+    private double averageLatencyMillis;
+
+    private long lastSuccess;
+
+    private long lastFailure;
+
+    PeerHealth(final String url, final int failureThreshold, final long openDurationMillis, final Clock clock) {
+        this.url = url;
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.clock = clock;
+    }
+
+    /**
+     * Checks whether a call may be made to the peer now. If the circuit has
+     * been open long enough the caller is granted the single probe call, and
+     * must report its outcome.
+     *
+     * @return whether the call may go ahead
+     */
+    synchronized boolean tryAcquire() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                if (clock.millis() - openedAt < openDurationMillis) {
+                    return false;
+                }
+                this.state = State.HALF_OPEN;
+                return true;
+            default:
+                //a probe is already in flight
+                return false;
+        }
+    }
+
+    synchronized void recordSuccess(final long latencyMillis) {
+        this.updateAverages(0, latencyMillis);
+        this.consecutiveFailures = 0;
+        this.lastSuccess = clock.millis();
+        this.state = State.CLOSED;
+    }
+
+    synchronized void recordFailure(final long latencyMillis) {
+        this.updateAverages(1, latencyMillis);
+        this.consecutiveFailures++;
+        this.lastFailure = clock.millis();
+
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            this.state = State.OPEN;
+            this.openedAt = lastFailure;
+        }
+    }
+
+    private void updateAverages(final double error, final long latencyMillis) {
+        this.errorRate += SMOOTHING * (error - errorRate);
+        this.averageLatencyMillis += SMOOTHING * (latencyMillis - averageLatencyMillis);
+    }
+
+    /**
+     * Whether a call to the peer would be let through now, without claiming
+     * the probe call of an open circuit
+     *
+     * @return whether the peer can be called
+     */
+    public synchronized boolean isAvailable() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                return clock.millis() - openedAt >= openDurationMillis;
+            default:
+                return false;
+        }
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public synchronized int getConsecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public synchronized double getErrorRate() {
+        return errorRate;
+    }
+
+    public synchronized double getAverageLatencyMillis() {
+        return averageLatencyMillis;
+    }
+
+    public synchronized long getLastSuccess() {
+        return lastSuccess;
+    }
+
+    public synchronized long getLastFailure() {
+        return lastFailure;
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.quorum.tessera.client;
+
+import com.quorum.tessera.config.PeerHealthConfig;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps track of the {@link PeerHealth} of every peer that has been called,
+ * shared between everything that calls other nodes
+ */
+public class PeerHealthRegistry {
+
+    private final ConcurrentMap<String, PeerHealth> peers = new ConcurrentHashMap<>();
+
+    private final int failureThreshold;
+
+    private final long openDurationMillis;
+
+    private final Clock clock;
+
+    PeerHealthRegistry(final int failureThreshold, final long openDurationMillis, final Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDurationMillis;
+        this.clock = clock;
+    }
+
+    public PeerHealthRegistry(final PeerHealthConfig config) {
+        this(config.getFailureThreshold(), config.getOpenDurationInMillis(), Clock.systemUTC());
+    }
+
+    public PeerHealthRegistry() {
+        this(new PeerHealthConfig());
+    }
+
+    PeerHealth get(final String url) {
+        return peers.computeIfAbsent(url, u -> new PeerHealth(u, failureThreshold, openDurationMillis, clock));
+    }
+
+    Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Whether the given peer can be called now. Peers that have not been
+     * called before are always available.
+     *
+     * @param url the peer to check
+     * @return whether calls to the peer would be let through
+     */
+    public boolean isAvailable(final String url) {
+        final PeerHealth health = peers.get(url);
+        return health == null || health.isAvailable();
+    }
+
+    public List<PeerHealth> getPeers() {
+        return new ArrayList<>(peers.values());
+    }
+
+}
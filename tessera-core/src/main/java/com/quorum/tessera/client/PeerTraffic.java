@@ -0,0 +1,122 @@
+package com.quorum.tessera.client;
+
+import com.quorum.tessera.metrics.Counter;
+import com.quorum.tessera.metrics.Histogram;
+import com.quorum.tessera.metrics.MetricsRegistry;
+
+/**
+ * The traffic exchanged with one peer, both calls made to it and requests
+ * served for it.
+ *
+ * The counts are held in the {@link MetricsRegistry}, labelled with the peer,
+ * so they are reported along with every other metric.
+ */
+public class PeerTraffic {
+
+    private final String url;
+
+    private final Counter requestsSent;
+
+    private final Counter requestsReceived;
+
+    private final Counter errors;
+
+    private final Counter bytesSent;
+
+    private final Counter bytesReceived;
+
+    private final Histogram callLatency;
+
+    private final Histogram serveLatency;
+
+    PeerTraffic(final String url, final MetricsRegistry registry) {
+        this.url = url;
+        this.requestsSent = registry.counter(MetricsRegistry.labelled("tessera_p2p_peer_requests_sent", "peer", url));
+        this.requestsReceived
+            = registry.counter(MetricsRegistry.labelled("tessera_p2p_peer_requests_received", "peer", url));
+        this.errors = registry.counter(MetricsRegistry.labelled("tessera_p2p_peer_errors", "peer", url));
+        this.bytesSent = registry.counter(MetricsRegistry.labelled("tessera_p2p_peer_bytes_sent", "peer", url));
+        this.bytesReceived = registry.counter(MetricsRegistry.labelled("tessera_p2p_peer_bytes_received", "peer", url));
+        this.callLatency
+            = registry.histogram(MetricsRegistry.labelled("tessera_p2p_peer_call_microseconds", "peer", url));
+        this.serveLatency
+            = registry.histogram(MetricsRegistry.labelled("tessera_p2p_peer_serve_microseconds", "peer", url));
+    }
+
+    /**
+     * Records a call made to the peer that it answered
+     *
+     * @param sent the bytes sent in the request
+     * @param received the bytes received in the response
+     * @param startNanos when the call was started, from {@link System#nanoTime()}
+     */
+    public void recordCall(final long sent, final long received, final long startNanos) {
+        requestsSent.increment();
+        bytesSent.add(sent);
+        bytesReceived.add(received);
+        callLatency.recordSince(startNanos);
+    }
+
+    /**
+     * Records a call made to the peer that failed to get an answer
+     */
+    public void recordFailedCall(final long sent, final long startNanos) {
+        requestsSent.increment();
+        errors.increment();
+        bytesSent.add(sent);
+        callLatency.recordSince(startNanos);
+    }
+
+    /**
+     * Records a request from the peer that this node served
+     *
+     * @param received the bytes received in the request
+     * @param sent the bytes sent in the response
+     * @param startNanos when the request was received, from {@link System#nanoTime()}
+     */
+    public void recordServed(final long received, final long sent, final long startNanos) {
+        requestsReceived.increment();
+        bytesReceived.add(received);
+        bytesSent.add(sent);
+        serveLatency.recordSince(startNanos);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public long getRequestsSent() {
+        return requestsSent.get();
+    }
+
+    public long getRequestsReceived() {
+        return requestsReceived.get();
+    }
+
+    public long getErrors() {
+        return errors.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getBytesReceived() {
+        return bytesReceived.get();
+    }
+
+    /**
+     * @return how long calls to the peer took to be answered
+     */
+    public Histogram.Snapshot getCallLatency() {
+        return callLatency.snapshot();
+    }
+
+    /**
+     * @return how long requests from the peer took to serve
+     */
+    public Histogram.Snapshot getServeLatency() {
+        return serveLatency.snapshot();
+    }
+
+}
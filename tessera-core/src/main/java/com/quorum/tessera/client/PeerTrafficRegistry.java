@@ -0,0 +1,37 @@
+package com.quorum.tessera.client;
+
+import com.quorum.tessera.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps track of the {@link PeerTraffic} of every peer this node has called
+ * or served, shared between everything that talks to other nodes
+ */
+public class PeerTrafficRegistry {
+
+    private final ConcurrentMap<String, PeerTraffic> peers = new ConcurrentHashMap<>();
+
+    private final MetricsRegistry metricsRegistry;
+
+    public PeerTrafficRegistry(final MetricsRegistry metricsRegistry) {
+        this.metricsRegistry = Objects.requireNonNull(metricsRegistry);
+    }
+
+    public PeerTrafficRegistry() {
+        this(MetricsRegistry.getDefault());
+    }
+
+    public PeerTraffic get(final String url) {
+        return peers.computeIfAbsent(url, u -> new PeerTraffic(u, metricsRegistry));
+    }
+
+    public List<PeerTraffic> getPeers() {
+        return new ArrayList<>(peers.values());
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.quorum.tessera.client;
+
+import com.quorum.tessera.exception.TesseraException;
+
+/**
+ * Thrown instead of calling a peer whose recent calls have kept failing
+ */
+public class PeerUnavailableException extends TesseraException {
+
+    public PeerUnavailableException(final String message) {
+        super(message);
+    }
+
+}
@@ -1,7 +1,6 @@
 package com.quorum.tessera.enclave.model;
 
 import javax.persistence.Embeddable;
-import javax.persistence.Lob;
 import java.io.Serializable;
 import java.util.Arrays;
 import java.util.Base64;
@@ -9,7 +8,10 @@ import java.util.Base64;
 @Embeddable
 public class MessageHash implements Serializable {
 
-    @Lob
+    /**
+     * Mapped as a fixed width binary column by the owning entities,
+     * since a SHA3-512 digest is always 64 bytes
+     */
     private byte[] hashBytes;
 
     public MessageHash() {
@@ -1,6 +1,10 @@
 package com.quorum.tessera.node;
 
 import com.quorum.tessera.client.P2pClient;
+import com.quorum.tessera.client.PeerUnavailableException;
+import com.quorum.tessera.metrics.Counter;
+import com.quorum.tessera.metrics.Histogram;
+import com.quorum.tessera.metrics.MetricsRegistry;
 import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.node.model.PartyInfo;
 import org.slf4j.Logger;
@@ -23,6 +27,10 @@ public class PartyInfoPoller implements Runnable {
 
     private final P2pClient p2pClient;
 
+    private final Histogram pollTimer = MetricsRegistry.getDefault().histogram("tessera_partyinfo_poll_microseconds");
+
+    private final Counter pollFailures = MetricsRegistry.getDefault().counter("tessera_partyinfo_poll_failures");
+
     public PartyInfoPoller(final PartyInfoService partyInfoService,
                            final PartyInfoParser partyInfoParser,
                            final P2pClient p2pClient) {
@@ -42,6 +50,8 @@ public class PartyInfoPoller implements Runnable {
     public void run() {
         LOGGER.debug("Polling {}", getClass().getSimpleName());
 
+        final long start = System.nanoTime();
+
         final PartyInfo partyInfo = partyInfoService.getPartyInfo();
 
         final byte[] encodedPartyInfo = partyInfoParser.to(partyInfo);
@@ -56,12 +66,15 @@ public class PartyInfoPoller implements Runnable {
             .map(partyInfoParser::from)
             .forEach(partyInfoService::updatePartyInfo);
 
+        pollTimer.recordSince(start);
+
         LOGGER.debug("Polled {}. PartyInfo : {}", getClass().getSimpleName(), partyInfo);
     }
 
     /**
      * Sends a request for node information to a single target If it cannot
-     * connect to the target, it returns null, otherwise throws any exception
+     * connect to the target, or the target is currently unavailable after
+     * repeated failures, it returns null, otherwise throws any exception
      * that can be thrown from {@link javax.ws.rs.client.Client}
      *
      * @param url              the target URL to call
@@ -73,11 +86,16 @@ public class PartyInfoPoller implements Runnable {
 
         try {
             return p2pClient.getPartyInfo(url, encodedPartyInfo);
+        } catch (final PeerUnavailableException ex) {
+            LOGGER.debug("Skipping unavailable party {}", url);
+            pollFailures.increment();
+            return null;
         } catch (final Exception ex) {
 
             if (ConnectException.class.isInstance(ex.getCause())) {
                 LOGGER.warn("Server error {} when connecting to {}", ex.getMessage(), url);
                 LOGGER.debug(null, ex);
+                pollFailures.increment();
                 return null;
             } else {
                 LOGGER.error("Error thrown while executing poller. ", ex);
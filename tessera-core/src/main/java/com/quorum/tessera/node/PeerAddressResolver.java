@@ -0,0 +1,135 @@
+package com.quorum.tessera.node;
+
+import com.quorum.tessera.node.model.Party;
+import com.quorum.tessera.node.model.PartyInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.InetAddress;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.net.UnknownHostException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Finds which known party a request came from by the address it was received
+ * from, so that requests served for a peer can be counted against the same
+ * URL as the calls made to it.
+ *
+ * The addresses of the parties are looked up when run, rather than when a
+ * request arrives: whenever the parties change, and again every so often in
+ * case a party has moved to a new address. An address shared by more than
+ * one party doesn't identify any of them.
+ */
+public class PeerAddressResolver implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PeerAddressResolver.class);
+
+    private static final long REFRESH_NANOS = TimeUnit.MINUTES.toNanos(5);
+
+    private final PartyInfoService partyInfoService;
+
+    private final LongSupplier nanoClock;
+
+    private volatile Map<String, String> urlsByAddress = Collections.emptyMap();
+
+    private Set<String> resolvedUrls = Collections.emptySet();
+
+    private long resolvedAt;
+
+    public PeerAddressResolver(final PartyInfoService partyInfoService) {
+        this(partyInfoService, System::nanoTime);
+    }
+
+    PeerAddressResolver(final PartyInfoService partyInfoService, final LongSupplier nanoClock) {
+        this.partyInfoService = Objects.requireNonNull(partyInfoService);
+        this.nanoClock = Objects.requireNonNull(nanoClock);
+    }
+
+    /**
+     * Looks up the addresses of the known parties again if the parties have
+     * changed, or if they haven't been looked up for a while
+     */
+    @Override
+    public synchronized void run() {
+        final PartyInfo partyInfo = partyInfoService.getPartyInfo();
+
+        final Set<String> urls = partyInfo.getParties()
+            .stream()
+            .map(Party::getUrl)
+            .filter(url -> !url.equals(partyInfo.getUrl()))
+            .collect(Collectors.toSet());
+
+        final long now = nanoClock.getAsLong();
+        if (urls.equals(resolvedUrls) && now - resolvedAt < REFRESH_NANOS) {
+            return;
+        }
+
+        final Map<String, String> resolved = new HashMap<>();
+        final Set<String> shared = new HashSet<>();
+        for (final String url : urls) {
+            for (final String address : addressesOf(url)) {
+                final String previous = resolved.putIfAbsent(address, url);
+                if (previous != null && !previous.equals(url)) {
+                    shared.add(address);
+                }
+            }
+        }
+        shared.forEach(resolved::remove);
+
+        this.urlsByAddress = Collections.unmodifiableMap(resolved);
+        this.resolvedUrls = urls;
+        this.resolvedAt = now;
+
+        LOGGER.debug("Resolved {} addresses of {} parties", resolved.size(), urls.size());
+    }
+
+    /**
+     * @param remoteAddress the IP address a request was received from
+     * @param remoteHost the host name a request was received from, which may be the same as its address
+     * @return the URL of the party at the address, if there is exactly one
+     */
+    public Optional<String> urlAt(final String remoteAddress, final String remoteHost) {
+        final Map<String, String> urls = this.urlsByAddress;
+
+        final String url = urls.get(remoteAddress);
+        if (url != null || remoteHost == null) {
+            return Optional.ofNullable(url);
+        }
+
+        return Optional.ofNullable(urls.get(remoteHost));
+    }
+
+    private static Set<String> addressesOf(final String url) {
+        final String host;
+        try {
+            host = new URL(url).getHost();
+        } catch (final MalformedURLException ex) {
+            LOGGER.debug(null, ex);
+            return Collections.emptySet();
+        }
+
+        final Set<String> addresses = new HashSet<>();
+        addresses.add(host);
+
+        try {
+            for (final InetAddress address : InetAddress.getAllByName(host)) {
+                addresses.add(address.getHostAddress());
+            }
+        } catch (final UnknownHostException ex) {
+            LOGGER.debug("Unable to resolve the address of {}", url, ex);
+        }
+
+        return addresses;
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.quorum.tessera.storage;
+
+import com.quorum.tessera.exception.TesseraException;
+
+/**
+ * Thrown when content expected to be in a {@link BlobStore} is missing
+ */
+public class BlobNotFoundException extends TesseraException {
+
+    public BlobNotFoundException(final String message) {
+        super(message);
+    }
+
+}
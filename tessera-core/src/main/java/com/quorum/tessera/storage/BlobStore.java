@@ -0,0 +1,60 @@
+package com.quorum.tessera.storage;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A content addressed store for large binary objects, kept outside of the
+ * transaction database so that rows stay small
+ */
+public interface BlobStore {
+
+    /**
+     * Stores the given content, returning the address it can be retrieved
+     * from. Storing the same content more than once returns the same address
+     * and only keeps a single copy, which counts as stored again.
+     *
+     * @param content the content to store
+     * @return the address of the content, derived from the content itself
+     */
+    String put(byte[] content);
+
+    /**
+     * Retrieves the content stored at the given address as a read-only buffer,
+     * which may be backed directly by the underlying storage
+     *
+     * @param address the address returned when the content was stored
+     * @return the stored content, or empty if nothing is stored at the address
+     */
+    Optional<ByteBuffer> get(String address);
+
+    /**
+     * Removes the content stored at the given address
+     *
+     * @param address the address of the content to remove
+     * @return whether content was present at the address
+     */
+    boolean delete(String address);
+
+    /**
+     * Removes the content stored at the given address, unless it has been
+     * stored again since the given time. Storing the same content at the same
+     * time waits until the removal is done, and stores it again if it was
+     * removed.
+     *
+     * @param address the address of the content to remove
+     * @param timestamp the time in milliseconds before which the content must have last been stored
+     * @return whether content was removed
+     */
+    boolean deleteIfStoredBefore(String address, long timestamp);
+
+    /**
+     * Lists the content that was last stored before the given time
+     *
+     * @param timestamp the time in milliseconds before which content was stored
+     * @return the addresses of the content
+     */
+    List<String> addressesStoredBefore(long timestamp);
+
+}
@@ -0,0 +1,33 @@
+package com.quorum.tessera.storage;
+
+import java.util.Arrays;
+
+/**
+ * Wraps a byte array so that it can be used as a key in hash based collections
+ */
+final class ByteArrayKey {
+
+    private final byte[] bytes;
+
+    private final int hashCode;
+
+    ByteArrayKey(final byte[] bytes) {
+        this.bytes = bytes;
+        this.hashCode = Arrays.hashCode(bytes);
+    }
+
+    byte[] getBytes() {
+        return Arrays.copyOf(bytes, bytes.length);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        return (obj instanceof ByteArrayKey) && Arrays.equals(bytes, ((ByteArrayKey) obj).bytes);
+    }
+
+}
@@ -0,0 +1,163 @@
+package com.quorum.tessera.storage;
+
+import com.quorum.tessera.io.IOCallback;
+import org.bouncycastle.jcajce.provider.digest.SHA256;
+import org.bouncycastle.util.encoders.Hex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A {@link BlobStore} that keeps each blob in its own file, named after the
+ * SHA-256 digest of its content and spread over subdirectories by the first
+ * two characters of the digest.
+ *
+ * Blobs are written to a temporary file and moved into place, so a blob is
+ * either fully present or absent. Reads memory map the file. The modified
+ * time of the file is when the blob was last stored.
+ *
+ * Storing and removing the same blob are done under a shared lock, so that
+ * a blob being stored again can't be removed part way through.
+ */
+public class FileBlobStore implements BlobStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileBlobStore.class);
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private static final Pattern ADDRESS = Pattern.compile("[0-9a-f]{64}");
+
+    private static final int LOCK_STRIPES = 64;
+
+    private final Path directory;
+
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public FileBlobStore(final Path directory) {
+        this.directory = Objects.requireNonNull(directory);
+        IOCallback.execute(() -> Files.createDirectories(directory));
+
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public String put(final byte[] content) {
+        final String address = address(content);
+        final Path target = this.resolve(address);
+
+        synchronized (this.lockFor(address)) {
+            this.write(address, target, content);
+        }
+
+        return address;
+    }
+
+    private void write(final String address, final Path target, final byte[] content) {
+        if (Files.exists(target)) {
+            IOCallback.execute(() -> Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis())));
+            LOGGER.debug("Blob {} already stored", address);
+            return;
+        }
+
+        IOCallback.execute(() -> {
+            Files.createDirectories(target.getParent());
+
+            final Path temp = Files.createTempFile(target.getParent(), address, TEMP_SUFFIX);
+            try {
+                Files.write(temp, content);
+                return Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        });
+
+        LOGGER.debug("Stored blob {} of {} bytes", address, content.length);
+    }
+
+    @Override
+    public Optional<ByteBuffer> get(final String address) {
+        final Path path = this.resolve(address);
+
+        if (!Files.exists(path)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(IOCallback.execute(() -> {
+            // the mapping remains valid after the file is closed
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "r")) {
+                return file.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, file.length());
+            }
+        }));
+    }
+
+    @Override
+    public boolean delete(final String address) {
+        final Path path = this.resolve(address);
+
+        synchronized (this.lockFor(address)) {
+            return IOCallback.execute(() -> Files.deleteIfExists(path));
+        }
+    }
+
+    @Override
+    public boolean deleteIfStoredBefore(final String address, final long timestamp) {
+        final Path path = this.resolve(address);
+
+        synchronized (this.lockFor(address)) {
+            if (!Files.exists(path)) {
+                return false;
+            }
+
+            if (IOCallback.execute(() -> Files.getLastModifiedTime(path)).toMillis() >= timestamp) {
+                LOGGER.debug("Blob {} was stored again, not removing it", address);
+                return false;
+            }
+
+            return IOCallback.execute(() -> Files.deleteIfExists(path));
+        }
+    }
+
+    @Override
+    public List<String> addressesStoredBefore(final long timestamp) {
+        return IOCallback.execute(() -> {
+            try (Stream<Path> files = Files.walk(directory, 2)) {
+                return files
+                    .filter(path -> ADDRESS.matcher(path.getFileName().toString()).matches())
+                    .filter(path -> IOCallback.execute(() -> Files.getLastModifiedTime(path)).toMillis() < timestamp)
+                    .map(path -> path.getFileName().toString())
+                    .collect(Collectors.toList());
+            }
+        });
+    }
+
+    private Object lockFor(final String address) {
+        return locks[Integer.parseInt(address.substring(0, 2), 16) % locks.length];
+    }
+
+    private Path resolve(final String address) {
+        if (!ADDRESS.matcher(address).matches()) {
+            throw new IllegalArgumentException("Invalid blob address " + address);
+        }
+        return directory.resolve(address.substring(0, 2)).resolve(address);
+    }
+
+    private static String address(final byte[] content) {
+        return Hex.toHexString(new SHA256.Digest().digest(content));
+    }
+
+}
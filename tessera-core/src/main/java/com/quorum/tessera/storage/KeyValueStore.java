@@ -0,0 +1,79 @@
+package com.quorum.tessera.storage;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+
+/**
+ * A durable map of binary keys to binary values that the transaction DAOs
+ * can be backed by instead of a relational database
+ */
+public interface KeyValueStore extends AutoCloseable {
+
+    /**
+     * Stores a value against the given key, replacing any existing value.
+     * Returns once the value has been durably written.
+     *
+     * @param key   the key to store the value against
+     * @param value the value to store
+     */
+    void put(byte[] key, byte[] value);
+
+    /**
+     * Stores a value against the given key, unless a value is already stored
+     * against it. Returns once the value has been durably written.
+     *
+     * @param key   the key to store the value against
+     * @param value the value to store
+     * @return whether the value was stored
+     */
+    boolean putIfAbsent(byte[] key, byte[] value);
+
+    /**
+     * Stores each value against its key, unless a value is already stored
+     * against it. The values are written together, and this returns once all
+     * of them have been durably written.
+     *
+     * @param keys   the keys to store the values against
+     * @param values the values to store, in the same order as their keys
+     * @return whether each value was stored, in the same order as the keys
+     */
+    boolean[] putAllIfAbsent(List<byte[]> keys, List<byte[]> values);
+
+    /**
+     * Retrieves the value stored against the given key
+     *
+     * @param key the key to look up
+     * @return the stored value, or empty if no value exists for the key
+     */
+    Optional<byte[]> get(byte[] key);
+
+    /**
+     * Removes the value stored against the given key.
+     * Returns once the removal has been durably written.
+     *
+     * @param key the key to remove
+     * @return whether a value was present for the key
+     */
+    boolean delete(byte[] key);
+
+    /**
+     * Performs the given action for each key and value present in the store
+     *
+     * @param action the action to perform on each entry
+     */
+    void forEach(BiConsumer<byte[], byte[]> action);
+
+    /**
+     * Performs the given action for each key present in the store, passing
+     * only the start of its value so that the rest need not be read
+     *
+     * @param prefixLength the maximum number of bytes of each value to read
+     * @param action the action to perform on each key and the start of its value
+     */
+    void forEachPrefix(int prefixLength, BiConsumer<byte[], byte[]> action);
+
+    @Override
+    void close();
+
+}
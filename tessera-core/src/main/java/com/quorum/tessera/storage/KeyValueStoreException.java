@@ -0,0 +1,18 @@
+package com.quorum.tessera.storage;
+
+import com.quorum.tessera.exception.TesseraException;
+
+/**
+ * Thrown when a {@link KeyValueStore} operation could not be completed
+ */
+public class KeyValueStoreException extends TesseraException {
+
+    public KeyValueStoreException(final String message) {
+        super(message);
+    }
+
+    public KeyValueStoreException(final Throwable cause) {
+        super(cause);
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.quorum.tessera.storage;
+
+/**
+ * The position of a single record within a {@link Segment}
+ */
+class Location {
+
+    private final Segment segment;
+
+    private final int offset;
+
+    private final long sequence;
+
+    private final int keyLength;
+
+    private final int valueLength;
+
+    Location(final Segment segment, final int offset, final long sequence, final int keyLength, final int valueLength) {
+        this.segment = segment;
+        this.offset = offset;
+        this.sequence = sequence;
+        this.keyLength = keyLength;
+        this.valueLength = valueLength;
+    }
+
+    Segment getSegment() {
+        return segment;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    long getSequence() {
+        return sequence;
+    }
+
+    int getKeyLength() {
+        return keyLength;
+    }
+
+    int getValueLength() {
+        return valueLength;
+    }
+
+    boolean isTombstone() {
+        return valueLength == Segment.TOMBSTONE;
+    }
+
+    int getRecordSize() {
+        return Segment.HEADER_SIZE + keyLength + Math.max(valueLength, 0);
+    }
+
+    byte[] readValue() {
+        return this.readValue(valueLength);
+    }
+
+    byte[] readValue(final int maxLength) {
+        return segment.read(offset + Segment.HEADER_SIZE + keyLength, Math.min(maxLength, valueLength));
+    }
+
+}
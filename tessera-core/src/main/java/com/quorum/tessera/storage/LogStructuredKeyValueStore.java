@@ -0,0 +1,397 @@
+package com.quorum.tessera.storage;
+
+import com.quorum.tessera.io.IOCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An embedded {@link KeyValueStore} that appends every write to a log of
+ * memory mapped segment files and keeps an in-memory index of where the
+ * latest record for each key lives.
+ *
+ * Writes are handed to a single writer thread which appends all pending
+ * writes and then flushes them to disk together (group commit), so callers
+ * share the cost of a sync. Reads go straight to the mapped segments.
+ *
+ * Segments that are no longer being written to are compacted in the
+ * background once the proportion of superseded records passes the
+ * configured threshold. The index is rebuilt from the segments on startup.
+ */
+public class LogStructuredKeyValueStore implements KeyValueStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(LogStructuredKeyValueStore.class);
+
+    private static final int MAX_BATCH_SIZE = 1000;
+
+    private static final long COMPACTION_INTERVAL_SECONDS = 60;
+
+    private final Path directory;
+
+    private final int segmentSize;
+
+    private final int compactionThreshold;
+
+    private final ConcurrentMap<ByteArrayKey, Location> index = new ConcurrentHashMap<>();
+
+    private final ConcurrentNavigableMap<Long, Segment> segments = new ConcurrentSkipListMap<>();
+
+    private final BlockingQueue<PendingWrite> pendingWrites = new LinkedBlockingQueue<>();
+
+    private final AtomicLong nextSegmentId = new AtomicLong();
+
+    private final ExecutorService writer = Executors.newSingleThreadExecutor();
+
+    private final ScheduledExecutorService compactor = Executors.newSingleThreadScheduledExecutor();
+
+    private long sequence;
+
+    private Segment active;
+
+    private volatile boolean open = true;
+
+    public LogStructuredKeyValueStore(final Path directory, final int segmentSize, final int compactionThreshold) {
+        this.directory = Objects.requireNonNull(directory);
+        this.segmentSize = segmentSize;
+        this.compactionThreshold = compactionThreshold;
+
+        IOCallback.execute(() -> Files.createDirectories(directory));
+        this.recover();
+
+        this.active = this.newSegment(segmentSize);
+
+        this.writer.submit(this::writeLoop);
+        this.compactor.scheduleWithFixedDelay(
+            this::compactSafely, COMPACTION_INTERVAL_SECONDS, COMPACTION_INTERVAL_SECONDS, TimeUnit.SECONDS
+        );
+    }
+
+    @Override
+    public void put(final byte[] key, final byte[] value) {
+        Objects.requireNonNull(value);
+        this.submit(new PendingWrite(key.clone(), value, false));
+    }
+
+    /**
+     * The check for an existing value is made by the writer thread, so a
+     * value put by a write earlier in the same batch is seen
+     */
+    @Override
+    public boolean putIfAbsent(final byte[] key, final byte[] value) {
+        Objects.requireNonNull(value);
+        return this.submit(new PendingWrite(key.clone(), value, true));
+    }
+
+    /**
+     * All of the writes are queued before waiting for any of them, so they
+     * are committed in the same batch unless the batch fills up
+     */
+    @Override
+    public boolean[] putAllIfAbsent(final List<byte[]> keys, final List<byte[]> values) {
+        if (keys.size() != values.size()) {
+            throw new IllegalArgumentException("Expected a value for each of " + keys.size() + " keys");
+        }
+
+        final List<PendingWrite> writes = new ArrayList<>(keys.size());
+        for (int i = 0; i < keys.size(); i++) {
+            writes.add(new PendingWrite(keys.get(i).clone(), Objects.requireNonNull(values.get(i)), true));
+        }
+
+        final List<Boolean> stored = this.submitAll(writes);
+
+        final boolean[] results = new boolean[stored.size()];
+        for (int i = 0; i < results.length; i++) {
+            results[i] = stored.get(i);
+        }
+        return results;
+    }
+
+    @Override
+    public Optional<byte[]> get(final byte[] key) {
+        return Optional.ofNullable(index.get(new ByteArrayKey(key))).map(Location::readValue);
+    }
+
+    @Override
+    public boolean delete(final byte[] key) {
+        if (!index.containsKey(new ByteArrayKey(key))) {
+            return false;
+        }
+        return this.submit(new PendingWrite(key.clone(), null, false));
+    }
+
+    @Override
+    public void forEach(final BiConsumer<byte[], byte[]> action) {
+        index.forEach((key, location) -> action.accept(key.getBytes(), location.readValue()));
+    }
+
+    @Override
+    public void forEachPrefix(final int prefixLength, final BiConsumer<byte[], byte[]> action) {
+        index.forEach((key, location) -> action.accept(key.getBytes(), location.readValue(prefixLength)));
+    }
+
+    /**
+     * Rewrites the live records of all sealed segments into new segments and
+     * removes the old ones, if the amount of dead space warrants it
+     */
+    public void compact() {
+        final List<Segment> sealed = segments.values()
+            .stream()
+            .filter(Segment::isSealed)
+            .collect(Collectors.toList());
+
+        final long totalBytes = sealed.stream().mapToLong(Segment::getSize).sum();
+        final long deadBytes = sealed.stream().mapToLong(Segment::getDeadBytes).sum();
+
+        if (totalBytes == 0 || deadBytes * 100 < totalBytes * compactionThreshold) {
+            LOGGER.debug("Skipping compaction, {} of {} bytes are dead", deadBytes, totalBytes);
+            return;
+        }
+
+        LOGGER.info("Compacting {} segments with {} of {} bytes dead", sealed.size(), deadBytes, totalBytes);
+
+        final List<Segment> compacted = new ArrayList<>();
+        final Map<ByteArrayKey, Location[]> moves = new HashMap<>();
+
+        for (final Segment segment : sealed) {
+            segment.scan((key, location) -> {
+                final ByteArrayKey indexKey = new ByteArrayKey(key);
+                final Location current = index.get(indexKey);
+
+                if (current == null || current.getSegment() != segment || current.getOffset() != location.getOffset()) {
+                    return;
+                }
+
+                Segment target = compacted.isEmpty() ? null : compacted.get(compacted.size() - 1);
+                if (target == null || target.remaining() < location.getRecordSize()) {
+                    target = this.newSegment(Math.max(segmentSize, location.getRecordSize()));
+                    compacted.add(target);
+                }
+
+                moves.put(indexKey, new Location[]{current, target.copy(current)});
+            });
+        }
+
+        compacted.forEach(Segment::force);
+        compacted.forEach(Segment::seal);
+        compacted.forEach(segment -> segments.put(segment.getId(), segment));
+
+        moves.forEach((key, move) -> {
+            if (!index.replace(key, move[0], move[1])) {
+                move[1].getSegment().addDeadBytes(move[1].getRecordSize());
+            }
+        });
+
+        sealed.forEach(segment -> segments.remove(segment.getId()));
+        sealed.forEach(Segment::delete);
+
+        LOGGER.info("Compacted {} segments into {}", sealed.size(), compacted.size());
+    }
+
+    @Override
+    public void close() {
+        LOGGER.info("Closing key value store at {}", directory);
+
+        this.open = false;
+        this.compactor.shutdown();
+        this.writer.shutdown();
+
+        try {
+            this.compactor.awaitTermination(1, TimeUnit.MINUTES);
+            this.writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        PendingWrite unwritten;
+        while ((unwritten = pendingWrites.poll()) != null) {
+            unwritten.result.completeExceptionally(new KeyValueStoreException("Store is closed"));
+        }
+    }
+
+    private boolean submit(final PendingWrite write) {
+        return this.submitAll(Collections.singletonList(write)).get(0);
+    }
+
+    private List<Boolean> submitAll(final List<PendingWrite> writes) {
+        if (!open) {
+            throw new KeyValueStoreException("Store is closed");
+        }
+
+        pendingWrites.addAll(writes);
+
+        final List<Boolean> results = new ArrayList<>(writes.size());
+        try {
+            for (final PendingWrite write : writes) {
+                results.add(write.result.get());
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new KeyValueStoreException(ex);
+        } catch (final ExecutionException ex) {
+            throw new KeyValueStoreException(ex.getCause());
+        }
+        return results;
+    }
+
+    private void writeLoop() {
+        final List<PendingWrite> batch = new ArrayList<>();
+
+        while (open || !pendingWrites.isEmpty()) {
+            try {
+                final PendingWrite first = pendingWrites.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                pendingWrites.drainTo(batch, MAX_BATCH_SIZE - 1);
+
+                this.commit(batch);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final RuntimeException ex) {
+                LOGGER.error("Unable to write batch of {} records", batch.size(), ex);
+                batch.forEach(write -> write.result.completeExceptionally(ex));
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void commit(final List<PendingWrite> batch) {
+        final Set<Segment> written = new HashSet<>();
+        final List<Location> locations = new ArrayList<>(batch.size());
+        final Map<ByteArrayKey, Boolean> present = new HashMap<>();
+
+        for (final PendingWrite write : batch) {
+            if (write.ifAbsent && present.computeIfAbsent(write.key, index::containsKey)) {
+                locations.add(null);
+                continue;
+            }
+            present.put(write.key, write.value != null);
+
+            final int recordSize = Segment.recordSize(write.keyBytes, write.value);
+            if (active.remaining() < recordSize) {
+                active.seal();
+                active = this.newSegment(Math.max(segmentSize, recordSize));
+            }
+
+            locations.add(active.append(++sequence, write.keyBytes, write.value));
+            written.add(active);
+        }
+
+        written.forEach(Segment::force);
+
+        for (int i = 0; i < batch.size(); i++) {
+            final PendingWrite write = batch.get(i);
+            final Location location = locations.get(i);
+
+            if (location == null) {
+                write.result.complete(false);
+                continue;
+            }
+
+            final Location previous;
+            if (location.isTombstone()) {
+                previous = index.remove(write.key);
+                location.getSegment().addDeadBytes(location.getRecordSize());
+            } else {
+                previous = index.put(write.key, location);
+            }
+
+            if (previous != null) {
+                previous.getSegment().addDeadBytes(previous.getRecordSize());
+            }
+
+            write.result.complete(write.ifAbsent || previous != null);
+        }
+    }
+
+    private void recover() {
+        final List<Path> files = IOCallback.execute(() -> {
+            try (Stream<Path> stream = Files.list(directory)) {
+                return stream.filter(Segment::isSegmentFile).collect(Collectors.toList());
+            }
+        });
+
+        for (final Path file : files) {
+            final Segment segment = Segment.open(file);
+            segments.put(segment.getId(), segment);
+            nextSegmentId.set(Math.max(nextSegmentId.get(), segment.getId() + 1));
+        }
+
+        // records are applied by sequence number rather than file order, as compaction
+        // may have rewritten older records into newer segments
+        for (final Segment segment : segments.values()) {
+            segment.scan((key, location) -> {
+                sequence = Math.max(sequence, location.getSequence());
+
+                final ByteArrayKey indexKey = new ByteArrayKey(key);
+                final Location current = index.get(indexKey);
+
+                if (current == null || current.getSequence() < location.getSequence()) {
+                    index.put(indexKey, location);
+                    if (current != null) {
+                        current.getSegment().addDeadBytes(current.getRecordSize());
+                    }
+                } else {
+                    segment.addDeadBytes(location.getRecordSize());
+                }
+            });
+        }
+
+        index.values().removeIf(location -> {
+            if (location.isTombstone()) {
+                location.getSegment().addDeadBytes(location.getRecordSize());
+                return true;
+            }
+            return false;
+        });
+
+        LOGGER.info("Recovered {} records from {} segments in {}", index.size(), segments.size(), directory);
+    }
+
+    private Segment newSegment(final int capacity) {
+        final Segment segment = Segment.create(directory, nextSegmentId.getAndIncrement(), capacity);
+        segments.put(segment.getId(), segment);
+        return segment;
+    }
+
+    private void compactSafely() {
+        try {
+            this.compact();
+        } catch (final RuntimeException ex) {
+            LOGGER.error("Unable to compact key value store at {}", directory, ex);
+        }
+    }
+
+    private static final class PendingWrite {
+
+        private final byte[] keyBytes;
+
+        private final ByteArrayKey key;
+
+        private final byte[] value;
+
+        private final boolean ifAbsent;
+
+        private final CompletableFuture<Boolean> result = new CompletableFuture<>();
+
+        private PendingWrite(final byte[] keyBytes, final byte[] value, final boolean ifAbsent) {
+            this.keyBytes = keyBytes;
+            this.key = new ByteArrayKey(keyBytes);
+            this.value = value;
+            this.ifAbsent = ifAbsent;
+        }
+
+    }
+
+}
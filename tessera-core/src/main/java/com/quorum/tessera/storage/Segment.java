@@ -0,0 +1,243 @@
+package com.quorum.tessera.storage;
+
+import com.quorum.tessera.io.IOCallback;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.zip.CRC32;
+
+/**
+ * A single append-only, memory mapped log file of the {@link LogStructuredKeyValueStore}
+ *
+ * Each record is laid out as:
+ * - 4 bytes CRC32 of the remainder of the record
+ * - 8 bytes sequence number
+ * - 4 bytes key length
+ * - 4 bytes value length, or -1 if the record is a deletion
+ * - the key bytes
+ * - the value bytes
+ *
+ * A key length of 0 marks the end of the written records.
+ *
+ * Only a single writer may append to a segment, but any number of readers
+ * may read records that have been appended.
+ */
+class Segment {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Segment.class);
+
+    static final int HEADER_SIZE = Integer.BYTES + Long.BYTES + Integer.BYTES + Integer.BYTES;
+
+    static final int TOMBSTONE = -1;
+
+    private static final String PREFIX = "segment-";
+
+    private static final String SUFFIX = ".log";
+
+    private final long id;
+
+    private final Path path;
+
+    private final MappedByteBuffer buffer;
+
+    private final AtomicLong deadBytes = new AtomicLong();
+
+    private volatile int size;
+
+    private volatile boolean sealed;
+
+    private Segment(final long id, final Path path, final MappedByteBuffer buffer) {
+        this.id = id;
+        this.path = path;
+        this.buffer = buffer;
+    }
+
+    static Segment create(final Path directory, final long id, final int capacity) {
+        return open(directory.resolve(PREFIX + id + SUFFIX), id, capacity);
+    }
+
+    static Segment open(final Path path) {
+        final String filename = path.getFileName().toString();
+        final long id = Long.parseLong(filename.substring(PREFIX.length(), filename.length() - SUFFIX.length()));
+
+        final long capacity = IOCallback.execute(() -> Files.size(path));
+
+        final Segment segment = open(path, id, (int) capacity);
+        segment.sealed = true;
+        return segment;
+    }
+
+    private static Segment open(final Path path, final long id, final int capacity) {
+        return IOCallback.execute(() -> {
+            // the mapping remains valid after the file is closed
+            try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+                final MappedByteBuffer buffer = file.getChannel().map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+                return new Segment(id, path, buffer);
+            }
+        });
+    }
+
+    static boolean isSegmentFile(final Path path) {
+        final String filename = path.getFileName().toString();
+        return filename.startsWith(PREFIX) && filename.endsWith(SUFFIX);
+    }
+
+    static int recordSize(final byte[] key, final byte[] value) {
+        return HEADER_SIZE + key.length + (value == null ? 0 : value.length);
+    }
+
+    long getId() {
+        return id;
+    }
+
+    int getSize() {
+        return size;
+    }
+
+    long getDeadBytes() {
+        return deadBytes.get();
+    }
+
+    void addDeadBytes(final long count) {
+        deadBytes.addAndGet(count);
+    }
+
+    boolean isSealed() {
+        return sealed;
+    }
+
+    void seal() {
+        this.sealed = true;
+    }
+
+    int remaining() {
+        return buffer.capacity() - size;
+    }
+
+    /**
+     * Appends a record to the end of this segment. The record is not durable
+     * until {@link #force()} has been called.
+     *
+     * @param sequence the sequence number of the write
+     * @param key the key of the record
+     * @param value the value of the record, or {@code null} for a deletion
+     * @return the location of the newly appended record
+     */
+    Location append(final long sequence, final byte[] key, final byte[] value) {
+        final int valueLength = value == null ? TOMBSTONE : value.length;
+        final int recordSize = recordSize(key, value);
+
+        final ByteBuffer record = ByteBuffer.allocate(recordSize);
+        record.position(Integer.BYTES);
+        record.putLong(sequence).putInt(key.length).putInt(valueLength).put(key);
+        if (value != null) {
+            record.put(value);
+        }
+        record.putInt(0, checksum(record.array(), Integer.BYTES, recordSize - Integer.BYTES));
+
+        return appendRecord(record.array(), sequence, key.length, valueLength);
+    }
+
+    /**
+     * Copies a whole record verbatim from another segment, used during compaction
+     *
+     * @param source the location of the record to copy
+     * @return the location of the copy in this segment
+     */
+    Location copy(final Location source) {
+        final byte[] record = source.getSegment().read(source.getOffset(), source.getRecordSize());
+        return appendRecord(record, source.getSequence(), source.getKeyLength(), source.getValueLength());
+    }
+
+    private Location appendRecord(final byte[] record, final long sequence, final int keyLength, final int valueLength) {
+        final int offset = size;
+        final ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.put(record);
+        size = offset + record.length;
+        return new Location(this, offset, sequence, keyLength, valueLength);
+    }
+
+    byte[] read(final int offset, final int length) {
+        final byte[] data = new byte[length];
+        final ByteBuffer view = buffer.duplicate();
+        view.position(offset);
+        view.get(data);
+        return data;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    /**
+     * Reads all valid records in this segment in the order they were written,
+     * stopping at the first empty or corrupt record
+     *
+     * @param consumer the action to perform for each record key and its location
+     */
+    void scan(final BiConsumer<byte[], Location> consumer) {
+        final ByteBuffer view = buffer.duplicate();
+        int position = 0;
+
+        while (position + HEADER_SIZE <= view.capacity()) {
+            view.position(position);
+            final int crc = view.getInt();
+            final long sequence = view.getLong();
+            final int keyLength = view.getInt();
+            final int valueLength = view.getInt();
+
+            if (keyLength <= 0) {
+                break;
+            }
+
+            final long recordSize = (long) HEADER_SIZE + keyLength + Math.max(valueLength, 0);
+            if (valueLength < TOMBSTONE || position + recordSize > view.capacity()) {
+                LOGGER.warn("Ignoring truncated record at offset {} of {}", position, path);
+                break;
+            }
+
+            final byte[] record = read(position, (int) recordSize);
+            if (crc != checksum(record, Integer.BYTES, record.length - Integer.BYTES)) {
+                LOGGER.warn("Ignoring corrupt record at offset {} of {}", position, path);
+                break;
+            }
+
+            final byte[] key = new byte[keyLength];
+            System.arraycopy(record, HEADER_SIZE, key, 0, keyLength);
+            consumer.accept(key, new Location(this, position, sequence, keyLength, valueLength));
+
+            position += (int) recordSize;
+        }
+
+        this.size = position;
+    }
+
+    /**
+     * Removes the underlying file. Readers still holding a {@link Location}
+     * in this segment may continue to read from the mapping.
+     */
+    void delete() {
+        IOCallback.execute(() -> Files.deleteIfExists(path));
+    }
+
+    private static int checksum(final byte[] data, final int offset, final int length) {
+        final CRC32 crc = new CRC32();
+        crc.update(data, offset, length);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+
+}
@@ -30,10 +30,10 @@ public interface ResendPartyStore {
     void addUnseenParties(Collection<Party> partiesToRequestFrom);
 
     /**
-     * Retrieves the next party to contact in the queue
+     * Retrieves the next party to contact in the queue whose next attempt is due
      *
-     * @return Returns {@link Optional#empty()} if there are no parties to
-     * contact in the request queue else an Optional containing a party to contact
+     * @return Returns {@link Optional#empty()} if there are no parties due to be
+     * contacted in the request queue else an Optional containing a party to contact
      */
     Optional<SyncableParty> getNextParty();
 
@@ -42,8 +42,30 @@ public interface ResendPartyStore {
      * This will increase its attempt count or discard it if the maximum number
      * of attempts have been reached
      *
+     * The party is not handed out again until an exponentially increasing
+     * delay, based on its number of attempts, has passed
+     *
      * @param attemptedParty the party that has failed to be contacted
      */
     void incrementFailedAttempt(SyncableParty attemptedParty);
 
+    /**
+     * Retrieves the time at which the last successful sync with the given
+     * party was started, as measured by this node's clock
+     *
+     * @param party the party to look up
+     * @return the time of the last sync, or {@link Optional#empty()} if
+     * this node has never synced with the party
+     */
+    Optional<Long> getWatermark(Party party);
+
+    /**
+     * Records that all transactions the given party held up to the given
+     * time have been received
+     *
+     * @param party the party that was synced with
+     * @param timestamp the time at which the sync was started
+     */
+    void updateWatermark(Party party, long timestamp);
+
 }
@@ -1,50 +1,174 @@
 package com.quorum.tessera.sync;
 
+import com.quorum.tessera.io.IOCallback;
 import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.sync.model.SyncableParty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.*;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.*;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
 
 /**
  * An in-memory store of outstanding parties to contact for transaction resending
+ *
+ * The store may be used from many sync worker threads at once. Parties that
+ * failed to be contacted are held back until their backoff has passed.
+ *
+ * If a watermark file is given, the time of the last successful sync with
+ * each party is also written to it so that it survives a restart. Without
+ * one, every party is asked to resend all of its transactions after a restart.
  */
 public class ResendPartyStoreImpl implements ResendPartyStore {
 
-    private Set<Party> allSeenParties;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResendPartyStoreImpl.class);
+
+    static final long BASE_BACKOFF_MILLIS = TimeUnit.SECONDS.toMillis(10);
+
+    static final long MAX_BACKOFF_MILLIS = TimeUnit.MINUTES.toMillis(30);
+
+    private final Set<Party> allSeenParties = ConcurrentHashMap.newKeySet();
+
+    private final DelayQueue<ScheduledParty> outstandingParties = new DelayQueue<>();
+
+    private final ConcurrentMap<String, Long> watermarks = new ConcurrentHashMap<>();
 
-    private Queue<SyncableParty> outstandingParties;
+    private final Path watermarkFile;
+
+    private final Clock clock;
+
+    ResendPartyStoreImpl(final Path watermarkFile, final Clock clock) {
+        this.watermarkFile = watermarkFile;
+        this.clock = clock;
+
+        if (watermarkFile == null) {
+            LOGGER.warn("No sync watermark file set, every peer will resend all transactions after a restart");
+        } else {
+            LOGGER.info("Keeping the time of the last sync with each peer in {}", watermarkFile.toAbsolutePath());
+        }
+
+        if (watermarkFile != null && Files.exists(watermarkFile)) {
+            final Properties properties = new Properties();
+            IOCallback.execute(() -> {
+                try (InputStream in = Files.newInputStream(watermarkFile)) {
+                    properties.load(in);
+                }
+                return null;
+            });
+            properties.stringPropertyNames().forEach(
+                url -> watermarks.put(url, Long.valueOf(properties.getProperty(url)))
+            );
+        }
+    }
+
+    public ResendPartyStoreImpl(final Path watermarkFile) {
+        this(watermarkFile, Clock.systemUTC());
+    }
 
     public ResendPartyStoreImpl() {
-        this.outstandingParties = new LinkedList<>();
-        this.allSeenParties = new HashSet<>();
+        this(null);
     }
 
     @Override
     public void addUnseenParties(final Collection<Party> partiesToRequestFrom) {
-        final Set<Party> knownParties = new HashSet<>(partiesToRequestFrom);
-        knownParties.removeAll(allSeenParties);
-        this.allSeenParties.addAll(knownParties);
-
-        knownParties
+        partiesToRequestFrom
             .stream()
+            .distinct()
+            .filter(allSeenParties::add)
             .map(party -> new SyncableParty(party, 0))
+            .map(ScheduledParty::new)
             .forEach(outstandingParties::add);
     }
 
     @Override
     public Optional<SyncableParty> getNextParty() {
-        return Optional.ofNullable(this.outstandingParties.poll());
+        return Optional.ofNullable(this.outstandingParties.poll()).map(scheduled -> scheduled.party);
     }
 
     @Override
     public void incrementFailedAttempt(final SyncableParty attemptedParty) {
 
         if (attemptedParty.getAttempts() < MAX_ATTEMPTS) {
+            final int attempts = attemptedParty.getAttempts() + 1;
+
             final SyncableParty updatedParty = new SyncableParty(
-                attemptedParty.getParty(), attemptedParty.getAttempts() + 1
+                attemptedParty.getParty(), attempts, clock.millis() + backoff(attempts)
             );
 
-            this.outstandingParties.add(updatedParty);
+            this.outstandingParties.add(new ScheduledParty(updatedParty));
+        }
+
+    }
+
+    @Override
+    public Optional<Long> getWatermark(final Party party) {
+        return Optional.ofNullable(watermarks.get(party.getUrl()));
+    }
+
+    @Override
+    public void updateWatermark(final Party party, final long timestamp) {
+        watermarks.merge(party.getUrl(), timestamp, Math::max);
+
+        if (watermarkFile != null) {
+            this.writeWatermarks();
+        }
+    }
+
+    /**
+     * The delay before the given attempt, doubling with each attempt up to a limit
+     *
+     * @param attempts the number of attempts made so far
+     * @return the delay in milliseconds
+     */
+    static long backoff(final int attempts) {
+        final int doublings = Math.min(attempts - 1, Long.numberOfLeadingZeros(BASE_BACKOFF_MILLIS) - 1);
+        return Math.min(BASE_BACKOFF_MILLIS << doublings, MAX_BACKOFF_MILLIS);
+    }
+
+    private synchronized void writeWatermarks() {
+        final Properties properties = new Properties();
+        watermarks.forEach((url, timestamp) -> properties.setProperty(url, String.valueOf(timestamp)));
+
+        // written to a temporary file first so a crash never leaves a partial file behind
+        final Path tempFile = watermarkFile.resolveSibling(watermarkFile.getFileName() + ".tmp");
+        IOCallback.execute(() -> {
+            try (OutputStream out = Files.newOutputStream(tempFile)) {
+                properties.store(out, "Last successful sync with each peer");
+            }
+            return Files.move(tempFile, watermarkFile, REPLACE_EXISTING, ATOMIC_MOVE);
+        });
+    }
+
+    /**
+     * Holds a party in the queue until its next attempt is due
+     */
+    private final class ScheduledParty implements Delayed {
+
+        private final SyncableParty party;
+
+        private ScheduledParty(final SyncableParty party) {
+            this.party = party;
+        }
+
+        @Override
+        public long getDelay(final TimeUnit unit) {
+            return unit.convert(party.getNextAttemptAt() - clock.millis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(final Delayed other) {
+            return Long.compare(party.getNextAttemptAt(), ((ScheduledParty) other).party.getNextAttemptAt());
         }
 
     }
@@ -0,0 +1,82 @@
+package com.quorum.tessera.sync;
+
+import com.quorum.tessera.io.IOCallback;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Reads the frames of a bulk resend stream written by {@link ResendStreamWriter}
+ */
+public class ResendStreamReader {
+
+    /**
+     * The largest payload frame accepted, to guard against a corrupt length
+     */
+    static final int MAX_FRAME_SIZE = 256 * 1024 * 1024;
+
+    /**
+     * The largest transaction hash accepted in a checkpoint
+     */
+    static final int MAX_HASH_SIZE = 1024;
+
+    private final DataInputStream input;
+
+    public ResendStreamReader(final InputStream input) {
+        this.input = new DataInputStream(input);
+    }
+
+    /**
+     * Reads frames until the end of the stream
+     *
+     * @param payloadConsumer receives each encoded payload in the order it was written
+     * @param checkpointConsumer receives the hash and timestamp of the last transaction before each checkpoint
+     * @return true if the end of the stream was reached, false if it was cut short
+     * @throws UncheckedIOException if the stream could not be read or is malformed
+     */
+    public boolean read(final Consumer<byte[]> payloadConsumer, final ObjLongConsumer<byte[]> checkpointConsumer) {
+        return IOCallback.execute(() -> {
+            while (true) {
+                final int length;
+                try {
+                    length = input.readInt();
+                } catch (final EOFException ex) {
+                    return false;
+                }
+
+                if (length == ResendStreamWriter.END) {
+                    return true;
+                }
+
+                if (length < ResendStreamWriter.END || length > MAX_FRAME_SIZE) {
+                    throw new IOException("Invalid resend stream frame length " + length);
+                }
+
+                try {
+                    if (length == ResendStreamWriter.CHECKPOINT) {
+                        final long timestamp = input.readLong();
+                        final int hashLength = input.readInt();
+                        if (hashLength < 0 || hashLength > MAX_HASH_SIZE) {
+                            throw new IOException("Invalid resend stream checkpoint hash length " + hashLength);
+                        }
+                        final byte[] hash = new byte[hashLength];
+                        input.readFully(hash);
+                        checkpointConsumer.accept(hash, timestamp);
+                    } else {
+                        final byte[] payload = new byte[length];
+                        input.readFully(payload);
+                        payloadConsumer.accept(payload);
+                    }
+                } catch (final EOFException ex) {
+                    return false;
+                }
+            }
+        });
+    }
+
+}
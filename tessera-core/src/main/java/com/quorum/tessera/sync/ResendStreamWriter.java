@@ -0,0 +1,64 @@
+package com.quorum.tessera.sync;
+
+import com.quorum.tessera.io.IOCallback;
+
+import java.io.DataOutputStream;
+import java.io.OutputStream;
+
+/**
+ * Writes the frames of a bulk resend stream, read by {@link ResendStreamReader}
+ *
+ * The stream is a sequence of frames, each starting with a 4 byte length:
+ * - a positive length is followed by that many bytes of encoded payload
+ * - a length of 0 is a checkpoint, followed by the 8 byte timestamp, the
+ *   4 byte hash length and the hash of the last transaction written. Every
+ *   transaction up to and including it has been written, so an interrupted
+ *   stream can be restarted after it.
+ * - a length of -1 marks the end of the stream
+ */
+public class ResendStreamWriter {
+
+    static final int CHECKPOINT = 0;
+
+    static final int END = -1;
+
+    private final DataOutputStream output;
+
+    public ResendStreamWriter(final OutputStream output) {
+        this.output = new DataOutputStream(output);
+    }
+
+    public void writePayload(final byte[] encodedPayload) {
+        IOCallback.execute(() -> {
+            output.writeInt(encodedPayload.length);
+            output.write(encodedPayload);
+            return null;
+        });
+    }
+
+    /**
+     * Writes a checkpoint and flushes everything written so far to the client
+     *
+     * @param timestamp the timestamp of the last transaction written
+     * @param hash the hash of the last transaction written
+     */
+    public void writeCheckpoint(final long timestamp, final byte[] hash) {
+        IOCallback.execute(() -> {
+            output.writeInt(CHECKPOINT);
+            output.writeLong(timestamp);
+            output.writeInt(hash.length);
+            output.write(hash);
+            output.flush();
+            return null;
+        });
+    }
+
+    public void writeEnd() {
+        IOCallback.execute(() -> {
+            output.writeInt(END);
+            output.flush();
+            return null;
+        });
+    }
+
+}
@@ -1,6 +1,8 @@
 package com.quorum.tessera.sync;
 
 import com.quorum.tessera.client.P2pClient;
+import com.quorum.tessera.metrics.Histogram;
+import com.quorum.tessera.metrics.MetricsRegistry;
 import com.quorum.tessera.node.PartyInfoParser;
 import com.quorum.tessera.node.PartyInfoService;
 import com.quorum.tessera.node.model.PartyInfo;
@@ -11,6 +13,7 @@ import org.slf4j.LoggerFactory;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * A poller that will contact all outstanding parties that need to have
@@ -20,6 +23,12 @@ public class SyncPoller implements Runnable {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SyncPoller.class);
 
+    /**
+     * How far before the last successful sync to request transactions from,
+     * to allow for clock differences between this node and its peers
+     */
+    static final long WATERMARK_OVERLAP_MILLIS = TimeUnit.MINUTES.toMillis(5);
+
     private final ExecutorService executorService;
 
     private final ResendPartyStore resendPartyStore;
@@ -32,24 +41,42 @@ public class SyncPoller implements Runnable {
 
     private final PartyInfoParser partyInfoParser;
 
+    private final SyncStatistics syncStatistics;
+
+    private final Histogram syncTimer = MetricsRegistry.getDefault().histogram("tessera_sync_microseconds");
+
     public SyncPoller(final ExecutorService executorService,
                       final ResendPartyStore resendPartyStore,
                       final TransactionRequester transactionRequester,
                       final PartyInfoService partyInfoService,
                       final PartyInfoParser partyInfoParser,
-                      final P2pClient p2pClient) {
+                      final P2pClient p2pClient,
+                      final SyncStatistics syncStatistics) {
         this.executorService = Objects.requireNonNull(executorService);
         this.resendPartyStore = Objects.requireNonNull(resendPartyStore);
         this.transactionRequester = Objects.requireNonNull(transactionRequester);
         this.partyInfoService = Objects.requireNonNull(partyInfoService);
         this.partyInfoParser = Objects.requireNonNull(partyInfoParser);
         this.p2pClient = Objects.requireNonNull(p2pClient);
+        this.syncStatistics = Objects.requireNonNull(syncStatistics);
+
+        final MetricsRegistry registry = MetricsRegistry.getDefault();
+        registry.gauge("tessera_sync_queued", syncStatistics::getQueuedSyncs);
+        registry.gauge("tessera_sync_active", syncStatistics::getActiveSyncs);
+        registry.gauge("tessera_sync_successful", syncStatistics::getSuccessfulSyncs);
+        registry.gauge("tessera_sync_failed", syncStatistics::getFailedSyncs);
     }
 
     /**
-     * Retrieves all of the outstanding parties and makes an attempt to make the resend request
-     * asynchronously. If the request fails then the party is submitted back to the store for
-     * a later attempt.
+     * Retrieves all of the outstanding parties that are due and makes an attempt to make the
+     * resend request asynchronously. If the request fails then the party is submitted back to
+     * the store for a later attempt.
+     *
+     * Parties that have been synced with before are only asked for transactions stored since
+     * that last sync, rather than all of their transactions.
+     *
+     * Parties that the client is currently refusing to call are deferred as a failed attempt,
+     * without being submitted.
      */
     @Override
     public void run() {
@@ -63,20 +90,50 @@ public class SyncPoller implements Runnable {
             final SyncableParty requestDetails = nextPartyToSend.get();
             final String url = requestDetails.getParty().getUrl();
 
+            if (!this.p2pClient.isAvailable(url)) {
+                // don't tie up a worker on a peer that is known to be failing
+                LOGGER.debug("Deferring sync with unavailable peer {}", url);
+                this.resendPartyStore.incrementFailedAttempt(requestDetails);
+                nextPartyToSend = this.resendPartyStore.getNextParty();
+                continue;
+            }
+
             final Runnable action = () -> {
 
+                this.syncStatistics.syncStarted();
+
+                // taken before any requests so that transactions stored during the sync are requested next time
+                final long syncStarted = System.currentTimeMillis();
+                final long start = System.nanoTime();
+
                 // perform a getPartyInfo in order to ensure that the target tessera has the current tessera as a recipient
                 boolean allSucceeded = updatePartyInfo(url);
 
-                if (allSucceeded) {
-                    allSucceeded = this.transactionRequester.requestAllTransactionsFromNode(url);
+                try {
+                    if (allSucceeded) {
+                        allSucceeded = this.resendPartyStore
+                            .getWatermark(requestDetails.getParty())
+                            .map(watermark -> this.transactionRequester.requestTransactionsSince(
+                                url, watermark - WATERMARK_OVERLAP_MILLIS
+                            ))
+                            .orElseGet(() -> this.transactionRequester.requestAllTransactionsFromNode(url));
+                    }
+                } catch (final RuntimeException ex) {
+                    LOGGER.warn("Unable to sync transactions with {}", url, ex);
+                    allSucceeded = false;
                 }
 
-                if (!allSucceeded) {
+                if (allSucceeded) {
+                    this.resendPartyStore.updateWatermark(requestDetails.getParty(), syncStarted);
+                } else {
                     this.resendPartyStore.incrementFailedAttempt(requestDetails);
                 }
+
+                this.syncStatistics.syncFinished(allSucceeded);
+                this.syncTimer.recordSince(start);
             };
 
+            this.syncStatistics.syncQueued();
             this.executorService.submit(action);
 
             nextPartyToSend = this.resendPartyStore.getNextParty();
@@ -0,0 +1,65 @@
+package com.quorum.tessera.sync;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Counts the syncs made by the {@link SyncPoller}, exported over JMX
+ */
+public class SyncStatistics implements SyncStatisticsMBean {
+
+    private final AtomicLong queued = new AtomicLong();
+
+    private final AtomicLong active = new AtomicLong();
+
+    private final AtomicLong successful = new AtomicLong();
+
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile long lastSuccessfulSync;
+
+    void syncQueued() {
+        queued.incrementAndGet();
+    }
+
+    void syncStarted() {
+        queued.decrementAndGet();
+        active.incrementAndGet();
+    }
+
+    void syncFinished(final boolean success) {
+        active.decrementAndGet();
+
+        if (success) {
+            successful.incrementAndGet();
+            lastSuccessfulSync = System.currentTimeMillis();
+        } else {
+            failed.incrementAndGet();
+        }
+    }
+
+    @Override
+    public long getQueuedSyncs() {
+        return queued.get();
+    }
+
+    @Override
+    public long getActiveSyncs() {
+        return active.get();
+    }
+
+    @Override
+    public long getSuccessfulSyncs() {
+        return successful.get();
+    }
+
+    @Override
+    public long getFailedSyncs() {
+        return failed.get();
+    }
+
+    @Override
+    public long getLastSuccessfulSync() {
+        return lastSuccessfulSync;
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.quorum.tessera.sync;
+
+/**
+ * Management interface exposing the progress of resynchronising transactions
+ * with other nodes
+ */
+public interface SyncStatisticsMBean {
+
+    /**
+     * @return the number of syncs that have been submitted but not yet started
+     */
+    long getQueuedSyncs();
+
+    /**
+     * @return the number of syncs currently being performed
+     */
+    long getActiveSyncs();
+
+    /**
+     * @return the total number of syncs that completed successfully
+     */
+    long getSuccessfulSyncs();
+
+    /**
+     * @return the total number of syncs that failed and were put back for a later attempt
+     */
+    long getFailedSyncs();
+
+    /**
+     * @return the time in milliseconds at which the last successful sync finished, or 0 if none has
+     */
+    long getLastSuccessfulSync();
+
+}
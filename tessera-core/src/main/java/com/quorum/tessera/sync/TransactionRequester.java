@@ -3,7 +3,8 @@ package com.quorum.tessera.sync;
 /**
  * Makes requests to other nodes to resend their transactions
  * <p>
- * Handles creating the correct entity and retrying on a failed attempt
+ * Handles creating the correct entity and retrying on a failed attempt,
+ * and resuming an interrupted stream of transactions
  */
 public interface TransactionRequester {
 
@@ -17,4 +18,17 @@ public interface TransactionRequester {
      */
     boolean requestAllTransactionsFromNode(String url);
 
+    /**
+     * Makes a request to the given node to resend only the transactions it
+     * stored at or after the given time.
+     *
+     * If the node does not accept the request, such as when it is running an
+     * older version, a request for all transactions is made instead.
+     *
+     * @param url the URL to contact for resending
+     * @param since the earliest time, in milliseconds, of transactions to resend
+     * @return whether all the resend requests for all keys was successful or not
+     */
+    boolean requestTransactionsSince(String url, long since);
+
 }
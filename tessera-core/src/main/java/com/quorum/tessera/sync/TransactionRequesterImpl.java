@@ -5,12 +5,21 @@ import com.quorum.tessera.api.model.ResendRequestType;
 import com.quorum.tessera.client.P2pClient;
 import com.quorum.tessera.enclave.Enclave;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.transaction.TransactionManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.List;
 import java.util.Objects;
 
+/**
+ * Requests transactions from other nodes, preferring to pull them in a single
+ * stream per key and store them in batches. Nodes that don't support streaming
+ * are asked to push each transaction instead.
+ */
 public class TransactionRequesterImpl implements TransactionRequester {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TransactionRequesterImpl.class);
@@ -19,9 +28,14 @@ public class TransactionRequesterImpl implements TransactionRequester {
 
     private final P2pClient client;
 
-    public TransactionRequesterImpl(final Enclave enclave, final P2pClient client) {
+    private final TransactionManager transactionManager;
+
+    public TransactionRequesterImpl(final Enclave enclave,
+                                    final P2pClient client,
+                                    final TransactionManager transactionManager) {
         this.enclave = Objects.requireNonNull(enclave);
         this.client = Objects.requireNonNull(client);
+        this.transactionManager = Objects.requireNonNull(transactionManager);
     }
 
     @Override
@@ -32,14 +46,88 @@ public class TransactionRequesterImpl implements TransactionRequester {
         return this.enclave
             .getPublicKeys()
             .stream()
-            .map(this::createRequestAllEntity)
-            .allMatch(req -> this.makeRequest(uri, req));
+            .allMatch(key -> this.streamTransactions(uri, key, null)
+                || this.makeRequest(uri, this.createRequestAllEntity(key)));
+
+    }
+
+    @Override
+    public boolean requestTransactionsSince(final String uri, final long since) {
+
+        LOGGER.debug("Requesting transactions since {} get resent for {}", since, uri);
+
+        return this.enclave
+            .getPublicKeys()
+            .stream()
+            .allMatch(key -> {
+                if (this.streamTransactions(uri, key, since)) {
+                    return true;
+                }
+                if (this.makeRequest(uri, this.createRequestSinceEntity(key, since))) {
+                    return true;
+                }
+                LOGGER.info("Incremental resend request to {} failed, requesting all transactions instead", uri);
+                return this.makeRequest(uri, this.createRequestAllEntity(key));
+            });
+
+    }
+
+    /**
+     * Pulls the transactions for a key from the node in a stream, storing each
+     * page as it is completed. An interrupted stream is resumed after the last
+     * transaction of the last completed page, as long as the previous attempt
+     * made some progress.
+     *
+     * @param uri   the URI to call
+     * @param key   the key to request transactions for
+     * @param since the time to request transactions from, or null for all of them
+     * @return whether the whole stream was received
+     */
+    private boolean streamTransactions(final String uri, final PublicKey key, final Long since) {
+
+        Long resumeFrom = since;
+        byte[] resumeAfter = null;
+        int numberOfTries = 0;
+
+        while (numberOfTries < MAX_ATTEMPTS) {
+
+            final ResendRequest request = resumeFrom == null
+                ? this.createRequestAllEntity(key) : this.createRequestSinceEntity(key, resumeFrom);
+            if (resumeAfter != null) {
+                request.setAfterKey(Base64.getEncoder().encodeToString(resumeAfter));
+            }
+            final StreamedPages pages = new StreamedPages();
+
+            try (InputStream stream = client.streamResend(uri, request)) {
+                if (stream == null) {
+                    LOGGER.debug("Node {} did not accept a streamed resend request", uri);
+                    return false;
+                }
+
+                if (new ResendStreamReader(stream).read(pages::add, pages::checkpoint)) {
+                    pages.flush();
+                    LOGGER.debug("Received streamed resend from node {} for key {}", uri, request.getPublicKey());
+                    return true;
+                }
+            } catch (final Exception ex) {
+                LOGGER.debug("Streamed resend from node {} for key {} was interrupted", uri, request.getPublicKey(), ex);
+            }
+
+            if (!pages.progressed) {
+                return false;
+            }
 
+            resumeFrom = pages.resumeFrom;
+            resumeAfter = pages.resumeAfter;
+            numberOfTries++;
+        }
+
+        return false;
     }
 
     /**
-     * Will make the desired request until succeeds or max tries has been
-     * reached
+     * Will make the desired request until succeeds, max tries has been
+     * reached or the node is no longer being called
      *
      * @param uri     the URI to call
      * @param request the request object to send
@@ -61,7 +149,7 @@ public class TransactionRequesterImpl implements TransactionRequester {
 
             numberOfTries++;
 
-        } while (!success && (numberOfTries < MAX_ATTEMPTS));
+        } while (!success && (numberOfTries < MAX_ATTEMPTS) && client.isAvailable(uri));
 
         return success;
 
@@ -83,4 +171,54 @@ public class TransactionRequesterImpl implements TransactionRequester {
         return request;
     }
 
+    /**
+     * Creates the entity that asks for transactions stored since the given time
+     *
+     * @param key the public key that transactions should be resent for
+     * @param since the earliest time of transactions to resend
+     * @return the request to be sent
+     */
+    private ResendRequest createRequestSinceEntity(final PublicKey key, final long since) {
+
+        final ResendRequest request = this.createRequestAllEntity(key);
+        request.setType(ResendRequestType.SINCE);
+        request.setSince(since);
+
+        return request;
+    }
+
+    /**
+     * Collects the payloads of the page currently being streamed, storing
+     * them all once the page is complete
+     */
+    private final class StreamedPages {
+
+        private final List<byte[]> pending = new ArrayList<>();
+
+        private Long resumeFrom;
+
+        private byte[] resumeAfter;
+
+        private boolean progressed;
+
+        private void add(final byte[] payload) {
+            pending.add(payload);
+        }
+
+        private void checkpoint(final byte[] lastHash, final long lastTimestamp) {
+            this.flush();
+            this.resumeFrom = lastTimestamp;
+            this.resumeAfter = lastHash;
+            this.progressed = true;
+        }
+
+        private void flush() {
+            if (!pending.isEmpty()) {
+                transactionManager.storePayloads(new ArrayList<>(pending));
+                pending.clear();
+            }
+        }
+
+    }
+
 }
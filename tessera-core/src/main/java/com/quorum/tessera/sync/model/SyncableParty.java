@@ -5,7 +5,7 @@ import com.quorum.tessera.node.model.Party;
 /**
  * A SyncableParty is a {@link Party} that is to be contacted for transaction
  * synchronisation. The number of contact attempts is stored alongside the
- * party.
+ * party, as well as the earliest time at which it should next be contacted.
  */
 public class SyncableParty {
 
@@ -13,9 +13,16 @@ public class SyncableParty {
 
     private final int attempts;
 
-    public SyncableParty(final Party party, final int attempts) {
+    private final long nextAttemptAt;
+
+    public SyncableParty(final Party party, final int attempts, final long nextAttemptAt) {
         this.party = party;
         this.attempts = attempts;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    public SyncableParty(final Party party, final int attempts) {
+        this(party, attempts, 0L);
     }
 
     public Party getParty() {
@@ -26,4 +33,8 @@ public class SyncableParty {
         return attempts;
     }
 
+    public long getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
 }
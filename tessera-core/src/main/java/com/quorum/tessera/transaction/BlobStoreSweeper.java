@@ -0,0 +1,37 @@
+package com.quorum.tessera.transaction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes cipher text from the blob store once no stored transaction holds
+ * it, such as after the transaction was deleted or purged.
+ *
+ * Cipher text stored within the last hour is left alone, since the
+ * transaction holding it may not have been committed yet.
+ */
+public class BlobStoreSweeper implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlobStoreSweeper.class);
+
+    static final long GRACE_PERIOD_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final BlobStoringEncryptedTransactionDAO encryptedTransactionDAO;
+
+    public BlobStoreSweeper(final BlobStoringEncryptedTransactionDAO encryptedTransactionDAO) {
+        this.encryptedTransactionDAO = Objects.requireNonNull(encryptedTransactionDAO);
+    }
+
+    @Override
+    public void run() {
+        final int removed = encryptedTransactionDAO.sweep(System.currentTimeMillis() - GRACE_PERIOD_MILLIS);
+
+        if (removed > 0) {
+            LOGGER.info("Removed {} blobs no longer held by any transaction", removed);
+        }
+    }
+
+}
@@ -0,0 +1,255 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.config.BlobStoreConfig;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.storage.BlobNotFoundException;
+import com.quorum.tessera.storage.BlobStore;
+import com.quorum.tessera.storage.FileBlobStore;
+import com.quorum.tessera.transaction.exception.TransactionNotFoundException;
+import com.quorum.tessera.transaction.model.EncryptedTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * An {@link EncryptedTransactionDAO} that moves the cipher text of large
+ * transactions out of the database and into a {@link BlobStore}.
+ *
+ * The stored row keeps the encoded payload with an empty cipher text, which
+ * still holds the recipient boxes and keys, along with the address of the
+ * cipher text in the blob store. Transactions are reassembled when read, with
+ * the cipher text copied straight from the blob store's buffer.
+ *
+ * Reassembled transactions are copies, so saving one again updates the
+ * stored row rather than inserting a new one.
+ *
+ * Deleting transactions leaves their cipher text in the blob store, since
+ * the deletion may yet be rolled back. Cipher text that no stored transaction
+ * holds any more is removed by {@link #sweep(long)} instead.
+ *
+ * If no blob store is configured every operation is passed straight through.
+ */
+public class BlobStoringEncryptedTransactionDAO implements EncryptedTransactionDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BlobStoringEncryptedTransactionDAO.class);
+
+    private static final byte[] EMPTY = new byte[0];
+
+    private static final int SWEEP_BATCH_SIZE = 500;
+
+    private final EncryptedTransactionDAO delegate;
+
+    private final PayloadEncoder payloadEncoder;
+
+    private final BlobStore blobStore;
+
+    private final int threshold;
+
+    public BlobStoringEncryptedTransactionDAO(final EncryptedTransactionDAO delegate,
+                                              final PayloadEncoder payloadEncoder,
+                                              final BlobStoreConfig blobStoreConfig) {
+        this(
+            delegate,
+            payloadEncoder,
+            Optional.ofNullable(blobStoreConfig).map(BlobStoreConfig::getPath).map(FileBlobStore::new).orElse(null),
+            Optional.ofNullable(blobStoreConfig).map(BlobStoreConfig::getThreshold).orElse(Integer.MAX_VALUE)
+        );
+    }
+
+    public BlobStoringEncryptedTransactionDAO(final EncryptedTransactionDAO delegate,
+                                              final PayloadEncoder payloadEncoder,
+                                              final BlobStore blobStore,
+                                              final int threshold) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.payloadEncoder = Objects.requireNonNull(payloadEncoder);
+        this.blobStore = blobStore;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public EncryptedTransaction save(final EncryptedTransaction entity) {
+        if (blobStore == null) {
+            return delegate.save(entity);
+        }
+
+        if (entity.getCipherTextAddress() == null) {
+            return delegate.save(this.externalise(entity));
+        }
+
+        // a reassembled copy, so update the stored row in place
+        final EncryptedTransaction stored = delegate
+            .retrieveByHash(entity.getHash())
+            .orElseThrow(() -> new TransactionNotFoundException("Message with hash " + entity.getHash() + " was not found"));
+
+        final EncryptedTransaction updated = this.externalise(entity);
+        stored.setEncodedPayload(updated.getEncodedPayload());
+        stored.setCipherTextAddress(updated.getCipherTextAddress());
+
+        return delegate.save(stored);
+    }
+
+    @Override
+    public void saveAll(final Collection<EncryptedTransaction> entities) {
+        if (blobStore == null) {
+            delegate.saveAll(entities);
+            return;
+        }
+
+        entities.stream().filter(entity -> entity.getCipherTextAddress() != null).forEach(this::save);
+
+        delegate.saveAll(
+            entities.stream()
+                .filter(entity -> entity.getCipherTextAddress() == null)
+                .map(this::externalise)
+                .collect(Collectors.toList())
+        );
+    }
+
+    @Override
+    public Optional<EncryptedTransaction> retrieveByHash(final MessageHash hash) {
+        return delegate.retrieveByHash(hash).map(this::reassemble);
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrieveAllTransactions() {
+        return delegate.retrieveAllTransactions()
+            .stream()
+            .map(this::reassemble)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrieveTransactionsSince(final long timestamp) {
+        return delegate.retrieveTransactionsSince(timestamp)
+            .stream()
+            .map(this::reassemble)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrievePage(final long timestamp,
+                                                   final MessageHash after,
+                                                   final int maxResults) {
+        return delegate.retrievePage(timestamp, after, maxResults)
+            .stream()
+            .map(this::reassemble)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public Set<String> retrieveCipherTextAddresses(final Collection<String> addresses) {
+        return delegate.retrieveCipherTextAddresses(addresses);
+    }
+
+    @Override
+    public void delete(final MessageHash hash) {
+        delegate.delete(hash);
+    }
+
+    @Override
+    public int deleteOlderThan(final long timestamp, final int maxResults) {
+        return delegate.deleteOlderThan(timestamp, maxResults);
+    }
+
+    /**
+     * Removes cipher text from the blob store that no stored transaction holds.
+     * Only cipher text stored before the given time is removed, so that the
+     * transactions of cipher text stored since have time to be committed.
+     * Cipher text that is stored again while the sweep runs is kept, as its
+     * transaction may not be committed yet.
+     *
+     * @param storedBefore the time in milliseconds before which cipher text was stored
+     * @return the number of blobs removed
+     */
+    public int sweep(final long storedBefore) {
+        if (blobStore == null) {
+            return 0;
+        }
+
+        final List<String> candidates = blobStore.addressesStoredBefore(storedBefore);
+
+        int removed = 0;
+        for (int from = 0; from < candidates.size(); from += SWEEP_BATCH_SIZE) {
+            final List<String> batch = candidates.subList(from, Math.min(from + SWEEP_BATCH_SIZE, candidates.size()));
+            final Set<String> held = delegate.retrieveCipherTextAddresses(batch);
+
+            removed += (int) batch.stream()
+                .filter(address -> !held.contains(address))
+                .filter(address -> blobStore.deleteIfStoredBefore(address, storedBefore))
+                .count();
+        }
+
+        LOGGER.debug("Removed {} unused blobs of {} checked", removed, candidates.size());
+
+        return removed;
+    }
+
+    private EncryptedTransaction externalise(final EncryptedTransaction entity) {
+        if (entity.getEncodedPayload().length <= threshold) {
+            return entity;
+        }
+
+        final EncodedPayload payload = payloadEncoder.decode(entity.getEncodedPayload());
+        if (payload.getCipherText().length <= threshold) {
+            return entity;
+        }
+
+        final String address = blobStore.put(payload.getCipherText());
+
+        final EncodedPayload stripped = new EncodedPayload(
+            payload.getSenderKey(), EMPTY, payload.getCipherTextNonce(),
+            payload.getRecipientBoxes(), payload.getRecipientNonce(), payload.getRecipientKeys()
+        );
+
+        LOGGER.debug("Stored cipher text of transaction {} at {}", entity.getHash(), address);
+
+        final EncryptedTransaction externalised
+            = new EncryptedTransaction(entity.getHash(), payloadEncoder.encode(stripped));
+        externalised.setCipherTextAddress(address);
+        return externalised;
+    }
+
+    private EncryptedTransaction reassemble(final EncryptedTransaction entity) {
+        final String address = entity.getCipherTextAddress();
+        if (address == null) {
+            return entity;
+        }
+
+        final ByteBuffer cipherText = Optional.ofNullable(blobStore)
+            .flatMap(store -> store.get(address))
+            .orElseThrow(() -> new BlobNotFoundException(
+                "Cipher text " + address + " of transaction " + entity.getHash() + " not found"
+            ));
+
+        // the stored payload differs only by its empty cipher text, so this is exactly the size needed
+        final byte[] stored = entity.getEncodedPayload();
+        final ByteBuffer encoded = ByteBuffer.allocate(stored.length + cipherText.remaining());
+        payloadEncoder.encode(payloadEncoder.decode(stored), cipherText, new OutputStream() {
+            @Override
+            public void write(final int b) {
+                encoded.put((byte) b);
+            }
+
+            @Override
+            public void write(final byte[] b, final int off, final int len) {
+                encoded.put(b, off, len);
+            }
+        });
+
+        final EncryptedTransaction reassembled = new EncryptedTransaction(entity.getHash(), encoded.array());
+        reassembled.setTimestamp(entity.getTimestamp());
+        reassembled.setCipherTextAddress(address);
+        return reassembled;
+    }
+
+}
@@ -35,4 +35,15 @@ public interface EncryptedRawTransactionDAO {
      */
     void delete(MessageHash hash);
 
+    /**
+     * Deletes a batch of transactions that were stored before the given time.
+     * Implementations may delete slightly more than the maximum, such as
+     * transactions that share a timestamp with the last one in the batch.
+     *
+     * @param timestamp the time in milliseconds before which transactions are deleted
+     * @param maxResults the number of transactions to aim to delete
+     * @return the number of transactions deleted
+     */
+    int deleteOlderThan(long timestamp, int maxResults);
+
 }
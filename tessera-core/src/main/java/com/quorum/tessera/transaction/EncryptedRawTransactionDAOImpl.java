@@ -1,6 +1,8 @@
 package com.quorum.tessera.transaction;
 
 import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.metrics.Histogram;
+import com.quorum.tessera.metrics.MetricsRegistry;
 import com.quorum.tessera.transaction.model.EncryptedRawTransaction;
 import org.bouncycastle.util.encoders.Hex;
 import org.slf4j.Logger;
@@ -9,6 +11,8 @@ import org.slf4j.LoggerFactory;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityNotFoundException;
 import javax.persistence.PersistenceContext;
+import javax.transaction.Transactional;
+import java.util.List;
 import java.util.Optional;
 
 /**
@@ -18,6 +22,17 @@ public class EncryptedRawTransactionDAOImpl implements EncryptedRawTransactionDA
 
     private static final Logger LOGGER = LoggerFactory.getLogger(EncryptedRawTransactionDAOImpl.class);
 
+    private static final String FIND_OLDEST_HASHES
+            = "SELECT et.hash.hashBytes FROM EncryptedRawTransaction et WHERE et.timestamp < :cutoff "
+            + "ORDER BY et.timestamp, et.hash.hashBytes";
+
+    private static final String DELETE_HASHES
+            = "DELETE FROM EncryptedRawTransaction et WHERE et.hash.hashBytes IN :hashes";
+
+    private final Histogram saveTimer = MetricsRegistry.getDefault().histogram("tessera_db_raw_save_microseconds");
+
+    private final Histogram retrieveTimer = MetricsRegistry.getDefault().histogram("tessera_db_raw_retrieve_microseconds");
+
     @PersistenceContext(unitName = "tessera")
     private EntityManager entityManager;
 
@@ -27,7 +42,9 @@ public class EncryptedRawTransactionDAOImpl implements EncryptedRawTransactionDA
             entity.getHash(), toHexString(entity.getEncryptedPayload()), toHexString(entity.getEncryptedKey()),
             toHexString(entity.getNonce()), toHexString(entity.getSender()));
 
+        final long start = System.nanoTime();
         entityManager.persist(entity);
+        saveTimer.recordSince(start);
 
         return entity;
     }
@@ -35,7 +52,13 @@ public class EncryptedRawTransactionDAOImpl implements EncryptedRawTransactionDA
     @Override
     public Optional<EncryptedRawTransaction> retrieveByHash(final MessageHash hash) {
         LOGGER.info("Retrieving payload with hash {}", hash);
-        return Optional.ofNullable(entityManager.find(EncryptedRawTransaction.class, hash));
+
+        final long start = System.nanoTime();
+        final Optional<EncryptedRawTransaction> transaction
+            = Optional.ofNullable(entityManager.find(EncryptedRawTransaction.class, hash));
+        retrieveTimer.recordSince(start);
+
+        return transaction;
     }
 
 
@@ -46,6 +69,29 @@ public class EncryptedRawTransactionDAOImpl implements EncryptedRawTransactionDA
         entityManager.remove(retrieveByHash(hash).orElseThrow(EntityNotFoundException::new));
     }
 
+    @Override
+    @Transactional
+    public int deleteOlderThan(final long timestamp, final int maxResults) {
+        final List<byte[]> hashes = entityManager
+                .createQuery(FIND_OLDEST_HASHES, byte[].class)
+                .setParameter("cutoff", timestamp)
+                .setMaxResults(maxResults)
+                .getResultList();
+
+        if (hashes.isEmpty()) {
+            return 0;
+        }
+
+        final int deleted = entityManager
+                .createQuery(DELETE_HASHES)
+                .setParameter("hashes", hashes)
+                .executeUpdate();
+
+        LOGGER.debug("Deleted {} raw transactions older than {}", deleted, timestamp);
+
+        return deleted;
+    }
+
     private String toHexString(byte[] val){
         if (null == val){
             return "null";
@@ -0,0 +1,101 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.storage.KeyValueStore;
+import com.quorum.tessera.transaction.model.EncryptedRawTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.EntityNotFoundException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * A {@link KeyValueStore} backed implementation of {@link EncryptedRawTransactionDAO}
+ *
+ * Each transaction is stored against its hash, with the value being the
+ * 8 byte timestamp followed by the payload, key, nonce and sender, each
+ * prefixed with its 4 byte length
+ */
+public class EncryptedRawTransactionKeyValueDAO implements EncryptedRawTransactionDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EncryptedRawTransactionKeyValueDAO.class);
+
+    private final KeyValueStore store;
+
+    public EncryptedRawTransactionKeyValueDAO(final KeyValueStore store) {
+        this.store = Objects.requireNonNull(store);
+    }
+
+    @Override
+    public EncryptedRawTransaction save(final EncryptedRawTransaction entity) {
+        final byte[] hash = Objects.requireNonNull(entity.getHash()).getHashBytes();
+        final byte[] payload = Objects.requireNonNull(entity.getEncryptedPayload());
+        final byte[] key = Objects.requireNonNull(entity.getEncryptedKey());
+        final byte[] nonce = Objects.requireNonNull(entity.getNonce());
+        final byte[] sender = Objects.requireNonNull(entity.getSender());
+
+        entity.onPersist();
+
+        final int size = Long.BYTES + 4 * Integer.BYTES + payload.length + key.length + nonce.length + sender.length;
+        final byte[] value = ByteBuffer.allocate(size)
+            .putLong(entity.getTimestamp())
+            .putInt(payload.length).put(payload)
+            .putInt(key.length).put(key)
+            .putInt(nonce.length).put(nonce)
+            .putInt(sender.length).put(sender)
+            .array();
+
+        store.put(hash, value);
+        LOGGER.debug("Stored raw transaction {}", entity.getHash());
+
+        return entity;
+    }
+
+    @Override
+    public Optional<EncryptedRawTransaction> retrieveByHash(final MessageHash hash) {
+        LOGGER.debug("Retrieving payload with hash {}", hash);
+
+        return store.get(hash.getHashBytes()).map(value -> {
+            final ByteBuffer buffer = ByteBuffer.wrap(value);
+            final long timestamp = buffer.getLong();
+
+            final EncryptedRawTransaction transaction = new EncryptedRawTransaction(
+                hash, readField(buffer), readField(buffer), readField(buffer), readField(buffer)
+            );
+            transaction.setTimestamp(timestamp);
+            return transaction;
+        });
+    }
+
+    @Override
+    public void delete(final MessageHash hash) {
+        LOGGER.info("Deleting transaction with hash {}", hash);
+
+        if (!store.delete(hash.getHashBytes())) {
+            throw new EntityNotFoundException();
+        }
+    }
+
+    @Override
+    public int deleteOlderThan(final long timestamp, final int maxResults) {
+        final List<byte[]> expired = new ArrayList<>();
+        store.forEach((key, value) -> {
+            if (expired.size() < maxResults && ByteBuffer.wrap(value).getLong() < timestamp) {
+                expired.add(key);
+            }
+        });
+
+        return (int) expired.stream().filter(store::delete).count();
+    }
+
+    private static byte[] readField(final ByteBuffer buffer) {
+        final byte[] field = new byte[buffer.getInt()];
+        buffer.get(field);
+        return field;
+    }
+
+}
@@ -3,8 +3,10 @@ package com.quorum.tessera.transaction;
 import com.quorum.tessera.enclave.model.MessageHash;
 import com.quorum.tessera.transaction.model.EncryptedTransaction;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * A data store for transactions that need to be retrieved later
@@ -20,6 +22,14 @@ public interface EncryptedTransactionDAO {
      */
     EncryptedTransaction save(EncryptedTransaction entity);
 
+    /**
+     * Save a group of new Encrypted Transactions in a single unit of work
+     * All fields are required to be non-null on each entity
+     *
+     * @param entities The entities to be persisted
+     */
+    void saveAll(Collection<EncryptedTransaction> entities);
+
     /**
      * Retrieve a transaction based on its hash
      *
@@ -35,6 +45,41 @@ public interface EncryptedTransactionDAO {
      */
     List<EncryptedTransaction> retrieveAllTransactions();
 
+    /**
+     * Retrieves all transactions stored at or after the given time
+     *
+     * @param timestamp the time in milliseconds from which transactions are retrieved
+     * @return the transactions stored since the given time
+     */
+    List<EncryptedTransaction> retrieveTransactionsSince(long timestamp);
+
+    /**
+     * Retrieves a page of transactions in order of their timestamp and then
+     * their hash. Transactions stored before timestamps were recorded have
+     * none, and are retrieved as if stored at time 0.
+     *
+     * The next page starts after the last transaction of the previous one,
+     * rather than at an offset, so that transactions stored while paging
+     * can't shift later pages and cause transactions to be skipped.
+     *
+     * @param timestamp the time in milliseconds from which transactions are retrieved,
+     *                  or the timestamp of the last transaction already retrieved
+     * @param after the hash of the last transaction already retrieved, or null
+     *              to retrieve every transaction from the given time
+     * @param maxResults the most transactions to retrieve
+     * @return the page of transactions, empty if there are none left
+     */
+    List<EncryptedTransaction> retrievePage(long timestamp, MessageHash after, int maxResults);
+
+    /**
+     * Finds which of the given blob store addresses hold the cipher text of a
+     * stored transaction
+     *
+     * @param addresses the blob store addresses to look for
+     * @return the addresses that are held by stored transactions
+     */
+    Set<String> retrieveCipherTextAddresses(Collection<String> addresses);
+
     /**
      * Deletes a transaction that has the given hash as its digest
      *
@@ -43,4 +88,15 @@ public interface EncryptedTransactionDAO {
      */
     void delete(MessageHash hash);
 
+    /**
+     * Deletes a batch of transactions that were stored before the given time.
+     * Implementations may delete slightly more than the maximum, such as
+     * transactions that share a timestamp with the last one in the batch.
+     *
+     * @param timestamp the time in milliseconds before which transactions are deleted
+     * @param maxResults the number of transactions to aim to delete
+     * @return the number of transactions deleted
+     */
+    int deleteOlderThan(long timestamp, int maxResults);
+
 }
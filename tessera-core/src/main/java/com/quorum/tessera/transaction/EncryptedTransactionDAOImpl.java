@@ -1,6 +1,8 @@
 package com.quorum.tessera.transaction;
 
 import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.metrics.Histogram;
+import com.quorum.tessera.metrics.MetricsRegistry;
 import com.quorum.tessera.transaction.model.EncryptedTransaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -8,8 +10,13 @@ import org.slf4j.LoggerFactory;
 import javax.persistence.EntityManager;
 import javax.persistence.EntityNotFoundException;
 import javax.persistence.PersistenceContext;
+import javax.persistence.TypedQuery;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import javax.transaction.Transactional;
 
 /**
@@ -25,25 +32,82 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
 
     private static final String FIND_ALL = "SELECT et FROM EncryptedTransaction et";
 
+    private static final String FIND_SINCE
+            = "SELECT et FROM EncryptedTransaction et WHERE et.timestamp >= :since ORDER BY et.timestamp";
+
+    private static final String FIND_PAGE
+            = "SELECT et FROM EncryptedTransaction et WHERE et.timestamp >= :since "
+            + "ORDER BY et.timestamp, et.hash.hashBytes";
+
+    private static final String FIND_PAGE_WITH_UNTIMED
+            = "SELECT et FROM EncryptedTransaction et WHERE et.timestamp >= :since OR et.timestamp IS NULL "
+            + "ORDER BY et.timestamp NULLS FIRST, et.hash.hashBytes";
+
+    private static final String FIND_PAGE_AFTER
+            = "SELECT et FROM EncryptedTransaction et WHERE et.timestamp > :since "
+            + "OR (et.timestamp = :since AND et.hash.hashBytes > :after) "
+            + "ORDER BY et.timestamp, et.hash.hashBytes";
+
+    private static final String FIND_PAGE_AFTER_WITH_UNTIMED
+            = "SELECT et FROM EncryptedTransaction et WHERE et.timestamp > :since "
+            + "OR ((et.timestamp = :since OR et.timestamp IS NULL) AND et.hash.hashBytes > :after) "
+            + "ORDER BY et.timestamp NULLS FIRST, et.hash.hashBytes";
+
+    private static final String FIND_CIPHER_TEXT_ADDRESSES
+            = "SELECT et.cipherTextAddress FROM EncryptedTransaction et WHERE et.cipherTextAddress IN :addresses";
+
+    private static final String FIND_OLDEST_HASHES
+            = "SELECT et.hash.hashBytes FROM EncryptedTransaction et WHERE et.timestamp < :cutoff "
+            + "ORDER BY et.timestamp, et.hash.hashBytes";
+
+    private static final String DELETE_HASHES
+            = "DELETE FROM EncryptedTransaction et WHERE et.hash.hashBytes IN :hashes";
+
+    private final Histogram saveTimer = MetricsRegistry.getDefault().histogram("tessera_db_save_microseconds");
+
+    private final Histogram saveBatchTimer = MetricsRegistry.getDefault().histogram("tessera_db_save_batch_microseconds");
+
+    private final Histogram retrieveTimer = MetricsRegistry.getDefault().histogram("tessera_db_retrieve_microseconds");
+
+    private final Histogram retrievePageTimer
+        = MetricsRegistry.getDefault().histogram("tessera_db_retrieve_page_microseconds");
+
     @PersistenceContext(unitName = "tessera")
     private EntityManager entityManager;
 
     @Override
     public EncryptedTransaction save(final EncryptedTransaction entity) {
+        final long start = System.nanoTime();
         entityManager.persist(entity);
-        LOGGER.info("Stored transaction {}",entity.getHash());
+        saveTimer.recordSince(start);
+        LOGGER.debug("Stored transaction {}",entity.getHash());
         return entity;
     }
 
+    @Override
+    public void saveAll(final Collection<EncryptedTransaction> entities) {
+        final long start = System.nanoTime();
+        entities.forEach(entityManager::persist);
+        entityManager.flush();
+        saveBatchTimer.recordSince(start);
+        LOGGER.debug("Stored batch of {} transactions", entities.size());
+    }
+
     @Override
     public Optional<EncryptedTransaction> retrieveByHash(final MessageHash hash) {
         LOGGER.info("Retrieving payload with hash {}", hash);
 
-        return entityManager
+        final long start = System.nanoTime();
+
+        final Optional<EncryptedTransaction> transaction = entityManager
                 .createQuery(FIND_HASH_EQUAL, EncryptedTransaction.class)
                 .setParameter("hash", hash.getHashBytes())
                 .getResultStream()
                 .findAny();
+
+        retrieveTimer.recordSince(start);
+
+        return transaction;
     }
 
     @Override
@@ -55,18 +119,98 @@ public class EncryptedTransactionDAOImpl implements EncryptedTransactionDAO {
                 .getResultList();
     }
 
+    @Override
+    public List<EncryptedTransaction> retrieveTransactionsSince(final long timestamp) {
+        LOGGER.info("Fetching EncryptedTransaction database rows stored since {}", timestamp);
+
+        return entityManager
+                .createQuery(FIND_SINCE, EncryptedTransaction.class)
+                .setParameter("since", timestamp)
+                .getResultList();
+    }
+
+    /**
+     * Rows written before the TIMESTAMP column was added have no timestamp, so
+     * they are read first when paging from the start, and are read back with a
+     * timestamp of 0
+     */
+    @Override
+    public List<EncryptedTransaction> retrievePage(final long timestamp,
+                                                   final MessageHash after,
+                                                   final int maxResults) {
+        final long start = System.nanoTime();
+
+        final TypedQuery<EncryptedTransaction> query;
+        if (after == null) {
+            final String jpql = timestamp <= 0 ? FIND_PAGE_WITH_UNTIMED : FIND_PAGE;
+            query = entityManager.createQuery(jpql, EncryptedTransaction.class);
+        } else {
+            final String jpql = timestamp <= 0 ? FIND_PAGE_AFTER_WITH_UNTIMED : FIND_PAGE_AFTER;
+            query = entityManager
+                .createQuery(jpql, EncryptedTransaction.class)
+                .setParameter("after", after.getHashBytes());
+        }
+
+        final List<EncryptedTransaction> page = query
+                .setParameter("since", timestamp)
+                .setMaxResults(maxResults)
+                .getResultList();
+
+        retrievePageTimer.recordSince(start);
+
+        return page;
+    }
+
+    @Override
+    public Set<String> retrieveCipherTextAddresses(final Collection<String> addresses) {
+        if (addresses.isEmpty()) {
+            return Collections.emptySet();
+        }
+
+        return new HashSet<>(
+            entityManager
+                .createQuery(FIND_CIPHER_TEXT_ADDRESSES, String.class)
+                .setParameter("addresses", addresses)
+                .getResultList()
+        );
+    }
+
     @Override
     public void delete(final MessageHash hash) {
         LOGGER.info("Deleting transaction with hash {}", hash);
 
-        final EncryptedTransaction message = entityManager
-                .createQuery(FIND_HASH_EQUAL, EncryptedTransaction.class)
-                .setParameter("hash", hash.getHashBytes())
-                .getResultStream()
-                .findAny()
+        final EncryptedTransaction message = Optional
+                .ofNullable(entityManager.find(EncryptedTransaction.class, hash))
                 .orElseThrow(EntityNotFoundException::new);
 
         entityManager.remove(message);
     }
 
+    /**
+     * Finds the hashes of the oldest {@code maxResults} transactions using the
+     * TIMESTAMP index, then deletes exactly those, so that many transactions
+     * sharing a timestamp can't make a single delete unbounded
+     */
+    @Override
+    public int deleteOlderThan(final long timestamp, final int maxResults) {
+        final List<byte[]> hashes = entityManager
+                .createQuery(FIND_OLDEST_HASHES, byte[].class)
+                .setParameter("cutoff", timestamp)
+                .setMaxResults(maxResults)
+                .getResultList();
+
+        if (hashes.isEmpty()) {
+            return 0;
+        }
+
+        final int deleted = entityManager
+                .createQuery(DELETE_HASHES)
+                .setParameter("hashes", hashes)
+                .executeUpdate();
+
+        LOGGER.debug("Deleted {} transactions older than {}", deleted, timestamp);
+
+        return deleted;
+    }
+
 }
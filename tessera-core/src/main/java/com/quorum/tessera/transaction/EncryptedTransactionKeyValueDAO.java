@@ -0,0 +1,257 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.storage.KeyValueStore;
+import com.quorum.tessera.transaction.model.EncryptedTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.persistence.EntityExistsException;
+import javax.persistence.EntityNotFoundException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.stream.Collectors;
+
+/**
+ * A {@link KeyValueStore} backed implementation of {@link EncryptedTransactionDAO}
+ *
+ * Each transaction is stored against its hash, with the value being the
+ * 8 byte timestamp followed by the encoded payload. The timestamps and hashes
+ * of all transactions are also kept in memory, in the order transactions are
+ * paged in, so that finding transactions by age does not read every value in
+ * the store. The index is built from the timestamps at the start of each value
+ * when the DAO is created, without reading the payloads.
+ *
+ * Saving a new transaction whose hash is already stored is rejected, as the
+ * database would. Saving a transaction that was retrieved from the store
+ * updates it in place. New transactions saved together are written in a single
+ * batch; if any of them is already stored the others are still saved, and the
+ * duplicates are reported afterwards.
+ */
+public class EncryptedTransactionKeyValueDAO implements EncryptedTransactionDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EncryptedTransactionKeyValueDAO.class);
+
+    private static final Comparator<IndexEntry> INDEX_ORDER = Comparator
+        .comparingLong((IndexEntry entry) -> entry.timestamp)
+        .thenComparing(entry -> entry.hash, EncryptedTransactionKeyValueDAO::compareUnsigned);
+
+    private final KeyValueStore store;
+
+    private final NavigableSet<IndexEntry> timestampIndex = new ConcurrentSkipListSet<>(INDEX_ORDER);
+
+    public EncryptedTransactionKeyValueDAO(final KeyValueStore store) {
+        this.store = Objects.requireNonNull(store);
+        store.forEachPrefix(Long.BYTES, (key, timestamp) -> {
+            timestampIndex.add(new IndexEntry(ByteBuffer.wrap(timestamp).getLong(), key));
+        });
+    }
+
+    @Override
+    public EncryptedTransaction save(final EncryptedTransaction entity) {
+        final byte[] hash = Objects.requireNonNull(entity.getHash()).getHashBytes();
+        final byte[] payload = Objects.requireNonNull(entity.getEncodedPayload());
+
+        final boolean isNew = entity.getTimestamp() == 0;
+        if (isNew) {
+            entity.onPersist();
+        }
+
+        final byte[] value = encode(entity.getTimestamp(), payload);
+
+        if (!isNew) {
+            store.put(hash, value);
+        } else if (!store.putIfAbsent(hash, value)) {
+            entity.setTimestamp(0);
+            throw new EntityExistsException("Transaction with hash " + entity.getHash() + " is already stored");
+        }
+
+        timestampIndex.add(new IndexEntry(entity.getTimestamp(), hash));
+        LOGGER.debug("Stored transaction {}", entity.getHash());
+
+        return entity;
+    }
+
+    @Override
+    public void saveAll(final Collection<EncryptedTransaction> entities) {
+        final List<EncryptedTransaction> added = new ArrayList<>(entities.size());
+        final List<byte[]> hashes = new ArrayList<>(entities.size());
+        final List<byte[]> values = new ArrayList<>(entities.size());
+
+        for (final EncryptedTransaction entity : entities) {
+            if (entity.getTimestamp() != 0) {
+                this.save(entity);
+                continue;
+            }
+
+            final byte[] hash = Objects.requireNonNull(entity.getHash()).getHashBytes();
+            final byte[] payload = Objects.requireNonNull(entity.getEncodedPayload());
+            entity.onPersist();
+
+            added.add(entity);
+            hashes.add(hash);
+            values.add(encode(entity.getTimestamp(), payload));
+        }
+
+        if (added.isEmpty()) {
+            return;
+        }
+
+        final boolean[] stored = store.putAllIfAbsent(hashes, values);
+
+        final List<MessageHash> duplicates = new ArrayList<>();
+        for (int i = 0; i < added.size(); i++) {
+            final EncryptedTransaction entity = added.get(i);
+            if (stored[i]) {
+                timestampIndex.add(new IndexEntry(entity.getTimestamp(), hashes.get(i)));
+            } else {
+                entity.setTimestamp(0);
+                duplicates.add(entity.getHash());
+            }
+        }
+
+        LOGGER.debug("Stored {} of {} transactions", added.size() - duplicates.size(), added.size());
+
+        if (!duplicates.isEmpty()) {
+            throw new EntityExistsException("Transactions with hashes " + duplicates + " are already stored");
+        }
+    }
+
+    @Override
+    public Optional<EncryptedTransaction> retrieveByHash(final MessageHash hash) {
+        LOGGER.debug("Retrieving payload with hash {}", hash);
+
+        return store.get(hash.getHashBytes()).map(value -> decode(hash.getHashBytes(), value));
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrieveAllTransactions() {
+        LOGGER.info("Fetching all EncryptedTransaction entries");
+
+        final List<EncryptedTransaction> transactions = new ArrayList<>();
+        store.forEach((key, value) -> transactions.add(decode(key, value)));
+        return transactions;
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrieveTransactionsSince(final long timestamp) {
+        LOGGER.info("Fetching EncryptedTransaction entries stored since {}", timestamp);
+
+        return this.storedSince(timestamp)
+            .stream()
+            .map(this::read)
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrievePage(final long timestamp,
+                                                   final MessageHash after,
+                                                   final int maxResults) {
+        final NavigableSet<IndexEntry> remaining = after == null
+            ? this.storedSince(timestamp)
+            : timestampIndex.tailSet(new IndexEntry(timestamp, after.getHashBytes()), false);
+
+        return remaining
+            .stream()
+            .map(this::read)
+            .filter(Optional::isPresent)
+            .map(Optional::get)
+            .limit(maxResults)
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Cipher text is never held outside of the store, so no addresses are held
+     */
+    @Override
+    public Set<String> retrieveCipherTextAddresses(final Collection<String> addresses) {
+        return Collections.emptySet();
+    }
+
+    @Override
+    public void delete(final MessageHash hash) {
+        LOGGER.info("Deleting transaction with hash {}", hash);
+
+        final Optional<byte[]> value = store.get(hash.getHashBytes());
+        if (!value.isPresent() || !store.delete(hash.getHashBytes())) {
+            throw new EntityNotFoundException();
+        }
+        timestampIndex.remove(new IndexEntry(ByteBuffer.wrap(value.get()).getLong(), hash.getHashBytes()));
+    }
+
+    @Override
+    public int deleteOlderThan(final long timestamp, final int maxResults) {
+        final List<IndexEntry> expired = timestampIndex
+            .headSet(new IndexEntry(timestamp, new byte[0]), false)
+            .stream()
+            .limit(maxResults)
+            .collect(Collectors.toList());
+
+        int deleted = 0;
+        for (final IndexEntry entry : expired) {
+            if (store.delete(entry.hash)) {
+                deleted++;
+            }
+            timestampIndex.remove(entry);
+        }
+        return deleted;
+    }
+
+    private NavigableSet<IndexEntry> storedSince(final long timestamp) {
+        return timestampIndex.tailSet(new IndexEntry(timestamp, new byte[0]), true);
+    }
+
+    private Optional<EncryptedTransaction> read(final IndexEntry entry) {
+        return store.get(entry.hash).map(value -> decode(entry.hash, value));
+    }
+
+    private static int compareUnsigned(final byte[] left, final byte[] right) {
+        for (int i = 0; i < Math.min(left.length, right.length); i++) {
+            final int compared = Integer.compare(Byte.toUnsignedInt(left[i]), Byte.toUnsignedInt(right[i]));
+            if (compared != 0) {
+                return compared;
+            }
+        }
+        return Integer.compare(left.length, right.length);
+    }
+
+    private static byte[] encode(final long timestamp, final byte[] payload) {
+        return ByteBuffer.allocate(Long.BYTES + payload.length).putLong(timestamp).put(payload).array();
+    }
+
+    private static EncryptedTransaction decode(final byte[] hash, final byte[] value) {
+        final ByteBuffer buffer = ByteBuffer.wrap(value);
+        final long timestamp = buffer.getLong();
+        final byte[] payload = new byte[buffer.remaining()];
+        buffer.get(payload);
+
+        final EncryptedTransaction transaction = new EncryptedTransaction(new MessageHash(hash), payload);
+        transaction.setTimestamp(timestamp);
+        return transaction;
+    }
+
+    private static final class IndexEntry {
+
+        private final long timestamp;
+
+        private final byte[] hash;
+
+        private IndexEntry(final long timestamp, final byte[] hash) {
+            this.timestamp = timestamp;
+            this.hash = hash;
+        }
+
+    }
+
+}
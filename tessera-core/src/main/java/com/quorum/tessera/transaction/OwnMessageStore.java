@@ -0,0 +1,39 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.model.MessageHash;
+
+/**
+ * Stores copies of transactions this node sent, each in a transaction of its
+ * own, so that a copy is committed before the next copy of the same message
+ * is read
+ */
+public interface OwnMessageStore {
+
+    /**
+     * @param transactionHash the hash of the transaction
+     * @return whether the transaction is stored
+     */
+    boolean contains(MessageHash transactionHash);
+
+    /**
+     * Adds the recipient of the given copy to the stored transaction, or
+     * stores the transaction if it isn't already
+     *
+     * @param transactionHash the hash of the transaction
+     * @param payload the copy of the transaction received
+     */
+    void merge(MessageHash transactionHash, EncodedPayload payload);
+
+    /**
+     * Stores a transaction that has already been checked and given a box for
+     * its sender, unless another copy has been stored since it was checked,
+     * in which case the two are merged
+     *
+     * @param transactionHash the hash of the transaction
+     * @param payload the copy of the transaction received
+     * @param senderBox the box for the sender
+     */
+    void store(MessageHash transactionHash, EncodedPayload payload, byte[] senderBox);
+
+}
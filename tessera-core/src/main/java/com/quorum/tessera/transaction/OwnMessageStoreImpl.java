@@ -0,0 +1,107 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.Enclave;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.transaction.model.EncryptedTransaction;
+
+import javax.transaction.Transactional;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+import static javax.transaction.Transactional.TxType.REQUIRES_NEW;
+
+public class OwnMessageStoreImpl implements OwnMessageStore {
+
+    private final EncryptedTransactionDAO encryptedTransactionDAO;
+
+    private final PayloadEncoder payloadEncoder;
+
+    private final Enclave enclave;
+
+    public OwnMessageStoreImpl(final EncryptedTransactionDAO dao, final PayloadEncoder encoder, final Enclave enclave) {
+        this.encryptedTransactionDAO = Objects.requireNonNull(dao);
+        this.payloadEncoder = Objects.requireNonNull(encoder);
+        this.enclave = Objects.requireNonNull(enclave);
+    }
+
+    @Override
+    public boolean contains(final MessageHash transactionHash) {
+        return this.encryptedTransactionDAO.retrieveByHash(transactionHash).isPresent();
+    }
+
+    @Override
+    @Transactional(REQUIRES_NEW)
+    public void merge(final MessageHash transactionHash, final EncodedPayload payload) {
+
+        final PublicKey sender = payload.getSenderKey();
+
+        //this is a tx which we created
+        final Optional<EncryptedTransaction> tx = this.encryptedTransactionDAO.retrieveByHash(transactionHash);
+
+        if (tx.isPresent()) {
+
+            //we just need to add the recipient
+            final byte[] encodedPayload = tx.get().getEncodedPayload();
+            final EncodedPayload existing = payloadEncoder.decode(encodedPayload);
+
+            if (!existing.getRecipientKeys().contains(payload.getRecipientKeys().get(0))) {
+                //lets compare it against the message received before, the cipher text must be identical
+                //so only the new recipient box needs opening rather than decrypting both payloads
+                final boolean same = Arrays.equals(payload.getCipherText(), existing.getCipherText())
+                    && Objects.equals(payload.getCipherTextNonce(), existing.getCipherTextNonce())
+                    && Objects.equals(payload.getRecipientNonce(), existing.getRecipientNonce())
+                    && enclave.sharesMasterKey(payload, existing);
+
+                if (!same) {
+                    throw new IllegalArgumentException("Invalid payload provided");
+                }
+
+                existing.getRecipientKeys().add(payload.getRecipientKeys().get(0));
+                existing.getRecipientBoxes().add(payload.getRecipientBoxes().get(0));
+
+                tx.get().setEncodedPayload(payloadEncoder.encode(existing));
+
+                this.encryptedTransactionDAO.save(tx.get());
+            }
+
+        } else {
+
+            //check the payload can be decrpyted to ensure it isn't rubbish being sent to us
+            enclave.unencryptTransaction(payload, null);
+
+            //we need to recreate this
+            payload.getRecipientKeys().add(sender);
+            byte[] newbox = enclave.createNewRecipientBox(payload, sender);
+            payload.getRecipientBoxes().add(newbox);
+
+            final byte[] encoded = payloadEncoder.encode(payload);
+
+            this.encryptedTransactionDAO.save(new EncryptedTransaction(transactionHash, encoded));
+
+        }
+
+    }
+
+    @Override
+    @Transactional(REQUIRES_NEW)
+    public void store(final MessageHash transactionHash, final EncodedPayload payload, final byte[] senderBox) {
+
+        //another copy may have been stored since it was checked for
+        if (this.contains(transactionHash)) {
+            this.merge(transactionHash, payload);
+            return;
+        }
+
+        payload.getRecipientKeys().add(payload.getSenderKey());
+        payload.getRecipientBoxes().add(senderBox);
+
+        final byte[] encoded = payloadEncoder.encode(payload);
+
+        this.encryptedTransactionDAO.save(new EncryptedTransaction(transactionHash, encoded));
+    }
+
+}
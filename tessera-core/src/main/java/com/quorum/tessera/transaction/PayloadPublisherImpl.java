@@ -1,10 +1,14 @@
 package com.quorum.tessera.transaction;
 
 import com.quorum.tessera.client.P2pClient;
+import com.quorum.tessera.client.PeerUnavailableException;
 import com.quorum.tessera.enclave.Enclave;
 import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.enclave.PayloadEncoder;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.metrics.Counter;
+import com.quorum.tessera.metrics.Histogram;
+import com.quorum.tessera.metrics.MetricsRegistry;
 import com.quorum.tessera.node.PartyInfoService;
 import com.quorum.tessera.transaction.exception.PublishPayloadException;
 import org.slf4j.Logger;
@@ -24,6 +28,10 @@ public class PayloadPublisherImpl implements PayloadPublisher {
 
     private final Enclave enclave;
 
+    private final Histogram pushTimer = MetricsRegistry.getDefault().histogram("tessera_p2p_push_microseconds");
+
+    private final Counter pushFailures = MetricsRegistry.getDefault().counter("tessera_p2p_push_failures");
+
     public PayloadPublisherImpl(final PayloadEncoder payloadEncoder,
                                 final PartyInfoService partyInfoService,
                                 final P2pClient p2pClient,
@@ -49,12 +57,25 @@ public class PayloadPublisherImpl implements PayloadPublisher {
 
         final byte[] encoded = payloadEncoder.encode(payload);
 
-        byte[] pushResponse = p2pClient.push(targetUrl, encoded);
+        final long start = System.nanoTime();
+
+        final byte[] pushResponse;
+        try {
+            pushResponse = p2pClient.push(targetUrl, encoded);
+        } catch (final PeerUnavailableException ex) {
+            pushFailures.increment();
+            throw new PublishPayloadException(
+                "Recipient " + recipientKey.encodeToBase64() + " is unavailable after repeated failures"
+            );
+        }
 
         if(pushResponse == null) {
+            pushFailures.increment();
             throw new PublishPayloadException("Unable to push payload to recipient " + recipientKey.encodeToBase64());
         }
 
+        pushTimer.recordSince(start);
+
         LOGGER.info("Published to {}", targetUrl);
     }
 
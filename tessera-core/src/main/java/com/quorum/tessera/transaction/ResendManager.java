@@ -1,5 +1,7 @@
 package com.quorum.tessera.transaction;
 
+import java.util.Collection;
+
 /**
  * Handles resend requests where the response has one of
  * our own keys as the sender
@@ -14,4 +16,12 @@ public interface ResendManager {
      */
     void acceptOwnMessage(byte[] message);
 
+    /**
+     * Accepts a group of messages in the same way as {@link #acceptOwnMessage(byte[])},
+     * asking the enclave to check and add to all the new transactions together
+     *
+     * @param messages the messages to be decoded and stored
+     */
+    void acceptOwnMessages(Collection<byte[]> messages);
+
 }
@@ -6,15 +6,28 @@ import com.quorum.tessera.enclave.PayloadEncoder;
 import com.quorum.tessera.enclave.model.MessageHash;
 import com.quorum.tessera.enclave.model.MessageHashFactory;
 import com.quorum.tessera.encryption.PublicKey;
-import com.quorum.tessera.transaction.model.EncryptedTransaction;
 
-import javax.transaction.Transactional;
-import java.util.Arrays;
-import java.util.Optional;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 public class ResendManagerImpl implements ResendManager {
 
-    private final EncryptedTransactionDAO encryptedTransactionDAO;
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResendManagerImpl.class);
+
+    /**
+     * The number of locks that message hashes are spread over.
+     * Messages with the same hash always share a lock, so are applied one at
+     * a time, while unrelated messages rarely contend with each other.
+     */
+    static final int LOCK_STRIPES = 64;
+
+    private final Lock[] locks = new Lock[LOCK_STRIPES];
+
+    private final OwnMessageStore ownMessageStore;
 
     private final PayloadEncoder payloadEncoder;
 
@@ -22,21 +35,26 @@ public class ResendManagerImpl implements ResendManager {
 
     private final MessageHashFactory messageHashFactory = MessageHashFactory.create();
 
-    public ResendManagerImpl(final EncryptedTransactionDAO dao, final PayloadEncoder encoder, final Enclave enclave) {
-        this.encryptedTransactionDAO = dao;
-        this.payloadEncoder = encoder;
-        this.enclave = enclave;
+    public ResendManagerImpl(final OwnMessageStore store, final PayloadEncoder encoder, final Enclave enclave) {
+        this.ownMessageStore = Objects.requireNonNull(store);
+        this.payloadEncoder = Objects.requireNonNull(encoder);
+        this.enclave = Objects.requireNonNull(enclave);
+
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            this.locks[i] = new ReentrantLock();
+        }
     }
 
-    //TODO: synchronize based on messagehash, so different message don't lock each other
-    @Transactional
-    public synchronized void acceptOwnMessage(final byte[] message) {
+    /**
+     * The stored payload is read, merged with the message and written back
+     * in a transaction of its own, which is committed before the lock for its
+     * hash is released, so the next copy of the message always reads it
+     */
+    @Override
+    public void acceptOwnMessage(final byte[] message) {
 
         final EncodedPayload payload = payloadEncoder.decode(message);
 
-        //check the payload can be decrpyted to ensure it isn't rubbish being sent to us
-        final byte[] newDecrypted = enclave.unencryptTransaction(payload, null);
-
         final MessageHash transactionHash = Optional.of(payload)
             .map(EncodedPayload::getCipherText)
             .map(messageHashFactory::createFromCipherText)
@@ -49,46 +67,127 @@ public class ResendManagerImpl implements ResendManager {
             );
         }
 
-        //this is a tx which we created
-        final Optional<EncryptedTransaction> tx = this.encryptedTransactionDAO.retrieveByHash(transactionHash);
+        //the read-modify-write of the stored payload must not interleave with
+        //another copy of the same message, so is done under the lock of its hash
+        final Lock lock = this.lockFor(transactionHash);
+        lock.lock();
+        try {
+            this.ownMessageStore.merge(transactionHash, payload);
+        } finally {
+            lock.unlock();
+        }
 
-        if (tx.isPresent()) {
+    }
 
-            //we just need to add the recipient
-            final byte[] encodedPayload = tx.get().getEncodedPayload();
-            final EncodedPayload existing = payloadEncoder.decode(encodedPayload);
+    /**
+     * Copies of transactions that aren't stored yet are all checked in one
+     * call to the enclave, and all given a box for their sender in one call
+     * per sender, rather than a call of each per transaction. Copies of
+     * stored transactions, and later copies of a new one in the same group,
+     * are merged one at a time as usual.
+     *
+     * Each transaction is committed on its own while its lock is held, as in
+     * {@link #acceptOwnMessage(byte[])}. A message that is invalid doesn't
+     * stop the others being stored; the first such failure is thrown once
+     * the rest of the group has been stored.
+     */
+    @Override
+    public void acceptOwnMessages(final Collection<byte[]> messages) {
+
+        final Set<PublicKey> ownKeys = enclave.getPublicKeys();
+
+        final Map<MessageHash, EncodedPayload> unseen = new LinkedHashMap<>();
+        final List<Map.Entry<MessageHash, EncodedPayload>> seen = new ArrayList<>();
+
+        RuntimeException failure = null;
+
+        for (final byte[] message : messages) {
+            final EncodedPayload payload = payloadEncoder.decode(message);
+            final MessageHash transactionHash = messageHashFactory.createFromCipherText(payload.getCipherText());
+
+            if (!ownKeys.contains(payload.getSenderKey())) {
+                failure = firstOf(failure, new IllegalArgumentException(
+                    "Message " + transactionHash.toString() + " does not have one the nodes own keys as a sender"
+                ));
+                continue;
+            }
 
-            if (!existing.getRecipientKeys().contains(payload.getRecipientKeys().get(0))) {
-                //lets compare it against another message received before
-                final byte[] oldDecrypted = enclave.unencryptTransaction(existing, null);
-                final boolean same = Arrays.equals(newDecrypted, oldDecrypted)
-                    && Arrays.equals(payload.getCipherText(), existing.getCipherText());
+            if (!unseen.containsKey(transactionHash) && !ownMessageStore.contains(transactionHash)) {
+                unseen.put(transactionHash, payload);
+            } else {
+                seen.add(new AbstractMap.SimpleImmutableEntry<>(transactionHash, payload));
+            }
+        }
 
-                if (!same) {
-                    throw new IllegalArgumentException("Invalid payload provided");
-                }
+        if (!unseen.isEmpty()) {
+            try {
+                //check the payloads can be decrypted to ensure they aren't rubbish being sent to us
+                enclave.unencryptTransactions(new ArrayList<>(unseen.values()), null);
+            } catch (final RuntimeException ex) {
+                //one or more can't be decrypted, so check and store each on its own to find which
+                LOGGER.debug("Unable to check group of {} own messages together, checking individually", unseen.size(), ex);
+                unseen.forEach((hash, payload) -> seen.add(0, new AbstractMap.SimpleImmutableEntry<>(hash, payload)));
+                unseen.clear();
+            }
 
-                existing.getRecipientKeys().add(payload.getRecipientKeys().get(0));
-                existing.getRecipientBoxes().add(payload.getRecipientBoxes().get(0));
+            final Map<PublicKey, List<MessageHash>> bySender = new LinkedHashMap<>();
+            unseen.forEach((hash, payload) -> bySender.computeIfAbsent(payload.getSenderKey(), k -> new ArrayList<>()).add(hash));
 
-                tx.get().setEncodedPayload(payloadEncoder.encode(existing));
+            for (final Map.Entry<PublicKey, List<MessageHash>> sender : bySender.entrySet()) {
+                final List<MessageHash> hashes = sender.getValue();
+                final List<EncodedPayload> payloads = new ArrayList<>();
+                hashes.forEach(hash -> payloads.add(unseen.get(hash)));
 
-                this.encryptedTransactionDAO.save(tx.get());
-            }
+                final List<byte[]> newBoxes = enclave.createNewRecipientBoxes(payloads, sender.getKey());
 
-        } else {
+                for (int i = 0; i < hashes.size(); i++) {
+                    final MessageHash hash = hashes.get(i);
+                    final EncodedPayload payload = payloads.get(i);
+                    final byte[] newBox = newBoxes.get(i);
 
-            //we need to recreate this
-            payload.getRecipientKeys().add(sender);
-            byte[] newbox = enclave.createNewRecipientBox(payload, sender);
-            payload.getRecipientBoxes().add(newbox);
+                    failure = firstOf(failure, this.underLock(hash, () -> ownMessageStore.store(hash, payload, newBox)));
+                }
+            }
+        }
 
-            final byte[] encoded = payloadEncoder.encode(payload);
+        for (final Map.Entry<MessageHash, EncodedPayload> message : seen) {
+            failure = firstOf(
+                failure,
+                this.underLock(message.getKey(), () -> ownMessageStore.merge(message.getKey(), message.getValue()))
+            );
+        }
 
-            this.encryptedTransactionDAO.save(new EncryptedTransaction(transactionHash, encoded));
+        if (failure != null) {
+            throw failure;
+        }
+
+    }
 
+    /**
+     * Runs the update while holding the lock for the hash
+     *
+     * @return the failure of the update, if it failed
+     */
+    private RuntimeException underLock(final MessageHash transactionHash, final Runnable update) {
+        final Lock lock = this.lockFor(transactionHash);
+        lock.lock();
+        try {
+            update.run();
+            return null;
+        } catch (final RuntimeException ex) {
+            LOGGER.warn("Unable to store own message {}: {}", transactionHash, ex.getMessage());
+            return ex;
+        } finally {
+            lock.unlock();
         }
+    }
+
+    private static RuntimeException firstOf(final RuntimeException first, final RuntimeException next) {
+        return first != null ? first : next;
+    }
 
+    Lock lockFor(final MessageHash messageHash) {
+        return locks[Math.floorMod(messageHash.hashCode(), LOCK_STRIPES)];
     }
 
 }
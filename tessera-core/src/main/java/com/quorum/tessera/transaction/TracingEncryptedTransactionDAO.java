@@ -0,0 +1,82 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.trace.Span;
+import com.quorum.tessera.trace.Tracer;
+import com.quorum.tessera.transaction.model.EncryptedTransaction;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Opens a span around the database calls made while sending, receiving and
+ * storing transactions. Resends, purges and sweeps are not traced.
+ */
+public class TracingEncryptedTransactionDAO implements EncryptedTransactionDAO {
+
+    private final EncryptedTransactionDAO delegate;
+
+    public TracingEncryptedTransactionDAO(final EncryptedTransactionDAO delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public EncryptedTransaction save(final EncryptedTransaction entity) {
+        return traced("db.save", () -> delegate.save(entity));
+    }
+
+    @Override
+    public void saveAll(final Collection<EncryptedTransaction> entities) {
+        try (Span span = Tracer.startSpan("db.saveAll").tag("count", entities.size())) {
+            delegate.saveAll(entities);
+        }
+    }
+
+    @Override
+    public Optional<EncryptedTransaction> retrieveByHash(final MessageHash hash) {
+        return traced("db.retrieveByHash", () -> delegate.retrieveByHash(hash));
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrieveAllTransactions() {
+        return delegate.retrieveAllTransactions();
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrieveTransactionsSince(final long timestamp) {
+        return delegate.retrieveTransactionsSince(timestamp);
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrievePage(final long timestamp,
+                                                   final MessageHash after,
+                                                   final int maxResults) {
+        return delegate.retrievePage(timestamp, after, maxResults);
+    }
+
+    @Override
+    public Set<String> retrieveCipherTextAddresses(final Collection<String> addresses) {
+        return delegate.retrieveCipherTextAddresses(addresses);
+    }
+
+    @Override
+    public void delete(final MessageHash hash) {
+        delegate.delete(hash);
+    }
+
+    @Override
+    public int deleteOlderThan(final long timestamp, final int maxResults) {
+        return delegate.deleteOlderThan(timestamp, maxResults);
+    }
+
+    private static <T> T traced(final String name, final Supplier<T> call) {
+        try (Span span = Tracer.startSpan(name)) {
+            return call.get();
+        }
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.api.model.*;
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.trace.Span;
+import com.quorum.tessera.trace.Tracer;
+
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.Supplier;
+
+/**
+ * Opens a span around sending, receiving and storing transactions, so that
+ * the enclave and database calls they make appear as its children.
+ *
+ * Spans are opened outside of the delegate's database transaction, so they
+ * include the time taken to commit it.
+ */
+public class TracingTransactionManager implements TransactionManager {
+
+    private final TransactionManager delegate;
+
+    public TracingTransactionManager(final TransactionManager delegate) {
+        this.delegate = Objects.requireNonNull(delegate);
+    }
+
+    @Override
+    public SendResponse send(final SendRequest sendRequest) {
+        return traced("transaction.send", () -> delegate.send(sendRequest));
+    }
+
+    @Override
+    public SendResponse sendSignedTransaction(final SendSignedRequest sendRequest) {
+        return traced("transaction.sendSigned", () -> delegate.sendSignedTransaction(sendRequest));
+    }
+
+    @Override
+    public void delete(final DeleteRequest request) {
+        delegate.delete(request);
+    }
+
+    @Override
+    public ResendResponse resend(final ResendRequest request) {
+        return delegate.resend(request);
+    }
+
+    @Override
+    public void resendStream(final ResendRequest request, final OutputStream output) {
+        delegate.resendStream(request, output);
+    }
+
+    @Override
+    public MessageHash storePayload(final byte[] toByteArray) {
+        return traced("transaction.storePayload", () -> delegate.storePayload(toByteArray));
+    }
+
+    @Override
+    public void storePayloads(final Collection<byte[]> payloads) {
+        try (Span span = Tracer.startSpan("transaction.storePayloads").tag("count", payloads.size())) {
+            delegate.storePayloads(payloads);
+        }
+    }
+
+    @Override
+    public ReceiveResponse receive(final ReceiveRequest request) {
+        return traced("transaction.receive", () -> delegate.receive(request));
+    }
+
+    @Override
+    public StoreRawResponse store(final StoreRawRequest storeRequest) {
+        return delegate.store(storeRequest);
+    }
+
+    private static <T> T traced(final String name, final Supplier<T> call) {
+        try (Span span = Tracer.startSpan(name)) {
+            return call.get();
+        }
+    }
+
+}
@@ -3,6 +3,9 @@ package com.quorum.tessera.transaction;
 import com.quorum.tessera.api.model.*;
 import com.quorum.tessera.enclave.model.MessageHash;
 
+import java.io.OutputStream;
+import java.util.Collection;
+
 
 public interface TransactionManager {
 
@@ -14,8 +17,26 @@ public interface TransactionManager {
 
     ResendResponse resend(ResendRequest request);
 
+    /**
+     * Writes every transaction the requested key is involved in to the given
+     * stream, a page at a time, rather than pushing each one to the requester
+     *
+     * @param request the key to resend for and, for a SINCE request, where to start from
+     * @param output the stream to write the frames to
+     * @see com.quorum.tessera.sync.ResendStreamWriter
+     */
+    void resendStream(ResendRequest request, OutputStream output);
+
     MessageHash storePayload(byte[] toByteArray);
 
+    /**
+     * Stores a group of payloads received from another node together,
+     * skipping any that are already stored
+     *
+     * @param payloads the encoded payloads to store
+     */
+    void storePayloads(Collection<byte[]> payloads);
+
     ReceiveResponse receive(ReceiveRequest request);
     
     StoreRawResponse store(StoreRawRequest storeRequest);
@@ -9,7 +9,10 @@ import com.quorum.tessera.enclave.RawTransaction;
 import com.quorum.tessera.enclave.model.MessageHash;
 import com.quorum.tessera.enclave.model.MessageHashFactory;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.metrics.Histogram;
+import com.quorum.tessera.metrics.MetricsRegistry;
 import com.quorum.tessera.nacl.NaclException;
+import com.quorum.tessera.sync.ResendStreamWriter;
 import com.quorum.tessera.transaction.exception.KeyNotFoundException;
 import com.quorum.tessera.transaction.exception.PublishPayloadException;
 import com.quorum.tessera.transaction.exception.TransactionNotFoundException;
@@ -20,9 +23,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.transaction.Transactional;
-import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
+import java.io.OutputStream;
+import java.util.*;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -37,6 +39,8 @@ public class TransactionManagerImpl implements TransactionManager {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(TransactionManagerImpl.class);
 
+    private static final int RESEND_PAGE_SIZE = 100;
+
     private final PayloadEncoder payloadEncoder;
 
     private final Base64Decoder base64Decoder;
@@ -53,6 +57,18 @@ public class TransactionManagerImpl implements TransactionManager {
 
     private final MessageHashFactory messageHashFactory = MessageHashFactory.create();
 
+    private final Histogram sendTimer = MetricsRegistry.getDefault().histogram("tessera_transaction_send_microseconds");
+
+    private final Histogram sendSignedTimer
+        = MetricsRegistry.getDefault().histogram("tessera_transaction_send_signed_microseconds");
+
+    private final Histogram receiveTimer = MetricsRegistry.getDefault().histogram("tessera_transaction_receive_microseconds");
+
+    private final Histogram storeTimer = MetricsRegistry.getDefault().histogram("tessera_transaction_store_microseconds");
+
+    private final Histogram storeBatchTimer
+        = MetricsRegistry.getDefault().histogram("tessera_transaction_store_batch_microseconds");
+
     public TransactionManagerImpl(
             Base64Decoder base64Decoder,
             PayloadEncoder payloadEncoder,
@@ -75,6 +91,8 @@ public class TransactionManagerImpl implements TransactionManager {
     @Transactional
     public SendResponse send(SendRequest sendRequest) {
 
+        final long start = System.nanoTime();
+
         final String sender = sendRequest.getFrom();
 
         final PublicKey senderPublicKey = Optional.ofNullable(sender)
@@ -119,6 +137,8 @@ public class TransactionManagerImpl implements TransactionManager {
 
         final String encodedKey = base64Decoder.encodeToString(key);
 
+        sendTimer.recordSince(start);
+
         return new SendResponse(encodedKey);
     }
 
@@ -126,6 +146,8 @@ public class TransactionManagerImpl implements TransactionManager {
     @Transactional
     public SendResponse sendSignedTransaction(SendSignedRequest sendRequest) {
 
+        final long start = System.nanoTime();
+
         final byte[][] recipients = Stream.of(sendRequest)
             .filter(sr -> Objects.nonNull(sr.getTo()))
             .flatMap(s -> Stream.of(s.getTo()))
@@ -162,6 +184,8 @@ public class TransactionManagerImpl implements TransactionManager {
 
         final String encodedKey = base64Decoder.encodeToString(key);
 
+        sendSignedTimer.recordSince(start);
+
         return new SendResponse(encodedKey);
     }
 
@@ -171,35 +195,29 @@ public class TransactionManagerImpl implements TransactionManager {
 
         final byte[] publicKeyData = base64Decoder.decode(request.getPublicKey());
         PublicKey recipientPublicKey = PublicKey.from(publicKeyData);
-        if (request.getType() == ResendRequestType.ALL) {
+        if (request.getType() == ResendRequestType.ALL || request.getType() == ResendRequestType.SINCE) {
+
+            final List<EncryptedTransaction> transactions;
+            if (request.getType() == ResendRequestType.SINCE) {
+                final long since = Optional.ofNullable(request.getSince()).orElse(0L);
+                transactions = encryptedTransactionDAO.retrieveTransactionsSince(since);
+            } else {
+                transactions = encryptedTransactionDAO.retrieveAllTransactions();
+            }
 
-            encryptedTransactionDAO
-                .retrieveAllTransactions()
+            transactions
                 .stream()
                 .map(EncryptedTransaction::getEncodedPayload)
                 .map(payloadEncoder::decode)
-                .filter(payload -> {
-                    final boolean isRecipient = payload.getRecipientKeys().contains(recipientPublicKey);
-                    final boolean isSender = Objects.equals(payload.getSenderKey(), recipientPublicKey);
-                    return isRecipient || isSender;
-                }).forEach(payload -> {
-                    if (Objects.equals(payload.getSenderKey(), recipientPublicKey)) {
-                        final PublicKey decryptedKey = searchForRecipientKey(payload).orElseThrow(
-                            () -> {
-                                final MessageHash hash = MessageHashFactory.create()
-                                    .createFromCipherText(payload.getCipherText());
-                                return new KeyNotFoundException("No key found as recipient of message " + hash);
-                            }
-                        );
-                        payload.getRecipientKeys().add(decryptedKey);
-                    }
-
+                .map(payload -> this.prepareForResend(payload, recipientPublicKey))
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .forEach(payload -> {
                     try {
                         payloadPublisher.publishPayload(payload, recipientPublicKey);
                     } catch (PublishPayloadException ex) {
                         LOGGER.warn("Unable to publish payload to recipient {} during resend", recipientPublicKey.encodeToBase64());
                     }
-
                 });
 
             return new ResendResponse();
@@ -228,9 +246,103 @@ public class TransactionManagerImpl implements TransactionManager {
         }
     }
 
+    /**
+     * Deliberately not transactional, so that a long running stream doesn't hold a
+     * database transaction open; each page is read in its own transaction.
+     */
+    @Override
+    public void resendStream(final ResendRequest request, final OutputStream output) {
+
+        final PublicKey recipientPublicKey = PublicKey.from(base64Decoder.decode(request.getPublicKey()));
+
+        long from = 0L;
+        MessageHash after = null;
+        if (request.getType() == ResendRequestType.SINCE) {
+            from = Optional.ofNullable(request.getSince()).orElse(0L);
+            after = Optional.ofNullable(request.getAfterKey())
+                .map(base64Decoder::decode)
+                .map(MessageHash::new)
+                .orElse(null);
+        }
+
+        final ResendStreamWriter writer = new ResendStreamWriter(output);
+
+        List<EncryptedTransaction> page = encryptedTransactionDAO.retrievePage(from, after, RESEND_PAGE_SIZE);
+        while (!page.isEmpty()) {
+
+            page.stream()
+                .map(EncryptedTransaction::getEncodedPayload)
+                .map(payloadEncoder::decode)
+                .map(payload -> {
+                    try {
+                        return this.prepareForResend(payload, recipientPublicKey);
+                    } catch (final KeyNotFoundException ex) {
+                        LOGGER.warn("Skipping transaction during streamed resend: {}", ex.getMessage());
+                        return Optional.<EncodedPayload>empty();
+                    }
+                })
+                .filter(Optional::isPresent)
+                .map(Optional::get)
+                .map(payload -> this.forResendTo(payload, recipientPublicKey))
+                .map(payloadEncoder::encode)
+                .forEach(writer::writePayload);
+
+            final EncryptedTransaction last = page.get(page.size() - 1);
+            from = last.getTimestamp();
+            after = last.getHash();
+            writer.writeCheckpoint(from, after.getHashBytes());
+
+            page = encryptedTransactionDAO.retrievePage(from, after, RESEND_PAGE_SIZE);
+        }
+
+        writer.writeEnd();
+        LOGGER.debug("Finished streamed resend for {}", recipientPublicKey.encodeToBase64());
+    }
+
+    /**
+     * The sender gets back the whole payload, other recipients only get the
+     * box that was made for them
+     */
+    private EncodedPayload forResendTo(final EncodedPayload payload, final PublicKey recipientPublicKey) {
+        if (Objects.equals(payload.getSenderKey(), recipientPublicKey)) {
+            return payload;
+        }
+        return payloadEncoder.forRecipient(payload, recipientPublicKey);
+    }
+
+    /**
+     * Works out whether the given key is party to the transaction, and if it
+     * was the sender, adds the key of ours that it was sent to
+     *
+     * @return the payload to resend, or {@link Optional#empty()} if the key is not involved
+     */
+    private Optional<EncodedPayload> prepareForResend(final EncodedPayload payload, final PublicKey recipientPublicKey) {
+        final boolean isRecipient = payload.getRecipientKeys().contains(recipientPublicKey);
+        final boolean isSender = Objects.equals(payload.getSenderKey(), recipientPublicKey);
+
+        if (!isRecipient && !isSender) {
+            return Optional.empty();
+        }
+
+        if (isSender) {
+            final PublicKey decryptedKey = searchForRecipientKey(payload).orElseThrow(
+                () -> {
+                    final MessageHash hash = MessageHashFactory.create()
+                        .createFromCipherText(payload.getCipherText());
+                    return new KeyNotFoundException("No key found as recipient of message " + hash);
+                }
+            );
+            payload.getRecipientKeys().add(decryptedKey);
+        }
+
+        return Optional.of(payload);
+    }
+
     @Override
     public MessageHash storePayload(byte[] input) {
 
+        final long start = System.nanoTime();
+
         final EncodedPayload payload = payloadEncoder.decode(input);
 
         final MessageHash transactionHash = Optional.of(payload)
@@ -245,13 +357,70 @@ public class TransactionManagerImpl implements TransactionManager {
 
             //this is a tx from someone else
             this.encryptedTransactionDAO.save(new EncryptedTransaction(transactionHash, input));
-            LOGGER.info("Stored payload with hash {}", transactionHash);
+            LOGGER.debug("Stored payload with hash {}", transactionHash);
 
         }
 
+        storeTimer.recordSince(start);
+
         return transactionHash;
     }
 
+    /**
+     * Transactions from other nodes are saved in a single batch. If the batch
+     * can't be saved, such as when some are already stored, each is saved on
+     * its own and those that fail are skipped. Transactions this node sent
+     * are handed to the {@link ResendManager} together.
+     */
+    @Override
+    public void storePayloads(final Collection<byte[]> payloads) {
+
+        final long start = System.nanoTime();
+
+        final Set<PublicKey> ownKeys = enclave.getPublicKeys();
+        final Map<MessageHash, EncryptedTransaction> received = new LinkedHashMap<>();
+        final List<byte[]> ownMessages = new ArrayList<>();
+
+        for (final byte[] input : payloads) {
+            final EncodedPayload payload = payloadEncoder.decode(input);
+
+            if (ownKeys.contains(payload.getSenderKey())) {
+                ownMessages.add(input);
+            } else {
+                final MessageHash hash = messageHashFactory.createFromCipherText(payload.getCipherText());
+                received.putIfAbsent(hash, new EncryptedTransaction(hash, input));
+            }
+        }
+
+        if (!ownMessages.isEmpty()) {
+            this.resendManager.acceptOwnMessages(ownMessages);
+        }
+
+        if (received.isEmpty()) {
+            storeBatchTimer.recordSince(start);
+            return;
+        }
+
+        try {
+            this.encryptedTransactionDAO.saveAll(received.values());
+            LOGGER.debug("Stored batch of {} payloads", received.size());
+        } catch (final RuntimeException ex) {
+            LOGGER.debug("Unable to store batch of {} payloads together, storing individually", received.size(), ex);
+
+            received.values().forEach(transaction -> {
+                try {
+                    this.encryptedTransactionDAO.save(
+                        new EncryptedTransaction(transaction.getHash(), transaction.getEncodedPayload())
+                    );
+                } catch (final RuntimeException saveEx) {
+                    LOGGER.debug("Skipping payload with hash {}, it may already be stored", transaction.getHash());
+                }
+            });
+        }
+
+        storeBatchTimer.recordSince(start);
+    }
+
     @Override
     @Transactional
     public void delete(DeleteRequest request) {
@@ -267,6 +436,8 @@ public class TransactionManagerImpl implements TransactionManager {
     @Transactional
     public ReceiveResponse receive(ReceiveRequest request) {
 
+        final long start = System.nanoTime();
+
         final byte[] key = base64Decoder.decode(request.getKey());
 
         final Optional<byte[]> to = Optional
@@ -293,6 +464,8 @@ public class TransactionManagerImpl implements TransactionManager {
 
         byte[] response = enclave.unencryptTransaction(payload, recipientKey);
 
+        receiveTimer.recordSince(start);
+
         return new ReceiveResponse(response);
 
     }
@@ -0,0 +1,183 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.config.RetentionConfig;
+import com.quorum.tessera.transaction.exception.PurgeInProgressException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Deletes stored transactions and raw transactions older than a given time,
+ * in batches with a pause between each so that other database work isn't
+ * starved.
+ *
+ * When run on a schedule, transactions older than the configured maximum
+ * age are purged. Only one purge may run at a time, and the progress of the
+ * current or last purge can be read while it runs.
+ */
+public class TransactionPurger implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TransactionPurger.class);
+
+    private final EncryptedTransactionDAO encryptedTransactionDAO;
+
+    private final EncryptedRawTransactionDAO encryptedRawTransactionDAO;
+
+    private final RetentionConfig retentionConfig;
+
+    private final AtomicBoolean purging = new AtomicBoolean();
+
+    private final AtomicInteger purged = new AtomicInteger();
+
+    private volatile Long purgeTimestamp;
+
+    public TransactionPurger(final EncryptedTransactionDAO encryptedTransactionDAO,
+                             final EncryptedRawTransactionDAO encryptedRawTransactionDAO,
+                             final RetentionConfig retentionConfig) {
+        this.encryptedTransactionDAO = Objects.requireNonNull(encryptedTransactionDAO);
+        this.encryptedRawTransactionDAO = Objects.requireNonNull(encryptedRawTransactionDAO);
+        this.retentionConfig = Optional.ofNullable(retentionConfig).orElseGet(RetentionConfig::new);
+    }
+
+    /**
+     * Purges transactions older than the configured maximum age,
+     * unless no maximum age is configured or a purge is already running
+     */
+    @Override
+    public void run() {
+        final Long maxAge = retentionConfig.getMaxAgeInSecs();
+        if (maxAge == null) {
+            return;
+        }
+
+        try {
+            this.purge(System.currentTimeMillis() - TimeUnit.SECONDS.toMillis(maxAge));
+        } catch (final PurgeInProgressException ex) {
+            LOGGER.debug("Skipping scheduled purge: {}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Deletes all transactions stored before the given time
+     *
+     * @param timestamp the time in milliseconds before which transactions are deleted
+     * @return the number of transactions deleted
+     * @throws PurgeInProgressException if another purge is running
+     */
+    public int purge(final long timestamp) {
+        this.start(timestamp);
+
+        try {
+            return this.purgeBatches(timestamp);
+        } finally {
+            purging.set(false);
+        }
+    }
+
+    /**
+     * Starts deleting all transactions stored before the given time on the
+     * given executor, returning once the purge has been accepted
+     *
+     * @param timestamp the time in milliseconds before which transactions are deleted
+     * @param executor the executor to run the purge on
+     * @return the number of transactions deleted, once the purge completes
+     * @throws PurgeInProgressException if another purge is running
+     */
+    public CompletableFuture<Integer> purgeAsync(final long timestamp, final Executor executor) {
+        this.start(timestamp);
+
+        try {
+            return CompletableFuture.supplyAsync(() -> {
+                try {
+                    return this.purgeBatches(timestamp);
+                } finally {
+                    purging.set(false);
+                }
+            }, executor);
+        } catch (final RejectedExecutionException ex) {
+            purging.set(false);
+            throw ex;
+        }
+    }
+
+    /**
+     * @return whether a purge is running
+     */
+    public boolean isPurging() {
+        return purging.get();
+    }
+
+    /**
+     * @return the number of transactions the current or last purge has deleted
+     */
+    public int getPurged() {
+        return purged.get();
+    }
+
+    /**
+     * @return the time before which the current or last purge deletes
+     * transactions, or empty if no purge has run
+     */
+    public Optional<Long> getPurgeTimestamp() {
+        return Optional.ofNullable(purgeTimestamp);
+    }
+
+    private void start(final long timestamp) {
+        if (!purging.compareAndSet(false, true)) {
+            throw new PurgeInProgressException("A purge is already in progress");
+        }
+
+        purgeTimestamp = timestamp;
+        purged.set(0);
+    }
+
+    private int purgeBatches(final long timestamp) {
+        LOGGER.info("Purging transactions stored before {}", timestamp);
+
+        this.purgeBatches(timestamp, encryptedTransactionDAO::deleteOlderThan);
+        if (!Thread.currentThread().isInterrupted()) {
+            this.purgeBatches(timestamp, encryptedRawTransactionDAO::deleteOlderThan);
+        }
+
+        final int total = purged.get();
+        LOGGER.info("Purged {} transactions stored before {}", total, timestamp);
+
+        return total;
+    }
+
+    private void purgeBatches(final long timestamp, final BatchDelete batchDelete) {
+        final int batchSize = retentionConfig.getBatchSize();
+        int deleted;
+        do {
+            deleted = batchDelete.deleteOlderThan(timestamp, batchSize);
+            purged.addAndGet(deleted);
+        } while (deleted >= batchSize && this.pause());
+    }
+
+    private boolean pause() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(retentionConfig.getBatchDelayInMillis());
+            return true;
+        } catch (final InterruptedException ex) {
+            LOGGER.warn("Purge interrupted");
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @FunctionalInterface
+    private interface BatchDelete {
+
+        int deleteOlderThan(long timestamp, int maxResults);
+
+    }
+
+}
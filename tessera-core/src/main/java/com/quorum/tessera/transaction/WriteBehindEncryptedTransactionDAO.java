@@ -0,0 +1,225 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.transaction.model.EncryptedTransaction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+/**
+ * An {@link EncryptedTransactionDAO} that groups concurrent saves into
+ * batches, so that many received transactions share a single commit.
+ *
+ * A batch is written once it reaches the maximum size, or once the oldest
+ * transaction in it has waited for the maximum latency. Callers of
+ * {@link #save(EncryptedTransaction)} block until their batch has been
+ * committed, so a successful return still means the transaction is durable.
+ *
+ * All other operations are passed straight through to the delegate.
+ */
+public class WriteBehindEncryptedTransactionDAO implements EncryptedTransactionDAO {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WriteBehindEncryptedTransactionDAO.class);
+
+    private final EncryptedTransactionDAO delegate;
+
+    private final int maxBatchSize;
+
+    private final long maxLatency;
+
+    private final ExecutorService executor;
+
+    private final BlockingQueue<PendingSave> pendingSaves = new LinkedBlockingQueue<>();
+
+    private volatile boolean running;
+
+    public WriteBehindEncryptedTransactionDAO(final EncryptedTransactionDAO delegate,
+                                              final int maxBatchSize,
+                                              final long maxLatency) {
+        this(delegate, maxBatchSize, maxLatency, Executors.newSingleThreadExecutor());
+    }
+
+    public WriteBehindEncryptedTransactionDAO(final EncryptedTransactionDAO delegate,
+                                              final int maxBatchSize,
+                                              final long maxLatency,
+                                              final ExecutorService executor) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.maxBatchSize = maxBatchSize;
+        this.maxLatency = maxLatency;
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    /**
+     * Starts the batch writer, unless batching is disabled by a maximum batch size of 1
+     */
+    @PostConstruct
+    public void start() {
+        if (maxBatchSize <= 1) {
+            LOGGER.debug("Write batching disabled, transactions will be saved individually");
+            return;
+        }
+
+        LOGGER.info("Starting write batching with batch size {} and latency {}ms", maxBatchSize, maxLatency);
+        this.running = true;
+        this.executor.submit(this::writeLoop);
+    }
+
+    /**
+     * Stops accepting new batches, writing out any transactions already waiting
+     */
+    @PreDestroy
+    public void stop() {
+        this.running = false;
+        this.executor.shutdown();
+        try {
+            this.executor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+
+        final List<PendingSave> remaining = new ArrayList<>();
+        pendingSaves.drainTo(remaining);
+        if (!remaining.isEmpty()) {
+            this.write(remaining);
+        }
+    }
+
+    @Override
+    public EncryptedTransaction save(final EncryptedTransaction entity) {
+        if (!running) {
+            return delegate.save(entity);
+        }
+
+        final PendingSave pendingSave = new PendingSave(entity);
+        pendingSaves.add(pendingSave);
+
+        try {
+            return pendingSave.result.get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (final ExecutionException ex) {
+            final Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void saveAll(final Collection<EncryptedTransaction> entities) {
+        delegate.saveAll(entities);
+    }
+
+    @Override
+    public Optional<EncryptedTransaction> retrieveByHash(final MessageHash hash) {
+        return delegate.retrieveByHash(hash);
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrieveAllTransactions() {
+        return delegate.retrieveAllTransactions();
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrieveTransactionsSince(final long timestamp) {
+        return delegate.retrieveTransactionsSince(timestamp);
+    }
+
+    @Override
+    public List<EncryptedTransaction> retrievePage(final long timestamp,
+                                                   final MessageHash after,
+                                                   final int maxResults) {
+        return delegate.retrievePage(timestamp, after, maxResults);
+    }
+
+    @Override
+    public Set<String> retrieveCipherTextAddresses(final Collection<String> addresses) {
+        return delegate.retrieveCipherTextAddresses(addresses);
+    }
+
+    @Override
+    public void delete(final MessageHash hash) {
+        delegate.delete(hash);
+    }
+
+    @Override
+    public int deleteOlderThan(final long timestamp, final int maxResults) {
+        return delegate.deleteOlderThan(timestamp, maxResults);
+    }
+
+    private void writeLoop() {
+        final List<PendingSave> batch = new ArrayList<>(maxBatchSize);
+
+        while (running || !pendingSaves.isEmpty()) {
+            try {
+                final PendingSave first = pendingSaves.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+
+                final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxLatency);
+                while (batch.size() < maxBatchSize) {
+                    final PendingSave next = pendingSaves.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+
+                this.write(batch);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                batch.forEach(save -> save.result.completeExceptionally(ex));
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(final List<PendingSave> batch) {
+        try {
+            delegate.saveAll(batch.stream().map(save -> save.entity).collect(Collectors.toList()));
+            batch.forEach(save -> save.result.complete(save.entity));
+            LOGGER.debug("Saved batch of {} transactions", batch.size());
+        } catch (final RuntimeException ex) {
+            // one bad transaction (e.g. a duplicate) shouldn't fail the others, so retry individually
+            LOGGER.warn("Unable to save batch of {} transactions, saving individually", batch.size());
+            LOGGER.debug(null, ex);
+
+            for (final PendingSave save : batch) {
+                try {
+                    save.result.complete(delegate.save(save.entity));
+                } catch (final RuntimeException individualException) {
+                    save.result.completeExceptionally(individualException);
+                }
+            }
+        }
+    }
+
+    private static final class PendingSave {
+
+        private final EncryptedTransaction entity;
+
+        private final CompletableFuture<EncryptedTransaction> result = new CompletableFuture<>();
+
+        private PendingSave(final EncryptedTransaction entity) {
+            this.entity = entity;
+        }
+
+    }
+
+}
@@ -0,0 +1,14 @@
+package com.quorum.tessera.transaction.exception;
+
+import com.quorum.tessera.exception.TesseraException;
+
+/**
+ * Thrown when a purge of old transactions is requested while one is already running
+ */
+public class PurgeInProgressException extends TesseraException {
+
+    public PurgeInProgressException(final String message) {
+        super(message);
+    }
+
+}
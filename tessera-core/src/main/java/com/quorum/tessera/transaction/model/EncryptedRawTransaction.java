@@ -13,13 +13,13 @@ import java.util.Objects;
  * The JPA entity that contains the raw transaction information
  */
 @Entity
-@Table(name = "ENCRYPTED_RAW_TRANSACTION")
+@Table(name = "ENCRYPTED_RAW_TRANSACTION", indexes = @Index(name = "ENCRYPTED_RAW_TX_TIMESTAMP_IDX", columnList = "TIMESTAMP"))
 public class EncryptedRawTransaction implements Serializable {
 
     @EmbeddedId
     @AttributeOverride(
             name = "hashBytes",
-            column = @Column(name = "HASH", nullable = false, unique = true, updatable = false)
+            column = @Column(name = "HASH", nullable = false, unique = true, updatable = false, length = 64)
     )
     private MessageHash hash;
 
@@ -96,6 +96,10 @@ public class EncryptedRawTransaction implements Serializable {
         return this.timestamp;
     }
 
+    public void setTimestamp(final long timestamp) {
+        this.timestamp = timestamp;
+    }
+
     public byte[] getSender() {
         return sender;
     }
@@ -13,13 +13,13 @@ import java.util.Objects;
  * The key is the transaction hash, and the value an a fully encoded {@link com.quorum.tessera.enclave.EncodedPayload}
  */
 @Entity
-@Table(name = "ENCRYPTED_TRANSACTION")
+@Table(name = "ENCRYPTED_TRANSACTION", indexes = @Index(name = "ENCRYPTED_TX_TIMESTAMP_IDX", columnList = "TIMESTAMP"))
 public class EncryptedTransaction implements Serializable {
 
     @EmbeddedId
     @AttributeOverride(
             name = "hashBytes",
-            column = @Column(name = "HASH", nullable = false, unique = true, updatable = false)
+            column = @Column(name = "HASH", nullable = false, unique = true, updatable = false, length = 64)
     )
     private MessageHash hash;
 
@@ -30,6 +30,9 @@ public class EncryptedTransaction implements Serializable {
     @Column(name="TIMESTAMP", updatable = false)
     private long timestamp;
 
+    @Column(name = "CIPHER_TEXT_ADDRESS", length = 64)
+    private String cipherTextAddress;
+
     public EncryptedTransaction(final MessageHash hash, final byte[] encodedPayload) {
         this.hash = hash;
         this.encodedPayload = encodedPayload;
@@ -63,6 +66,22 @@ public class EncryptedTransaction implements Serializable {
         return this.timestamp;
     }
 
+    public void setTimestamp(final long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * @return the blob store address of the cipher text if it is held outside
+     * of the encoded payload, or null if the encoded payload is complete
+     */
+    public String getCipherTextAddress() {
+        return this.cipherTextAddress;
+    }
+
+    public void setCipherTextAddress(final String cipherTextAddress) {
+        this.cipherTextAddress = cipherTextAddress;
+    }
+
     @Override
     public int hashCode() {
         return 47 * 3 + Objects.hashCode(this.hash);
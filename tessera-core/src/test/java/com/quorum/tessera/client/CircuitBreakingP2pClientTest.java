@@ -0,0 +1,158 @@
+package com.quorum.tessera.client;
+
+import com.quorum.tessera.api.model.ResendRequest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class CircuitBreakingP2pClientTest {
+
+    private static final String URL = "http://peer.com";
+
+    private static final byte[] DATA = "DATA".getBytes();
+
+    private P2pClient delegate;
+
+    private Clock clock;
+
+    private PeerHealthRegistry peerHealthRegistry;
+
+    private CircuitBreakingP2pClient client;
+
+    @Before
+    public void onSetUp() {
+        this.delegate = mock(P2pClient.class);
+        this.clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(1000L);
+
+        this.peerHealthRegistry = new PeerHealthRegistry(2, 500L, clock);
+        this.client = new CircuitBreakingP2pClient(delegate, peerHealthRegistry);
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    public void callsAreDelegated() {
+        final ResendRequest request = new ResendRequest();
+        final InputStream stream = new ByteArrayInputStream(DATA);
+
+        when(delegate.push(URL, DATA)).thenReturn(DATA);
+        when(delegate.getPartyInfo(URL, DATA)).thenReturn(DATA);
+        when(delegate.makeResendRequest(URL, request)).thenReturn(true);
+        when(delegate.streamResend(URL, request)).thenReturn(stream);
+
+        assertThat(client.push(URL, DATA)).isSameAs(DATA);
+        assertThat(client.getPartyInfo(URL, DATA)).isSameAs(DATA);
+        assertThat(client.makeResendRequest(URL, request)).isTrue();
+        assertThat(client.streamResend(URL, request)).isSameAs(stream);
+
+        verify(delegate).push(URL, DATA);
+        verify(delegate).getPartyInfo(URL, DATA);
+        verify(delegate).makeResendRequest(URL, request);
+        verify(delegate).streamResend(URL, request);
+
+        assertThat(peerHealthRegistry.get(URL).getState()).isEqualTo(PeerHealth.State.CLOSED);
+        assertThat(client.isAvailable(URL)).isTrue();
+    }
+
+    @Test
+    public void latencyOfCallIsRecorded() {
+        when(clock.millis()).thenReturn(1000L, 1100L);
+        when(delegate.push(URL, DATA)).thenReturn(DATA);
+
+        client.push(URL, DATA);
+
+        assertThat(peerHealthRegistry.get(URL).getAverageLatencyMillis()).isEqualTo(100 * PeerHealth.SMOOTHING);
+
+        verify(delegate).push(URL, DATA);
+    }
+
+    @Test
+    public void repeatedFailuresFailFastWithoutCallingPeer() {
+        final RuntimeException failure = new RuntimeException("OUCH");
+        when(delegate.push(URL, DATA)).thenThrow(failure);
+
+        assertThat(catchThrowable(() -> client.push(URL, DATA))).isSameAs(failure);
+        assertThat(catchThrowable(() -> client.push(URL, DATA))).isSameAs(failure);
+
+        assertThat(client.isAvailable(URL)).isFalse();
+
+        final Throwable throwable = catchThrowable(() -> client.getPartyInfo(URL, DATA));
+
+        assertThat(throwable)
+            .isInstanceOf(PeerUnavailableException.class)
+            .hasMessage("Peer " + URL + " is unavailable after repeated failures");
+
+        verify(delegate, times(2)).push(URL, DATA);
+    }
+
+    @Test
+    public void probeAfterOpenDurationClosesCircuitOnSuccess() {
+        when(delegate.push(URL, DATA)).thenThrow(RuntimeException.class).thenThrow(RuntimeException.class)
+            .thenReturn(DATA);
+
+        catchThrowable(() -> client.push(URL, DATA));
+        catchThrowable(() -> client.push(URL, DATA));
+
+        when(clock.millis()).thenReturn(1500L);
+
+        assertThat(client.isAvailable(URL)).isTrue();
+        assertThat(client.push(URL, DATA)).isSameAs(DATA);
+        assertThat(peerHealthRegistry.get(URL).getState()).isEqualTo(PeerHealth.State.CLOSED);
+
+        verify(delegate, times(3)).push(URL, DATA);
+    }
+
+    @Test
+    public void emptyResponsesCountAsFailures() {
+        when(delegate.push(URL, DATA)).thenReturn(null);
+        when(delegate.getPartyInfo(URL, DATA)).thenReturn(null);
+
+        assertThat(client.push(URL, DATA)).isNull();
+        assertThat(client.getPartyInfo(URL, DATA)).isNull();
+
+        assertThat(client.isAvailable(URL)).isFalse();
+
+        verify(delegate).push(URL, DATA);
+        verify(delegate).getPartyInfo(URL, DATA);
+    }
+
+    @Test
+    public void rejectedResendRequestsCountAsFailures() {
+        final ResendRequest request = new ResendRequest();
+        when(delegate.makeResendRequest(URL, request)).thenReturn(false);
+
+        assertThat(client.makeResendRequest(URL, request)).isFalse();
+        assertThat(client.makeResendRequest(URL, request)).isFalse();
+
+        assertThat(client.isAvailable(URL)).isFalse();
+
+        verify(delegate, times(2)).makeResendRequest(URL, request);
+    }
+
+    @Test
+    public void unsupportedStreamResendsDoNotCountAsFailures() {
+        final ResendRequest request = new ResendRequest();
+        when(delegate.streamResend(URL, request)).thenReturn(null);
+
+        client.streamResend(URL, request);
+        client.streamResend(URL, request);
+        client.streamResend(URL, request);
+
+        assertThat(client.isAvailable(URL)).isTrue();
+
+        verify(delegate, times(3)).streamResend(URL, request);
+    }
+
+}
@@ -0,0 +1,107 @@
+package com.quorum.tessera.client;
+
+import com.quorum.tessera.api.model.ResendRequest;
+import com.quorum.tessera.metrics.MetricsRegistry;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class MeteredP2pClientTest {
+
+    private static final String URL = "http://peer.com";
+
+    private static final byte[] DATA = "DATA".getBytes();
+
+    private P2pClient delegate;
+
+    private MetricsRegistry metricsRegistry;
+
+    private PeerTrafficRegistry peerTrafficRegistry;
+
+    private MeteredP2pClient client;
+
+    @Before
+    public void onSetUp() {
+        this.delegate = mock(P2pClient.class);
+        this.metricsRegistry = new MetricsRegistry();
+        this.peerTrafficRegistry = new PeerTrafficRegistry(metricsRegistry);
+        this.client = new MeteredP2pClient(delegate, peerTrafficRegistry);
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    public void callsAreDelegatedAndCounted() {
+        final ResendRequest request = new ResendRequest();
+        final InputStream stream = new ByteArrayInputStream(DATA);
+
+        when(delegate.push(URL, DATA)).thenReturn("HASH_BYTES".getBytes());
+        when(delegate.getPartyInfo(URL, DATA)).thenReturn(null);
+        when(delegate.makeResendRequest(URL, request)).thenReturn(true);
+        when(delegate.streamResend(URL, request)).thenReturn(stream);
+        when(delegate.isAvailable(URL)).thenReturn(false);
+
+        assertThat(client.push(URL, DATA)).isEqualTo("HASH_BYTES".getBytes());
+        assertThat(client.getPartyInfo(URL, DATA)).isNull();
+        assertThat(client.makeResendRequest(URL, request)).isTrue();
+        assertThat(client.streamResend(URL, request)).isSameAs(stream);
+        assertThat(client.isAvailable(URL)).isFalse();
+
+        verify(delegate).push(URL, DATA);
+        verify(delegate).getPartyInfo(URL, DATA);
+        verify(delegate).makeResendRequest(URL, request);
+        verify(delegate).streamResend(URL, request);
+        verify(delegate).isAvailable(URL);
+
+        final PeerTraffic traffic = peerTrafficRegistry.get(URL);
+        assertThat(traffic.getRequestsSent()).isEqualTo(4L);
+        assertThat(traffic.getErrors()).isZero();
+        assertThat(traffic.getBytesSent()).isEqualTo(8L);
+        assertThat(traffic.getBytesReceived()).isEqualTo(10L);
+        assertThat(traffic.getCallLatency().getCount()).isEqualTo(4L);
+        assertThat(traffic.getRequestsReceived()).isZero();
+    }
+
+    @Test
+    public void failedCallIsCountedAsError() {
+        final RuntimeException exception = new RuntimeException("connection refused");
+        when(delegate.push(URL, DATA)).thenThrow(exception);
+
+        final Throwable throwable = catchThrowable(() -> client.push(URL, DATA));
+
+        assertThat(throwable).isSameAs(exception);
+        verify(delegate).push(URL, DATA);
+
+        final PeerTraffic traffic = peerTrafficRegistry.get(URL);
+        assertThat(traffic.getRequestsSent()).isEqualTo(1L);
+        assertThat(traffic.getErrors()).isEqualTo(1L);
+        assertThat(traffic.getBytesSent()).isEqualTo(4L);
+        assertThat(traffic.getBytesReceived()).isZero();
+    }
+
+    @Test
+    public void trafficIsReportedAsLabelledMetrics() {
+        peerTrafficRegistry.get(URL).recordServed(100, 32, System.nanoTime());
+
+        final String name = MetricsRegistry.labelled("tessera_p2p_peer_bytes_received", "peer", URL);
+        assertThat(metricsRegistry.getCounters().get(name).get()).isEqualTo(100L);
+        assertThat(metricsRegistry.getHistograms())
+            .containsKey(MetricsRegistry.labelled("tessera_p2p_peer_serve_microseconds", "peer", URL));
+
+        assertThat(peerTrafficRegistry.getPeers()).extracting(PeerTraffic::getUrl).containsExactly(URL);
+        assertThat(peerTrafficRegistry.get(URL).getRequestsReceived()).isEqualTo(1L);
+        assertThat(peerTrafficRegistry.get(URL).getBytesSent()).isEqualTo(32L);
+        assertThat(peerTrafficRegistry.get(URL).getServeLatency().getCount()).isEqualTo(1L);
+    }
+
+}
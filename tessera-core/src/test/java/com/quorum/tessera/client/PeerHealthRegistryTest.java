@@ -0,0 +1,44 @@
+package com.quorum.tessera.client;
+
+import com.quorum.tessera.config.PeerHealthConfig;
+import org.junit.Test;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+public class PeerHealthRegistryTest {
+
+    @Test
+    public void samePeerHealthIsReturnedForUrl() {
+        final PeerHealthRegistry registry = new PeerHealthRegistry();
+
+        final PeerHealth peerHealth = registry.get("http://peer.com");
+
+        assertThat(registry.get("http://peer.com")).isSameAs(peerHealth);
+        assertThat(registry.get("http://other.com")).isNotSameAs(peerHealth);
+        assertThat(registry.getPeers()).hasSize(2);
+    }
+
+    @Test
+    public void uncalledPeerIsAvailable() {
+        final PeerHealthRegistry registry = new PeerHealthRegistry(new PeerHealthConfig());
+
+        assertThat(registry.isAvailable("http://peer.com")).isTrue();
+        assertThat(registry.getPeers()).isEmpty();
+    }
+
+    @Test
+    public void failingPeerIsUnavailable() {
+        final Clock clock = mock(Clock.class);
+        final PeerHealthRegistry registry = new PeerHealthRegistry(1, 1000L, clock);
+
+        registry.get("http://peer.com").recordFailure(10);
+
+        assertThat(registry.isAvailable("http://peer.com")).isFalse();
+        assertThat(registry.isAvailable("http://other.com")).isTrue();
+        assertThat(registry.getClock()).isSameAs(clock);
+    }
+
+}
@@ -0,0 +1,135 @@
+package com.quorum.tessera.client;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PeerHealthTest {
+
+    private static final String URL = "http://peer.com";
+
+    private Clock clock;
+
+    private PeerHealth peerHealth;
+
+    @Before
+    public void onSetUp() {
+        this.clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(1000L);
+
+        this.peerHealth = new PeerHealth(URL, 3, 500L, clock);
+    }
+
+    @Test
+    public void newPeerIsClosedAndAvailable() {
+        assertThat(peerHealth.getUrl()).isEqualTo(URL);
+        assertThat(peerHealth.getState()).isEqualTo(PeerHealth.State.CLOSED);
+        assertThat(peerHealth.isAvailable()).isTrue();
+        assertThat(peerHealth.tryAcquire()).isTrue();
+        assertThat(peerHealth.getErrorRate()).isZero();
+    }
+
+    @Test
+    public void opensAfterConsecutiveFailures() {
+        peerHealth.recordFailure(10);
+        peerHealth.recordFailure(10);
+
+        assertThat(peerHealth.getState()).isEqualTo(PeerHealth.State.CLOSED);
+
+        peerHealth.recordFailure(10);
+
+        assertThat(peerHealth.getState()).isEqualTo(PeerHealth.State.OPEN);
+        assertThat(peerHealth.getConsecutiveFailures()).isEqualTo(3);
+        assertThat(peerHealth.getLastFailure()).isEqualTo(1000L);
+        assertThat(peerHealth.isAvailable()).isFalse();
+        assertThat(peerHealth.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void successResetsConsecutiveFailures() {
+        peerHealth.recordFailure(10);
+        peerHealth.recordFailure(10);
+        peerHealth.recordSuccess(10);
+        peerHealth.recordFailure(10);
+        peerHealth.recordFailure(10);
+
+        assertThat(peerHealth.getState()).isEqualTo(PeerHealth.State.CLOSED);
+        assertThat(peerHealth.getConsecutiveFailures()).isEqualTo(2);
+        assertThat(peerHealth.getLastSuccess()).isEqualTo(1000L);
+    }
+
+    @Test
+    public void singleProbeIsLetThroughOnceOpenDurationHasPassed() {
+        this.open();
+
+        when(clock.millis()).thenReturn(1499L);
+        assertThat(peerHealth.tryAcquire()).isFalse();
+
+        when(clock.millis()).thenReturn(1500L);
+        assertThat(peerHealth.isAvailable()).isTrue();
+        assertThat(peerHealth.tryAcquire()).isTrue();
+
+        assertThat(peerHealth.getState()).isEqualTo(PeerHealth.State.HALF_OPEN);
+        assertThat(peerHealth.isAvailable()).isFalse();
+        assertThat(peerHealth.tryAcquire()).isFalse();
+    }
+
+    @Test
+    public void successfulProbeClosesCircuit() {
+        this.open();
+
+        when(clock.millis()).thenReturn(1500L);
+        assertThat(peerHealth.tryAcquire()).isTrue();
+        peerHealth.recordSuccess(10);
+
+        assertThat(peerHealth.getState()).isEqualTo(PeerHealth.State.CLOSED);
+        assertThat(peerHealth.getConsecutiveFailures()).isZero();
+        assertThat(peerHealth.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void failedProbeReopensCircuit() {
+        this.open();
+
+        when(clock.millis()).thenReturn(1500L);
+        assertThat(peerHealth.tryAcquire()).isTrue();
+        peerHealth.recordFailure(10);
+
+        assertThat(peerHealth.getState()).isEqualTo(PeerHealth.State.OPEN);
+
+        when(clock.millis()).thenReturn(1999L);
+        assertThat(peerHealth.tryAcquire()).isFalse();
+
+        when(clock.millis()).thenReturn(2000L);
+        assertThat(peerHealth.tryAcquire()).isTrue();
+    }
+
+    @Test
+    public void rollingAveragesWeightRecentCalls() {
+        peerHealth.recordFailure(100);
+
+        assertThat(peerHealth.getErrorRate()).isCloseTo(PeerHealth.SMOOTHING, within(0.0001));
+        assertThat(peerHealth.getAverageLatencyMillis()).isCloseTo(100 * PeerHealth.SMOOTHING, within(0.0001));
+
+        for (int i = 0; i < 50; i++) {
+            peerHealth.recordSuccess(10);
+        }
+
+        assertThat(peerHealth.getErrorRate()).isCloseTo(0, within(0.0001));
+        assertThat(peerHealth.getAverageLatencyMillis()).isCloseTo(10, within(0.0001));
+    }
+
+    private void open() {
+        for (int i = 0; i < 3; i++) {
+            peerHealth.recordFailure(10);
+        }
+        assertThat(peerHealth.getState()).isEqualTo(PeerHealth.State.OPEN);
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.quorum.tessera.client;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PeerUnavailableExceptionTest {
+
+    @Test
+    public void constructWithMessage() {
+
+        final String message = "Peer is unavailable";
+
+        final PeerUnavailableException testException = new PeerUnavailableException(message);
+
+        assertThat(testException.getMessage()).isEqualTo(message);
+
+    }
+
+}
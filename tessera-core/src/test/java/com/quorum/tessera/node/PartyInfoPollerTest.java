@@ -1,6 +1,7 @@
 package com.quorum.tessera.node;
 
 import com.quorum.tessera.client.P2pClient;
+import com.quorum.tessera.client.PeerUnavailableException;
 import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.node.model.PartyInfo;
 import org.junit.After;
@@ -155,4 +156,22 @@ public class PartyInfoPollerTest {
         verify(partyInfoParser).to(partyInfo);
     }
 
+    @Test
+    public void unavailablePartyIsSkipped() {
+
+        final PartyInfo partyInfo = new PartyInfo(OWN_URL, emptySet(), singleton(new Party(TARGET_URL)));
+
+        doReturn(partyInfo).when(partyInfoService).getPartyInfo();
+        doReturn(RESPONSE).when(partyInfoParser).to(partyInfo);
+
+        doThrow(new PeerUnavailableException("unavailable")).when(p2pClient).getPartyInfo(TARGET_URL, RESPONSE);
+
+        partyInfoPoller.run();
+
+        verify(p2pClient).getPartyInfo(TARGET_URL, RESPONSE);
+
+        verify(partyInfoService).getPartyInfo();
+        verify(partyInfoParser).to(partyInfo);
+    }
+
 }
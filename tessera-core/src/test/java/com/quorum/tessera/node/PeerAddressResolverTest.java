@@ -0,0 +1,108 @@
+package com.quorum.tessera.node;
+
+import com.quorum.tessera.node.model.Party;
+import com.quorum.tessera.node.model.PartyInfo;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class PeerAddressResolverTest {
+
+    private static final String OWN_URL = "http://10.0.0.1:9000/";
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private PartyInfoService partyInfoService;
+
+    private PeerAddressResolver resolver;
+
+    @Before
+    public void onSetUp() {
+        this.partyInfoService = mock(PartyInfoService.class);
+        this.resolver = new PeerAddressResolver(partyInfoService, clock::get);
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(partyInfoService);
+    }
+
+    @Test
+    public void nothingIsFoundBeforeRunning() {
+        assertThat(resolver.urlAt("10.0.0.2", "10.0.0.2")).isEmpty();
+    }
+
+    @Test
+    public void partiesAreFoundByAddressOrHost() {
+        parties(OWN_URL, "http://10.0.0.2:9000/", "http://10.0.0.3:9000/");
+
+        resolver.run();
+
+        assertThat(resolver.urlAt("10.0.0.2", null)).contains("http://10.0.0.2:9000/");
+        assertThat(resolver.urlAt("192.168.0.3", "10.0.0.3")).contains("http://10.0.0.3:9000/");
+        assertThat(resolver.urlAt("10.0.0.1", "10.0.0.1")).isEmpty();
+        assertThat(resolver.urlAt("10.0.0.9", "10.0.0.9")).isEmpty();
+
+        verify(partyInfoService).getPartyInfo();
+    }
+
+    @Test
+    public void addressSharedByPartiesIdentifiesNone() {
+        parties(OWN_URL, "http://10.0.0.2:9000/", "http://10.0.0.2:9001/", "http://10.0.0.3:9000/");
+
+        resolver.run();
+
+        assertThat(resolver.urlAt("10.0.0.2", "10.0.0.2")).isEmpty();
+        assertThat(resolver.urlAt("10.0.0.3", "10.0.0.3")).contains("http://10.0.0.3:9000/");
+
+        verify(partyInfoService).getPartyInfo();
+    }
+
+    @Test
+    public void changedPartiesAreResolvedOnNextRun() {
+        parties(OWN_URL, "http://10.0.0.2:9000/");
+        resolver.run();
+
+        parties(OWN_URL, "http://10.0.0.3:9000/");
+        resolver.run();
+
+        assertThat(resolver.urlAt("10.0.0.2", "10.0.0.2")).isEmpty();
+        assertThat(resolver.urlAt("10.0.0.3", "10.0.0.3")).contains("http://10.0.0.3:9000/");
+
+        verify(partyInfoService, times(2)).getPartyInfo();
+    }
+
+    @Test
+    public void unchangedPartiesAreResolvedAgainAfterAWhile() {
+        parties(OWN_URL, "http://10.0.0.2:9000/");
+        resolver.run();
+        resolver.run();
+
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(6));
+        resolver.run();
+
+        assertThat(resolver.urlAt("10.0.0.2", "10.0.0.2")).contains("http://10.0.0.2:9000/");
+
+        verify(partyInfoService, times(3)).getPartyInfo();
+    }
+
+    private void parties(final String... urls) {
+        final PartyInfo partyInfo = new PartyInfo(
+            OWN_URL,
+            Collections.emptySet(),
+            new HashSet<>(Arrays.stream(urls).map(Party::new).collect(Collectors.toList()))
+        );
+        when(partyInfoService.getPartyInfo()).thenReturn(partyInfo);
+    }
+
+}
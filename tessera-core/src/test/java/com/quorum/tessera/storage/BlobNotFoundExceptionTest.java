@@ -0,0 +1,16 @@
+package com.quorum.tessera.storage;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BlobNotFoundExceptionTest {
+
+    @Test
+    public void createWithMessage() {
+        final BlobNotFoundException exception = new BlobNotFoundException("msg");
+
+        assertThat(exception).hasMessage("msg");
+    }
+
+}
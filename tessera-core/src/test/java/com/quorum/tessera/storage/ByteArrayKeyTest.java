@@ -0,0 +1,26 @@
+package com.quorum.tessera.storage;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ByteArrayKeyTest {
+
+    @Test
+    public void keysWithSameContentAreEqual() {
+        final ByteArrayKey key = new ByteArrayKey("KEY".getBytes());
+        final ByteArrayKey other = new ByteArrayKey("KEY".getBytes());
+
+        assertThat(key).isEqualTo(other).hasSameHashCodeAs(other);
+        assertThat(key.getBytes()).isEqualTo("KEY".getBytes());
+    }
+
+    @Test
+    public void differentTypesNotEqual() {
+        final ByteArrayKey key = new ByteArrayKey("KEY".getBytes());
+
+        assertThat(key).isNotEqualTo("KEY");
+        assertThat(key).isNotEqualTo(new ByteArrayKey("OTHER".getBytes()));
+    }
+
+}
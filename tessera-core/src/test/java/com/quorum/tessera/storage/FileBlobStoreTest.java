@@ -0,0 +1,123 @@
+package com.quorum.tessera.storage;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class FileBlobStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path directory;
+
+    private BlobStore blobStore;
+
+    @Before
+    public void onSetUp() {
+        this.directory = temporaryFolder.getRoot().toPath().resolve("blobs");
+        this.blobStore = new FileBlobStore(directory);
+    }
+
+    @Test
+    public void putThenGet() {
+        final byte[] content = "CONTENT".getBytes();
+
+        final String address = blobStore.put(content);
+
+        final Optional<ByteBuffer> stored = blobStore.get(address);
+        assertThat(stored).isPresent();
+        assertThat(stored.get().isReadOnly()).isTrue();
+
+        final byte[] read = new byte[stored.get().remaining()];
+        stored.get().get(read);
+        assertThat(read).isEqualTo(content);
+    }
+
+    @Test
+    public void addressIsDerivedFromContent() throws Exception {
+        final String first = blobStore.put("CONTENT".getBytes());
+        final String second = blobStore.put("CONTENT".getBytes());
+        final String other = blobStore.put("OTHER".getBytes());
+
+        assertThat(first).isEqualTo(second).hasSize(64).isNotEqualTo(other);
+
+        try (Stream<Path> files = Files.walk(directory)) {
+            assertThat(files.filter(Files::isRegularFile).count()).isEqualTo(2);
+        }
+        assertThat(directory.resolve(first.substring(0, 2)).resolve(first)).exists();
+    }
+
+    @Test
+    public void blobsAreListedByWhenTheyWereLastStored() throws Exception {
+        final String old = blobStore.put("OLD".getBytes());
+        final String recent = blobStore.put("RECENT".getBytes());
+        final String restored = blobStore.put("RESTORED".getBytes());
+
+        final FileTime hourAgo = FileTime.fromMillis(System.currentTimeMillis() - 3600000L);
+        Files.setLastModifiedTime(directory.resolve(old.substring(0, 2)).resolve(old), hourAgo);
+        Files.setLastModifiedTime(directory.resolve(restored.substring(0, 2)).resolve(restored), hourAgo);
+        blobStore.put("RESTORED".getBytes());
+
+        assertThat(blobStore.addressesStoredBefore(System.currentTimeMillis() - 60000L)).containsExactly(old);
+        assertThat(blobStore.addressesStoredBefore(System.currentTimeMillis() + 60000L))
+            .containsExactlyInAnyOrder(old, recent, restored);
+    }
+
+    @Test
+    public void getMissingBlob() {
+        final String address = blobStore.put("CONTENT".getBytes());
+        blobStore.delete(address);
+
+        assertThat(blobStore.get(address)).isEmpty();
+    }
+
+    @Test
+    public void deleteReportsWhetherBlobWasPresent() {
+        final String address = blobStore.put("CONTENT".getBytes());
+
+        assertThat(blobStore.delete(address)).isTrue();
+        assertThat(blobStore.delete(address)).isFalse();
+    }
+
+    @Test
+    public void onlyBlobsNotStoredAgainAreDeletedConditionally() throws Exception {
+        final String old = blobStore.put("OLD".getBytes());
+        final String restored = blobStore.put("RESTORED".getBytes());
+
+        final FileTime hourAgo = FileTime.fromMillis(System.currentTimeMillis() - 3600000L);
+        Files.setLastModifiedTime(directory.resolve(old.substring(0, 2)).resolve(old), hourAgo);
+        Files.setLastModifiedTime(directory.resolve(restored.substring(0, 2)).resolve(restored), hourAgo);
+
+        final long storedBefore = System.currentTimeMillis() - 60000L;
+        assertThat(blobStore.addressesStoredBefore(storedBefore)).containsExactlyInAnyOrder(old, restored);
+
+        blobStore.put("RESTORED".getBytes());
+
+        assertThat(blobStore.deleteIfStoredBefore(old, storedBefore)).isTrue();
+        assertThat(blobStore.deleteIfStoredBefore(restored, storedBefore)).isFalse();
+        assertThat(blobStore.deleteIfStoredBefore(old, storedBefore)).isFalse();
+
+        assertThat(blobStore.get(old)).isEmpty();
+        assertThat(blobStore.get(restored)).isPresent();
+    }
+
+    @Test
+    public void invalidAddressIsRejected() {
+        final Throwable throwable = catchThrowable(() -> blobStore.get("../../etc/passwd"));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.quorum.tessera.storage;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class KeyValueStoreExceptionTest {
+
+    @Test
+    public void createWithMessage() {
+        final KeyValueStoreException exception = new KeyValueStoreException("msg");
+
+        assertThat(exception).hasMessage("msg");
+    }
+
+    @Test
+    public void createWithCause() {
+        final Throwable cause = new Exception("OUCH");
+
+        final KeyValueStoreException exception = new KeyValueStoreException(cause);
+
+        assertThat(exception).hasCause(cause);
+    }
+
+}
@@ -0,0 +1,261 @@
+package com.quorum.tessera.storage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class LogStructuredKeyValueStoreTest {
+
+    private static final int SEGMENT_SIZE = 1024;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path directory;
+
+    private LogStructuredKeyValueStore store;
+
+    @Before
+    public void onSetUp() {
+        this.directory = temporaryFolder.getRoot().toPath().resolve("store");
+        this.store = new LogStructuredKeyValueStore(directory, SEGMENT_SIZE, 50);
+    }
+
+    @After
+    public void onTearDown() {
+        this.store.close();
+    }
+
+    @Test
+    public void putThenGet() {
+        store.put("KEY".getBytes(), "VALUE".getBytes());
+
+        assertThat(store.get("KEY".getBytes())).hasValue("VALUE".getBytes());
+        assertThat(store.get("OTHER".getBytes())).isEmpty();
+    }
+
+    @Test
+    public void putReplacesExistingValue() {
+        store.put("KEY".getBytes(), "VALUE".getBytes());
+        store.put("KEY".getBytes(), "NEWVALUE".getBytes());
+
+        assertThat(store.get("KEY".getBytes())).hasValue("NEWVALUE".getBytes());
+    }
+
+    @Test
+    public void putIfAbsentKeepsExistingValue() {
+        assertThat(store.putIfAbsent("KEY".getBytes(), "VALUE".getBytes())).isTrue();
+        assertThat(store.putIfAbsent("KEY".getBytes(), "NEWVALUE".getBytes())).isFalse();
+
+        assertThat(store.get("KEY".getBytes())).hasValue("VALUE".getBytes());
+
+        store.delete("KEY".getBytes());
+
+        assertThat(store.putIfAbsent("KEY".getBytes(), "NEWVALUE".getBytes())).isTrue();
+        assertThat(store.get("KEY".getBytes())).hasValue("NEWVALUE".getBytes());
+    }
+
+    @Test
+    public void putAllIfAbsentReportsWhichValuesWereStored() {
+        store.put("ONE".getBytes(), "1".getBytes());
+
+        final boolean[] stored = store.putAllIfAbsent(
+            Arrays.asList("ONE".getBytes(), "TWO".getBytes(), "TWO".getBytes()),
+            Arrays.asList("NEW1".getBytes(), "2".getBytes(), "NEW2".getBytes())
+        );
+
+        assertThat(stored).containsExactly(false, true, false);
+        assertThat(store.get("ONE".getBytes())).hasValue("1".getBytes());
+        assertThat(store.get("TWO".getBytes())).hasValue("2".getBytes());
+    }
+
+    @Test
+    public void putAllIfAbsentRequiresAValueForEachKey() {
+        final Throwable throwable = catchThrowable(
+            () -> store.putAllIfAbsent(Arrays.asList("ONE".getBytes(), "TWO".getBytes()), Arrays.asList("1".getBytes()))
+        );
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class);
+        assertThat(store.get("ONE".getBytes())).isEmpty();
+    }
+
+    @Test
+    public void concurrentPutIfAbsentStoresOneValue() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        final List<Future<Boolean>> futures = IntStream.range(0, 50)
+            .mapToObj(i -> executorService.submit(() -> store.putIfAbsent("KEY".getBytes(), ("VALUE" + i).getBytes())))
+            .collect(Collectors.toList());
+
+        int stored = 0;
+        for (final Future<Boolean> future : futures) {
+            stored += future.get() ? 1 : 0;
+        }
+        executorService.shutdown();
+
+        assertThat(stored).isEqualTo(1);
+    }
+
+    @Test
+    public void deleteRemovesValue() {
+        store.put("KEY".getBytes(), "VALUE".getBytes());
+
+        assertThat(store.delete("KEY".getBytes())).isTrue();
+        assertThat(store.get("KEY".getBytes())).isEmpty();
+        assertThat(store.delete("KEY".getBytes())).isFalse();
+    }
+
+    @Test
+    public void forEachVisitsAllLiveEntries() {
+        store.put("ONE".getBytes(), "1".getBytes());
+        store.put("TWO".getBytes(), "2".getBytes());
+        store.put("THREE".getBytes(), "3".getBytes());
+        store.delete("TWO".getBytes());
+
+        final Map<String, String> entries = new HashMap<>();
+        store.forEach((k, v) -> entries.put(new String(k), new String(v)));
+
+        assertThat(entries).hasSize(2).containsEntry("ONE", "1").containsEntry("THREE", "3");
+    }
+
+    @Test
+    public void forEachPrefixReadsOnlyTheStartOfEachValue() {
+        store.put("ONE".getBytes(), "12345".getBytes());
+        store.put("TWO".getBytes(), "2".getBytes());
+
+        final Map<String, String> entries = new HashMap<>();
+        store.forEachPrefix(3, (k, v) -> entries.put(new String(k), new String(v)));
+
+        assertThat(entries).hasSize(2).containsEntry("ONE", "123").containsEntry("TWO", "2");
+    }
+
+    @Test
+    public void valuesLargerThanSegmentSizeAreStored() {
+        final byte[] large = new byte[SEGMENT_SIZE * 3];
+        large[large.length - 1] = 7;
+
+        store.put("SMALL".getBytes(), "VALUE".getBytes());
+        store.put("LARGE".getBytes(), large);
+
+        assertThat(store.get("LARGE".getBytes())).hasValue(large);
+        assertThat(store.get("SMALL".getBytes())).hasValue("VALUE".getBytes());
+    }
+
+    @Test
+    public void entriesAreRecoveredOnReopen() {
+        store.put("ONE".getBytes(), "1".getBytes());
+        store.put("TWO".getBytes(), "2".getBytes());
+        store.put("ONE".getBytes(), "UPDATED".getBytes());
+        store.delete("TWO".getBytes());
+        store.close();
+
+        store = new LogStructuredKeyValueStore(directory, SEGMENT_SIZE, 50);
+
+        assertThat(store.get("ONE".getBytes())).hasValue("UPDATED".getBytes());
+        assertThat(store.get("TWO".getBytes())).isEmpty();
+    }
+
+    @Test
+    public void corruptTailIsIgnoredOnRecovery() throws Exception {
+        store.put("ONE".getBytes(), "1".getBytes());
+        store.put("TWO".getBytes(), "2".getBytes());
+        store.close();
+
+        final Path segment = segmentFiles().get(0);
+        final int secondRecordValueOffset = (Segment.HEADER_SIZE + 4) + Segment.HEADER_SIZE + 3;
+        try (RandomAccessFile file = new RandomAccessFile(segment.toFile(), "rw")) {
+            file.seek(secondRecordValueOffset);
+            file.write('X');
+        }
+
+        store = new LogStructuredKeyValueStore(directory, SEGMENT_SIZE, 50);
+
+        assertThat(store.get("ONE".getBytes())).hasValue("1".getBytes());
+        assertThat(store.get("TWO".getBytes())).isEmpty();
+    }
+
+    @Test
+    public void compactionKeepsOnlyLiveRecords() throws Exception {
+        final byte[] value = new byte[200];
+
+        IntStream.range(0, 20).forEach(i -> store.put("KEY".getBytes(), value));
+        store.put("OTHER".getBytes(), "OTHER".getBytes());
+
+        final int before = segmentFiles().size();
+
+        store.compact();
+
+        assertThat(segmentFiles().size()).isLessThan(before);
+        assertThat(store.get("KEY".getBytes())).hasValue(value);
+        assertThat(store.get("OTHER".getBytes())).hasValue("OTHER".getBytes());
+
+        store.close();
+        store = new LogStructuredKeyValueStore(directory, SEGMENT_SIZE, 50);
+
+        assertThat(store.get("KEY".getBytes())).hasValue(value);
+        assertThat(store.get("OTHER".getBytes())).hasValue("OTHER".getBytes());
+    }
+
+    @Test
+    public void compactionSkippedBelowThreshold() throws Exception {
+        IntStream.range(0, 10).forEach(i -> store.put(("KEY" + i).getBytes(), new byte[200]));
+
+        final List<Path> before = segmentFiles();
+
+        store.compact();
+
+        assertThat(segmentFiles()).containsExactlyInAnyOrderElementsOf(before);
+    }
+
+    @Test
+    public void concurrentWritersAreAllCommitted() throws Exception {
+        final ExecutorService executorService = Executors.newFixedThreadPool(8);
+
+        final List<Future<?>> futures = IntStream.range(0, 200)
+            .mapToObj(i -> executorService.submit(() -> store.put(("KEY" + i).getBytes(), ("VALUE" + i).getBytes())))
+            .collect(Collectors.toList());
+
+        for (final Future<?> future : futures) {
+            future.get();
+        }
+        executorService.shutdown();
+
+        IntStream.range(0, 200)
+            .forEach(i -> assertThat(store.get(("KEY" + i).getBytes())).hasValue(("VALUE" + i).getBytes()));
+    }
+
+    @Test
+    public void writesAfterCloseAreRejected() {
+        store.close();
+
+        final Throwable throwable = catchThrowable(() -> store.put("KEY".getBytes(), "VALUE".getBytes()));
+
+        assertThat(throwable).isInstanceOf(KeyValueStoreException.class).hasMessage("Store is closed");
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+}
@@ -3,22 +3,44 @@ package com.quorum.tessera.sync;
 import com.quorum.tessera.node.model.Party;
 import com.quorum.tessera.sync.model.SyncableParty;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 public class ResendPartyStoreTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static final long NOW = 1_000_000L;
+
+    private Clock clock;
+
     private ResendPartyStore resendPartyStore;
 
     @Before
     public void init() {
-        this.resendPartyStore = new ResendPartyStoreImpl();
+        this.clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(NOW);
+
+        this.resendPartyStore = new ResendPartyStoreImpl(null, clock);
     }
 
     @Test
@@ -72,10 +94,13 @@ public class ResendPartyStoreTest {
 
         this.resendPartyStore.incrementFailedAttempt(failedReq);
 
+        when(clock.millis()).thenReturn(NOW + ResendPartyStoreImpl.MAX_BACKOFF_MILLIS);
+
         final Optional<SyncableParty> partyOne = resendPartyStore.getNextParty();
         assertThat(partyOne).isPresent();
         assertThat(partyOne.get().getParty()).isEqualTo(party);
         assertThat(partyOne.get().getAttempts()).isEqualTo(presetAttempts + 1);
+        assertThat(partyOne.get().getNextAttemptAt()).isEqualTo(NOW + ResendPartyStoreImpl.backoff(presetAttempts + 1));
 
     }
 
@@ -105,4 +130,86 @@ public class ResendPartyStoreTest {
         assertThat(partyOne).isNotPresent();
     }
 
+    @Test
+    public void failedPartyIsHeldBackUntilBackoffPasses() {
+        final Party party = new Party("badurl.com");
+
+        this.resendPartyStore.incrementFailedAttempt(new SyncableParty(party, 0));
+
+        assertThat(resendPartyStore.getNextParty()).isNotPresent();
+
+        when(clock.millis()).thenReturn(NOW + ResendPartyStoreImpl.BASE_BACKOFF_MILLIS - 1);
+        assertThat(resendPartyStore.getNextParty()).isNotPresent();
+
+        when(clock.millis()).thenReturn(NOW + ResendPartyStoreImpl.BASE_BACKOFF_MILLIS);
+        final Optional<SyncableParty> retried = resendPartyStore.getNextParty();
+        assertThat(retried).isPresent();
+        assertThat(retried.get().getAttempts()).isEqualTo(1);
+    }
+
+    @Test
+    public void backoffDoublesUpToLimit() {
+        assertThat(ResendPartyStoreImpl.backoff(1)).isEqualTo(ResendPartyStoreImpl.BASE_BACKOFF_MILLIS);
+        assertThat(ResendPartyStoreImpl.backoff(2)).isEqualTo(2 * ResendPartyStoreImpl.BASE_BACKOFF_MILLIS);
+        assertThat(ResendPartyStoreImpl.backoff(3)).isEqualTo(4 * ResendPartyStoreImpl.BASE_BACKOFF_MILLIS);
+        assertThat(ResendPartyStoreImpl.backoff(ResendPartyStore.MAX_ATTEMPTS))
+            .isEqualTo(ResendPartyStoreImpl.MAX_BACKOFF_MILLIS);
+        assertThat(ResendPartyStoreImpl.backoff(100)).isEqualTo(ResendPartyStoreImpl.MAX_BACKOFF_MILLIS);
+    }
+
+    @Test
+    public void concurrentFailuresAreAllRequeued() throws InterruptedException {
+        final List<SyncableParty> parties = IntStream.range(0, 500)
+            .mapToObj(i -> new SyncableParty(new Party("url" + i + ".com"), 0))
+            .collect(Collectors.toList());
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        parties.forEach(party -> executor.submit(() -> resendPartyStore.incrementFailedAttempt(party)));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        when(clock.millis()).thenReturn(NOW + ResendPartyStoreImpl.MAX_BACKOFF_MILLIS);
+
+        final List<Party> requeued = new ArrayList<>();
+        Optional<SyncableParty> next;
+        while ((next = resendPartyStore.getNextParty()).isPresent()) {
+            requeued.add(next.get().getParty());
+        }
+
+        assertThat(requeued)
+            .hasSize(500)
+            .hasSameElementsAs(parties.stream().map(SyncableParty::getParty).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void unsyncedPartyHasNoWatermark() {
+        assertThat(resendPartyStore.getWatermark(new Party("newurl.com"))).isNotPresent();
+    }
+
+    @Test
+    public void watermarkOnlyMovesForward() {
+        final Party party = new Party("url.com");
+
+        resendPartyStore.updateWatermark(party, 100L);
+        assertThat(resendPartyStore.getWatermark(party)).contains(100L);
+
+        resendPartyStore.updateWatermark(party, 50L);
+        assertThat(resendPartyStore.getWatermark(party)).contains(100L);
+    }
+
+    @Test
+    public void watermarksArePersistedAcrossRestarts() {
+        final Path watermarkFile = temporaryFolder.getRoot().toPath().resolve("watermarks.properties");
+        final Party party = new Party("http://url.com:8080/");
+
+        new ResendPartyStoreImpl(watermarkFile).updateWatermark(party, 100L);
+
+        assertThat(watermarkFile).exists();
+        assertThat(watermarkFile.resolveSibling("watermarks.properties.tmp")).doesNotExist();
+
+        final ResendPartyStore restarted = new ResendPartyStoreImpl(watermarkFile);
+        assertThat(restarted.getWatermark(party)).contains(100L);
+        assertThat(restarted.getWatermark(new Party("other.com"))).isNotPresent();
+    }
+
 }
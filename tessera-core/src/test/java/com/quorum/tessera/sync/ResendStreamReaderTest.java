@@ -0,0 +1,115 @@
+package com.quorum.tessera.sync;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ResendStreamReaderTest {
+
+    private final List<byte[]> payloads = new ArrayList<>();
+
+    private final List<Long> checkpoints = new ArrayList<>();
+
+    private final List<byte[]> checkpointHashes = new ArrayList<>();
+
+    @Test
+    public void readsEverythingWritten() {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final ResendStreamWriter writer = new ResendStreamWriter(stream);
+        writer.writePayload(new byte[]{1, 2});
+        writer.writeCheckpoint(10L, new byte[]{9});
+        writer.writePayload(new byte[]{3});
+        writer.writeCheckpoint(20L, new byte[]{8});
+        writer.writeEnd();
+
+        final boolean complete = read(stream.toByteArray());
+
+        assertThat(complete).isTrue();
+        assertThat(payloads).containsExactly(new byte[]{1, 2}, new byte[]{3});
+        assertThat(checkpoints).containsExactly(10L, 20L);
+        assertThat(checkpointHashes).containsExactly(new byte[]{9}, new byte[]{8});
+    }
+
+    @Test
+    public void streamWithoutEndIsIncomplete() {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final ResendStreamWriter writer = new ResendStreamWriter(stream);
+        writer.writePayload(new byte[]{1});
+        writer.writeCheckpoint(10L, new byte[]{9});
+
+        assertThat(read(stream.toByteArray())).isFalse();
+        assertThat(payloads).hasSize(1);
+        assertThat(checkpoints).containsExactly(10L);
+    }
+
+    @Test
+    public void truncatedPayloadIsNotDelivered() {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        new ResendStreamWriter(stream).writePayload(new byte[]{1, 2, 3, 4});
+
+        final byte[] truncated = Arrays.copyOf(stream.toByteArray(), stream.size() - 2);
+
+        assertThat(read(truncated)).isFalse();
+        assertThat(payloads).isEmpty();
+    }
+
+    @Test
+    public void truncatedCheckpointIsNotDelivered() {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        new ResendStreamWriter(stream).writeCheckpoint(10L, new byte[]{9});
+
+        final byte[] truncated = Arrays.copyOf(stream.toByteArray(), stream.size() - 1);
+
+        assertThat(read(truncated)).isFalse();
+        assertThat(checkpoints).isEmpty();
+    }
+
+    @Test
+    public void invalidFrameLengthFails() {
+        final byte[] stream = ByteBuffer.allocate(Integer.BYTES).putInt(-2).array();
+
+        final Throwable throwable = catchThrowable(() -> read(stream));
+
+        assertThat(throwable).isInstanceOf(UncheckedIOException.class).hasMessageContaining("-2");
+    }
+
+    @Test
+    public void oversizedFrameFails() {
+        final byte[] stream = ByteBuffer.allocate(Integer.BYTES).putInt(ResendStreamReader.MAX_FRAME_SIZE + 1).array();
+
+        final Throwable throwable = catchThrowable(() -> read(stream));
+
+        assertThat(throwable).isInstanceOf(UncheckedIOException.class);
+    }
+
+    @Test
+    public void oversizedCheckpointHashFails() {
+        final byte[] stream = ByteBuffer.allocate(Integer.BYTES + Long.BYTES + Integer.BYTES)
+            .putInt(ResendStreamWriter.CHECKPOINT)
+            .putLong(10L)
+            .putInt(ResendStreamReader.MAX_HASH_SIZE + 1)
+            .array();
+
+        final Throwable throwable = catchThrowable(() -> read(stream));
+
+        assertThat(throwable).isInstanceOf(UncheckedIOException.class);
+        assertThat(checkpoints).isEmpty();
+    }
+
+    private boolean read(final byte[] stream) {
+        return new ResendStreamReader(new ByteArrayInputStream(stream)).read(payloads::add, (hash, timestamp) -> {
+            checkpointHashes.add(hash);
+            checkpoints.add(timestamp);
+        });
+    }
+
+}
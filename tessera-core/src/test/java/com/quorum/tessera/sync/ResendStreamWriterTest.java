@@ -0,0 +1,52 @@
+package com.quorum.tessera.sync;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class ResendStreamWriterTest {
+
+    @Test
+    public void framesAreLengthPrefixed() {
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final ResendStreamWriter writer = new ResendStreamWriter(stream);
+
+        writer.writePayload(new byte[]{7, 8});
+        writer.writeCheckpoint(5L, new byte[]{9});
+        writer.writeEnd();
+
+        final ByteBuffer written = ByteBuffer.wrap(stream.toByteArray());
+
+        assertThat(written.getInt()).isEqualTo(2);
+        assertThat(written.get()).isEqualTo((byte) 7);
+        assertThat(written.get()).isEqualTo((byte) 8);
+        assertThat(written.getInt()).isEqualTo(ResendStreamWriter.CHECKPOINT);
+        assertThat(written.getLong()).isEqualTo(5L);
+        assertThat(written.getInt()).isEqualTo(1);
+        assertThat(written.get()).isEqualTo((byte) 9);
+        assertThat(written.getInt()).isEqualTo(ResendStreamWriter.END);
+        assertThat(written.hasRemaining()).isFalse();
+    }
+
+    @Test
+    public void failureToWriteIsUnchecked() {
+        final OutputStream broken = new OutputStream() {
+            @Override
+            public void write(final int b) throws IOException {
+                throw new IOException("Connection reset");
+            }
+        };
+
+        final Throwable throwable = catchThrowable(() -> new ResendStreamWriter(broken).writeEnd());
+
+        assertThat(throwable).isInstanceOf(UncheckedIOException.class).hasMessageContaining("Connection reset");
+    }
+
+}
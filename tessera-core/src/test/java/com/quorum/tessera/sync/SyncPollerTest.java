@@ -1,6 +1,7 @@
 package com.quorum.tessera.sync;
 
 import com.quorum.tessera.client.P2pClient;
+import com.quorum.tessera.metrics.MetricsRegistry;
 import com.quorum.tessera.node.PartyInfoParser;
 import com.quorum.tessera.node.PartyInfoService;
 import com.quorum.tessera.node.model.Party;
@@ -15,6 +16,7 @@ import java.util.Optional;
 import java.util.concurrent.ExecutorService;
 
 import static java.util.Collections.emptySet;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.*;
 
 public class SyncPollerTest {
@@ -33,6 +35,8 @@ public class SyncPollerTest {
 
     private P2pClient p2pClient;
 
+    private SyncStatistics syncStatistics;
+
     @Before
     public void init() {
         this.executorService = mock(ExecutorService.class);
@@ -42,9 +46,13 @@ public class SyncPollerTest {
         this.partyInfoParser = mock(PartyInfoParser.class);
         this.p2pClient = mock(P2pClient.class);
         doReturn(new byte[]{}).when(p2pClient).getPartyInfo(anyString(), any());
+        doReturn(true).when(p2pClient).isAvailable(anyString());
         when(partyInfoService.getPartyInfo()).thenReturn(new PartyInfo("myurl", emptySet(), emptySet()));
+        doReturn(Optional.empty()).when(resendPartyStore).getWatermark(any(Party.class));
+
+        this.syncStatistics = new SyncStatistics();
 
-        this.syncPoller = new SyncPoller(executorService, resendPartyStore, transactionRequester, partyInfoService, partyInfoParser, p2pClient);
+        this.syncPoller = new SyncPoller(executorService, resendPartyStore, transactionRequester, partyInfoService, partyInfoParser, p2pClient, syncStatistics);
     }
 
     @After
@@ -52,6 +60,16 @@ public class SyncPollerTest {
         verifyNoMoreInteractions(executorService, resendPartyStore, transactionRequester);
     }
 
+    @Test
+    public void syncStatisticsAreReportedAsGauges() {
+        syncStatistics.syncQueued();
+        syncStatistics.syncQueued();
+        syncStatistics.syncStarted();
+
+        assertThat(MetricsRegistry.getDefault().getGauges().get("tessera_sync_queued").get()).isEqualTo(1L);
+        assertThat(MetricsRegistry.getDefault().getGauges().get("tessera_sync_active").get()).isEqualTo(1L);
+    }
+
     @Test
     public void noPartiesToRequestDoesntSubmitAnyTasks() {
 
@@ -81,10 +99,19 @@ public class SyncPollerTest {
         verify(resendPartyStore, times(2)).getNextParty();
         verify(resendPartyStore).addUnseenParties(emptySet());
 
+        assertThat(syncStatistics.getQueuedSyncs()).isEqualTo(1);
+
         final Runnable task = captor.getValue();
         task.run();
 
+        assertThat(syncStatistics.getQueuedSyncs()).isZero();
+        assertThat(syncStatistics.getActiveSyncs()).isZero();
+        assertThat(syncStatistics.getSuccessfulSyncs()).isEqualTo(1);
+        assertThat(syncStatistics.getLastSuccessfulSync()).isPositive();
+
         verify(transactionRequester).requestAllTransactionsFromNode(targetUrl);
+        verify(resendPartyStore).getWatermark(syncableParty.getParty());
+        verify(resendPartyStore).updateWatermark(eq(syncableParty.getParty()), anyLong());
         verify(partyInfoService, times(2)).getPartyInfo();
         verify(partyInfoParser).to(any());
         verify(p2pClient).getPartyInfo(eq(targetUrl), any());
@@ -111,7 +138,11 @@ public class SyncPollerTest {
         task.run();
 
         verify(transactionRequester).requestAllTransactionsFromNode(targetUrl);
+        verify(resendPartyStore).getWatermark(syncableParty.getParty());
         verify(resendPartyStore).incrementFailedAttempt(syncableParty);
+
+        assertThat(syncStatistics.getFailedSyncs()).isEqualTo(1);
+        assertThat(syncStatistics.getSuccessfulSyncs()).isZero();
         verify(resendPartyStore).addUnseenParties(emptySet());
         verify(partyInfoService, times(2)).getPartyInfo();
     }
@@ -166,4 +197,111 @@ public class SyncPollerTest {
         verify(partyInfoService, times(2)).getPartyInfo();
     }
 
+    @Test
+    public void previouslySyncedPartyRequestsTransactionsSinceWatermark() {
+
+        final String targetUrl = "fakeurl.com";
+        final SyncableParty syncableParty = new SyncableParty(new Party(targetUrl), 0);
+        final long watermark = 10_000_000L;
+        final long expectedSince = watermark - SyncPoller.WATERMARK_OVERLAP_MILLIS;
+
+        doReturn(Optional.of(watermark)).when(resendPartyStore).getWatermark(syncableParty.getParty());
+        doReturn(true).when(transactionRequester).requestTransactionsSince(targetUrl, expectedSince);
+
+        doReturn(Optional.of(syncableParty), Optional.empty()).when(resendPartyStore).getNextParty();
+
+        final long before = System.currentTimeMillis();
+
+        syncPoller.run();
+
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService).submit(captor.capture());
+        verify(resendPartyStore, times(2)).getNextParty();
+        verify(resendPartyStore).addUnseenParties(emptySet());
+
+        captor.getValue().run();
+
+        final ArgumentCaptor<Long> watermarkCaptor = ArgumentCaptor.forClass(Long.class);
+        verify(transactionRequester).requestTransactionsSince(targetUrl, expectedSince);
+        verify(resendPartyStore).getWatermark(syncableParty.getParty());
+        verify(resendPartyStore).updateWatermark(eq(syncableParty.getParty()), watermarkCaptor.capture());
+        verify(partyInfoService, times(2)).getPartyInfo();
+
+        assertThat(watermarkCaptor.getValue()).isBetween(before, System.currentTimeMillis());
+    }
+
+    @Test
+    public void failedIncrementalSyncDoesntMoveWatermark() {
+
+        final String targetUrl = "fakeurl.com";
+        final SyncableParty syncableParty = new SyncableParty(new Party(targetUrl), 0);
+
+        doReturn(Optional.of(10_000_000L)).when(resendPartyStore).getWatermark(syncableParty.getParty());
+        doReturn(false).when(transactionRequester).requestTransactionsSince(eq(targetUrl), anyLong());
+
+        doReturn(Optional.of(syncableParty), Optional.empty()).when(resendPartyStore).getNextParty();
+
+        syncPoller.run();
+
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService).submit(captor.capture());
+        verify(resendPartyStore, times(2)).getNextParty();
+        verify(resendPartyStore).addUnseenParties(emptySet());
+
+        captor.getValue().run();
+
+        verify(transactionRequester).requestTransactionsSince(eq(targetUrl), anyLong());
+        verify(resendPartyStore).getWatermark(syncableParty.getParty());
+        verify(resendPartyStore).incrementFailedAttempt(syncableParty);
+        verify(partyInfoService, times(2)).getPartyInfo();
+    }
+
+    @Test
+    public void requesterThrowingNotifiesStore() {
+
+        final String targetUrl = "fakeurl.com";
+        final SyncableParty syncableParty = new SyncableParty(new Party(targetUrl), 0);
+
+        doThrow(new RuntimeException("Unexpected")).when(transactionRequester).requestAllTransactionsFromNode(targetUrl);
+
+        doReturn(Optional.of(syncableParty), Optional.empty()).when(resendPartyStore).getNextParty();
+
+        syncPoller.run();
+
+        final ArgumentCaptor<Runnable> captor = ArgumentCaptor.forClass(Runnable.class);
+        verify(executorService).submit(captor.capture());
+        verify(resendPartyStore, times(2)).getNextParty();
+        verify(resendPartyStore).addUnseenParties(emptySet());
+
+        captor.getValue().run();
+
+        verify(transactionRequester).requestAllTransactionsFromNode(targetUrl);
+        verify(resendPartyStore).getWatermark(syncableParty.getParty());
+        verify(resendPartyStore).incrementFailedAttempt(syncableParty);
+        verify(partyInfoService, times(2)).getPartyInfo();
+
+        assertThat(syncStatistics.getActiveSyncs()).isZero();
+        assertThat(syncStatistics.getFailedSyncs()).isEqualTo(1);
+    }
+
+    @Test
+    public void unavailablePartyIsDeferredWithoutSubmitting() {
+
+        final String targetUrl = "fakeurl.com";
+        final SyncableParty syncableParty = new SyncableParty(new Party(targetUrl), 0);
+
+        doReturn(false).when(p2pClient).isAvailable(targetUrl);
+        doReturn(Optional.of(syncableParty), Optional.empty()).when(resendPartyStore).getNextParty();
+
+        syncPoller.run();
+
+        verify(resendPartyStore).incrementFailedAttempt(syncableParty);
+        verify(resendPartyStore, times(2)).getNextParty();
+        verify(resendPartyStore).addUnseenParties(emptySet());
+        verify(p2pClient).isAvailable(targetUrl);
+        verifyNoMoreInteractions(p2pClient);
+
+        assertThat(syncStatistics.getQueuedSyncs()).isZero();
+    }
+
 }
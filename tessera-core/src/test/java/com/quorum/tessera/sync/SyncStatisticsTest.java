@@ -0,0 +1,50 @@
+package com.quorum.tessera.sync;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class SyncStatisticsTest {
+
+    private final SyncStatistics syncStatistics = new SyncStatistics();
+
+    @Test
+    public void noSyncsRecorded() {
+        assertThat(syncStatistics.getQueuedSyncs()).isZero();
+        assertThat(syncStatistics.getActiveSyncs()).isZero();
+        assertThat(syncStatistics.getSuccessfulSyncs()).isZero();
+        assertThat(syncStatistics.getFailedSyncs()).isZero();
+        assertThat(syncStatistics.getLastSuccessfulSync()).isZero();
+    }
+
+    @Test
+    public void syncMovesFromQueuedToActiveToFinished() {
+        syncStatistics.syncQueued();
+        syncStatistics.syncQueued();
+
+        assertThat(syncStatistics.getQueuedSyncs()).isEqualTo(2);
+
+        syncStatistics.syncStarted();
+
+        assertThat(syncStatistics.getQueuedSyncs()).isEqualTo(1);
+        assertThat(syncStatistics.getActiveSyncs()).isEqualTo(1);
+
+        syncStatistics.syncFinished(true);
+
+        assertThat(syncStatistics.getActiveSyncs()).isZero();
+        assertThat(syncStatistics.getSuccessfulSyncs()).isEqualTo(1);
+        assertThat(syncStatistics.getLastSuccessfulSync()).isPositive();
+    }
+
+    @Test
+    public void failedSyncDoesntUpdateLastSuccess() {
+        syncStatistics.syncQueued();
+        syncStatistics.syncStarted();
+        syncStatistics.syncFinished(false);
+
+        assertThat(syncStatistics.getFailedSyncs()).isEqualTo(1);
+        assertThat(syncStatistics.getSuccessfulSyncs()).isZero();
+        assertThat(syncStatistics.getLastSuccessfulSync()).isZero();
+    }
+
+}
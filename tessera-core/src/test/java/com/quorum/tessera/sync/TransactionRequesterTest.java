@@ -1,10 +1,16 @@
 package com.quorum.tessera.sync;
 
 import com.quorum.tessera.api.model.ResendRequest;
+import com.quorum.tessera.api.model.ResendRequestType;
 import com.quorum.tessera.client.P2pClient;
 import com.quorum.tessera.enclave.Enclave;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.transaction.TransactionManager;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -28,6 +34,8 @@ public class TransactionRequesterTest {
 
     private P2pClient p2pClient;
 
+    private TransactionManager transactionManager;
+
     private TransactionRequester transactionRequester;
 
     @Before
@@ -35,15 +43,17 @@ public class TransactionRequesterTest {
 
         this.enclave = mock(Enclave.class);
         this.p2pClient = mock(P2pClient.class);
+        this.transactionManager = mock(TransactionManager.class);
 
         doReturn(true).when(p2pClient).makeResendRequest(anyString(), any(ResendRequest.class));
+        doReturn(true).when(p2pClient).isAvailable(anyString());
 
-        this.transactionRequester = new TransactionRequesterImpl(enclave, p2pClient);
+        this.transactionRequester = new TransactionRequesterImpl(enclave, p2pClient, transactionManager);
     }
 
     @After
     public void after() {
-        verifyNoMoreInteractions(enclave, p2pClient);
+        verifyNoMoreInteractions(enclave, p2pClient, transactionManager);
     }
 
     @Test
@@ -67,6 +77,7 @@ public class TransactionRequesterTest {
 
         final ArgumentCaptor<ResendRequest> captor = ArgumentCaptor.forClass(ResendRequest.class);
         verify(p2pClient, times(2)).makeResendRequest(eq("fakeurl1.com"), captor.capture());
+        verify(p2pClient, times(2)).streamResend(eq("fakeurl1.com"), any(ResendRequest.class));
         verify(enclave).getPublicKeys();
 
         String encodedKeyOne = Base64.getEncoder().encodeToString(KEY_ONE.getKeyBytes());
@@ -87,6 +98,8 @@ public class TransactionRequesterTest {
         this.transactionRequester.requestAllTransactionsFromNode("fakeurl.com");
 
         verify(p2pClient, times(5)).makeResendRequest(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(p2pClient, times(4)).isAvailable("fakeurl.com");
+        verify(p2pClient).streamResend(eq("fakeurl.com"), any(ResendRequest.class));
         verify(enclave).getPublicKeys();
 
     }
@@ -100,7 +113,185 @@ public class TransactionRequesterTest {
         this.transactionRequester.requestAllTransactionsFromNode("fakeurl.com");
 
         verify(p2pClient, times(5)).makeResendRequest(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(p2pClient, times(4)).isAvailable("fakeurl.com");
+        verify(p2pClient).streamResend(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(enclave).getPublicKeys();
+
+    }
+
+    @Test
+    public void requestSinceSendsTimestamp() {
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+
+        final boolean success = this.transactionRequester.requestTransactionsSince("fakeurl.com", 1000L);
+
+        assertThat(success).isTrue();
+
+        final ArgumentCaptor<ResendRequest> captor = ArgumentCaptor.forClass(ResendRequest.class);
+        verify(p2pClient).makeResendRequest(eq("fakeurl.com"), captor.capture());
+        verify(p2pClient).streamResend(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(enclave).getPublicKeys();
+
+        assertThat(captor.getValue().getType()).isEqualTo(ResendRequestType.SINCE);
+        assertThat(captor.getValue().getSince()).isEqualTo(1000L);
+        assertThat(captor.getValue().getPublicKey())
+            .isEqualTo(Base64.getEncoder().encodeToString(KEY_ONE.getKeyBytes()));
+    }
+
+    @Test
+    public void failedRequestSinceFallsBackToRequestAll() {
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+        when(p2pClient.makeResendRequest(anyString(), any(ResendRequest.class))).thenAnswer(
+            invocation -> invocation.<ResendRequest>getArgument(1).getType() == ResendRequestType.ALL
+        );
+
+        final boolean success = this.transactionRequester.requestTransactionsSince("fakeurl.com", 1000L);
+
+        assertThat(success).isTrue();
+
+        final ArgumentCaptor<ResendRequest> captor = ArgumentCaptor.forClass(ResendRequest.class);
+        verify(p2pClient, times(6)).makeResendRequest(eq("fakeurl.com"), captor.capture());
+        verify(p2pClient, times(4)).isAvailable("fakeurl.com");
+        verify(p2pClient).streamResend(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(enclave).getPublicKeys();
+
+        assertThat(captor.getAllValues().get(5).getType()).isEqualTo(ResendRequestType.ALL);
+        assertThat(captor.getAllValues().get(5).getSince()).isNull();
+    }
+
+    @Test
+    public void failedRequestSinceAndRequestAllFails() {
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+        when(p2pClient.makeResendRequest(anyString(), any(ResendRequest.class))).thenReturn(false);
+
+        final boolean success = this.transactionRequester.requestTransactionsSince("fakeurl.com", 1000L);
+
+        assertThat(success).isFalse();
+
+        verify(p2pClient, times(10)).makeResendRequest(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(p2pClient, times(8)).isAvailable("fakeurl.com");
+        verify(p2pClient).streamResend(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void streamedResendStoresEachPageWithoutPush() {
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+
+        final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        final ResendStreamWriter writer = new ResendStreamWriter(stream);
+        writer.writePayload(new byte[]{1});
+        writer.writePayload(new byte[]{2});
+        writer.writeCheckpoint(100L, new byte[]{7});
+        writer.writePayload(new byte[]{3});
+        writer.writeEnd();
+
+        when(p2pClient.streamResend(anyString(), any(ResendRequest.class)))
+            .thenReturn(new ByteArrayInputStream(stream.toByteArray()));
+
+        final boolean success = this.transactionRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isTrue();
+
+        final ArgumentCaptor<ResendRequest> requestCaptor = ArgumentCaptor.forClass(ResendRequest.class);
+        verify(p2pClient).streamResend(eq("fakeurl.com"), requestCaptor.capture());
+        assertThat(requestCaptor.getValue().getType()).isEqualTo(ResendRequestType.ALL);
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Collection<byte[]>> pageCaptor = ArgumentCaptor.forClass(Collection.class);
+        verify(transactionManager, times(2)).storePayloads(pageCaptor.capture());
+
+        final List<Collection<byte[]>> pages = pageCaptor.getAllValues();
+        assertThat(pages.get(0)).containsExactly(new byte[]{1}, new byte[]{2});
+        assertThat(pages.get(1)).containsExactly(new byte[]{3});
+
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void interruptedStreamResumesFromLastCheckpoint() {
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+
+        final ByteArrayOutputStream first = new ByteArrayOutputStream();
+        final ResendStreamWriter firstWriter = new ResendStreamWriter(first);
+        firstWriter.writePayload(new byte[]{1});
+        firstWriter.writeCheckpoint(100L, new byte[]{7});
+        firstWriter.writePayload(new byte[]{2});
+
+        final ByteArrayOutputStream second = new ByteArrayOutputStream();
+        final ResendStreamWriter secondWriter = new ResendStreamWriter(second);
+        secondWriter.writePayload(new byte[]{2});
+        secondWriter.writeEnd();
+
+        when(p2pClient.streamResend(anyString(), any(ResendRequest.class))).thenReturn(
+            new ByteArrayInputStream(first.toByteArray()), new ByteArrayInputStream(second.toByteArray())
+        );
+
+        final boolean success = this.transactionRequester.requestTransactionsSince("fakeurl.com", 10L);
+
+        assertThat(success).isTrue();
+
+        final ArgumentCaptor<ResendRequest> requestCaptor = ArgumentCaptor.forClass(ResendRequest.class);
+        verify(p2pClient, times(2)).streamResend(eq("fakeurl.com"), requestCaptor.capture());
+        assertThat(requestCaptor.getAllValues()).extracting("since").containsExactly(10L, 100L);
+        assertThat(requestCaptor.getAllValues()).extracting("afterKey")
+            .containsExactly(null, Base64.getEncoder().encodeToString(new byte[]{7}));
+
+        verify(transactionManager, times(2)).storePayloads(anyCollection());
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void streamWithoutProgressFallsBackToPush() {
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+
+        when(p2pClient.streamResend(anyString(), any(ResendRequest.class)))
+            .thenReturn(new ByteArrayInputStream(new byte[0]));
+
+        final boolean success = this.transactionRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isTrue();
+
+        verify(p2pClient).streamResend(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(p2pClient).makeResendRequest(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void streamThatKeepsFailingGivesUpAfterMaxAttempts() {
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+        when(p2pClient.makeResendRequest(anyString(), any(ResendRequest.class))).thenReturn(false);
+
+        final ByteArrayOutputStream partial = new ByteArrayOutputStream();
+        new ResendStreamWriter(partial).writeCheckpoint(100L, new byte[]{7});
+
+        when(p2pClient.streamResend(anyString(), any(ResendRequest.class)))
+            .thenAnswer(invocation -> new ByteArrayInputStream(partial.toByteArray()));
+
+        final boolean success = this.transactionRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isFalse();
+
+        verify(p2pClient, times(5)).streamResend(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(p2pClient, times(5)).makeResendRequest(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(p2pClient, times(4)).isAvailable("fakeurl.com");
         verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void unavailablePeerIsNotRetried() {
+        when(enclave.getPublicKeys()).thenReturn(Collections.singleton(KEY_ONE));
+        when(p2pClient.makeResendRequest(anyString(), any(ResendRequest.class))).thenReturn(false);
+        when(p2pClient.isAvailable(anyString())).thenReturn(false);
+
+        final boolean success = this.transactionRequester.requestAllTransactionsFromNode("fakeurl.com");
+
+        assertThat(success).isFalse();
 
+        verify(p2pClient).makeResendRequest(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(p2pClient).isAvailable("fakeurl.com");
+        verify(p2pClient).streamResend(eq("fakeurl.com"), any(ResendRequest.class));
+        verify(enclave).getPublicKeys();
     }
+
 }
@@ -0,0 +1,40 @@
+package com.quorum.tessera.transaction;
+
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class BlobStoreSweeperTest {
+
+    private final BlobStoringEncryptedTransactionDAO encryptedTransactionDAO
+        = mock(BlobStoringEncryptedTransactionDAO.class);
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(encryptedTransactionDAO);
+    }
+
+    @Test
+    public void recentlyStoredBlobsAreLeftAlone() {
+        final long before = System.currentTimeMillis();
+
+        new BlobStoreSweeper(encryptedTransactionDAO).run();
+
+        final ArgumentCaptor<Long> storedBefore = ArgumentCaptor.forClass(Long.class);
+        verify(encryptedTransactionDAO).sweep(storedBefore.capture());
+        assertThat(storedBefore.getValue())
+            .isBetween(before - BlobStoreSweeper.GRACE_PERIOD_MILLIS, System.currentTimeMillis() - BlobStoreSweeper.GRACE_PERIOD_MILLIS);
+    }
+
+    @Test
+    public void requiresDAO() {
+        final Throwable throwable = catchThrowable(() -> new BlobStoreSweeper(null));
+
+        assertThat(throwable).isInstanceOf(NullPointerException.class);
+    }
+
+}
@@ -0,0 +1,388 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.config.BlobStoreConfig;
+import com.quorum.tessera.enclave.EncodedPayload;
+import com.quorum.tessera.enclave.PayloadEncoder;
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.nacl.Nonce;
+import com.quorum.tessera.storage.BlobNotFoundException;
+import com.quorum.tessera.storage.BlobStore;
+import com.quorum.tessera.storage.FileBlobStore;
+import com.quorum.tessera.transaction.exception.TransactionNotFoundException;
+import com.quorum.tessera.transaction.model.EncryptedTransaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class BlobStoringEncryptedTransactionDAOTest {
+
+    private static final int THRESHOLD = 16;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final PayloadEncoder payloadEncoder = PayloadEncoder.create();
+
+    private EncryptedTransactionDAO delegate;
+
+    private BlobStore blobStore;
+
+    private BlobStoringEncryptedTransactionDAO blobStoringDAO;
+
+    @Before
+    public void onSetUp() {
+        this.delegate = mock(EncryptedTransactionDAO.class);
+        this.blobStore = new FileBlobStore(temporaryFolder.getRoot().toPath());
+        this.blobStoringDAO = new BlobStoringEncryptedTransactionDAO(delegate, payloadEncoder, blobStore, THRESHOLD);
+
+        when(delegate.save(any(EncryptedTransaction.class))).then(invocation -> invocation.getArgument(0));
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    public void smallTransactionIsSavedUnchanged() {
+        final EncryptedTransaction transaction = transaction(new byte[]{1}, 8);
+
+        blobStoringDAO.save(transaction);
+
+        verify(delegate).save(transaction);
+        assertThat(transaction.getCipherTextAddress()).isNull();
+    }
+
+    @Test
+    public void largeCipherTextIsMovedToBlobStore() {
+        final EncryptedTransaction transaction = transaction(new byte[]{1}, 100);
+        final byte[] cipherText = payloadEncoder.decode(transaction.getEncodedPayload()).getCipherText();
+
+        final EncryptedTransaction saved = blobStoringDAO.save(transaction);
+
+        verify(delegate).save(saved);
+        assertThat(saved.getHash()).isEqualTo(transaction.getHash());
+        assertThat(saved.getCipherTextAddress()).isNotNull();
+        assertThat(saved.getEncodedPayload().length).isLessThan(transaction.getEncodedPayload().length);
+
+        final EncodedPayload stored = payloadEncoder.decode(saved.getEncodedPayload());
+        assertThat(stored.getCipherText()).isEmpty();
+        assertThat(stored.getRecipientBoxes()).hasSize(1);
+
+        final byte[] blob = new byte[cipherText.length];
+        blobStore.get(saved.getCipherTextAddress()).get().get(blob);
+        assertThat(blob).isEqualTo(cipherText);
+    }
+
+    @Test
+    public void largePayloadWithSmallCipherTextIsSavedUnchanged() {
+        final EncryptedTransaction transaction = transaction(new byte[]{1}, THRESHOLD);
+
+        blobStoringDAO.save(transaction);
+
+        verify(delegate).save(transaction);
+        assertThat(transaction.getCipherTextAddress()).isNull();
+    }
+
+    @Test
+    public void retrieveReassemblesCipherText() {
+        final EncryptedTransaction transaction = transaction(new byte[]{1}, 100);
+        final EncryptedTransaction saved = blobStoringDAO.save(transaction);
+        saved.setTimestamp(1000L);
+        verify(delegate).save(saved);
+
+        when(delegate.retrieveByHash(transaction.getHash())).thenReturn(Optional.of(saved));
+
+        final Optional<EncryptedTransaction> retrieved = blobStoringDAO.retrieveByHash(transaction.getHash());
+
+        assertThat(retrieved).isPresent();
+        assertThat(retrieved.get()).isNotSameAs(saved);
+        assertThat(retrieved.get().getEncodedPayload()).isEqualTo(transaction.getEncodedPayload());
+        assertThat(retrieved.get().getTimestamp()).isEqualTo(1000L);
+        assertThat(retrieved.get().getCipherTextAddress()).isEqualTo(saved.getCipherTextAddress());
+
+        verify(delegate).retrieveByHash(transaction.getHash());
+    }
+
+    @Test
+    public void retrieveAllReassemblesCipherText() {
+        final EncryptedTransaction small = transaction(new byte[]{1}, 8);
+        final EncryptedTransaction large = transaction(new byte[]{2}, 100);
+        final EncryptedTransaction saved = blobStoringDAO.save(large);
+        verify(delegate).save(saved);
+
+        when(delegate.retrieveAllTransactions()).thenReturn(Arrays.asList(small, saved));
+
+        final List<EncryptedTransaction> retrieved = blobStoringDAO.retrieveAllTransactions();
+
+        assertThat(retrieved).hasSize(2);
+        assertThat(retrieved.get(0)).isSameAs(small);
+        assertThat(retrieved.get(1).getEncodedPayload()).isEqualTo(large.getEncodedPayload());
+
+        verify(delegate).retrieveAllTransactions();
+    }
+
+    @Test
+    public void retrieveSinceReassemblesCipherText() {
+        final EncryptedTransaction large = transaction(new byte[]{2}, 100);
+        final EncryptedTransaction saved = blobStoringDAO.save(large);
+        verify(delegate).save(saved);
+
+        when(delegate.retrieveTransactionsSince(100L)).thenReturn(singletonList(saved));
+
+        final List<EncryptedTransaction> retrieved = blobStoringDAO.retrieveTransactionsSince(100L);
+
+        assertThat(retrieved).hasSize(1);
+        assertThat(retrieved.get(0).getEncodedPayload()).isEqualTo(large.getEncodedPayload());
+
+        verify(delegate).retrieveTransactionsSince(100L);
+    }
+
+    @Test
+    public void retrievePageReassemblesCipherText() {
+        final EncryptedTransaction large = transaction(new byte[]{2}, 100);
+        final EncryptedTransaction saved = blobStoringDAO.save(large);
+        verify(delegate).save(saved);
+
+        when(delegate.retrievePage(100L, saved.getHash(), 10)).thenReturn(singletonList(saved));
+
+        final List<EncryptedTransaction> retrieved = blobStoringDAO.retrievePage(100L, saved.getHash(), 10);
+
+        assertThat(retrieved).hasSize(1);
+        assertThat(retrieved.get(0).getEncodedPayload()).isEqualTo(large.getEncodedPayload());
+
+        verify(delegate).retrievePage(100L, saved.getHash(), 10);
+    }
+
+    @Test
+    public void retrieveWithMissingBlobFails() {
+        final EncryptedTransaction saved = blobStoringDAO.save(transaction(new byte[]{1}, 100));
+        verify(delegate).save(saved);
+        blobStore.delete(saved.getCipherTextAddress());
+
+        when(delegate.retrieveByHash(saved.getHash())).thenReturn(Optional.of(saved));
+
+        final Throwable throwable = catchThrowable(() -> blobStoringDAO.retrieveByHash(saved.getHash()));
+
+        assertThat(throwable).isInstanceOf(BlobNotFoundException.class);
+        verify(delegate).retrieveByHash(saved.getHash());
+    }
+
+    @Test
+    public void savingReassembledCopyUpdatesStoredRow() {
+        final EncryptedTransaction saved = blobStoringDAO.save(transaction(new byte[]{1}, 100));
+        final String address = saved.getCipherTextAddress();
+        final byte[] originalRow = saved.getEncodedPayload();
+        when(delegate.retrieveByHash(saved.getHash())).thenReturn(Optional.of(saved));
+
+        final EncryptedTransaction copy = blobStoringDAO.retrieveByHash(saved.getHash()).get();
+        final EncodedPayload payload = payloadEncoder.decode(copy.getEncodedPayload());
+        payload.getRecipientBoxes().add(new byte[]{9, 9});
+        payload.getRecipientKeys().add(PublicKey.from(new byte[]{8, 8}));
+        copy.setEncodedPayload(payloadEncoder.encode(payload));
+
+        final EncryptedTransaction updated = blobStoringDAO.save(copy);
+
+        assertThat(updated).isSameAs(saved);
+        assertThat(updated.getCipherTextAddress()).isEqualTo(address);
+        assertThat(updated.getEncodedPayload()).isNotEqualTo(originalRow);
+        assertThat(payloadEncoder.decode(updated.getEncodedPayload()).getRecipientBoxes()).hasSize(2);
+
+        verify(delegate, times(2)).save(saved);
+        verify(delegate, times(2)).retrieveByHash(saved.getHash());
+    }
+
+    @Test
+    public void savingCopyOfDeletedRowFails() {
+        final EncryptedTransaction copy = transaction(new byte[]{1}, 100);
+        copy.setCipherTextAddress("address");
+        when(delegate.retrieveByHash(copy.getHash())).thenReturn(Optional.empty());
+
+        final Throwable throwable = catchThrowable(() -> blobStoringDAO.save(copy));
+
+        assertThat(throwable).isInstanceOf(TransactionNotFoundException.class);
+        verify(delegate).retrieveByHash(copy.getHash());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void saveAllExternalisesNewTransactionsAndUpdatesCopies() {
+        final EncryptedTransaction stored = blobStoringDAO.save(transaction(new byte[]{1}, 100));
+        verify(delegate).save(stored);
+        when(delegate.retrieveByHash(stored.getHash())).thenReturn(Optional.of(stored));
+        final EncryptedTransaction copy = blobStoringDAO.retrieveByHash(stored.getHash()).get();
+
+        final EncryptedTransaction small = transaction(new byte[]{2}, 8);
+        final EncryptedTransaction large = transaction(new byte[]{3}, 100);
+
+        blobStoringDAO.saveAll(Arrays.asList(copy, small, large));
+
+        final ArgumentCaptor<Collection<EncryptedTransaction>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(delegate).saveAll(captor.capture());
+        assertThat(captor.getValue()).hasSize(2).contains(small);
+
+        final EncryptedTransaction externalised
+            = captor.getValue().stream().filter(t -> t != small).findFirst().get();
+        assertThat(externalised.getHash()).isEqualTo(large.getHash());
+        assertThat(externalised.getCipherTextAddress()).isNotNull();
+
+        verify(delegate, times(2)).save(stored);
+        verify(delegate, times(2)).retrieveByHash(stored.getHash());
+    }
+
+    @Test
+    public void deleteLeavesBlobToBeSwept() {
+        final EncryptedTransaction saved = blobStoringDAO.save(transaction(new byte[]{1}, 100));
+        verify(delegate).save(saved);
+
+        blobStoringDAO.delete(saved.getHash());
+
+        assertThat(blobStore.get(saved.getCipherTextAddress())).isPresent();
+        verify(delegate).delete(saved.getHash());
+    }
+
+    @Test
+    public void deleteOlderThanIsDelegated() {
+        blobStoringDAO.deleteOlderThan(100L, 10);
+
+        verify(delegate).deleteOlderThan(100L, 10);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void sweepRemovesBlobsNoTransactionHolds() {
+        final String held = blobStoringDAO.save(transaction(new byte[]{1}, 100)).getCipherTextAddress();
+        final String unheld = blobStoringDAO.save(transaction(new byte[]{2}, 100)).getCipherTextAddress();
+        verify(delegate, times(2)).save(any(EncryptedTransaction.class));
+
+        when(delegate.retrieveCipherTextAddresses(anyCollection())).thenReturn(singleton(held));
+
+        final int removed = blobStoringDAO.sweep(System.currentTimeMillis() + 60000L);
+
+        assertThat(removed).isEqualTo(1);
+        assertThat(blobStore.get(held)).isPresent();
+        assertThat(blobStore.get(unheld)).isEmpty();
+
+        final ArgumentCaptor<Collection<String>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(delegate).retrieveCipherTextAddresses(captor.capture());
+        assertThat(captor.getValue()).containsExactlyInAnyOrder(held, unheld);
+    }
+
+    @Test
+    public void sweepLeavesRecentlyStoredBlobs() {
+        final String address = blobStoringDAO.save(transaction(new byte[]{1}, 100)).getCipherTextAddress();
+        verify(delegate).save(any(EncryptedTransaction.class));
+
+        final int removed = blobStoringDAO.sweep(System.currentTimeMillis() - 60000L);
+
+        assertThat(removed).isZero();
+        assertThat(blobStore.get(address)).isPresent();
+    }
+
+    @Test
+    public void sweepKeepsBlobsStoredAgainWhileItRuns() throws Exception {
+        final String address = blobStoringDAO.save(transaction(new byte[]{1}, 100)).getCipherTextAddress();
+        verify(delegate).save(any(EncryptedTransaction.class));
+
+        final Path path = temporaryFolder.getRoot().toPath().resolve(address.substring(0, 2)).resolve(address);
+        Files.setLastModifiedTime(path, FileTime.fromMillis(System.currentTimeMillis() - 3600000L));
+
+        // the same cipher text is saved again after the sweep has listed it, but before it is committed
+        when(delegate.retrieveCipherTextAddresses(anyCollection())).then(invocation -> {
+            blobStoringDAO.save(transaction(new byte[]{1}, 100));
+            return emptySet();
+        });
+
+        final int removed = blobStoringDAO.sweep(System.currentTimeMillis() - 60000L);
+
+        assertThat(removed).isZero();
+        assertThat(blobStore.get(address)).isPresent();
+
+        verify(delegate).retrieveCipherTextAddresses(anyCollection());
+        verify(delegate, times(2)).save(any(EncryptedTransaction.class));
+    }
+
+    @Test
+    public void retrieveCipherTextAddressesIsDelegated() {
+        final List<String> addresses = singletonList("address");
+
+        blobStoringDAO.retrieveCipherTextAddresses(addresses);
+
+        verify(delegate).retrieveCipherTextAddresses(addresses);
+    }
+
+    @Test
+    public void everythingPassesThroughWithoutConfig() {
+        final BlobStoringEncryptedTransactionDAO disabled
+            = new BlobStoringEncryptedTransactionDAO(delegate, payloadEncoder, (BlobStoreConfig) null);
+
+        final EncryptedTransaction transaction = transaction(new byte[]{1}, 100);
+        final List<EncryptedTransaction> transactions = singletonList(transaction);
+        final MessageHash hash = transaction.getHash();
+        when(delegate.retrieveByHash(hash)).thenReturn(Optional.of(transaction));
+
+        disabled.save(transaction);
+        disabled.saveAll(transactions);
+        disabled.retrieveByHash(hash);
+        disabled.delete(hash);
+
+        assertThat(disabled.sweep(System.currentTimeMillis())).isZero();
+        assertThat(transaction.getCipherTextAddress()).isNull();
+        verify(delegate).save(transaction);
+        verify(delegate).saveAll(transactions);
+        verify(delegate).retrieveByHash(hash);
+        verify(delegate).delete(hash);
+    }
+
+    @Test
+    public void blobStoreCreatedFromConfig() {
+        final BlobStoreConfig config = new BlobStoreConfig(temporaryFolder.getRoot().toPath().resolve("blobs"), THRESHOLD);
+        final BlobStoringEncryptedTransactionDAO configured
+            = new BlobStoringEncryptedTransactionDAO(delegate, payloadEncoder, config);
+
+        final EncryptedTransaction saved = configured.save(transaction(new byte[]{1}, 100));
+
+        assertThat(saved.getCipherTextAddress()).isNotNull();
+        assertThat(config.getPath().resolve(saved.getCipherTextAddress().substring(0, 2))).isDirectory();
+        verify(delegate).save(saved);
+    }
+
+    private EncryptedTransaction transaction(final byte[] hash, final int cipherTextSize) {
+        final byte[] cipherText = new byte[cipherTextSize];
+        Arrays.fill(cipherText, hash[0]);
+
+        final EncodedPayload payload = new EncodedPayload(
+            PublicKey.from(new byte[]{1, 2, 3}),
+            cipherText,
+            new Nonce(new byte[]{4, 5}),
+            new ArrayList<>(singletonList(new byte[]{6, 7})),
+            new Nonce(new byte[]{8, 9}),
+            new ArrayList<>(singletonList(PublicKey.from(new byte[]{10, 11})))
+        );
+
+        return new EncryptedTransaction(new MessageHash(hash), payloadEncoder.encode(payload));
+    }
+
+}
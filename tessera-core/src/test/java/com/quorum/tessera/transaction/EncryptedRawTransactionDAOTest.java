@@ -18,7 +18,10 @@ import javax.persistence.EntityNotFoundException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
@@ -271,6 +274,49 @@ public class EncryptedRawTransactionDAOTest {
             assertThat(retrieved).isNotNull();
             assertThat(retrieved.getTimestamp()).isNotZero();
         }
+
+        @Test
+        public void deleteOlderThanRemovesOnlyExpiredTransactions() {
+
+            final long before = System.currentTimeMillis() - 1000;
+
+            final List<EncryptedRawTransaction> transactions = IntStream.range(0, 5)
+                .mapToObj(i -> new EncryptedRawTransaction(
+                    new MessageHash(new byte[]{(byte) i}), new byte[]{5}, "key".getBytes(), "nonce".getBytes(), "from".getBytes()
+                ))
+                .peek(encryptedRawTransactionDAO::save)
+                .collect(Collectors.toList());
+            entityManager.flush();
+
+            assertThat(encryptedRawTransactionDAO.deleteOlderThan(before, 5)).isZero();
+
+            final int deleted = encryptedRawTransactionDAO.deleteOlderThan(System.currentTimeMillis() + 1000, 100);
+            entityManager.clear();
+
+            assertThat(deleted).isEqualTo(5);
+            transactions.forEach(t -> assertThat(entityManager.find(EncryptedRawTransaction.class, t.getHash())).isNull());
+
+        }
+
+        @Test
+        public void deleteOlderThanIsBoundedWhenTransactionsShareATimestamp() {
+
+            final List<EncryptedRawTransaction> transactions = IntStream.range(0, 5)
+                .mapToObj(i -> new EncryptedRawTransaction(
+                    new MessageHash(new byte[]{(byte) i}), new byte[]{5}, "key".getBytes(), "nonce".getBytes(), "from".getBytes()
+                ))
+                .peek(encryptedRawTransactionDAO::save)
+                .collect(Collectors.toList());
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_RAW_TRANSACTION SET TIMESTAMP = 100").executeUpdate();
+            entityManager.clear();
+
+            assertThat(encryptedRawTransactionDAO.deleteOlderThan(101L, 2)).isEqualTo(2);
+            assertThat(encryptedRawTransactionDAO.deleteOlderThan(101L, 2)).isEqualTo(2);
+            assertThat(encryptedRawTransactionDAO.deleteOlderThan(101L, 2)).isEqualTo(1);
+            transactions.forEach(t -> assertThat(entityManager.find(EncryptedRawTransaction.class, t.getHash())).isNull());
+
+        }
     }
 
     @Transactional
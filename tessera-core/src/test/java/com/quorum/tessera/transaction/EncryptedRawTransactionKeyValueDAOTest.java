@@ -0,0 +1,112 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.storage.KeyValueStore;
+import com.quorum.tessera.storage.LogStructuredKeyValueStore;
+import com.quorum.tessera.transaction.model.EncryptedRawTransaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.persistence.EntityNotFoundException;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class EncryptedRawTransactionKeyValueDAOTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private KeyValueStore store;
+
+    private EncryptedRawTransactionDAO encryptedRawTransactionDAO;
+
+    @Before
+    public void onSetUp() {
+        this.store = new LogStructuredKeyValueStore(temporaryFolder.getRoot().toPath(), 1024, 50);
+        this.encryptedRawTransactionDAO = new EncryptedRawTransactionKeyValueDAO(store);
+    }
+
+    @After
+    public void onTearDown() {
+        this.store.close();
+    }
+
+    @Test
+    public void saveThenRetrieve() {
+        final MessageHash hash = new MessageHash(new byte[]{1});
+        final EncryptedRawTransaction transaction = new EncryptedRawTransaction(
+            hash, "payload".getBytes(), "key".getBytes(), "nonce".getBytes(), "sender".getBytes()
+        );
+
+        encryptedRawTransactionDAO.save(transaction);
+
+        final Optional<EncryptedRawTransaction> retrieved = encryptedRawTransactionDAO.retrieveByHash(hash);
+
+        assertThat(retrieved).isPresent();
+        assertThat(retrieved.get().getHash()).isEqualTo(hash);
+        assertThat(retrieved.get().getEncryptedPayload()).isEqualTo("payload".getBytes());
+        assertThat(retrieved.get().getEncryptedKey()).isEqualTo("key".getBytes());
+        assertThat(retrieved.get().getNonce()).isEqualTo("nonce".getBytes());
+        assertThat(retrieved.get().getSender()).isEqualTo("sender".getBytes());
+        assertThat(retrieved.get().getTimestamp()).isEqualTo(transaction.getTimestamp()).isNotZero();
+    }
+
+    @Test
+    public void saveDoesntAllowNullSender() {
+        final EncryptedRawTransaction transaction = new EncryptedRawTransaction(
+            new MessageHash(new byte[]{1}), new byte[]{1}, new byte[]{1}, new byte[]{1}, null
+        );
+
+        final Throwable throwable = catchThrowable(() -> encryptedRawTransactionDAO.save(transaction));
+
+        assertThat(throwable).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void retrieveMissingTransaction() {
+        assertThat(encryptedRawTransactionDAO.retrieveByHash(new MessageHash(new byte[]{9}))).isEmpty();
+    }
+
+    @Test
+    public void deleteTransaction() {
+        final MessageHash hash = new MessageHash(new byte[]{1});
+        encryptedRawTransactionDAO.save(
+            new EncryptedRawTransaction(hash, new byte[]{1}, new byte[]{1}, new byte[]{1}, new byte[]{1})
+        );
+
+        encryptedRawTransactionDAO.delete(hash);
+
+        assertThat(encryptedRawTransactionDAO.retrieveByHash(hash)).isEmpty();
+    }
+
+    @Test
+    public void deleteMissingTransactionThrowsEntityNotFound() {
+        final Throwable throwable = catchThrowable(
+            () -> encryptedRawTransactionDAO.delete(new MessageHash(new byte[]{1}))
+        );
+
+        assertThat(throwable).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    public void deleteOlderThanRemovesOnlyExpiredTransactions() {
+        final long before = System.currentTimeMillis() - 1000;
+
+        for (int i = 0; i < 5; i++) {
+            encryptedRawTransactionDAO.save(new EncryptedRawTransaction(
+                new MessageHash(new byte[]{(byte) i}), new byte[]{1}, new byte[]{1}, new byte[]{1}, new byte[]{1}
+            ));
+        }
+
+        assertThat(encryptedRawTransactionDAO.deleteOlderThan(before, 5)).isZero();
+        assertThat(encryptedRawTransactionDAO.deleteOlderThan(System.currentTimeMillis() + 1000, 3)).isEqualTo(3);
+        assertThat(encryptedRawTransactionDAO.deleteOlderThan(System.currentTimeMillis() + 1000, 3)).isEqualTo(2);
+        assertThat(encryptedRawTransactionDAO.retrieveByHash(new MessageHash(new byte[]{0}))).isEmpty();
+    }
+
+}
@@ -18,6 +18,7 @@ import javax.persistence.EntityNotFoundException;
 import javax.persistence.PersistenceContext;
 import javax.persistence.PersistenceException;
 import javax.transaction.Transactional;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -119,6 +120,148 @@ public class EncryptedTransactionDAOTest {
 
         }
 
+        @Test
+        public void saveAllPersistsEveryTransaction() {
+
+            final List<EncryptedTransaction> payloads = IntStream.range(0, 10)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .collect(Collectors.toList());
+
+            encryptedTransactionDAO.saveAll(payloads);
+
+            payloads.forEach(p -> assertThat(entityManager.find(EncryptedTransaction.class, p.getHash())).isNotNull());
+
+        }
+
+        @Test
+        public void deleteOlderThanRemovesOnlyExpiredTransactions() {
+
+            final long before = System.currentTimeMillis() - 1000;
+
+            final List<EncryptedTransaction> payloads = IntStream.range(0, 10)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .peek(entityManager::persist)
+                .collect(Collectors.toList());
+            entityManager.flush();
+
+            assertThat(encryptedTransactionDAO.deleteOlderThan(before, 5)).isZero();
+
+            final int deleted = encryptedTransactionDAO.deleteOlderThan(System.currentTimeMillis() + 1000, 100);
+            entityManager.clear();
+
+            assertThat(deleted).isEqualTo(10);
+            payloads.forEach(p -> assertThat(entityManager.find(EncryptedTransaction.class, p.getHash())).isNull());
+
+        }
+
+        @Test
+        public void deleteOlderThanIsBoundedWhenTransactionsShareATimestamp() {
+
+            IntStream.range(0, 5)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 100").executeUpdate();
+            entityManager.clear();
+
+            assertThat(encryptedTransactionDAO.deleteOlderThan(101L, 2)).isEqualTo(2);
+            assertThat(encryptedTransactionDAO.deleteOlderThan(101L, 2)).isEqualTo(2);
+            assertThat(encryptedTransactionDAO.deleteOlderThan(101L, 2)).isEqualTo(1);
+            assertThat(encryptedTransactionDAO.retrieveAllTransactions()).isEmpty();
+
+        }
+
+        @Test
+        public void retrieveTransactionsSinceExcludesOlderTransactions() {
+
+            final long before = System.currentTimeMillis() - 1000;
+
+            final List<EncryptedTransaction> payloads = IntStream.range(0, 5)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .peek(entityManager::persist)
+                .collect(Collectors.toList());
+            entityManager.flush();
+
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(before)).hasSameElementsAs(payloads);
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(System.currentTimeMillis() + 1000)).isEmpty();
+
+        }
+
+        @Test
+        public void pagesOfTransactionsSharingATimestampAreBounded() {
+
+            final List<EncryptedTransaction> payloads = IntStream.range(0, 5)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .peek(entityManager::persist)
+                .collect(Collectors.toList());
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 100").executeUpdate();
+            entityManager.clear();
+
+            final List<EncryptedTransaction> paged = new ArrayList<>();
+            List<EncryptedTransaction> page = encryptedTransactionDAO.retrievePage(100L, null, 2);
+            while (!page.isEmpty()) {
+                assertThat(page.size()).isLessThanOrEqualTo(2);
+                paged.addAll(page);
+                final EncryptedTransaction last = page.get(page.size() - 1);
+                page = encryptedTransactionDAO.retrievePage(last.getTimestamp(), last.getHash(), 2);
+            }
+
+            assertThat(paged).hasSize(5).hasSameElementsAs(payloads);
+            assertThat(encryptedTransactionDAO.retrievePage(101L, null, 2)).isEmpty();
+
+        }
+
+        @Test
+        public void transactionsStoredWhilePagingDontShiftLaterPages() {
+
+            IntStream.range(1, 5)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 100").executeUpdate();
+            entityManager.clear();
+
+            final List<EncryptedTransaction> first = encryptedTransactionDAO.retrievePage(100L, null, 2);
+            assertThat(first).extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{1}), new MessageHash(new byte[]{2}));
+
+            entityManager.persist(new EncryptedTransaction(new MessageHash(new byte[]{0}), new byte[]{0}));
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 100").executeUpdate();
+            entityManager.clear();
+
+            assertThat(encryptedTransactionDAO.retrievePage(100L, first.get(1).getHash(), 2))
+                .extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{3}), new MessageHash(new byte[]{4}));
+
+        }
+
+        @Test
+        public void transactionsWithoutTimestampArePagedFromTheStart() {
+
+            final EncryptedTransaction untimed = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1});
+            final EncryptedTransaction timed = new EncryptedTransaction(new MessageHash(new byte[]{2}), new byte[]{2});
+            entityManager.persist(untimed);
+            entityManager.persist(timed);
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = NULL WHERE HASH = ?")
+                .setParameter(1, new byte[]{1})
+                .executeUpdate();
+            entityManager.clear();
+
+            assertThat(encryptedTransactionDAO.retrievePage(0L, null, 10))
+                .extracting(EncryptedTransaction::getHash)
+                .containsExactly(untimed.getHash(), timed.getHash());
+            assertThat(encryptedTransactionDAO.retrievePage(1L, null, 10))
+                .extracting(EncryptedTransaction::getHash)
+                .containsExactly(timed.getHash());
+            assertThat(encryptedTransactionDAO.retrievePage(0L, untimed.getHash(), 10))
+                .extracting(EncryptedTransaction::getHash)
+                .containsExactly(timed.getHash());
+
+        }
+
         @Test
         public void fetchingAllTransactionsReturnsAll() {
 
@@ -293,6 +436,148 @@ public class EncryptedTransactionDAOTest {
 
         }
 
+        @Test
+        public void saveAllPersistsEveryTransaction() {
+
+            final List<EncryptedTransaction> payloads = IntStream.range(0, 10)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .collect(Collectors.toList());
+
+            encryptedTransactionDAO.saveAll(payloads);
+
+            payloads.forEach(p -> assertThat(entityManager.find(EncryptedTransaction.class, p.getHash())).isNotNull());
+
+        }
+
+        @Test
+        public void deleteOlderThanRemovesOnlyExpiredTransactions() {
+
+            final long before = System.currentTimeMillis() - 1000;
+
+            final List<EncryptedTransaction> payloads = IntStream.range(0, 10)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .peek(entityManager::persist)
+                .collect(Collectors.toList());
+            entityManager.flush();
+
+            assertThat(encryptedTransactionDAO.deleteOlderThan(before, 5)).isZero();
+
+            final int deleted = encryptedTransactionDAO.deleteOlderThan(System.currentTimeMillis() + 1000, 100);
+            entityManager.clear();
+
+            assertThat(deleted).isEqualTo(10);
+            payloads.forEach(p -> assertThat(entityManager.find(EncryptedTransaction.class, p.getHash())).isNull());
+
+        }
+
+        @Test
+        public void deleteOlderThanIsBoundedWhenTransactionsShareATimestamp() {
+
+            IntStream.range(0, 5)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 100").executeUpdate();
+            entityManager.clear();
+
+            assertThat(encryptedTransactionDAO.deleteOlderThan(101L, 2)).isEqualTo(2);
+            assertThat(encryptedTransactionDAO.deleteOlderThan(101L, 2)).isEqualTo(2);
+            assertThat(encryptedTransactionDAO.deleteOlderThan(101L, 2)).isEqualTo(1);
+            assertThat(encryptedTransactionDAO.retrieveAllTransactions()).isEmpty();
+
+        }
+
+        @Test
+        public void retrieveTransactionsSinceExcludesOlderTransactions() {
+
+            final long before = System.currentTimeMillis() - 1000;
+
+            final List<EncryptedTransaction> payloads = IntStream.range(0, 5)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .peek(entityManager::persist)
+                .collect(Collectors.toList());
+            entityManager.flush();
+
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(before)).hasSameElementsAs(payloads);
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(System.currentTimeMillis() + 1000)).isEmpty();
+
+        }
+
+        @Test
+        public void pagesOfTransactionsSharingATimestampAreBounded() {
+
+            final List<EncryptedTransaction> payloads = IntStream.range(0, 5)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .peek(entityManager::persist)
+                .collect(Collectors.toList());
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 100").executeUpdate();
+            entityManager.clear();
+
+            final List<EncryptedTransaction> paged = new ArrayList<>();
+            List<EncryptedTransaction> page = encryptedTransactionDAO.retrievePage(100L, null, 2);
+            while (!page.isEmpty()) {
+                assertThat(page.size()).isLessThanOrEqualTo(2);
+                paged.addAll(page);
+                final EncryptedTransaction last = page.get(page.size() - 1);
+                page = encryptedTransactionDAO.retrievePage(last.getTimestamp(), last.getHash(), 2);
+            }
+
+            assertThat(paged).hasSize(5).hasSameElementsAs(payloads);
+            assertThat(encryptedTransactionDAO.retrievePage(101L, null, 2)).isEmpty();
+
+        }
+
+        @Test
+        public void transactionsStoredWhilePagingDontShiftLaterPages() {
+
+            IntStream.range(1, 5)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 100").executeUpdate();
+            entityManager.clear();
+
+            final List<EncryptedTransaction> first = encryptedTransactionDAO.retrievePage(100L, null, 2);
+            assertThat(first).extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{1}), new MessageHash(new byte[]{2}));
+
+            entityManager.persist(new EncryptedTransaction(new MessageHash(new byte[]{0}), new byte[]{0}));
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 100").executeUpdate();
+            entityManager.clear();
+
+            assertThat(encryptedTransactionDAO.retrievePage(100L, first.get(1).getHash(), 2))
+                .extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{3}), new MessageHash(new byte[]{4}));
+
+        }
+
+        @Test
+        public void transactionsWithoutTimestampArePagedFromTheStart() {
+
+            final EncryptedTransaction untimed = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1});
+            final EncryptedTransaction timed = new EncryptedTransaction(new MessageHash(new byte[]{2}), new byte[]{2});
+            entityManager.persist(untimed);
+            entityManager.persist(timed);
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = NULL WHERE HASH = ?")
+                .setParameter(1, new byte[]{1})
+                .executeUpdate();
+            entityManager.clear();
+
+            assertThat(encryptedTransactionDAO.retrievePage(0L, null, 10))
+                .extracting(EncryptedTransaction::getHash)
+                .containsExactly(untimed.getHash(), timed.getHash());
+            assertThat(encryptedTransactionDAO.retrievePage(1L, null, 10))
+                .extracting(EncryptedTransaction::getHash)
+                .containsExactly(timed.getHash());
+            assertThat(encryptedTransactionDAO.retrievePage(0L, untimed.getHash(), 10))
+                .extracting(EncryptedTransaction::getHash)
+                .containsExactly(timed.getHash());
+
+        }
+
         @Test
         public void fetchingAllTransactionsReturnsAll() {
 
@@ -468,6 +753,148 @@ public class EncryptedTransactionDAOTest {
 
         }
 
+        @Test
+        public void saveAllPersistsEveryTransaction() {
+
+            final List<EncryptedTransaction> payloads = IntStream.range(0, 10)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .collect(Collectors.toList());
+
+            encryptedTransactionDAO.saveAll(payloads);
+
+            payloads.forEach(p -> assertThat(entityManager.find(EncryptedTransaction.class, p.getHash())).isNotNull());
+
+        }
+
+        @Test
+        public void deleteOlderThanRemovesOnlyExpiredTransactions() {
+
+            final long before = System.currentTimeMillis() - 1000;
+
+            final List<EncryptedTransaction> payloads = IntStream.range(0, 10)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .peek(entityManager::persist)
+                .collect(Collectors.toList());
+            entityManager.flush();
+
+            assertThat(encryptedTransactionDAO.deleteOlderThan(before, 5)).isZero();
+
+            final int deleted = encryptedTransactionDAO.deleteOlderThan(System.currentTimeMillis() + 1000, 100);
+            entityManager.clear();
+
+            assertThat(deleted).isEqualTo(10);
+            payloads.forEach(p -> assertThat(entityManager.find(EncryptedTransaction.class, p.getHash())).isNull());
+
+        }
+
+        @Test
+        public void deleteOlderThanIsBoundedWhenTransactionsShareATimestamp() {
+
+            IntStream.range(0, 5)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 100").executeUpdate();
+            entityManager.clear();
+
+            assertThat(encryptedTransactionDAO.deleteOlderThan(101L, 2)).isEqualTo(2);
+            assertThat(encryptedTransactionDAO.deleteOlderThan(101L, 2)).isEqualTo(2);
+            assertThat(encryptedTransactionDAO.deleteOlderThan(101L, 2)).isEqualTo(1);
+            assertThat(encryptedTransactionDAO.retrieveAllTransactions()).isEmpty();
+
+        }
+
+        @Test
+        public void retrieveTransactionsSinceExcludesOlderTransactions() {
+
+            final long before = System.currentTimeMillis() - 1000;
+
+            final List<EncryptedTransaction> payloads = IntStream.range(0, 5)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .peek(entityManager::persist)
+                .collect(Collectors.toList());
+            entityManager.flush();
+
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(before)).hasSameElementsAs(payloads);
+            assertThat(encryptedTransactionDAO.retrieveTransactionsSince(System.currentTimeMillis() + 1000)).isEmpty();
+
+        }
+
+        @Test
+        public void pagesOfTransactionsSharingATimestampAreBounded() {
+
+            final List<EncryptedTransaction> payloads = IntStream.range(0, 5)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .peek(entityManager::persist)
+                .collect(Collectors.toList());
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 100").executeUpdate();
+            entityManager.clear();
+
+            final List<EncryptedTransaction> paged = new ArrayList<>();
+            List<EncryptedTransaction> page = encryptedTransactionDAO.retrievePage(100L, null, 2);
+            while (!page.isEmpty()) {
+                assertThat(page.size()).isLessThanOrEqualTo(2);
+                paged.addAll(page);
+                final EncryptedTransaction last = page.get(page.size() - 1);
+                page = encryptedTransactionDAO.retrievePage(last.getTimestamp(), last.getHash(), 2);
+            }
+
+            assertThat(paged).hasSize(5).hasSameElementsAs(payloads);
+            assertThat(encryptedTransactionDAO.retrievePage(101L, null, 2)).isEmpty();
+
+        }
+
+        @Test
+        public void transactionsStoredWhilePagingDontShiftLaterPages() {
+
+            IntStream.range(1, 5)
+                .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{(byte) i}))
+                .forEach(entityManager::persist);
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 100").executeUpdate();
+            entityManager.clear();
+
+            final List<EncryptedTransaction> first = encryptedTransactionDAO.retrievePage(100L, null, 2);
+            assertThat(first).extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{1}), new MessageHash(new byte[]{2}));
+
+            entityManager.persist(new EncryptedTransaction(new MessageHash(new byte[]{0}), new byte[]{0}));
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = 100").executeUpdate();
+            entityManager.clear();
+
+            assertThat(encryptedTransactionDAO.retrievePage(100L, first.get(1).getHash(), 2))
+                .extracting(EncryptedTransaction::getHash)
+                .containsExactly(new MessageHash(new byte[]{3}), new MessageHash(new byte[]{4}));
+
+        }
+
+        @Test
+        public void transactionsWithoutTimestampArePagedFromTheStart() {
+
+            final EncryptedTransaction untimed = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1});
+            final EncryptedTransaction timed = new EncryptedTransaction(new MessageHash(new byte[]{2}), new byte[]{2});
+            entityManager.persist(untimed);
+            entityManager.persist(timed);
+            entityManager.flush();
+            entityManager.createNativeQuery("UPDATE ENCRYPTED_TRANSACTION SET TIMESTAMP = NULL WHERE HASH = ?")
+                .setParameter(1, new byte[]{1})
+                .executeUpdate();
+            entityManager.clear();
+
+            assertThat(encryptedTransactionDAO.retrievePage(0L, null, 10))
+                .extracting(EncryptedTransaction::getHash)
+                .containsExactly(untimed.getHash(), timed.getHash());
+            assertThat(encryptedTransactionDAO.retrievePage(1L, null, 10))
+                .extracting(EncryptedTransaction::getHash)
+                .containsExactly(timed.getHash());
+            assertThat(encryptedTransactionDAO.retrievePage(0L, untimed.getHash(), 10))
+                .extracting(EncryptedTransaction::getHash)
+                .containsExactly(timed.getHash());
+
+        }
+
         @Test
         public void fetchingAllTransactionsReturnsAll() {
 
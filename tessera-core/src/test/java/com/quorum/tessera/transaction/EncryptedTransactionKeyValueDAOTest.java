@@ -0,0 +1,227 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.storage.KeyValueStore;
+import com.quorum.tessera.storage.LogStructuredKeyValueStore;
+import com.quorum.tessera.transaction.model.EncryptedTransaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import javax.persistence.EntityExistsException;
+import javax.persistence.EntityNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+
+public class EncryptedTransactionKeyValueDAOTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private KeyValueStore store;
+
+    private EncryptedTransactionDAO encryptedTransactionDAO;
+
+    @Before
+    public void onSetUp() {
+        this.store = new LogStructuredKeyValueStore(temporaryFolder.getRoot().toPath(), 1024, 50);
+        this.encryptedTransactionDAO = new EncryptedTransactionKeyValueDAO(store);
+    }
+
+    @After
+    public void onTearDown() {
+        this.store.close();
+    }
+
+    @Test
+    public void saveThenRetrieve() {
+        final MessageHash hash = new MessageHash(new byte[]{1});
+        final EncryptedTransaction transaction = new EncryptedTransaction(hash, new byte[]{5});
+
+        encryptedTransactionDAO.save(transaction);
+
+        final Optional<EncryptedTransaction> retrieved = encryptedTransactionDAO.retrieveByHash(hash);
+
+        assertThat(retrieved).isPresent();
+        assertThat(retrieved.get().getHash()).isEqualTo(hash);
+        assertThat(retrieved.get().getEncodedPayload()).containsExactly(5);
+        assertThat(retrieved.get().getTimestamp()).isEqualTo(transaction.getTimestamp()).isNotZero();
+    }
+
+    @Test
+    public void saveDoesntAllowNullEncodedPayload() {
+        final EncryptedTransaction transaction = new EncryptedTransaction(new MessageHash(new byte[]{1}), null);
+
+        final Throwable throwable = catchThrowable(() -> encryptedTransactionDAO.save(transaction));
+
+        assertThat(throwable).isInstanceOf(NullPointerException.class);
+    }
+
+    @Test
+    public void saveDoesntAllowHashThatIsAlreadyStored() {
+        final MessageHash hash = new MessageHash(new byte[]{1});
+        encryptedTransactionDAO.save(new EncryptedTransaction(hash, new byte[]{5}));
+
+        final Throwable throwable = catchThrowable(
+            () -> encryptedTransactionDAO.save(new EncryptedTransaction(hash, new byte[]{6}))
+        );
+
+        assertThat(throwable).isInstanceOf(EntityExistsException.class);
+        assertThat(encryptedTransactionDAO.retrieveByHash(hash).get().getEncodedPayload()).containsExactly(5);
+    }
+
+    @Test
+    public void saveRetrievedTransactionUpdatesIt() {
+        final MessageHash hash = new MessageHash(new byte[]{1});
+        encryptedTransactionDAO.save(new EncryptedTransaction(hash, new byte[]{5}));
+
+        final EncryptedTransaction retrieved = encryptedTransactionDAO.retrieveByHash(hash).get();
+        retrieved.setEncodedPayload(new byte[]{6});
+        encryptedTransactionDAO.save(retrieved);
+
+        final EncryptedTransaction updated = encryptedTransactionDAO.retrieveByHash(hash).get();
+        assertThat(updated.getEncodedPayload()).containsExactly(6);
+        assertThat(updated.getTimestamp()).isEqualTo(retrieved.getTimestamp());
+        assertThat(encryptedTransactionDAO.retrieveTransactionsSince(0L)).hasSize(1);
+    }
+
+    @Test
+    public void retrieveMissingTransaction() {
+        assertThat(encryptedTransactionDAO.retrieveByHash(new MessageHash(new byte[]{9}))).isEmpty();
+    }
+
+    @Test
+    public void saveAllStoresEveryTransaction() {
+        final MessageHash first = new MessageHash(new byte[]{1});
+        final MessageHash second = new MessageHash(new byte[]{2});
+
+        encryptedTransactionDAO.saveAll(Arrays.asList(
+            new EncryptedTransaction(first, new byte[]{1}), new EncryptedTransaction(second, new byte[]{2})
+        ));
+
+        assertThat(encryptedTransactionDAO.retrieveByHash(first)).isPresent();
+        assertThat(encryptedTransactionDAO.retrieveByHash(second)).isPresent();
+    }
+
+    @Test
+    public void saveAllStoresOtherTransactionsWhenOneIsAlreadyStored() {
+        final MessageHash first = new MessageHash(new byte[]{1});
+        final MessageHash second = new MessageHash(new byte[]{2});
+        encryptedTransactionDAO.save(new EncryptedTransaction(first, new byte[]{5}));
+
+        final EncryptedTransaction duplicate = new EncryptedTransaction(first, new byte[]{6});
+        final EncryptedTransaction added = new EncryptedTransaction(second, new byte[]{2});
+
+        final Throwable throwable = catchThrowable(
+            () -> encryptedTransactionDAO.saveAll(Arrays.asList(duplicate, added))
+        );
+
+        assertThat(throwable).isInstanceOf(EntityExistsException.class);
+        assertThat(duplicate.getTimestamp()).isZero();
+        assertThat(encryptedTransactionDAO.retrieveByHash(first).get().getEncodedPayload()).containsExactly(5);
+        assertThat(encryptedTransactionDAO.retrieveByHash(second)).isPresent();
+        assertThat(encryptedTransactionDAO.retrieveTransactionsSince(0)).hasSize(2);
+
+        // retrying each individually, as a write-behind batch does, only fails the duplicate
+        assertThat(catchThrowable(() -> encryptedTransactionDAO.save(duplicate)))
+            .isInstanceOf(EntityExistsException.class);
+        assertThat(encryptedTransactionDAO.save(added)).isSameAs(added);
+    }
+
+    @Test
+    public void retrieveAllTransactions() {
+        encryptedTransactionDAO.save(new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1}));
+        encryptedTransactionDAO.save(new EncryptedTransaction(new MessageHash(new byte[]{2}), new byte[]{2}));
+
+        final List<EncryptedTransaction> transactions = encryptedTransactionDAO.retrieveAllTransactions();
+
+        assertThat(transactions).hasSize(2).extracting(EncryptedTransaction::getHash)
+            .containsExactlyInAnyOrder(new MessageHash(new byte[]{1}), new MessageHash(new byte[]{2}));
+    }
+
+    @Test
+    public void deleteTransaction() {
+        final MessageHash hash = new MessageHash(new byte[]{1});
+        encryptedTransactionDAO.save(new EncryptedTransaction(hash, new byte[]{1}));
+
+        encryptedTransactionDAO.delete(hash);
+
+        assertThat(encryptedTransactionDAO.retrieveByHash(hash)).isEmpty();
+    }
+
+    @Test
+    public void deleteMissingTransactionThrowsEntityNotFound() {
+        final Throwable throwable = catchThrowable(
+            () -> encryptedTransactionDAO.delete(new MessageHash(new byte[]{1}))
+        );
+
+        assertThat(throwable).isInstanceOf(EntityNotFoundException.class);
+    }
+
+    @Test
+    public void deleteOlderThanRemovesExpiredTransactionsInBatches() {
+        final long before = System.currentTimeMillis() - 1000;
+        for (int i = 0; i < 3; i++) {
+            encryptedTransactionDAO.save(new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{1}));
+        }
+        final long cutoff = System.currentTimeMillis() + 1000;
+
+        assertThat(encryptedTransactionDAO.deleteOlderThan(before, 10)).isZero();
+        assertThat(encryptedTransactionDAO.deleteOlderThan(cutoff, 2)).isEqualTo(2);
+        assertThat(encryptedTransactionDAO.deleteOlderThan(cutoff, 2)).isEqualTo(1);
+        assertThat(encryptedTransactionDAO.retrieveAllTransactions()).isEmpty();
+    }
+
+    @Test
+    public void retrieveTransactionsSinceExcludesOlderTransactions() {
+        final long before = System.currentTimeMillis() - 1000;
+        encryptedTransactionDAO.save(new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1}));
+
+        assertThat(encryptedTransactionDAO.retrieveTransactionsSince(before)).hasSize(1);
+        assertThat(encryptedTransactionDAO.retrieveTransactionsSince(System.currentTimeMillis() + 1000)).isEmpty();
+    }
+
+    @Test
+    public void transactionsAlreadyInStoreAreFoundByAge() {
+        final long before = System.currentTimeMillis() - 1000;
+        encryptedTransactionDAO.save(new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[]{1}));
+        encryptedTransactionDAO.save(new EncryptedTransaction(new MessageHash(new byte[]{2}), new byte[]{2}));
+
+        final EncryptedTransactionDAO reopened = new EncryptedTransactionKeyValueDAO(store);
+
+        assertThat(reopened.retrieveTransactionsSince(before)).hasSize(2);
+        assertThat(reopened.retrievePage(before, null, 10)).hasSize(2);
+        assertThat(reopened.deleteOlderThan(System.currentTimeMillis() + 1000, 10)).isEqualTo(2);
+        assertThat(reopened.retrieveTransactionsSince(before)).isEmpty();
+    }
+
+    @Test
+    public void pagesCoverEveryTransactionOnce() {
+        final long before = System.currentTimeMillis() - 1000;
+        for (int i = 0; i < 5; i++) {
+            encryptedTransactionDAO.save(new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[]{1}));
+        }
+
+        final List<EncryptedTransaction> paged = new ArrayList<>();
+        List<EncryptedTransaction> page = encryptedTransactionDAO.retrievePage(before, null, 2);
+        while (!page.isEmpty()) {
+            assertThat(page.size()).isLessThanOrEqualTo(2);
+            paged.addAll(page);
+
+            final EncryptedTransaction last = page.get(page.size() - 1);
+            page = encryptedTransactionDAO.retrievePage(last.getTimestamp(), last.getHash(), 2);
+        }
+
+        assertThat(paged).isSortedAccordingTo(Comparator.comparingLong(EncryptedTransaction::getTimestamp));
+        assertThat(paged).extracting(EncryptedTransaction::getHash).doesNotHaveDuplicates().hasSize(5);
+    }
+
+}
@@ -1,10 +1,14 @@
 package com.quorum.tessera.transaction;
 
 import com.quorum.tessera.client.P2pClient;
+import com.quorum.tessera.client.PeerUnavailableException;
 import com.quorum.tessera.enclave.Enclave;
 import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.enclave.PayloadEncoder;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.metrics.Counter;
+import com.quorum.tessera.metrics.Histogram;
+import com.quorum.tessera.metrics.MetricsRegistry;
 import com.quorum.tessera.nacl.Nonce;
 import com.quorum.tessera.node.PartyInfoService;
 import com.quorum.tessera.transaction.exception.PublishPayloadException;
@@ -83,8 +87,13 @@ public class PayloadPublisherTest {
 
         when(p2pClient.push(url, encodedBytes)).thenReturn("response".getBytes());
 
+        final Histogram pushTimer = MetricsRegistry.getDefault().histogram("tessera_p2p_push_microseconds");
+        final long pushesBefore = pushTimer.snapshot().getCount();
+
         payloadPublisher.publishPayload(payload, RECIPIENT_KEY);
 
+        assertThat(pushTimer.snapshot().getCount()).isEqualTo(pushesBefore + 1);
+
         verify(partyInfoService).getURLFromRecipientKey(RECIPIENT_KEY);
         verify(payloadEncoder).encode(any(EncodedPayload.class));
         verify(p2pClient).push(url, encodedBytes);
@@ -107,8 +116,13 @@ public class PayloadPublisherTest {
 
         when(p2pClient.push(url, encodedBytes)).thenReturn(null);
 
+        final Counter pushFailures = MetricsRegistry.getDefault().counter("tessera_p2p_push_failures");
+        final long failuresBefore = pushFailures.get();
+
         Throwable ex = catchThrowable(() -> payloadPublisher.publishPayload(payload, RECIPIENT_KEY));
 
+        assertThat(pushFailures.get()).isEqualTo(failuresBefore + 1);
+
         assertThat(ex).isExactlyInstanceOf(PublishPayloadException.class);
         assertThat(ex.getMessage()).isEqualTo("Unable to push payload to recipient " + RECIPIENT_KEY.encodeToBase64());
 
@@ -118,4 +132,31 @@ public class PayloadPublisherTest {
         verify(enclave).getPublicKeys();
     }
 
+    @Test
+    public void publishToUnavailableTargetFailsFast() {
+        final String url = "SOMEURL";
+        when(partyInfoService.getURLFromRecipientKey(RECIPIENT_KEY)).thenReturn(url);
+
+        final EncodedPayload payload = new EncodedPayload(
+            PublicKey.from(EMPTY), EMPTY, new Nonce(EMPTY),
+            singletonList(EMPTY), new Nonce(EMPTY), singletonList(RECIPIENT_KEY)
+        );
+
+        byte[] encodedBytes = "encodedBytes".getBytes();
+        when(payloadEncoder.encode(any(EncodedPayload.class))).thenReturn(encodedBytes);
+
+        when(p2pClient.push(url, encodedBytes)).thenThrow(new PeerUnavailableException("unavailable"));
+
+        Throwable ex = catchThrowable(() -> payloadPublisher.publishPayload(payload, RECIPIENT_KEY));
+
+        assertThat(ex).isExactlyInstanceOf(PublishPayloadException.class);
+        assertThat(ex.getMessage())
+            .isEqualTo("Recipient " + RECIPIENT_KEY.encodeToBase64() + " is unavailable after repeated failures");
+
+        verify(partyInfoService).getURLFromRecipientKey(RECIPIENT_KEY);
+        verify(payloadEncoder).encode(any(EncodedPayload.class));
+        verify(p2pClient).push(url, encodedBytes);
+        verify(enclave).getPublicKeys();
+    }
+
 }
@@ -4,14 +4,21 @@ import com.quorum.tessera.enclave.Enclave;
 import com.quorum.tessera.enclave.EncodedPayload;
 import com.quorum.tessera.enclave.PayloadEncoder;
 import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.enclave.model.MessageHashFactory;
 import com.quorum.tessera.encryption.PublicKey;
+import com.quorum.tessera.nacl.Nonce;
 import com.quorum.tessera.transaction.model.EncryptedTransaction;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.*;
+import java.util.concurrent.locks.ReentrantLock;
 
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
@@ -19,6 +26,8 @@ import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.catchThrowable;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 public class ResendManagerTest {
@@ -37,7 +46,9 @@ public class ResendManagerTest {
         this.payloadEncoder = mock(PayloadEncoder.class);
         this.enclave = mock(Enclave.class);
 
-        this.resendManager = new ResendManagerImpl(encryptedTransactionDAO, payloadEncoder, enclave);
+        this.resendManager = new ResendManagerImpl(
+            new OwnMessageStoreImpl(encryptedTransactionDAO, payloadEncoder, enclave), payloadEncoder, enclave
+        );
     }
 
     @After
@@ -102,6 +113,7 @@ public class ResendManagerTest {
         when(payloadEncoder.decode(storedData)).thenReturn(existingEncodedPayload);
         when(payloadEncoder.decode(incomingData)).thenReturn(encodedPayload);
         when(payloadEncoder.encode(any(EncodedPayload.class))).thenReturn("updated".getBytes());
+        when(enclave.sharesMasterKey(encodedPayload, existingEncodedPayload)).thenReturn(true);
 
         resendManager.acceptOwnMessage(incomingData);
 
@@ -114,8 +126,7 @@ public class ResendManagerTest {
         verify(payloadEncoder).decode(incomingData);
         verify(payloadEncoder).encode(existingEncodedPayload);
         verify(enclave).getPublicKeys();
-        verify(enclave).unencryptTransaction(encodedPayload, null);
-        verify(enclave).unencryptTransaction(existingEncodedPayload, null);
+        verify(enclave).sharesMasterKey(encodedPayload, existingEncodedPayload);
     }
 
     @Test
@@ -149,7 +160,6 @@ public class ResendManagerTest {
         verify(payloadEncoder).decode(storedData);
         verify(payloadEncoder).decode(incomingData);
         verify(enclave).getPublicKeys();
-        verify(enclave).unencryptTransaction(encodedPayload, null);
     }
 
     @Test
@@ -176,7 +186,6 @@ public class ResendManagerTest {
 
         verify(enclave).getPublicKeys();
         verify(payloadEncoder).decode(incomingData);
-        verify(enclave).unencryptTransaction(encodedPayload, null);
     }
 
     @Test
@@ -203,7 +212,76 @@ public class ResendManagerTest {
         when(payloadEncoder.decode(storedData)).thenReturn(existingEncodedPayload);
         when(payloadEncoder.decode(incomingData)).thenReturn(encodedPayload);
         when(payloadEncoder.encode(any(EncodedPayload.class))).thenReturn("updated".getBytes());
-        when(enclave.unencryptTransaction(existingEncodedPayload, null)).thenReturn("payload1".getBytes());
+        when(enclave.sharesMasterKey(encodedPayload, existingEncodedPayload)).thenReturn(false);
+
+        final Throwable throwable = catchThrowable(() -> resendManager.acceptOwnMessage(incomingData));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid payload provided");
+
+        verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
+        verify(payloadEncoder).decode(storedData);
+        verify(payloadEncoder).decode(incomingData);
+        verify(enclave).getPublicKeys();
+        verify(enclave).sharesMasterKey(encodedPayload, existingEncodedPayload);
+    }
+
+    @Test
+    public void differentCipherTextIsRejectedWithoutOpeningAnyBoxes() {
+        final byte[] incomingData = "incomingData".getBytes();
+
+        final byte[] storedData = "SOMEDATA".getBytes();
+        final EncryptedTransaction et = new EncryptedTransaction(null, storedData);
+        final PublicKey senderKey = PublicKey.from("SENDER".getBytes());
+
+        final PublicKey recipientKey = PublicKey.from("RECIPIENT-KEY".getBytes());
+
+        final EncodedPayload encodedPayload = new EncodedPayload(
+            senderKey, "CIPHERTEXT".getBytes(), null, singletonList("BOX".getBytes()), null, singletonList(recipientKey)
+        );
+
+        final EncodedPayload existingEncodedPayload = new EncodedPayload(
+            senderKey, "OTHER-CIPHERTEXT".getBytes(), null, new ArrayList<>(), null, new ArrayList<>()
+        );
+
+        when(enclave.getPublicKeys()).thenReturn(singleton(senderKey));
+        when(encryptedTransactionDAO.retrieveByHash(any(MessageHash.class))).thenReturn(Optional.of(et));
+        when(payloadEncoder.decode(storedData)).thenReturn(existingEncodedPayload);
+        when(payloadEncoder.decode(incomingData)).thenReturn(encodedPayload);
+
+        final Throwable throwable = catchThrowable(() -> resendManager.acceptOwnMessage(incomingData));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class).hasMessage("Invalid payload provided");
+
+        verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
+        verify(payloadEncoder).decode(storedData);
+        verify(payloadEncoder).decode(incomingData);
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void differentRecipientNonceIsRejectedWithoutOpeningAnyBoxes() {
+        final byte[] incomingData = "incomingData".getBytes();
+
+        final byte[] storedData = "SOMEDATA".getBytes();
+        final EncryptedTransaction et = new EncryptedTransaction(null, storedData);
+        final PublicKey senderKey = PublicKey.from("SENDER".getBytes());
+
+        final PublicKey recipientKey = PublicKey.from("RECIPIENT-KEY".getBytes());
+
+        final EncodedPayload encodedPayload = new EncodedPayload(
+            senderKey, "CIPHERTEXT".getBytes(), null,
+            singletonList("BOX".getBytes()), new Nonce("NONCE".getBytes()), singletonList(recipientKey)
+        );
+
+        final EncodedPayload existingEncodedPayload = new EncodedPayload(
+            senderKey, "CIPHERTEXT".getBytes(), null,
+            new ArrayList<>(), new Nonce("OTHER-NONCE".getBytes()), new ArrayList<>()
+        );
+
+        when(enclave.getPublicKeys()).thenReturn(singleton(senderKey));
+        when(encryptedTransactionDAO.retrieveByHash(any(MessageHash.class))).thenReturn(Optional.of(et));
+        when(payloadEncoder.decode(storedData)).thenReturn(existingEncodedPayload);
+        when(payloadEncoder.decode(incomingData)).thenReturn(encodedPayload);
 
         final Throwable throwable = catchThrowable(() -> resendManager.acceptOwnMessage(incomingData));
 
@@ -213,18 +291,20 @@ public class ResendManagerTest {
         verify(payloadEncoder).decode(storedData);
         verify(payloadEncoder).decode(incomingData);
         verify(enclave).getPublicKeys();
-        verify(enclave).unencryptTransaction(encodedPayload, null);
-        verify(enclave).unencryptTransaction(existingEncodedPayload, null);
     }
 
     @Test
     public void undecryptablePayloadErrors() {
         final byte[] incomingData = "incomingData".getBytes();
 
+        final PublicKey senderKey = PublicKey.from("SENDER".getBytes());
+
         final EncodedPayload encodedPayload
-            = new EncodedPayload(mock(PublicKey.class), "CIPHERTEXT".getBytes(), null, emptyList(), null, emptyList());
+            = new EncodedPayload(senderKey, "CIPHERTEXT".getBytes(), null, emptyList(), null, emptyList());
 
         when(payloadEncoder.decode(incomingData)).thenReturn(encodedPayload);
+        when(enclave.getPublicKeys()).thenReturn(singleton(senderKey));
+        when(encryptedTransactionDAO.retrieveByHash(any(MessageHash.class))).thenReturn(Optional.empty());
         when(enclave.unencryptTransaction(encodedPayload, null)).thenThrow(IllegalArgumentException.class);
 
         final Throwable throwable = catchThrowable(() -> resendManager.acceptOwnMessage(incomingData));
@@ -232,7 +312,364 @@ public class ResendManagerTest {
         assertThat(throwable).isInstanceOf(IllegalArgumentException.class).hasMessage(null);
 
         verify(payloadEncoder).decode(incomingData);
+        verify(enclave).getPublicKeys();
+        verify(encryptedTransactionDAO).retrieveByHash(any(MessageHash.class));
         verify(enclave).unencryptTransaction(encodedPayload, null);
     }
 
+    @Test
+    public void newOwnMessagesAreCheckedAndBoxedTogether() {
+
+        final PublicKey senderKey = PublicKey.from("SENDER".getBytes());
+        final PublicKey recipientKey = PublicKey.from("RECIPIENT".getBytes());
+
+        final byte[] first = "FIRST".getBytes();
+        final byte[] second = "SECOND".getBytes();
+
+        final EncodedPayload firstPayload = new EncodedPayload(
+            senderKey, "CIPHERTEXT1".getBytes(), null,
+            new ArrayList<>(singletonList("BOX1".getBytes())), null, new ArrayList<>(singletonList(recipientKey))
+        );
+        final EncodedPayload secondPayload = new EncodedPayload(
+            senderKey, "CIPHERTEXT2".getBytes(), null,
+            new ArrayList<>(singletonList("BOX2".getBytes())), null, new ArrayList<>(singletonList(recipientKey))
+        );
+
+        when(payloadEncoder.decode(first)).thenReturn(firstPayload);
+        when(payloadEncoder.decode(second)).thenReturn(secondPayload);
+        when(enclave.getPublicKeys()).thenReturn(singleton(senderKey));
+        when(encryptedTransactionDAO.retrieveByHash(any(MessageHash.class))).thenReturn(Optional.empty());
+        when(enclave.createNewRecipientBoxes(anyList(), eq(senderKey)))
+            .thenReturn(Arrays.asList("NEWBOX1".getBytes(), "NEWBOX2".getBytes()));
+        when(payloadEncoder.encode(any(EncodedPayload.class))).thenReturn("updated".getBytes());
+
+        resendManager.acceptOwnMessages(Arrays.asList(first, second));
+
+        assertThat(firstPayload.getRecipientKeys()).containsExactly(recipientKey, senderKey);
+        assertThat(firstPayload.getRecipientBoxes()).containsExactly("BOX1".getBytes(), "NEWBOX1".getBytes());
+        assertThat(secondPayload.getRecipientKeys()).containsExactly(recipientKey, senderKey);
+        assertThat(secondPayload.getRecipientBoxes()).containsExactly("BOX2".getBytes(), "NEWBOX2".getBytes());
+
+        verify(payloadEncoder).decode(first);
+        verify(payloadEncoder).decode(second);
+        verify(payloadEncoder).encode(firstPayload);
+        verify(payloadEncoder).encode(secondPayload);
+        verify(encryptedTransactionDAO, times(4)).retrieveByHash(any(MessageHash.class));
+        verify(encryptedTransactionDAO, times(2)).save(any(EncryptedTransaction.class));
+        verify(enclave).getPublicKeys();
+        verify(enclave).unencryptTransactions(Arrays.asList(firstPayload, secondPayload), null);
+        verify(enclave).createNewRecipientBoxes(Arrays.asList(firstPayload, secondPayload), senderKey);
+    }
+
+    @Test
+    public void storedOwnMessagesInBatchAreMergedIndividually() {
+
+        final PublicKey senderKey = PublicKey.from("SENDER".getBytes());
+        final PublicKey recipientKey = PublicKey.from("RECIPIENT".getBytes());
+
+        final byte[] incomingData = "incomingData".getBytes();
+        final byte[] storedData = "SOMEDATA".getBytes();
+        final EncryptedTransaction et = new EncryptedTransaction(null, storedData);
+
+        final EncodedPayload encodedPayload = new EncodedPayload(
+            senderKey, "CIPHERTEXT".getBytes(), null, singletonList("BOX".getBytes()), null, singletonList(recipientKey)
+        );
+        final EncodedPayload existingEncodedPayload = new EncodedPayload(
+            senderKey, "CIPHERTEXT".getBytes(), null, new ArrayList<>(), null, new ArrayList<>()
+        );
+
+        when(enclave.getPublicKeys()).thenReturn(singleton(senderKey));
+        when(encryptedTransactionDAO.retrieveByHash(any(MessageHash.class))).thenReturn(Optional.of(et));
+        when(payloadEncoder.decode(storedData)).thenReturn(existingEncodedPayload);
+        when(payloadEncoder.decode(incomingData)).thenReturn(encodedPayload);
+        when(payloadEncoder.encode(any(EncodedPayload.class))).thenReturn("updated".getBytes());
+        when(enclave.sharesMasterKey(encodedPayload, existingEncodedPayload)).thenReturn(true);
+
+        resendManager.acceptOwnMessages(singletonList(incomingData));
+
+        assertThat(existingEncodedPayload.getRecipientKeys()).containsExactly(recipientKey);
+
+        verify(encryptedTransactionDAO).save(et);
+        verify(encryptedTransactionDAO, times(2)).retrieveByHash(any(MessageHash.class));
+        verify(payloadEncoder).decode(storedData);
+        verify(payloadEncoder).decode(incomingData);
+        verify(payloadEncoder).encode(existingEncodedPayload);
+        verify(enclave).getPublicKeys();
+        verify(enclave).sharesMasterKey(encodedPayload, existingEncodedPayload);
+    }
+
+    @Test
+    public void batchMessagesMustContainManagedKeyAsSender() {
+
+        final byte[] incomingData = "incomingData".getBytes();
+
+        final EncodedPayload encodedPayload = new EncodedPayload(
+            PublicKey.from("OTHER".getBytes()), "CIPHERTEXT".getBytes(), null, emptyList(), null, emptyList()
+        );
+
+        when(enclave.getPublicKeys()).thenReturn(singleton(PublicKey.from("SENDER".getBytes())));
+        when(payloadEncoder.decode(incomingData)).thenReturn(encodedPayload);
+
+        final Throwable throwable = catchThrowable(() -> resendManager.acceptOwnMessages(singletonList(incomingData)));
+
+        assertThat(throwable)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("does not have one the nodes own keys as a sender");
+
+        verify(payloadEncoder).decode(incomingData);
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void invalidMessageInBatchDoesNotStopOthersBeingStored() {
+
+        final PublicKey senderKey = PublicKey.from("SENDER".getBytes());
+
+        final byte[] invalid = "INVALID".getBytes();
+        final byte[] valid = "VALID".getBytes();
+
+        final EncodedPayload invalidPayload = new EncodedPayload(
+            PublicKey.from("OTHER".getBytes()), "CIPHERTEXT1".getBytes(), null, emptyList(), null, emptyList()
+        );
+        final EncodedPayload validPayload = new EncodedPayload(
+            senderKey, "CIPHERTEXT2".getBytes(), null, new ArrayList<>(), null, new ArrayList<>()
+        );
+
+        when(payloadEncoder.decode(invalid)).thenReturn(invalidPayload);
+        when(payloadEncoder.decode(valid)).thenReturn(validPayload);
+        when(enclave.getPublicKeys()).thenReturn(singleton(senderKey));
+        when(encryptedTransactionDAO.retrieveByHash(any(MessageHash.class))).thenReturn(Optional.empty());
+        when(enclave.createNewRecipientBoxes(anyList(), eq(senderKey))).thenReturn(singletonList("NEWBOX".getBytes()));
+        when(payloadEncoder.encode(validPayload)).thenReturn("updated".getBytes());
+
+        final Throwable throwable = catchThrowable(() -> resendManager.acceptOwnMessages(Arrays.asList(invalid, valid)));
+
+        assertThat(throwable)
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("does not have one the nodes own keys as a sender");
+
+        verify(payloadEncoder).decode(invalid);
+        verify(payloadEncoder).decode(valid);
+        verify(payloadEncoder).encode(validPayload);
+        verify(encryptedTransactionDAO, times(2)).retrieveByHash(any(MessageHash.class));
+        verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class));
+        verify(enclave).getPublicKeys();
+        verify(enclave).unencryptTransactions(singletonList(validPayload), null);
+        verify(enclave).createNewRecipientBoxes(singletonList(validPayload), senderKey);
+    }
+
+    @Test
+    public void groupThatCannotBeCheckedTogetherIsCheckedIndividually() {
+
+        final PublicKey senderKey = PublicKey.from("SENDER".getBytes());
+
+        final byte[] bad = "BAD".getBytes();
+        final byte[] good = "GOOD".getBytes();
+
+        final EncodedPayload badPayload = new EncodedPayload(
+            senderKey, "CIPHERTEXT1".getBytes(), null, new ArrayList<>(), null, new ArrayList<>()
+        );
+        final EncodedPayload goodPayload = new EncodedPayload(
+            senderKey, "CIPHERTEXT2".getBytes(), null, new ArrayList<>(), null, new ArrayList<>()
+        );
+
+        when(payloadEncoder.decode(bad)).thenReturn(badPayload);
+        when(payloadEncoder.decode(good)).thenReturn(goodPayload);
+        when(enclave.getPublicKeys()).thenReturn(singleton(senderKey));
+        when(encryptedTransactionDAO.retrieveByHash(any(MessageHash.class))).thenReturn(Optional.empty());
+        when(enclave.unencryptTransactions(anyList(), eq(null))).thenThrow(new IllegalArgumentException("bad box"));
+        when(enclave.unencryptTransaction(badPayload, null)).thenThrow(new IllegalArgumentException("bad box"));
+        when(enclave.createNewRecipientBox(goodPayload, senderKey)).thenReturn("NEWBOX".getBytes());
+        when(payloadEncoder.encode(goodPayload)).thenReturn("updated".getBytes());
+
+        final Throwable throwable = catchThrowable(() -> resendManager.acceptOwnMessages(Arrays.asList(bad, good)));
+
+        assertThat(throwable).isInstanceOf(IllegalArgumentException.class).hasMessage("bad box");
+        assertThat(goodPayload.getRecipientKeys()).containsExactly(senderKey);
+
+        verify(payloadEncoder).decode(bad);
+        verify(payloadEncoder).decode(good);
+        verify(payloadEncoder).encode(goodPayload);
+        verify(encryptedTransactionDAO, times(4)).retrieveByHash(any(MessageHash.class));
+        verify(encryptedTransactionDAO).save(any(EncryptedTransaction.class));
+        verify(enclave).getPublicKeys();
+        verify(enclave).unencryptTransactions(Arrays.asList(badPayload, goodPayload), null);
+        verify(enclave).unencryptTransaction(badPayload, null);
+        verify(enclave).unencryptTransaction(goodPayload, null);
+        verify(enclave).createNewRecipientBox(goodPayload, senderKey);
+    }
+
+    @Test
+    public void sameMessageHashAlwaysUsesSameLock() {
+        final ResendManagerImpl manager = new ResendManagerImpl(
+            new OwnMessageStoreImpl(encryptedTransactionDAO, payloadEncoder, enclave), payloadEncoder, enclave
+        );
+
+        final MessageHash hash = new MessageHash("HASH".getBytes());
+
+        assertThat(manager.lockFor(hash)).isSameAs(manager.lockFor(new MessageHash("HASH".getBytes())));
+    }
+
+    @Test
+    public void ownMessageIsStoredBeforeItsLockIsReleased() {
+        final OwnMessageStore store = mock(OwnMessageStore.class);
+        final ResendManagerImpl manager = new ResendManagerImpl(store, payloadEncoder, enclave);
+
+        final PublicKey senderKey = PublicKey.from("SENDER".getBytes());
+        final byte[] input = "SOMEDATA".getBytes();
+        final EncodedPayload encodedPayload = new EncodedPayload(
+            senderKey, "CIPHERTEXT".getBytes(), null, new ArrayList<>(), null, new ArrayList<>()
+        );
+        final MessageHash hash = MessageHashFactory.create().createFromCipherText("CIPHERTEXT".getBytes());
+
+        when(payloadEncoder.decode(input)).thenReturn(encodedPayload);
+        when(enclave.getPublicKeys()).thenReturn(singleton(senderKey));
+        doAnswer(invocation -> {
+            assertThat(((ReentrantLock) manager.lockFor(hash)).isHeldByCurrentThread()).isTrue();
+            return null;
+        }).when(store).merge(hash, encodedPayload);
+
+        manager.acceptOwnMessage(input);
+
+        assertThat(((ReentrantLock) manager.lockFor(hash)).isHeldByCurrentThread()).isFalse();
+
+        verify(store).merge(hash, encodedPayload);
+        verify(payloadEncoder).decode(input);
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void concurrentCopiesOfSameMessageAreAllMerged() throws Exception {
+        final PayloadEncoder realEncoder = PayloadEncoder.create();
+        final PublicKey senderKey = PublicKey.from("SENDER".getBytes());
+        final byte[] cipherText = "CIPHERTEXT".getBytes();
+        final MessageHash hash = MessageHashFactory.create().createFromCipherText(cipherText);
+
+        final Map<MessageHash, byte[]> stored = new ConcurrentHashMap<>();
+        stored.put(hash, realEncoder.encode(payload(senderKey, cipherText, senderKey)));
+
+        final EncryptedTransactionDAO dao = inMemoryDao(stored, () -> null);
+        final Enclave ownEnclave = mock(Enclave.class);
+        when(ownEnclave.getPublicKeys()).thenReturn(singleton(senderKey));
+        when(ownEnclave.sharesMasterKey(any(), any())).thenReturn(true);
+
+        final ResendManager manager = new ResendManagerImpl(
+            new OwnMessageStoreImpl(dao, realEncoder, ownEnclave), realEncoder, ownEnclave
+        );
+
+        final int peers = 8;
+        final ExecutorService executor = Executors.newFixedThreadPool(peers);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<?>> results = new ArrayList<>();
+        final List<PublicKey> recipients = new ArrayList<>();
+
+        for (int i = 0; i < peers; i++) {
+            final PublicKey recipient = PublicKey.from(("RECIPIENT" + i).getBytes());
+            recipients.add(recipient);
+
+            final byte[] echo = realEncoder.encode(payload(senderKey, cipherText, recipient));
+            results.add(executor.submit(() -> {
+                start.await();
+                manager.acceptOwnMessage(echo);
+                return null;
+            }));
+        }
+
+        start.countDown();
+        for (final Future<?> result : results) {
+            result.get(10, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        final EncodedPayload merged = realEncoder.decode(stored.get(hash));
+        assertThat(merged.getRecipientKeys()).hasSize(peers + 1).contains(senderKey).containsAll(recipients);
+        assertThat(merged.getRecipientBoxes()).hasSize(peers + 1);
+    }
+
+    @Test
+    public void differentMessagesAreNotBlockedByEachOther() throws Exception {
+        final PayloadEncoder realEncoder = PayloadEncoder.create();
+        final PublicKey senderKey = PublicKey.from("SENDER".getBytes());
+        final MessageHashFactory hashFactory = MessageHashFactory.create();
+
+        final Enclave ownEnclave = mock(Enclave.class);
+        when(ownEnclave.getPublicKeys()).thenReturn(singleton(senderKey));
+        when(ownEnclave.unencryptTransaction(any(), any())).thenReturn("PLAINTEXT".getBytes());
+        when(ownEnclave.createNewRecipientBox(any(), any())).thenReturn("NEWBOX".getBytes());
+
+        final Map<MessageHash, byte[]> stored = new ConcurrentHashMap<>();
+        final CountDownLatch firstInside = new CountDownLatch(1);
+        final CountDownLatch secondDone = new CountDownLatch(1);
+
+        // the first message to reach storage waits for the second to finish
+        final EncryptedTransactionDAO dao = inMemoryDao(stored, () -> {
+            if (firstInside.getCount() == 1) {
+                firstInside.countDown();
+                assertThat(secondDone.await(10, TimeUnit.SECONDS)).isTrue();
+            }
+            return null;
+        });
+
+        final ResendManagerImpl manager = new ResendManagerImpl(
+            new OwnMessageStoreImpl(dao, realEncoder, ownEnclave), realEncoder, ownEnclave
+        );
+
+        final byte[] firstCipherText = "FIRST".getBytes();
+        byte[] secondCipherText = null;
+        for (int i = 0; secondCipherText == null; i++) {
+            final byte[] candidate = ("SECOND" + i).getBytes();
+            if (manager.lockFor(hashFactory.createFromCipherText(candidate))
+                != manager.lockFor(hashFactory.createFromCipherText(firstCipherText))) {
+                secondCipherText = candidate;
+            }
+        }
+
+        final byte[] first = realEncoder.encode(payload(senderKey, firstCipherText, senderKey));
+        final byte[] second = realEncoder.encode(payload(senderKey, secondCipherText, senderKey));
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final Future<?> firstResult = executor.submit(() -> manager.acceptOwnMessage(first));
+
+        assertThat(firstInside.await(10, TimeUnit.SECONDS)).isTrue();
+        manager.acceptOwnMessage(second);
+        secondDone.countDown();
+
+        firstResult.get(10, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        assertThat(stored).hasSize(2);
+    }
+
+    private static EncodedPayload payload(final PublicKey sender, final byte[] cipherText, final PublicKey recipient) {
+        final List<byte[]> boxes = new ArrayList<>(singletonList(recipient.getKeyBytes()));
+        final List<PublicKey> keys = new ArrayList<>(singletonList(recipient));
+        return new EncodedPayload(
+            sender, cipherText, new Nonce("NONCE".getBytes()), boxes, new Nonce("RNONCE".getBytes()), keys
+        );
+    }
+
+    /**
+     * A DAO that hands out copies of what it stores, as a database would,
+     * and runs the given hook on every read to widen any race
+     */
+    private static EncryptedTransactionDAO inMemoryDao(final Map<MessageHash, byte[]> stored,
+                                                       final Callable<?> onRead) {
+        final EncryptedTransactionDAO dao = mock(EncryptedTransactionDAO.class);
+
+        when(dao.retrieveByHash(any(MessageHash.class))).then(invocation -> {
+            final MessageHash hash = invocation.getArgument(0);
+            onRead.call();
+            Thread.sleep(5);
+            return Optional.ofNullable(stored.get(hash)).map(bytes -> new EncryptedTransaction(hash, bytes));
+        });
+
+        when(dao.save(any(EncryptedTransaction.class))).then(invocation -> {
+            final EncryptedTransaction tx = invocation.getArgument(0);
+            stored.put(tx.getHash(), tx.getEncodedPayload());
+            return tx;
+        });
+
+        return dao;
+    }
+
 }
@@ -0,0 +1,91 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.trace.LoggingSpanExporter;
+import com.quorum.tessera.trace.Span;
+import com.quorum.tessera.trace.Tracer;
+import com.quorum.tessera.transaction.model.EncryptedTransaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+public class TracingEncryptedTransactionDAOTest {
+
+    private final List<Span> exported = new ArrayList<>();
+
+    private EncryptedTransactionDAO delegate;
+
+    private TracingEncryptedTransactionDAO encryptedTransactionDAO;
+
+    @Before
+    public void onSetUp() {
+        Tracer.setExporter(exported::add);
+        this.delegate = mock(EncryptedTransactionDAO.class);
+        this.encryptedTransactionDAO = new TracingEncryptedTransactionDAO(delegate);
+    }
+
+    @After
+    public void onTearDown() {
+        Tracer.setExporter(new LoggingSpanExporter());
+        assertThat(Tracer.currentTraceParent()).isEmpty();
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    public void savesAndRetrievalsByHashAreTraced() {
+        final MessageHash hash = new MessageHash("HASH".getBytes());
+        final EncryptedTransaction transaction = new EncryptedTransaction(hash, "PAYLOAD".getBytes());
+
+        when(delegate.save(transaction)).thenReturn(transaction);
+        when(delegate.retrieveByHash(hash)).thenReturn(Optional.of(transaction));
+
+        assertThat(encryptedTransactionDAO.save(transaction)).isSameAs(transaction);
+        encryptedTransactionDAO.saveAll(Collections.singletonList(transaction));
+        assertThat(encryptedTransactionDAO.retrieveByHash(hash)).containsSame(transaction);
+
+        verify(delegate).save(transaction);
+        verify(delegate).saveAll(Collections.singletonList(transaction));
+        verify(delegate).retrieveByHash(hash);
+
+        assertThat(exported).extracting(Span::getName).containsExactly("db.save", "db.saveAll", "db.retrieveByHash");
+        assertThat(exported.get(1).getTags()).containsEntry("count", "1");
+    }
+
+    @Test
+    public void otherCallsAreDelegatedWithoutTracing() {
+        final MessageHash hash = new MessageHash("HASH".getBytes());
+
+        when(delegate.retrieveAllTransactions()).thenReturn(Collections.emptyList());
+        when(delegate.retrieveTransactionsSince(1L)).thenReturn(Collections.emptyList());
+        when(delegate.retrievePage(1L, hash, 3)).thenReturn(Collections.emptyList());
+        when(delegate.retrieveCipherTextAddresses(Collections.singleton("ADDRESS")))
+            .thenReturn(Collections.singleton("ADDRESS"));
+        when(delegate.deleteOlderThan(1L, 3)).thenReturn(3);
+
+        assertThat(encryptedTransactionDAO.retrieveAllTransactions()).isEmpty();
+        assertThat(encryptedTransactionDAO.retrieveTransactionsSince(1L)).isEmpty();
+        assertThat(encryptedTransactionDAO.retrievePage(1L, hash, 3)).isEmpty();
+        assertThat(encryptedTransactionDAO.retrieveCipherTextAddresses(Collections.singleton("ADDRESS")))
+            .containsExactly("ADDRESS");
+        encryptedTransactionDAO.delete(hash);
+        assertThat(encryptedTransactionDAO.deleteOlderThan(1L, 3)).isEqualTo(3);
+
+        verify(delegate).retrieveAllTransactions();
+        verify(delegate).retrieveTransactionsSince(1L);
+        verify(delegate).retrievePage(1L, hash, 3);
+        verify(delegate).retrieveCipherTextAddresses(Collections.singleton("ADDRESS"));
+        verify(delegate).delete(hash);
+        verify(delegate).deleteOlderThan(1L, 3);
+
+        assertThat(exported).isEmpty();
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.api.model.*;
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.trace.LoggingSpanExporter;
+import com.quorum.tessera.trace.Span;
+import com.quorum.tessera.trace.Tracer;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.Mockito.*;
+
+public class TracingTransactionManagerTest {
+
+    private final List<Span> exported = new ArrayList<>();
+
+    private TransactionManager delegate;
+
+    private TracingTransactionManager transactionManager;
+
+    @Before
+    public void onSetUp() {
+        Tracer.setExporter(exported::add);
+        this.delegate = mock(TransactionManager.class);
+        this.transactionManager = new TracingTransactionManager(delegate);
+    }
+
+    @After
+    public void onTearDown() {
+        Tracer.setExporter(new LoggingSpanExporter());
+        assertThat(Tracer.currentTraceParent()).isEmpty();
+        verifyNoMoreInteractions(delegate);
+    }
+
+    @Test
+    public void sendingReceivingAndStoringAreTraced() {
+        final SendRequest sendRequest = new SendRequest();
+        final SendSignedRequest sendSignedRequest = new SendSignedRequest();
+        final ReceiveRequest receiveRequest = new ReceiveRequest();
+        final SendResponse sendResponse = new SendResponse();
+        final ReceiveResponse receiveResponse = new ReceiveResponse();
+        final MessageHash hash = new MessageHash("HASH".getBytes());
+        final byte[] payload = "PAYLOAD".getBytes();
+
+        when(delegate.send(sendRequest)).thenReturn(sendResponse);
+        when(delegate.sendSignedTransaction(sendSignedRequest)).thenReturn(sendResponse);
+        when(delegate.storePayload(payload)).thenReturn(hash);
+        when(delegate.receive(receiveRequest)).thenReturn(receiveResponse);
+
+        assertThat(transactionManager.send(sendRequest)).isSameAs(sendResponse);
+        assertThat(transactionManager.sendSignedTransaction(sendSignedRequest)).isSameAs(sendResponse);
+        assertThat(transactionManager.storePayload(payload)).isSameAs(hash);
+        transactionManager.storePayloads(Collections.singletonList(payload));
+        assertThat(transactionManager.receive(receiveRequest)).isSameAs(receiveResponse);
+
+        verify(delegate).send(sendRequest);
+        verify(delegate).sendSignedTransaction(sendSignedRequest);
+        verify(delegate).storePayload(payload);
+        verify(delegate).storePayloads(Collections.singletonList(payload));
+        verify(delegate).receive(receiveRequest);
+
+        assertThat(exported).extracting(Span::getName).containsExactly(
+            "transaction.send",
+            "transaction.sendSigned",
+            "transaction.storePayload",
+            "transaction.storePayloads",
+            "transaction.receive"
+        );
+        assertThat(exported.get(3).getTags()).containsEntry("count", "1");
+    }
+
+    @Test
+    public void otherCallsAreDelegatedWithoutTracing() {
+        final DeleteRequest deleteRequest = new DeleteRequest();
+        final ResendRequest resendRequest = new ResendRequest();
+        final StoreRawRequest storeRawRequest = new StoreRawRequest();
+        final ResendResponse resendResponse = new ResendResponse();
+        final StoreRawResponse storeRawResponse = new StoreRawResponse();
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        when(delegate.resend(resendRequest)).thenReturn(resendResponse);
+        when(delegate.store(storeRawRequest)).thenReturn(storeRawResponse);
+
+        transactionManager.delete(deleteRequest);
+        assertThat(transactionManager.resend(resendRequest)).isSameAs(resendResponse);
+        transactionManager.resendStream(resendRequest, output);
+        assertThat(transactionManager.store(storeRawRequest)).isSameAs(storeRawResponse);
+
+        verify(delegate).delete(deleteRequest);
+        verify(delegate).resend(resendRequest);
+        verify(delegate).resendStream(resendRequest, output);
+        verify(delegate).store(storeRawRequest);
+
+        assertThat(exported).isEmpty();
+    }
+
+    @Test
+    public void spanIsClosedWhenCallFails() {
+        final SendRequest sendRequest = new SendRequest();
+        final RuntimeException failure = new RuntimeException("OUCH");
+
+        when(delegate.send(sendRequest)).thenThrow(failure);
+
+        final Throwable throwable = catchThrowable(() -> transactionManager.send(sendRequest));
+
+        assertThat(throwable).isSameAs(failure);
+        assertThat(exported).extracting(Span::getName).containsExactly("transaction.send");
+
+        verify(delegate).send(sendRequest);
+    }
+
+}
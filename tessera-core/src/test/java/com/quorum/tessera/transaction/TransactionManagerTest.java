@@ -10,6 +10,7 @@ import com.quorum.tessera.enclave.model.MessageHashFactory;
 import com.quorum.tessera.encryption.PublicKey;
 import com.quorum.tessera.nacl.NaclException;
 import com.quorum.tessera.nacl.Nonce;
+import com.quorum.tessera.sync.ResendStreamReader;
 import com.quorum.tessera.transaction.exception.KeyNotFoundException;
 import com.quorum.tessera.transaction.exception.PublishPayloadException;
 import com.quorum.tessera.transaction.exception.TransactionNotFoundException;
@@ -21,6 +22,8 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.ArgumentCaptor;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.*;
 
 import static java.util.Collections.*;
@@ -261,6 +264,286 @@ public class TransactionManagerTest {
         verify(payloadEncoder).decode(encodedData);
     }
 
+    @Test
+    public void resendSinceOnlyPublishesRecentTransactions() {
+
+        final PublicKey recipientKey = PublicKey.from("RECIPIENTKEY".getBytes());
+        final byte[] encodedData = "transaction".getBytes();
+        final EncryptedTransaction tx = new EncryptedTransaction(mock(MessageHash.class), encodedData);
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        when(payload.getRecipientKeys()).thenReturn(singletonList(recipientKey));
+
+        when(encryptedTransactionDAO.retrieveTransactionsSince(1000L)).thenReturn(singletonList(tx));
+        when(payloadEncoder.decode(any(byte[].class))).thenReturn(payload);
+
+        final ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setPublicKey(recipientKey.encodeToBase64());
+        resendRequest.setType(ResendRequestType.SINCE);
+        resendRequest.setSince(1000L);
+
+        final ResendResponse result = transactionManager.resend(resendRequest);
+
+        assertThat(result).isNotNull();
+        assertThat(result.getPayload()).isNotPresent();
+
+        verify(encryptedTransactionDAO).retrieveTransactionsSince(1000L);
+        verify(payloadEncoder).decode(encodedData);
+        verify(payloadPublisher).publishPayload(payload, recipientKey);
+    }
+
+    @Test
+    public void resendSinceWithoutTimestampResendsEverything() {
+
+        when(encryptedTransactionDAO.retrieveTransactionsSince(0L)).thenReturn(emptyList());
+
+        final ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setPublicKey(PublicKey.from("RECIPIENTKEY".getBytes()).encodeToBase64());
+        resendRequest.setType(ResendRequestType.SINCE);
+
+        transactionManager.resend(resendRequest);
+
+        verify(encryptedTransactionDAO).retrieveTransactionsSince(0L);
+    }
+
+    @Test
+    public void resendStreamWritesPagesWithCheckpoints() {
+
+        final PublicKey recipientKey = PublicKey.from("RECIPIENTKEY".getBytes());
+        final MessageHash hash = new MessageHash("HASH".getBytes());
+        final EncryptedTransaction tx = new EncryptedTransaction(hash, "transaction".getBytes());
+        tx.setTimestamp(5L);
+
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        when(payload.getRecipientKeys()).thenReturn(singletonList(recipientKey));
+
+        when(encryptedTransactionDAO.retrievePage(0L, null, 100)).thenReturn(singletonList(tx));
+        when(encryptedTransactionDAO.retrievePage(5L, hash, 100)).thenReturn(emptyList());
+        final EncodedPayload recipientPayload = mock(EncodedPayload.class);
+
+        when(payloadEncoder.decode(any(byte[].class))).thenReturn(payload);
+        when(payloadEncoder.forRecipient(payload, recipientKey)).thenReturn(recipientPayload);
+        when(payloadEncoder.encode(recipientPayload)).thenReturn("ENCODED".getBytes());
+
+        final ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setPublicKey(recipientKey.encodeToBase64());
+        resendRequest.setType(ResendRequestType.ALL);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        transactionManager.resendStream(resendRequest, output);
+
+        final List<byte[]> payloads = new ArrayList<>();
+        final List<Long> checkpoints = new ArrayList<>();
+        final List<byte[]> checkpointHashes = new ArrayList<>();
+        final boolean complete = new ResendStreamReader(new ByteArrayInputStream(output.toByteArray()))
+            .read(payloads::add, (lastHash, lastTimestamp) -> {
+                checkpointHashes.add(lastHash);
+                checkpoints.add(lastTimestamp);
+            });
+
+        assertThat(complete).isTrue();
+        assertThat(payloads).containsExactly("ENCODED".getBytes());
+        assertThat(checkpoints).containsExactly(5L);
+        assertThat(checkpointHashes).containsExactly("HASH".getBytes());
+
+        verify(encryptedTransactionDAO).retrievePage(0L, null, 100);
+        verify(encryptedTransactionDAO).retrievePage(5L, hash, 100);
+        verify(payloadEncoder).decode(any(byte[].class));
+        verify(payloadEncoder).forRecipient(payload, recipientKey);
+        verify(payloadEncoder).encode(recipientPayload);
+        verifyZeroInteractions(payloadPublisher);
+    }
+
+    @Test
+    public void resendStreamPagesThroughTransactionsSharingATimestamp() {
+
+        final PublicKey senderKey = PublicKey.from("SENDERKEY".getBytes());
+        final List<EncryptedTransaction> transactions = Arrays.asList(
+            new EncryptedTransaction(new MessageHash(new byte[]{1}), "one".getBytes()),
+            new EncryptedTransaction(new MessageHash(new byte[]{2}), "two".getBytes()),
+            new EncryptedTransaction(new MessageHash(new byte[]{3}), "three".getBytes())
+        );
+        transactions.forEach(tx -> tx.setTimestamp(5L));
+
+        final EncodedPayload payload = mock(EncodedPayload.class);
+        when(payload.getSenderKey()).thenReturn(senderKey);
+        when(payload.getRecipientKeys()).thenReturn(new ArrayList<>());
+        when(enclave.getPublicKeys()).thenReturn(singleton(senderKey));
+        when(enclave.unencryptTransaction(payload, senderKey)).thenReturn("MESSAGE".getBytes());
+
+        when(encryptedTransactionDAO.retrievePage(0L, null, 100)).thenReturn(transactions.subList(0, 2));
+        when(encryptedTransactionDAO.retrievePage(5L, transactions.get(1).getHash(), 100))
+            .thenReturn(transactions.subList(2, 3));
+        when(encryptedTransactionDAO.retrievePage(5L, transactions.get(2).getHash(), 100)).thenReturn(emptyList());
+        when(payloadEncoder.decode(any(byte[].class))).thenReturn(payload);
+        when(payloadEncoder.encode(payload)).thenReturn("ENCODED".getBytes());
+
+        final ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setPublicKey(senderKey.encodeToBase64());
+        resendRequest.setType(ResendRequestType.ALL);
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        transactionManager.resendStream(resendRequest, output);
+
+        final List<byte[]> payloads = new ArrayList<>();
+        final List<Long> checkpoints = new ArrayList<>();
+        final List<byte[]> checkpointHashes = new ArrayList<>();
+        final boolean complete = new ResendStreamReader(new ByteArrayInputStream(output.toByteArray()))
+            .read(payloads::add, (lastHash, lastTimestamp) -> {
+                checkpointHashes.add(lastHash);
+                checkpoints.add(lastTimestamp);
+            });
+
+        assertThat(complete).isTrue();
+        assertThat(payloads).hasSize(3);
+        assertThat(checkpoints).containsExactly(5L, 5L);
+        assertThat(checkpointHashes).containsExactly(new byte[]{2}, new byte[]{3});
+
+        verify(encryptedTransactionDAO).retrievePage(0L, null, 100);
+        verify(encryptedTransactionDAO).retrievePage(5L, transactions.get(1).getHash(), 100);
+        verify(encryptedTransactionDAO).retrievePage(5L, transactions.get(2).getHash(), 100);
+        verify(payloadEncoder, times(3)).decode(any(byte[].class));
+        verify(payloadEncoder, times(3)).encode(payload);
+        verify(enclave, times(3)).getPublicKeys();
+        verify(enclave, times(3)).unencryptTransaction(payload, senderKey);
+    }
+
+    @Test
+    public void resendStreamSinceSkipsTransactionsItCantResend() {
+
+        final PublicKey requesterKey = PublicKey.from("REQUESTERKEY".getBytes());
+        final EncryptedTransaction sentByRequester = new EncryptedTransaction(mock(MessageHash.class), "one".getBytes());
+        sentByRequester.setTimestamp(60L);
+        final MessageHash uninvolvedHash = new MessageHash(new byte[]{2});
+        final EncryptedTransaction uninvolved = new EncryptedTransaction(uninvolvedHash, "two".getBytes());
+        uninvolved.setTimestamp(70L);
+
+        final EncodedPayload sentPayload = mock(EncodedPayload.class);
+        when(sentPayload.getSenderKey()).thenReturn(requesterKey);
+        when(sentPayload.getRecipientKeys()).thenReturn(new ArrayList<>());
+        when(sentPayload.getCipherText()).thenReturn("CIPHERTEXT".getBytes());
+
+        final EncodedPayload otherPayload = mock(EncodedPayload.class);
+        when(otherPayload.getRecipientKeys()).thenReturn(new ArrayList<>());
+
+        final MessageHash resumedAfter = new MessageHash(new byte[]{9});
+        when(encryptedTransactionDAO.retrievePage(50L, resumedAfter, 100))
+            .thenReturn(Arrays.asList(sentByRequester, uninvolved));
+        when(encryptedTransactionDAO.retrievePage(70L, uninvolvedHash, 100)).thenReturn(emptyList());
+        when(payloadEncoder.decode("one".getBytes())).thenReturn(sentPayload);
+        when(payloadEncoder.decode("two".getBytes())).thenReturn(otherPayload);
+        when(enclave.getPublicKeys()).thenReturn(emptySet());
+
+        final ResendRequest resendRequest = new ResendRequest();
+        resendRequest.setPublicKey(requesterKey.encodeToBase64());
+        resendRequest.setType(ResendRequestType.SINCE);
+        resendRequest.setSince(50L);
+        resendRequest.setAfterKey(Base64.getEncoder().encodeToString(new byte[]{9}));
+
+        final ByteArrayOutputStream output = new ByteArrayOutputStream();
+        transactionManager.resendStream(resendRequest, output);
+
+        final List<byte[]> payloads = new ArrayList<>();
+        final List<Long> checkpoints = new ArrayList<>();
+        final boolean complete = new ResendStreamReader(new ByteArrayInputStream(output.toByteArray()))
+            .read(payloads::add, (lastHash, lastTimestamp) -> checkpoints.add(lastTimestamp));
+
+        assertThat(complete).isTrue();
+        assertThat(payloads).isEmpty();
+        assertThat(checkpoints).containsExactly(70L);
+
+        verify(encryptedTransactionDAO).retrievePage(50L, resumedAfter, 100);
+        verify(encryptedTransactionDAO).retrievePage(70L, uninvolvedHash, 100);
+        verify(payloadEncoder, times(2)).decode(any(byte[].class));
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void storePayloadsSavesReceivedTransactionsTogether() {
+
+        final PublicKey ownKey = PublicKey.from("OWNKEY".getBytes());
+        final PublicKey otherKey = PublicKey.from("OTHERKEY".getBytes());
+
+        final byte[] own = "OWN".getBytes();
+        final byte[] received = "RECEIVED".getBytes();
+        final byte[] duplicate = "DUPLICATE".getBytes();
+
+        final EncodedPayload ownPayload
+            = new EncodedPayload(ownKey, "CIPHERTEXT1".getBytes(), null, new ArrayList<>(), null, new ArrayList<>());
+        final EncodedPayload receivedPayload
+            = new EncodedPayload(otherKey, "CIPHERTEXT2".getBytes(), null, new ArrayList<>(), null, new ArrayList<>());
+
+        when(payloadEncoder.decode(own)).thenReturn(ownPayload);
+        when(payloadEncoder.decode(received)).thenReturn(receivedPayload);
+        when(payloadEncoder.decode(duplicate)).thenReturn(receivedPayload);
+        when(enclave.getPublicKeys()).thenReturn(singleton(ownKey));
+
+        transactionManager.storePayloads(Arrays.asList(own, received, duplicate));
+
+        @SuppressWarnings("unchecked")
+        final ArgumentCaptor<Collection<EncryptedTransaction>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(encryptedTransactionDAO).saveAll(captor.capture());
+
+        assertThat(captor.getValue()).hasSize(1);
+        final EncryptedTransaction saved = captor.getValue().iterator().next();
+        assertThat(saved.getEncodedPayload()).isEqualTo(received);
+        assertThat(saved.getHash()).isEqualTo(messageHashFactory.createFromCipherText("CIPHERTEXT2".getBytes()));
+
+        verify(resendManager).acceptOwnMessages(singletonList(own));
+        verify(payloadEncoder, times(3)).decode(any(byte[].class));
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void storePayloadsSavesIndividuallyIfBatchFails() {
+
+        final PublicKey otherKey = PublicKey.from("OTHERKEY".getBytes());
+
+        final byte[] first = "FIRST".getBytes();
+        final byte[] second = "SECOND".getBytes();
+
+        when(payloadEncoder.decode(first)).thenReturn(
+            new EncodedPayload(otherKey, "CIPHERTEXT1".getBytes(), null, new ArrayList<>(), null, new ArrayList<>())
+        );
+        when(payloadEncoder.decode(second)).thenReturn(
+            new EncodedPayload(otherKey, "CIPHERTEXT2".getBytes(), null, new ArrayList<>(), null, new ArrayList<>())
+        );
+        when(enclave.getPublicKeys()).thenReturn(emptySet());
+
+        doThrow(new RuntimeException("Duplicate")).when(encryptedTransactionDAO).saveAll(anyCollection());
+        when(encryptedTransactionDAO.save(any(EncryptedTransaction.class)))
+            .thenThrow(new RuntimeException("Duplicate"))
+            .then(invocation -> invocation.getArgument(0));
+
+        transactionManager.storePayloads(Arrays.asList(first, second));
+
+        final ArgumentCaptor<EncryptedTransaction> captor = ArgumentCaptor.forClass(EncryptedTransaction.class);
+        verify(encryptedTransactionDAO).saveAll(anyCollection());
+        verify(encryptedTransactionDAO, times(2)).save(captor.capture());
+
+        assertThat(captor.getAllValues()).extracting(EncryptedTransaction::getEncodedPayload).containsExactly(first, second);
+
+        verify(payloadEncoder, times(2)).decode(any(byte[].class));
+        verify(enclave).getPublicKeys();
+    }
+
+    @Test
+    public void storePayloadsOfOnlyOwnMessagesSavesNothing() {
+
+        final PublicKey ownKey = PublicKey.from("OWNKEY".getBytes());
+        final byte[] own = "OWN".getBytes();
+
+        when(payloadEncoder.decode(own)).thenReturn(
+            new EncodedPayload(ownKey, "CIPHERTEXT".getBytes(), null, new ArrayList<>(), null, new ArrayList<>())
+        );
+        when(enclave.getPublicKeys()).thenReturn(singleton(ownKey));
+
+        transactionManager.storePayloads(singletonList(own));
+
+        verify(resendManager).acceptOwnMessages(singletonList(own));
+        verify(payloadEncoder).decode(own);
+        verify(enclave).getPublicKeys();
+    }
+
     @Test
     public void resendAllWhereRequestedIsRecipient() {
 
@@ -0,0 +1,175 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.config.RetentionConfig;
+import com.quorum.tessera.transaction.exception.PurgeInProgressException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class TransactionPurgerTest {
+
+    private EncryptedTransactionDAO encryptedTransactionDAO;
+
+    private EncryptedRawTransactionDAO encryptedRawTransactionDAO;
+
+    private RetentionConfig retentionConfig;
+
+    private TransactionPurger transactionPurger;
+
+    @Before
+    public void onSetUp() {
+        this.encryptedTransactionDAO = mock(EncryptedTransactionDAO.class);
+        this.encryptedRawTransactionDAO = mock(EncryptedRawTransactionDAO.class);
+        this.retentionConfig = new RetentionConfig(3600L, 10, 1L);
+        this.transactionPurger = new TransactionPurger(encryptedTransactionDAO, encryptedRawTransactionDAO, retentionConfig);
+    }
+
+    @After
+    public void onTearDown() {
+        verifyNoMoreInteractions(encryptedTransactionDAO, encryptedRawTransactionDAO);
+    }
+
+    @Test
+    public void purgeDeletesInBatchesUntilBatchIsNotFull() {
+        when(encryptedTransactionDAO.deleteOlderThan(100L, 10)).thenReturn(10, 12, 3);
+
+        final int deleted = transactionPurger.purge(100L);
+
+        assertThat(deleted).isEqualTo(25);
+        assertThat(transactionPurger.getPurged()).isEqualTo(25);
+        assertThat(transactionPurger.getPurgeTimestamp()).contains(100L);
+        assertThat(transactionPurger.isPurging()).isFalse();
+        verify(encryptedTransactionDAO, times(3)).deleteOlderThan(100L, 10);
+        verify(encryptedRawTransactionDAO).deleteOlderThan(100L, 10);
+    }
+
+    @Test
+    public void purgeDeletesRawTransactionsInBatches() {
+        when(encryptedTransactionDAO.deleteOlderThan(100L, 10)).thenReturn(4);
+        when(encryptedRawTransactionDAO.deleteOlderThan(100L, 10)).thenReturn(10, 2);
+
+        final int deleted = transactionPurger.purge(100L);
+
+        assertThat(deleted).isEqualTo(16);
+        verify(encryptedTransactionDAO).deleteOlderThan(100L, 10);
+        verify(encryptedRawTransactionDAO, times(2)).deleteOlderThan(100L, 10);
+    }
+
+    @Test
+    public void purgeAsyncRunsOnExecutor() throws Exception {
+        when(encryptedTransactionDAO.deleteOlderThan(100L, 10)).thenReturn(3);
+        when(encryptedRawTransactionDAO.deleteOlderThan(100L, 10)).thenReturn(1);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Integer> result = transactionPurger.purgeAsync(100L, executor);
+
+            assertThat(result.get()).isEqualTo(4);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertThat(transactionPurger.getPurged()).isEqualTo(4);
+        assertThat(transactionPurger.isPurging()).isFalse();
+        verify(encryptedTransactionDAO).deleteOlderThan(100L, 10);
+        verify(encryptedRawTransactionDAO).deleteOlderThan(100L, 10);
+    }
+
+    @Test
+    public void purgeAsyncThatCannotBeStartedAllowsAnotherPurge() {
+        final Throwable throwable = catchThrowable(() -> transactionPurger.purgeAsync(100L, runnable -> {
+            throw new RejectedExecutionException();
+        }));
+
+        assertThat(throwable).isInstanceOf(RejectedExecutionException.class);
+        assertThat(transactionPurger.isPurging()).isFalse();
+
+        transactionPurger.purge(100L);
+
+        verify(encryptedTransactionDAO).deleteOlderThan(100L, 10);
+        verify(encryptedRawTransactionDAO).deleteOlderThan(100L, 10);
+    }
+
+    @Test
+    public void purgeStopsWhenInterrupted() {
+        when(encryptedTransactionDAO.deleteOlderThan(100L, 10)).thenReturn(10);
+
+        Thread.currentThread().interrupt();
+        final int deleted = transactionPurger.purge(100L);
+
+        assertThat(Thread.interrupted()).isTrue();
+        assertThat(deleted).isEqualTo(10);
+        verify(encryptedTransactionDAO).deleteOlderThan(100L, 10);
+        verifyZeroInteractions(encryptedRawTransactionDAO);
+    }
+
+    @Test
+    public void runPurgesTransactionsOlderThanMaxAge() {
+        final long expectedCutoff = System.currentTimeMillis() - 3600_000L;
+
+        transactionPurger.run();
+
+        verify(encryptedTransactionDAO).deleteOlderThan(
+            longThat(cutoff -> cutoff >= expectedCutoff && cutoff <= System.currentTimeMillis() - 3600_000L), eq(10)
+        );
+        verify(encryptedRawTransactionDAO).deleteOlderThan(
+            longThat(cutoff -> cutoff >= expectedCutoff && cutoff <= System.currentTimeMillis() - 3600_000L), eq(10)
+        );
+    }
+
+    @Test
+    public void runDoesNothingWithoutMaxAge() {
+        final TransactionPurger purger = new TransactionPurger(encryptedTransactionDAO, encryptedRawTransactionDAO, null);
+
+        purger.run();
+
+        verifyZeroInteractions(encryptedTransactionDAO, encryptedRawTransactionDAO);
+    }
+
+    @Test
+    public void onlyOnePurgeMayRunAtATime() throws Exception {
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        when(encryptedTransactionDAO.deleteOlderThan(anyLong(), anyInt())).thenAnswer(invocation -> {
+            started.countDown();
+            release.await();
+            return 0;
+        });
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final Future<Integer> first = executor.submit(() -> transactionPurger.purge(100L));
+            started.await();
+
+            final Throwable throwable = catchThrowable(() -> transactionPurger.purge(100L));
+            assertThat(throwable).isInstanceOf(PurgeInProgressException.class);
+            assertThat(transactionPurger.isPurging()).isTrue();
+
+            // a scheduled run is skipped rather than failing
+            transactionPurger.run();
+
+            release.countDown();
+            assertThat(first.get()).isZero();
+        } finally {
+            executor.shutdown();
+        }
+
+        verify(encryptedTransactionDAO).deleteOlderThan(100L, 10);
+        verify(encryptedRawTransactionDAO).deleteOlderThan(100L, 10);
+    }
+
+}
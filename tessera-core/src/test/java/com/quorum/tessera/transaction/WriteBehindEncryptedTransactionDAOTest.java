@@ -0,0 +1,130 @@
+package com.quorum.tessera.transaction;
+
+import com.quorum.tessera.enclave.model.MessageHash;
+import com.quorum.tessera.transaction.model.EncryptedTransaction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+public class WriteBehindEncryptedTransactionDAOTest {
+
+    private EncryptedTransactionDAO delegate;
+
+    private WriteBehindEncryptedTransactionDAO writeBehindDAO;
+
+    @Before
+    public void onSetUp() {
+        this.delegate = mock(EncryptedTransactionDAO.class);
+        this.writeBehindDAO = new WriteBehindEncryptedTransactionDAO(delegate, 10, 50);
+    }
+
+    @After
+    public void onTearDown() {
+        writeBehindDAO.stop();
+    }
+
+    @Test
+    public void batchingDisabledSavesDirectly() {
+        final WriteBehindEncryptedTransactionDAO direct = new WriteBehindEncryptedTransactionDAO(delegate, 1, 50);
+        direct.start();
+
+        final EncryptedTransaction transaction = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[0]);
+        when(delegate.save(transaction)).thenReturn(transaction);
+
+        assertThat(direct.save(transaction)).isSameAs(transaction);
+
+        verify(delegate).save(transaction);
+        verifyNoMoreInteractions(delegate);
+        direct.stop();
+    }
+
+    @Test
+    public void concurrentSavesAreWrittenInBatches() throws Exception {
+        writeBehindDAO.start();
+
+        final ExecutorService callers = Executors.newFixedThreadPool(10);
+        final List<Future<EncryptedTransaction>> results = IntStream.range(0, 30)
+            .mapToObj(i -> new EncryptedTransaction(new MessageHash(new byte[]{(byte) i}), new byte[0]))
+            .map(tx -> callers.submit(() -> writeBehindDAO.save(tx)))
+            .collect(Collectors.toList());
+
+        for (final Future<EncryptedTransaction> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isNotNull();
+        }
+        callers.shutdown();
+
+        final List<Integer> batchSizes = mockingDetails(delegate).getInvocations()
+            .stream()
+            .map(invocation -> ((Collection<?>) invocation.getArgument(0)).size())
+            .collect(Collectors.toList());
+
+        assertThat(batchSizes.stream().mapToInt(Integer::intValue).sum()).isEqualTo(30);
+        assertThat(batchSizes.size()).isLessThan(30);
+        assertThat(batchSizes).allMatch(size -> size <= 10);
+        verify(delegate, never()).save(any());
+    }
+
+    @Test
+    public void failedBatchIsRetriedIndividually() {
+        writeBehindDAO.start();
+
+        final EncryptedTransaction transaction = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[0]);
+        doThrow(new IllegalStateException("BATCH")).when(delegate).saveAll(anyCollection());
+        when(delegate.save(transaction)).thenReturn(transaction);
+
+        assertThat(writeBehindDAO.save(transaction)).isSameAs(transaction);
+
+        verify(delegate).saveAll(singletonList(transaction));
+        verify(delegate).save(transaction);
+    }
+
+    @Test
+    public void individualFailureIsReturnedToCaller() {
+        writeBehindDAO.start();
+
+        final EncryptedTransaction transaction = new EncryptedTransaction(new MessageHash(new byte[]{1}), new byte[0]);
+        final RuntimeException individualException = new IllegalArgumentException("DUPLICATE");
+        doThrow(new IllegalStateException("BATCH")).when(delegate).saveAll(anyCollection());
+        doThrow(individualException).when(delegate).save(transaction);
+
+        final Throwable throwable = catchThrowable(() -> writeBehindDAO.save(transaction));
+
+        assertThat(throwable).isSameAs(individualException);
+    }
+
+    @Test
+    public void otherOperationsAreDelegated() {
+        final MessageHash hash = new MessageHash(new byte[]{1});
+        final List<EncryptedTransaction> transactions = singletonList(new EncryptedTransaction(hash, new byte[0]));
+
+        writeBehindDAO.retrieveByHash(hash);
+        writeBehindDAO.retrieveAllTransactions();
+        writeBehindDAO.delete(hash);
+        writeBehindDAO.saveAll(transactions);
+        writeBehindDAO.deleteOlderThan(100L, 10);
+        writeBehindDAO.retrieveTransactionsSince(100L);
+        writeBehindDAO.retrievePage(100L, hash, 10);
+
+        verify(delegate).retrieveByHash(hash);
+        verify(delegate).retrieveAllTransactions();
+        verify(delegate).delete(hash);
+        verify(delegate).saveAll(transactions);
+        verify(delegate).deleteOlderThan(100L, 10);
+        verify(delegate).retrieveTransactionsSince(100L);
+        verify(delegate).retrievePage(100L, hash, 10);
+    }
+
+}
@@ -0,0 +1,20 @@
+package com.quorum.tessera.transaction.exception;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PurgeInProgressExceptionTest {
+
+    @Test
+    public void constructWithMessage() {
+
+        final String message = "A purge is already in progress";
+
+        final PurgeInProgressException testException = new PurgeInProgressException(message);
+
+        assertThat(testException.getMessage()).isEqualTo(message);
+
+    }
+
+}
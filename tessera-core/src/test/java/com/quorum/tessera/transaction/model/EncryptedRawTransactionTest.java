@@ -85,4 +85,13 @@ public class EncryptedRawTransactionTest {
         assertThat(et.hashCode()).isEqualTo(et.hashCode());
     }
     
+
+    @Test
+    public void timestampCanBeRestored() {
+
+        final EncryptedRawTransaction et = new EncryptedRawTransaction();
+        et.setTimestamp(1000L);
+
+        assertThat(et.getTimestamp()).isEqualTo(1000L);
+    }
 }
@@ -69,4 +69,24 @@ public class EncryptedTransactionTest {
 
         assertThat(et.hashCode()).isEqualTo(et.hashCode());
     }
+
+    @Test
+    public void timestampCanBeRestored() {
+
+        final EncryptedTransaction et = new EncryptedTransaction();
+        et.setTimestamp(1000L);
+
+        assertThat(et.getTimestamp()).isEqualTo(1000L);
+    }
+
+    @Test
+    public void cipherTextAddressIsNullUntilSet() {
+
+        final EncryptedTransaction et = new EncryptedTransaction();
+        assertThat(et.getCipherTextAddress()).isNull();
+
+        et.setCipherTextAddress("address");
+
+        assertThat(et.getCipherTextAddress()).isEqualTo("address");
+    }
 }
@@ -7,6 +7,7 @@ import com.quorum.tessera.config.cli.CliResult;
 import com.quorum.tessera.server.TesseraServer;
 import com.quorum.tessera.server.TesseraServerFactory;
 import com.quorum.tessera.service.locator.ServiceLocator;
+import com.quorum.tessera.startup.StartupTimer;
 import org.apache.commons.lang3.exception.ExceptionUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -15,6 +16,8 @@ import javax.json.JsonException;
 import javax.validation.ConstraintViolation;
 import javax.validation.ConstraintViolationException;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 /**
@@ -31,7 +34,10 @@ public class Launcher {
         System.setProperty("javax.xml.bind.context.factory", "org.eclipse.persistence.jaxb.JAXBContextFactory");
 
         try {
-            final CliResult cliResult = CliDelegate.instance().execute(args);
+            final CliResult cliResult;
+            try (StartupTimer.Phase phase = StartupTimer.getDefault().phase("configuration")) {
+                cliResult = CliDelegate.instance().execute(args);
+            }
 
             if (cliResult.isSuppressStartup()) {
                 System.exit(0);
@@ -70,18 +76,18 @@ public class Launcher {
 
     }
 
+    /**
+     * Starts the servers that handle transactions first, and only once they
+     * are serving creates the admin API and background tasks, so that the
+     * node is usable as soon as possible
+     */
     private static void runWebServer(final Config config) throws Exception {
 
+        final StartupTimer timer = StartupTimer.getDefault();
+
         ServiceLocator serviceLocator = ServiceLocator.create();
 
-        Set<Object> services = serviceLocator.getServices("tessera-spring.xml");
-
-        final List<TesseraServer> servers = config.getServerConfigs()
-            .stream()
-            .filter(server -> !AppType.ENCLAVE.equals(server.getApp()))
-            .map(conf -> TesseraServerFactory.create(conf.getCommunicationType()).createServer(conf, services))
-            .filter(Objects::nonNull)
-            .collect(Collectors.toList());
+        final List<TesseraServer> servers = new CopyOnWriteArrayList<>();
 
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
             try {
@@ -93,8 +99,38 @@ public class Launcher {
             }
         }));
 
+        try (StartupTimer.Phase phase = timer.phase("start servers")) {
+            Set<Object> services = serviceLocator.getServices("tessera-spring.xml");
+
+            startServers(config, server -> !AppType.ADMIN.equals(server.getApp()), services, servers);
+        }
+
+        timer.ready();
+
+        final Set<Object> allServices = serviceLocator.getDeferredServices("tessera-spring.xml");
+
+        try (StartupTimer.Phase phase = timer.phase("start admin server")) {
+            startServers(config, server -> AppType.ADMIN.equals(server.getApp()), allServices, servers);
+        }
+
+    }
+
+    private static void startServers(final Config config,
+                                     final Predicate<ServerConfig> filter,
+                                     final Set<Object> services,
+                                     final List<TesseraServer> started) throws Exception {
+
+        final List<TesseraServer> servers = config.getServerConfigs()
+            .stream()
+            .filter(server -> !AppType.ENCLAVE.equals(server.getApp()))
+            .filter(filter)
+            .map(conf -> TesseraServerFactory.create(conf.getCommunicationType()).createServer(conf, services))
+            .filter(Objects::nonNull)
+            .collect(Collectors.toList());
+
         for (TesseraServer ts : servers) {
             ts.start();
+            started.add(ts);
         }
 
     }